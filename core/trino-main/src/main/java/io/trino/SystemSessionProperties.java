@@ -97,9 +97,11 @@ public final class SystemSessionProperties
     public static final String ITERATIVE_OPTIMIZER_TIMEOUT = "iterative_optimizer_timeout";
     public static final String ENABLE_FORCED_EXCHANGE_BELOW_GROUP_ID = "enable_forced_exchange_below_group_id";
     public static final String EXCHANGE_COMPRESSION = "exchange_compression";
+    public static final String SKEWED_PARTITION_DETECTION_ENABLED = "skewed_partition_detection_enabled";
     public static final String ENABLE_INTERMEDIATE_AGGREGATIONS = "enable_intermediate_aggregations";
     public static final String PUSH_AGGREGATION_THROUGH_OUTER_JOIN = "push_aggregation_through_outer_join";
     public static final String PUSH_PARTIAL_AGGREGATION_THROUGH_JOIN = "push_partial_aggregation_through_join";
+    public static final String EAGER_PARTIAL_AGGREGATION_ENABLED = "eager_partial_aggregation_enabled";
     public static final String PARSE_DECIMAL_LITERALS_AS_DOUBLE = "parse_decimal_literals_as_double";
     public static final String FORCE_SINGLE_NODE_OUTPUT = "force_single_node_output";
     public static final String FILTER_AND_PROJECT_MIN_OUTPUT_PAGE_SIZE = "filter_and_project_min_output_page_size";
@@ -136,6 +138,8 @@ public final class SystemSessionProperties
     public static final String USE_LEGACY_WINDOW_FILTER_PUSHDOWN = "use_legacy_window_filter_pushdown";
     public static final String MAX_UNACKNOWLEDGED_SPLITS_PER_TASK = "max_unacknowledged_splits_per_task";
     public static final String MERGE_PROJECT_WITH_VALUES = "merge_project_with_values";
+    public static final String QUERY_RESULT_CACHE_ENABLED = "query_result_cache_enabled";
+    public static final String INCREMENTAL_MATERIALIZED_VIEW_REFRESH_ENABLED = "incremental_materialized_view_refresh_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -414,6 +418,11 @@ public final class SystemSessionProperties
                         "Enable compression in exchanges",
                         featuresConfig.isExchangeCompressionEnabled(),
                         false),
+                booleanProperty(
+                        SKEWED_PARTITION_DETECTION_ENABLED,
+                        "Sample partitioning keys of hash exchanges to report heavy hitters, without changing the partitioning",
+                        featuresConfig.isSkewedPartitionDetectionEnabled(),
+                        false),
                 booleanProperty(
                         ENABLE_INTERMEDIATE_AGGREGATIONS,
                         "Enable the use of intermediate aggregations",
@@ -429,6 +438,11 @@ public final class SystemSessionProperties
                         "Push partial aggregations below joins",
                         featuresConfig.isPushPartialAggregationThoughJoin(),
                         false),
+                booleanProperty(
+                        EAGER_PARTIAL_AGGREGATION_ENABLED,
+                        "Push partial aggregations below joins when statistics estimate that this reduces the join input",
+                        featuresConfig.isEagerPartialAggregationEnabled(),
+                        false),
                 booleanProperty(
                         PARSE_DECIMAL_LITERALS_AS_DOUBLE,
                         "Parse decimal literals as DOUBLE instead of DECIMAL",
@@ -621,6 +635,16 @@ public final class SystemSessionProperties
                         MERGE_PROJECT_WITH_VALUES,
                         "Inline project expressions into values",
                         featuresConfig.isMergeProjectWithValues(),
+                        false),
+                booleanProperty(
+                        QUERY_RESULT_CACHE_ENABLED,
+                        "Serve results of deterministic queries over unchanged tables from the coordinator result cache",
+                        false,
+                        false),
+                booleanProperty(
+                        INCREMENTAL_MATERIALIZED_VIEW_REFRESH_ENABLED,
+                        "Refresh materialized views over a single table from the rows appended since the last refresh, when the connector supports it",
+                        featuresConfig.isIncrementalMaterializedViewRefreshEnabled(),
                         false));
     }
 
@@ -878,6 +902,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(EXCHANGE_COMPRESSION, Boolean.class);
     }
 
+    public static boolean isSkewedPartitionDetectionEnabled(Session session)
+    {
+        return session.getSystemProperty(SKEWED_PARTITION_DETECTION_ENABLED, Boolean.class);
+    }
+
     public static boolean isEnableIntermediateAggregations(Session session)
     {
         return session.getSystemProperty(ENABLE_INTERMEDIATE_AGGREGATIONS, Boolean.class);
@@ -893,6 +922,11 @@ public final class SystemSessionProperties
         return session.getSystemProperty(PUSH_PARTIAL_AGGREGATION_THROUGH_JOIN, Boolean.class);
     }
 
+    public static boolean isEagerPartialAggregationEnabled(Session session)
+    {
+        return session.getSystemProperty(EAGER_PARTIAL_AGGREGATION_ENABLED, Boolean.class);
+    }
+
     public static boolean isParseDecimalLiteralsAsDouble(Session session)
     {
         return session.getSystemProperty(PARSE_DECIMAL_LITERALS_AS_DOUBLE, Boolean.class);
@@ -1108,4 +1142,14 @@ public final class SystemSessionProperties
     {
         return session.getSystemProperty(MERGE_PROJECT_WITH_VALUES, Boolean.class);
     }
+
+    public static boolean isQueryResultCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(QUERY_RESULT_CACHE_ENABLED, Boolean.class);
+    }
+
+    public static boolean isIncrementalMaterializedViewRefreshEnabled(Session session)
+    {
+        return session.getSystemProperty(INCREMENTAL_MATERIALIZED_VIEW_REFRESH_ENABLED, Boolean.class);
+    }
 }
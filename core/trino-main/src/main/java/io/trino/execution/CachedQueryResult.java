@@ -0,0 +1,164 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.execution.buffer.SerializedPage;
+import io.trino.memory.context.AggregatedMemoryContext;
+import io.trino.memory.context.LocalMemoryContext;
+import io.trino.spi.type.Type;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Output of a finished query, kept in the serialized form it was received from the output stage.
+ */
+public class CachedQueryResult
+{
+    private final List<String> columnNames;
+    private final List<Type> columnTypes;
+    private final List<SerializedPage> pages;
+    private final long retainedSizeInBytes;
+
+    public CachedQueryResult(List<String> columnNames, List<Type> columnTypes, List<SerializedPage> pages)
+    {
+        this.columnNames = ImmutableList.copyOf(requireNonNull(columnNames, "columnNames is null"));
+        this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+        checkArgument(columnNames.size() == columnTypes.size(), "columnNames and columnTypes must be the same size");
+        this.pages = ImmutableList.copyOf(requireNonNull(pages, "pages is null"));
+        this.retainedSizeInBytes = this.pages.stream()
+                .mapToLong(SerializedPage::getRetainedSizeInBytes)
+                .sum();
+    }
+
+    public List<String> getColumnNames()
+    {
+        return columnNames;
+    }
+
+    public List<Type> getColumnTypes()
+    {
+        return columnTypes;
+    }
+
+    public List<SerializedPage> getPages()
+    {
+        return pages;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        return retainedSizeInBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("columnNames", columnNames)
+                .add("pages", pages.size())
+                .add("retainedSizeInBytes", retainedSizeInBytes)
+                .toString();
+    }
+
+    public static Builder builder(
+            List<String> columnNames,
+            List<Type> columnTypes,
+            long maxSizeInBytes,
+            AggregatedMemoryContext pendingMemoryContext,
+            long maxPendingSizeInBytes)
+    {
+        return new Builder(columnNames, columnTypes, maxSizeInBytes, pendingMemoryContext, maxPendingSizeInBytes);
+    }
+
+    /**
+     * Collects the pages of a running query. The pages are charged to the memory context shared
+     * by the results of all the running queries. Once the pages exceed the maximum size, or all the
+     * collected results exceed the maximum pending size, they are released and the result is not cached.
+     */
+    public static class Builder
+    {
+        private final List<String> columnNames;
+        private final List<Type> columnTypes;
+        private final long maxSizeInBytes;
+        private final AggregatedMemoryContext pendingMemoryContext;
+        private final long maxPendingSizeInBytes;
+        private final LocalMemoryContext memoryContext;
+        private ImmutableList.Builder<SerializedPage> pages = ImmutableList.builder();
+        private long sizeInBytes;
+
+        private Builder(
+                List<String> columnNames,
+                List<Type> columnTypes,
+                long maxSizeInBytes,
+                AggregatedMemoryContext pendingMemoryContext,
+                long maxPendingSizeInBytes)
+        {
+            this.columnNames = requireNonNull(columnNames, "columnNames is null");
+            this.columnTypes = requireNonNull(columnTypes, "columnTypes is null");
+            this.maxSizeInBytes = maxSizeInBytes;
+            this.pendingMemoryContext = requireNonNull(pendingMemoryContext, "pendingMemoryContext is null");
+            this.maxPendingSizeInBytes = maxPendingSizeInBytes;
+            this.memoryContext = pendingMemoryContext.newLocalMemoryContext(CachedQueryResult.class.getSimpleName());
+        }
+
+        public void addPage(SerializedPage page)
+        {
+            if (pages == null) {
+                return;
+            }
+            sizeInBytes += page.getRetainedSizeInBytes();
+            if (sizeInBytes > maxSizeInBytes) {
+                abandon();
+                return;
+            }
+            memoryContext.setBytes(sizeInBytes);
+            if (pendingMemoryContext.getBytes() > maxPendingSizeInBytes) {
+                abandon();
+                return;
+            }
+            pages.add(page);
+        }
+
+        public boolean isAbandoned()
+        {
+            return pages == null;
+        }
+
+        /**
+         * Releases the collected pages, after which the result is not cached.
+         */
+        public void abandon()
+        {
+            pages = null;
+            memoryContext.close();
+        }
+
+        public Optional<CachedQueryResult> build()
+        {
+            if (pages == null) {
+                return Optional.empty();
+            }
+            CachedQueryResult result = new CachedQueryResult(columnNames, columnTypes, pages.build());
+            // the result is accounted by the cache from now on
+            abandon();
+            return Optional.of(result);
+        }
+    }
+}
@@ -48,6 +48,7 @@ public class QueryManagerConfig
     private Duration minQueryExpireAge = new Duration(15, TimeUnit.MINUTES);
     private int maxQueryHistory = 100;
     private int maxQueryLength = 1_000_000;
+    private int preparedStatementCacheSize = 1000;
     private int maxStageCount = 100;
     private int stageCountWarningThreshold = 50;
 
@@ -178,6 +179,20 @@ public class QueryManagerConfig
         return this;
     }
 
+    @Min(0)
+    public int getPreparedStatementCacheSize()
+    {
+        return preparedStatementCacheSize;
+    }
+
+    @Config("query.prepared-statement-cache-size")
+    @ConfigDescription("Number of parsed prepared statements retained for reuse by subsequent EXECUTE calls")
+    public QueryManagerConfig setPreparedStatementCacheSize(int preparedStatementCacheSize)
+    {
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+        return this;
+    }
+
     @Min(1)
     public int getMaxStageCount()
     {
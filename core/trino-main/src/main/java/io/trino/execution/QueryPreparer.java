@@ -13,21 +13,27 @@
  */
 package io.trino.execution;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import io.trino.Session;
 import io.trino.spi.TrinoException;
 import io.trino.spi.resourcegroups.QueryType;
 import io.trino.sql.parser.ParsingException;
+import io.trino.sql.parser.ParsingOptions;
+import io.trino.sql.parser.ParsingOptions.DecimalLiteralTreatment;
 import io.trino.sql.parser.SqlParser;
 import io.trino.sql.tree.Execute;
 import io.trino.sql.tree.Explain;
 import io.trino.sql.tree.Expression;
 import io.trino.sql.tree.Statement;
 import io.trino.util.StatementUtils;
+import org.weakref.jmx.Managed;
 
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static io.trino.execution.ParameterExtractor.getParameterCount;
@@ -42,11 +48,24 @@ import static java.util.Objects.requireNonNull;
 public class QueryPreparer
 {
     private final SqlParser sqlParser;
+    // Statement trees are immutable, so the parsed form of a prepared statement can be shared by all executions of it.
+    // Only the parsing is saved, the statement is still analyzed and planned for every execution.
+    private final Cache<PreparedStatementKey, Statement> preparedStatementCache;
 
-    @Inject
     public QueryPreparer(SqlParser sqlParser)
+    {
+        this(sqlParser, new QueryManagerConfig());
+    }
+
+    @Inject
+    public QueryPreparer(SqlParser sqlParser, QueryManagerConfig queryManagerConfig)
     {
         this.sqlParser = requireNonNull(sqlParser, "sqlParser is null");
+        requireNonNull(queryManagerConfig, "queryManagerConfig is null");
+        this.preparedStatementCache = CacheBuilder.newBuilder()
+                .maximumSize(queryManagerConfig.getPreparedStatementCacheSize())
+                .recordStats()
+                .build();
     }
 
     public PreparedQuery prepareQuery(Session session, String query)
@@ -63,7 +82,7 @@ public class QueryPreparer
         Optional<String> prepareSql = Optional.empty();
         if (statement instanceof Execute) {
             prepareSql = Optional.of(session.getPreparedStatementFromExecute((Execute) statement));
-            statement = sqlParser.createStatement(prepareSql.get(), createParsingOptions(session));
+            statement = parsePreparedStatement(prepareSql.get(), createParsingOptions(session));
         }
 
         if (statement instanceof Explain && ((Explain) statement).isAnalyze()) {
@@ -81,6 +100,36 @@ public class QueryPreparer
         return new PreparedQuery(statement, parameters, prepareSql);
     }
 
+    private Statement parsePreparedStatement(String sql, ParsingOptions parsingOptions)
+    {
+        PreparedStatementKey key = new PreparedStatementKey(sql, parsingOptions.getDecimalLiteralTreatment());
+        Statement statement = preparedStatementCache.getIfPresent(key);
+        if (statement == null) {
+            // Parse outside of the cache loader, so that parsing errors propagate unwrapped
+            statement = sqlParser.createStatement(sql, parsingOptions);
+            preparedStatementCache.put(key, statement);
+        }
+        return statement;
+    }
+
+    @Managed
+    public long getPreparedStatementCacheHitCount()
+    {
+        return preparedStatementCache.stats().hitCount();
+    }
+
+    @Managed
+    public long getPreparedStatementCacheMissCount()
+    {
+        return preparedStatementCache.stats().missCount();
+    }
+
+    @Managed
+    public long getPreparedStatementCacheSize()
+    {
+        return preparedStatementCache.size();
+    }
+
     private static void validateParameters(Statement node, List<Expression> parameterValues)
     {
         int parameterCount = getParameterCount(node);
@@ -92,6 +141,38 @@ public class QueryPreparer
         }
     }
 
+    private static final class PreparedStatementKey
+    {
+        private final String sql;
+        private final DecimalLiteralTreatment decimalLiteralTreatment;
+
+        private PreparedStatementKey(String sql, DecimalLiteralTreatment decimalLiteralTreatment)
+        {
+            this.sql = requireNonNull(sql, "sql is null");
+            this.decimalLiteralTreatment = requireNonNull(decimalLiteralTreatment, "decimalLiteralTreatment is null");
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PreparedStatementKey that = (PreparedStatementKey) o;
+            return sql.equals(that.sql) &&
+                    decimalLiteralTreatment == that.decimalLiteralTreatment;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(sql, decimalLiteralTreatment);
+        }
+    }
+
     public static class PreparedQuery
     {
         private final Statement statement;
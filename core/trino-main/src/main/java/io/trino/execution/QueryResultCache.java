@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.trino.memory.context.AggregatedMemoryContext;
+import io.trino.spi.type.Type;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.primitives.Ints.saturatedCast;
+import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Coordinator-local cache of the results of deterministic queries, keyed by {@link QueryResultCacheKey}.
+ * Entries become unreachable as soon as any table read by the query changes its version token,
+ * and are evicted by size and age. The results still being collected from running queries
+ * are accounted separately, and limited by {@link QueryResultCacheConfig#getMaxPendingSize()}.
+ */
+public class QueryResultCache
+{
+    private final Cache<QueryResultCacheKey, CachedQueryResult> cache;
+    private final long maxEntrySizeInBytes;
+    private final long maxPendingSizeInBytes;
+    private final AggregatedMemoryContext pendingMemoryContext = newSimpleAggregatedMemoryContext();
+
+    @Inject
+    public QueryResultCache(QueryResultCacheConfig config)
+    {
+        requireNonNull(config, "config is null");
+        this.maxEntrySizeInBytes = config.getMaxEntrySize().toBytes();
+        this.maxPendingSizeInBytes = config.getMaxPendingSize().toBytes();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .<QueryResultCacheKey, CachedQueryResult>weigher((key, value) -> saturatedCast(value.getRetainedSizeInBytes()))
+                .expireAfterWrite(config.getTtl().toMillis(), MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CachedQueryResult> get(QueryResultCacheKey key)
+    {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    public CachedQueryResult.Builder newResultBuilder(List<String> columnNames, List<Type> columnTypes)
+    {
+        return CachedQueryResult.builder(columnNames, columnTypes, maxEntrySizeInBytes, pendingMemoryContext, maxPendingSizeInBytes);
+    }
+
+    public void put(QueryResultCacheKey key, CachedQueryResult result)
+    {
+        if (result.getRetainedSizeInBytes() <= maxEntrySizeInBytes) {
+            cache.put(key, result);
+        }
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+
+    @Managed
+    public long getPendingSizeInBytes()
+    {
+        return pendingMemoryContext.getBytes();
+    }
+
+    @Managed
+    public long getEntryCount()
+    {
+        return cache.size();
+    }
+
+    @Managed
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.trino.Session;
+import io.trino.cost.StatsAndCosts;
+import io.trino.metadata.Metadata;
+import io.trino.sql.SqlPath;
+import io.trino.sql.planner.Plan;
+import io.trino.sql.planner.plan.PlanNode;
+import io.trino.sql.planner.plan.SampleNode;
+import io.trino.sql.planner.plan.TableScanNode;
+import io.trino.sql.tree.Expression;
+import io.trino.sql.tree.FunctionCall;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static io.trino.metadata.ResolvedFunction.extractFunctionName;
+import static io.trino.sql.planner.DeterminismEvaluator.isDeterministic;
+import static io.trino.sql.planner.ExpressionExtractor.extractExpressions;
+import static io.trino.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
+import static io.trino.sql.planner.planprinter.PlanPrinter.textLogicalPlan;
+import static io.trino.sql.util.AstUtils.preOrder;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Identifies the result of a query: the optimized plan, the versions of all tables it reads
+ * and the parts of the session that can influence the produced rows, including the current
+ * catalog, schema and path.
+ */
+public final class QueryResultCacheKey
+{
+    // Functions that are deterministic within a query, but return a different value for every query or session
+    private static final Set<String> QUERY_START_DEPENDENT_FUNCTIONS = ImmutableSet.of(
+            "$current_catalog",
+            "$current_path",
+            "$current_schema",
+            "$current_time",
+            "$current_timestamp",
+            "$localtime",
+            "$localtimestamp",
+            "current_date",
+            "current_timezone",
+            "now");
+
+    private final String plan;
+    private final List<String> tableVersions;
+    private final String user;
+    private final Optional<String> catalog;
+    private final Optional<String> schema;
+    private final SqlPath path;
+    private final String timeZone;
+    private final Map<String, String> systemProperties;
+    private final Map<String, Map<String, String>> catalogProperties;
+
+    private QueryResultCacheKey(
+            String plan,
+            List<String> tableVersions,
+            String user,
+            Optional<String> catalog,
+            Optional<String> schema,
+            SqlPath path,
+            String timeZone,
+            Map<String, String> systemProperties,
+            Map<String, Map<String, String>> catalogProperties)
+    {
+        this.plan = requireNonNull(plan, "plan is null");
+        this.tableVersions = ImmutableList.copyOf(requireNonNull(tableVersions, "tableVersions is null"));
+        this.user = requireNonNull(user, "user is null");
+        this.catalog = requireNonNull(catalog, "catalog is null");
+        this.schema = requireNonNull(schema, "schema is null");
+        this.path = requireNonNull(path, "path is null");
+        this.timeZone = requireNonNull(timeZone, "timeZone is null");
+        this.systemProperties = ImmutableMap.copyOf(requireNonNull(systemProperties, "systemProperties is null"));
+        this.catalogProperties = ImmutableMap.copyOf(requireNonNull(catalogProperties, "catalogProperties is null"));
+    }
+
+    /**
+     * Returns the key of the query result, or empty if the result cannot be reused by another query.
+     * This is the case when the plan is not deterministic or reads a table that has no version token.
+     */
+    public static Optional<QueryResultCacheKey> create(Plan plan, Session session, Metadata metadata)
+    {
+        PlanNode root = plan.getRoot();
+        if (searchFrom(root).where(SampleNode.class::isInstance).matches()) {
+            return Optional.empty();
+        }
+
+        for (Expression expression : extractExpressions(root)) {
+            if (!isDeterministic(expression, metadata)) {
+                return Optional.empty();
+            }
+            boolean queryStartDependent = preOrder(expression)
+                    .filter(FunctionCall.class::isInstance)
+                    .map(FunctionCall.class::cast)
+                    .anyMatch(functionCall -> QUERY_START_DEPENDENT_FUNCTIONS.contains(extractFunctionName(functionCall.getName())));
+            if (queryStartDependent) {
+                return Optional.empty();
+            }
+        }
+
+        List<TableScanNode> tableScans = searchFrom(root)
+                .where(TableScanNode.class::isInstance)
+                .findAll();
+        if (tableScans.isEmpty()) {
+            // nothing to save by caching the result
+            return Optional.empty();
+        }
+
+        ImmutableList.Builder<String> tableVersions = ImmutableList.builder();
+        for (TableScanNode tableScan : tableScans) {
+            Optional<String> version = metadata.getTableVersionToken(session, tableScan.getTable());
+            if (version.isEmpty()) {
+                return Optional.empty();
+            }
+            tableVersions.add(tableScan.getTable().getCatalogName() + ":" + version.get());
+        }
+
+        ImmutableMap.Builder<String, Map<String, String>> catalogProperties = ImmutableMap.builder();
+        session.getConnectorProperties().forEach((catalogName, properties) -> catalogProperties.put(catalogName.getCatalogName(), properties));
+
+        return Optional.of(new QueryResultCacheKey(
+                textLogicalPlan(root, plan.getTypes(), metadata, StatsAndCosts.empty(), session, 0, false),
+                tableVersions.build(),
+                session.getUser(),
+                session.getCatalog(),
+                session.getSchema(),
+                session.getPath(),
+                session.getTimeZoneKey().getId(),
+                session.getSystemProperties(),
+                catalogProperties.build()));
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryResultCacheKey that = (QueryResultCacheKey) o;
+        return plan.equals(that.plan) &&
+                tableVersions.equals(that.tableVersions) &&
+                user.equals(that.user) &&
+                catalog.equals(that.catalog) &&
+                schema.equals(that.schema) &&
+                path.equals(that.path) &&
+                timeZone.equals(that.timeZone) &&
+                systemProperties.equals(that.systemProperties) &&
+                catalogProperties.equals(that.catalogProperties);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(plan, tableVersions, user, catalog, schema, path, timeZone, systemProperties, catalogProperties);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("tableVersions", tableVersions)
+                .add("user", user)
+                .toString();
+    }
+}
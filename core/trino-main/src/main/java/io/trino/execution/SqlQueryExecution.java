@@ -13,6 +13,7 @@
  */
 package io.trino.execution;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.concurrent.SetThreadName;
 import io.airlift.log.Logger;
@@ -87,6 +88,7 @@ import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.units.DataSize.succinctBytes;
 import static io.trino.SystemSessionProperties.isEnableDynamicFiltering;
+import static io.trino.SystemSessionProperties.isQueryResultCacheEnabled;
 import static io.trino.execution.QueryState.FAILED;
 import static io.trino.execution.QueryState.PLANNING;
 import static io.trino.execution.buffer.OutputBuffers.BROADCAST_PARTITION_ID;
@@ -132,6 +134,7 @@ public class SqlQueryExecution
     private final StatsCalculator statsCalculator;
     private final CostCalculator costCalculator;
     private final DynamicFilterService dynamicFilterService;
+    private final QueryResultCache queryResultCache;
 
     private SqlQueryExecution(
             PreparedQuery preparedQuery,
@@ -159,6 +162,7 @@ public class SqlQueryExecution
             StatsCalculator statsCalculator,
             CostCalculator costCalculator,
             DynamicFilterService dynamicFilterService,
+            QueryResultCache queryResultCache,
             WarningCollector warningCollector)
     {
         try (SetThreadName ignored = new SetThreadName("Query-%s", stateMachine.getQueryId())) {
@@ -180,6 +184,7 @@ public class SqlQueryExecution
             this.statsCalculator = requireNonNull(statsCalculator, "statsCalculator is null");
             this.costCalculator = requireNonNull(costCalculator, "costCalculator is null");
             this.dynamicFilterService = requireNonNull(dynamicFilterService, "dynamicFilterService is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
 
             checkArgument(scheduleSplitBatchSize > 0, "scheduleSplitBatchSize must be greater than 0");
             this.scheduleSplitBatchSize = scheduleSplitBatchSize;
@@ -390,6 +395,7 @@ public class SqlQueryExecution
                 }
 
                 AtomicReference<Thread> planningThread = new AtomicReference<>(currentThread());
+                Optional<CachedQueryResult> cachedResult;
                 stateMachine.getStateChange(PLANNING).addListener(() -> {
                     if (stateMachine.getQueryState() == FAILED) {
                         synchronized (this) {
@@ -406,7 +412,13 @@ public class SqlQueryExecution
                     // DynamicFilterService needs plan for query to be registered.
                     // Query should be registered before dynamic filter suppliers are requested in distribution planning.
                     registerDynamicFilteringQuery(plan);
-                    planDistribution(plan);
+                    cachedResult = plan.getResultCacheKey().flatMap(queryResultCache::get);
+                    if (cachedResult.isPresent()) {
+                        setCachedResult(cachedResult.get());
+                    }
+                    else {
+                        planDistribution(plan);
+                    }
                 }
                 finally {
                     synchronized (this) {
@@ -422,6 +434,13 @@ public class SqlQueryExecution
                     return;
                 }
 
+                if (cachedResult.isPresent()) {
+                    // the output is already known, so there is nothing to schedule
+                    stateMachine.transitionToRunning();
+                    stateMachine.transitionToFinishing();
+                    return;
+                }
+
                 // if query is not finished, start the scheduler, otherwise cancel it
                 SqlQueryScheduler scheduler = queryScheduler.get();
 
@@ -491,8 +510,20 @@ public class SqlQueryExecution
 
         stateMachine.setOutput(analysis.getTarget());
 
+        Optional<QueryResultCacheKey> resultCacheKey = Optional.empty();
+        if (isQueryResultCacheEnabled(stateMachine.getSession()) && analysis.getStatement() instanceof Query) {
+            resultCacheKey = QueryResultCacheKey.create(plan, stateMachine.getSession(), metadata);
+        }
+
         boolean explainAnalyze = analysis.getStatement() instanceof Explain && ((Explain) analysis.getStatement()).isAnalyze();
-        return new PlanRoot(fragmentedPlan, !explainAnalyze);
+        return new PlanRoot(fragmentedPlan, !explainAnalyze, resultCacheKey);
+    }
+
+    private void setCachedResult(CachedQueryResult cachedResult)
+    {
+        stateMachine.setCachedResult(cachedResult);
+        stateMachine.setColumns(cachedResult.getColumnNames(), cachedResult.getColumnTypes());
+        stateMachine.updateOutputLocations(ImmutableSet.of(), true);
     }
 
     private void planDistribution(PlanRoot plan)
@@ -514,6 +545,7 @@ public class SqlQueryExecution
         }
 
         // record output field
+        plan.getResultCacheKey().ifPresent(stateMachine::setResultCacheKey);
         stateMachine.setColumns(outputStageExecutionPlan.getFieldNames(), outputStageExecutionPlan.getFragment().getTypes());
 
         PartitioningHandle partitioningHandle = plan.getRoot().getFragment().getPartitioningScheme().getPartitioning().getHandle();
@@ -692,11 +724,13 @@ public class SqlQueryExecution
     {
         private final SubPlan root;
         private final boolean summarizeTaskInfos;
+        private final Optional<QueryResultCacheKey> resultCacheKey;
 
-        public PlanRoot(SubPlan root, boolean summarizeTaskInfos)
+        public PlanRoot(SubPlan root, boolean summarizeTaskInfos, Optional<QueryResultCacheKey> resultCacheKey)
         {
             this.root = requireNonNull(root, "root is null");
             this.summarizeTaskInfos = summarizeTaskInfos;
+            this.resultCacheKey = requireNonNull(resultCacheKey, "resultCacheKey is null");
         }
 
         public SubPlan getRoot()
@@ -708,6 +742,11 @@ public class SqlQueryExecution
         {
             return summarizeTaskInfos;
         }
+
+        public Optional<QueryResultCacheKey> getResultCacheKey()
+        {
+            return resultCacheKey;
+        }
     }
 
     public static class SqlQueryExecutionFactory
@@ -735,6 +774,7 @@ public class SqlQueryExecution
         private final StatsCalculator statsCalculator;
         private final CostCalculator costCalculator;
         private final DynamicFilterService dynamicFilterService;
+        private final QueryResultCache queryResultCache;
 
         @Inject
         SqlQueryExecutionFactory(
@@ -759,7 +799,8 @@ public class SqlQueryExecution
                 SplitSchedulerStats schedulerStats,
                 StatsCalculator statsCalculator,
                 CostCalculator costCalculator,
-                DynamicFilterService dynamicFilterService)
+                DynamicFilterService dynamicFilterService,
+                QueryResultCache queryResultCache)
         {
             requireNonNull(config, "config is null");
             this.schedulerStats = requireNonNull(schedulerStats, "schedulerStats is null");
@@ -784,6 +825,7 @@ public class SqlQueryExecution
             this.statsCalculator = requireNonNull(statsCalculator, "statsCalculator is null");
             this.costCalculator = requireNonNull(costCalculator, "costCalculator is null");
             this.dynamicFilterService = requireNonNull(dynamicFilterService, "dynamicFilterService is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
         }
 
         @Override
@@ -823,6 +865,7 @@ public class SqlQueryExecution
                     statsCalculator,
                     costCalculator,
                     dynamicFilterService,
+                    queryResultCache,
                     warningCollector);
         }
     }
@@ -817,7 +817,8 @@ public class FunctionRegistry
         try {
             if (function instanceof SqlAggregationFunction) {
                 InternalAggregationFunction aggregationFunction = specializedAggregationCache.get(functionBinding, () -> specializedAggregation(functionBinding, functionDependencies));
-                return supplier(function.getFunctionMetadata().getSignature(), aggregationFunction);
+                boolean decomposable = ((SqlAggregationFunction) function).getAggregationMetadata(functionBinding).getIntermediateType().isPresent();
+                return supplier(function.getFunctionMetadata().getSignature(), aggregationFunction, decomposable);
             }
             return specializedWindowCache.get(functionBinding, () -> specializeWindow(functionBinding, functionDependencies));
         }
@@ -137,6 +137,11 @@ public interface Metadata
      */
     TableStatistics getTableStatistics(Session session, TableHandle tableHandle, Constraint constraint);
 
+    /**
+     * Return an opaque token identifying the version of the table data visible through the handle, if the connector versions its data.
+     */
+    Optional<String> getTableVersionToken(Session session, TableHandle tableHandle);
+
     /**
      * Get the names that match the specified table prefix (never null).
      */
@@ -634,6 +639,12 @@ public interface Metadata
      */
     MaterializedViewFreshness getMaterializedViewFreshness(Session session, QualifiedObjectName name);
 
+    /**
+     * Returns a handle reading only the rows appended to the source table since the last refresh of the materialized view,
+     * or empty if the view has to be fully refreshed.
+     */
+    Optional<TableHandle> getMaterializedViewIncrementalSource(Session session, QualifiedObjectName viewName, TableHandle sourceTableHandle);
+
     /**
      * Returns the result of redirecting the table scan on a given table to a different table.
      * This method is used by the engine during the plan optimization phase to allow a connector to offload table scans to any other connector.
@@ -568,6 +568,14 @@ public final class MetadataManager
         return tableStatistics;
     }
 
+    @Override
+    public Optional<String> getTableVersionToken(Session session, TableHandle tableHandle)
+    {
+        CatalogName catalogName = tableHandle.getCatalogName();
+        ConnectorMetadata metadata = getMetadata(session, catalogName);
+        return metadata.getTableVersionToken(session.toConnectorSession(catalogName), tableHandle.getConnectorHandle());
+    }
+
     @Override
     public Map<String, ColumnHandle> getColumnHandles(Session session, TableHandle tableHandle)
     {
@@ -1274,6 +1282,30 @@ public final class MetadataManager
         return new MaterializedViewFreshness(false);
     }
 
+    @Override
+    public Optional<TableHandle> getMaterializedViewIncrementalSource(Session session, QualifiedObjectName viewName, TableHandle sourceTableHandle)
+    {
+        Optional<CatalogMetadata> catalog = getOptionalCatalogMetadata(session, viewName.getCatalogName());
+        if (catalog.isEmpty()) {
+            return Optional.empty();
+        }
+        CatalogMetadata catalogMetadata = catalog.get();
+        CatalogName catalogName = catalogMetadata.getConnectorId(session, viewName);
+        if (!catalogName.equals(sourceTableHandle.getCatalogName())) {
+            // the storage table records the state of sources from its own catalog only
+            return Optional.empty();
+        }
+        ConnectorMetadata metadata = catalogMetadata.getMetadataFor(catalogName);
+
+        ConnectorSession connectorSession = session.toConnectorSession(catalogName);
+        return metadata.getMaterializedViewIncrementalSource(connectorSession, viewName.asSchemaTableName(), sourceTableHandle.getConnectorHandle())
+                .map(handle -> new TableHandle(
+                        catalogName,
+                        handle,
+                        sourceTableHandle.getTransaction(),
+                        Optional.empty()));
+    }
+
     @Override
     public Optional<TableScanRedirectApplicationResult> applyTableScanRedirect(Session session, TableHandle tableHandle)
     {
@@ -22,12 +22,14 @@ import io.trino.spi.PageBuilder;
 import io.trino.spi.TrinoException;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.block.LongArrayBlock;
 import io.trino.spi.type.AbstractLongType;
 import io.trino.spi.type.BigintType;
 import io.trino.spi.type.Type;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.util.List;
+import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -377,8 +379,8 @@ public class BigintGroupByHash
     private class GetGroupIdsWork
             implements Work<GroupByIdBlock>
     {
-        private final BlockBuilder blockBuilder;
         private final Block block;
+        private final long[] groupIdsByPosition;
 
         private boolean finished;
         private int lastPosition;
@@ -387,7 +389,7 @@ public class BigintGroupByHash
         {
             this.block = requireNonNull(block, "block is null");
             // we know the exact size required for the block
-            this.blockBuilder = BIGINT.createFixedSizeBlockBuilder(block.getPositionCount());
+            this.groupIdsByPosition = new long[block.getPositionCount()];
         }
 
         @Override
@@ -407,7 +409,7 @@ public class BigintGroupByHash
             // Therefore needRehash will not generally return true even if we have just crossed the capacity boundary.
             while (lastPosition < positionCount && !needRehash()) {
                 // output the group id for this row
-                BIGINT.writeLong(blockBuilder, putIfAbsent(lastPosition, block));
+                groupIdsByPosition[lastPosition] = putIfAbsent(lastPosition, block);
                 lastPosition++;
             }
             return lastPosition == positionCount;
@@ -419,7 +421,7 @@ public class BigintGroupByHash
             checkState(lastPosition == block.getPositionCount(), "process has not yet finished");
             checkState(!finished, "result has produced");
             finished = true;
-            return new GroupByIdBlock(nextGroupId, blockBuilder.build());
+            return new GroupByIdBlock(nextGroupId, new LongArrayBlock(groupIdsByPosition.length, Optional.empty(), groupIdsByPosition));
         }
     }
 }
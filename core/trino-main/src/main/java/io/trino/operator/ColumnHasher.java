@@ -0,0 +1,241 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import io.airlift.slice.Slice;
+import io.airlift.slice.XxHash64;
+import io.trino.operator.scalar.CombineHashFunction;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.DictionaryBlock;
+import io.trino.spi.block.IntArrayBlock;
+import io.trino.spi.block.LongArrayBlock;
+import io.trino.spi.block.RunLengthEncodedBlock;
+import io.trino.spi.block.VariableWidthBlock;
+import io.trino.spi.type.AbstractLongType;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VarcharType;
+import io.trino.type.BlockTypeOperators;
+import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
+
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DateType.DATE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.VarbinaryType.VARBINARY;
+import static io.trino.type.TypeUtils.NULL_HASH_CODE;
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Hashes a range of positions of a column at once. The hashes are the same as the ones of the
+ * {@link BlockPositionHashCode hash code operator} of the type, but the values of the common
+ * fixed width and variable width types are hashed in tight loops over the arrays backing the block.
+ * A dictionary is hashed once, if it is not larger than the range, and a run length encoded value
+ * is hashed only once.
+ */
+public abstract class ColumnHasher
+{
+    private final BlockPositionHashCode hashCodeOperator;
+
+    public static ColumnHasher createColumnHasher(Type type, BlockTypeOperators blockTypeOperators)
+    {
+        BlockPositionHashCode hashCodeOperator = blockTypeOperators.getHashCodeOperator(type);
+        if (type.equals(BIGINT)) {
+            return new LongColumnHasher(hashCodeOperator);
+        }
+        if (type.equals(INTEGER) || type.equals(DATE)) {
+            return new IntColumnHasher(hashCodeOperator);
+        }
+        if (type instanceof VarcharType || type.equals(VARBINARY)) {
+            return new SliceColumnHasher(hashCodeOperator);
+        }
+        return new GenericColumnHasher(hashCodeOperator);
+    }
+
+    private ColumnHasher(BlockPositionHashCode hashCodeOperator)
+    {
+        this.hashCodeOperator = requireNonNull(hashCodeOperator, "hashCodeOperator is null");
+    }
+
+    /**
+     * Stores the hashes of the {@code length} positions starting at {@code positionOffset} in the
+     * beginning of {@code hashes}.
+     */
+    public void hash(Block block, int positionOffset, int length, long[] hashes)
+    {
+        hash(block, positionOffset, length, hashes, false);
+    }
+
+    /**
+     * Combines the hashes in the beginning of {@code hashes} with the hashes of the {@code length}
+     * positions starting at {@code positionOffset}, the same as {@link CombineHashFunction#getHash}.
+     */
+    public void combineHash(Block block, int positionOffset, int length, long[] hashes)
+    {
+        hash(block, positionOffset, length, hashes, true);
+    }
+
+    private void hash(Block block, int positionOffset, int length, long[] hashes, boolean combine)
+    {
+        checkFromIndexSize(positionOffset, length, block.getPositionCount());
+        checkFromIndexSize(0, length, hashes.length);
+
+        block = block.getLoadedBlock();
+        if (block instanceof RunLengthEncodedBlock) {
+            long hash = hashCodeOperator.hashCodeNullSafe(((RunLengthEncodedBlock) block).getValue(), 0);
+            for (int i = 0; i < length; i++) {
+                hashes[i] = store(hashes[i], hash, combine);
+            }
+            return;
+        }
+        if (block instanceof DictionaryBlock) {
+            DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+            Block dictionary = dictionaryBlock.getDictionary();
+            if (dictionary.getPositionCount() <= length) {
+                long[] dictionaryHashes = new long[dictionary.getPositionCount()];
+                hash(dictionary, 0, dictionary.getPositionCount(), dictionaryHashes, false);
+                for (int i = 0; i < length; i++) {
+                    hashes[i] = store(hashes[i], dictionaryHashes[dictionaryBlock.getId(positionOffset + i)], combine);
+                }
+                return;
+            }
+        }
+        hashValues(block, positionOffset, length, hashes, combine);
+    }
+
+    /**
+     * Hashes the values of a block, which is neither lazy nor run length encoded.
+     */
+    protected void hashValues(Block block, int positionOffset, int length, long[] hashes, boolean combine)
+    {
+        for (int i = 0; i < length; i++) {
+            hashes[i] = store(hashes[i], hashCodeOperator.hashCodeNullSafe(block, positionOffset + i), combine);
+        }
+    }
+
+    // the branch on the loop invariant combine is hoisted out of the loops by the compiler
+    private static long store(long previousHash, long hash, boolean combine)
+    {
+        return combine ? CombineHashFunction.getHash(previousHash, hash) : hash;
+    }
+
+    private static final class GenericColumnHasher
+            extends ColumnHasher
+    {
+        public GenericColumnHasher(BlockPositionHashCode hashCodeOperator)
+        {
+            super(hashCodeOperator);
+        }
+    }
+
+    private static final class LongColumnHasher
+            extends ColumnHasher
+    {
+        public LongColumnHasher(BlockPositionHashCode hashCodeOperator)
+        {
+            super(hashCodeOperator);
+        }
+
+        @Override
+        protected void hashValues(Block block, int positionOffset, int length, long[] hashes, boolean combine)
+        {
+            if (!(block instanceof LongArrayBlock)) {
+                super.hashValues(block, positionOffset, length, hashes, combine);
+                return;
+            }
+            LongArrayBlock longArrayBlock = (LongArrayBlock) block;
+            long[] values = longArrayBlock.getRawValues();
+            boolean[] valueIsNull = longArrayBlock.getRawValueIsNull();
+            int offset = longArrayBlock.getRawArrayOffset() + positionOffset;
+            if (valueIsNull == null) {
+                for (int i = 0; i < length; i++) {
+                    hashes[i] = store(hashes[i], AbstractLongType.hash(values[offset + i]), combine);
+                }
+            }
+            else {
+                for (int i = 0; i < length; i++) {
+                    long hash = valueIsNull[offset + i] ? NULL_HASH_CODE : AbstractLongType.hash(values[offset + i]);
+                    hashes[i] = store(hashes[i], hash, combine);
+                }
+            }
+        }
+    }
+
+    private static final class IntColumnHasher
+            extends ColumnHasher
+    {
+        public IntColumnHasher(BlockPositionHashCode hashCodeOperator)
+        {
+            super(hashCodeOperator);
+        }
+
+        @Override
+        protected void hashValues(Block block, int positionOffset, int length, long[] hashes, boolean combine)
+        {
+            if (!(block instanceof IntArrayBlock)) {
+                super.hashValues(block, positionOffset, length, hashes, combine);
+                return;
+            }
+            IntArrayBlock intArrayBlock = (IntArrayBlock) block;
+            int[] values = intArrayBlock.getRawValues();
+            boolean[] valueIsNull = intArrayBlock.getRawValueIsNull();
+            int offset = intArrayBlock.getRawArrayOffset() + positionOffset;
+            if (valueIsNull == null) {
+                for (int i = 0; i < length; i++) {
+                    hashes[i] = store(hashes[i], AbstractLongType.hash(values[offset + i]), combine);
+                }
+            }
+            else {
+                for (int i = 0; i < length; i++) {
+                    long hash = valueIsNull[offset + i] ? NULL_HASH_CODE : AbstractLongType.hash(values[offset + i]);
+                    hashes[i] = store(hashes[i], hash, combine);
+                }
+            }
+        }
+    }
+
+    private static final class SliceColumnHasher
+            extends ColumnHasher
+    {
+        public SliceColumnHasher(BlockPositionHashCode hashCodeOperator)
+        {
+            super(hashCodeOperator);
+        }
+
+        @Override
+        protected void hashValues(Block block, int positionOffset, int length, long[] hashes, boolean combine)
+        {
+            if (!(block instanceof VariableWidthBlock)) {
+                super.hashValues(block, positionOffset, length, hashes, combine);
+                return;
+            }
+            VariableWidthBlock variableWidthBlock = (VariableWidthBlock) block;
+            Slice slice = variableWidthBlock.getRawSlice();
+            int[] offsets = variableWidthBlock.getRawOffsets();
+            boolean[] valueIsNull = variableWidthBlock.getRawValueIsNull();
+            int offset = variableWidthBlock.getRawArrayOffset() + positionOffset;
+            for (int i = 0; i < length; i++) {
+                int position = offset + i;
+                long hash;
+                if (valueIsNull != null && valueIsNull[position]) {
+                    hash = NULL_HASH_CODE;
+                }
+                else {
+                    int start = offsets[position];
+                    hash = XxHash64.hash(slice, start, offsets[position + 1] - start);
+                }
+                hashes[i] = store(hashes[i], hash, combine);
+            }
+        }
+    }
+}
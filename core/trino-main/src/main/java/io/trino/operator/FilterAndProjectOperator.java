@@ -26,6 +26,7 @@ import io.trino.spi.type.Type;
 import io.trino.sql.planner.plan.PlanNodeId;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -38,6 +39,7 @@ public class FilterAndProjectOperator
         implements WorkProcessorOperator
 {
     private final WorkProcessor<Page> pages;
+    private final PageProcessor pageProcessor;
 
     private FilterAndProjectOperator(
             Session session,
@@ -50,6 +52,7 @@ public class FilterAndProjectOperator
             int minOutputPageRowCount,
             boolean avoidPageMaterialization)
     {
+        this.pageProcessor = requireNonNull(pageProcessor, "pageProcessor is null");
         AggregatedMemoryContext localAggregatedMemoryContext = newSimpleAggregatedMemoryContext();
         LocalMemoryContext outputMemoryContext = localAggregatedMemoryContext.newLocalMemoryContext(FilterAndProjectOperator.class.getSimpleName());
 
@@ -70,6 +73,12 @@ public class FilterAndProjectOperator
         return pages;
     }
 
+    @Override
+    public Optional<OperatorInfo> getOperatorInfo()
+    {
+        return pageProcessor.getFilterInfo().map(OperatorInfo.class::cast);
+    }
+
     public static OperatorFactory createOperatorFactory(
             int operatorId,
             PlanNodeId planNodeId,
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.Duration;
+import io.trino.util.Mergeable;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.units.Duration.succinctNanos;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runtime statistics of the conjuncts of a filter, and the order in which they are evaluated.
+ */
+public class FilterInfo
+        implements Mergeable<FilterInfo>, OperatorInfo
+{
+    private final List<ConjunctInfo> conjuncts;
+    private final List<Integer> order;
+    private final long pages;
+    private final long reorders;
+
+    @JsonCreator
+    public FilterInfo(
+            @JsonProperty("conjuncts") List<ConjunctInfo> conjuncts,
+            @JsonProperty("order") List<Integer> order,
+            @JsonProperty("pages") long pages,
+            @JsonProperty("reorders") long reorders)
+    {
+        this.conjuncts = ImmutableList.copyOf(requireNonNull(conjuncts, "conjuncts is null"));
+        this.order = ImmutableList.copyOf(requireNonNull(order, "order is null"));
+        this.pages = pages;
+        this.reorders = reorders;
+    }
+
+    @JsonProperty
+    public List<ConjunctInfo> getConjuncts()
+    {
+        return conjuncts;
+    }
+
+    /**
+     * Indexes of the conjuncts in the order they are evaluated.
+     */
+    @JsonProperty
+    public List<Integer> getOrder()
+    {
+        return order;
+    }
+
+    @JsonProperty
+    public long getPages()
+    {
+        return pages;
+    }
+
+    @JsonProperty
+    public long getReorders()
+    {
+        return reorders;
+    }
+
+    @Override
+    public boolean isFinal()
+    {
+        return true;
+    }
+
+    @Override
+    public FilterInfo mergeWith(FilterInfo other)
+    {
+        if (conjuncts.size() != other.conjuncts.size()) {
+            return this;
+        }
+        List<ConjunctInfo> mergedConjuncts = IntStream.range(0, conjuncts.size())
+                .mapToObj(conjunct -> conjuncts.get(conjunct).mergeWith(other.conjuncts.get(conjunct)))
+                .collect(toImmutableList());
+        return new FilterInfo(
+                mergedConjuncts,
+                // the order of the filter which processed more pages is more representative
+                pages >= other.pages ? order : other.order,
+                pages + other.pages,
+                reorders + other.reorders);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("conjuncts", conjuncts)
+                .add("order", order)
+                .add("pages", pages)
+                .add("reorders", reorders)
+                .toString();
+    }
+
+    public static class ConjunctInfo
+    {
+        private final String expression;
+        private final long inputPositions;
+        private final long selectedPositions;
+        private final Duration time;
+
+        @JsonCreator
+        public ConjunctInfo(
+                @JsonProperty("expression") String expression,
+                @JsonProperty("inputPositions") long inputPositions,
+                @JsonProperty("selectedPositions") long selectedPositions,
+                @JsonProperty("time") Duration time)
+        {
+            this.expression = requireNonNull(expression, "expression is null");
+            this.inputPositions = inputPositions;
+            this.selectedPositions = selectedPositions;
+            this.time = requireNonNull(time, "time is null");
+        }
+
+        @JsonProperty
+        public String getExpression()
+        {
+            return expression;
+        }
+
+        @JsonProperty
+        public long getInputPositions()
+        {
+            return inputPositions;
+        }
+
+        @JsonProperty
+        public long getSelectedPositions()
+        {
+            return selectedPositions;
+        }
+
+        @JsonProperty
+        public Duration getTime()
+        {
+            return time;
+        }
+
+        public ConjunctInfo mergeWith(ConjunctInfo other)
+        {
+            return new ConjunctInfo(
+                    expression,
+                    inputPositions + other.inputPositions,
+                    selectedPositions + other.selectedPositions,
+                    succinctNanos(time.roundTo(NANOSECONDS) + other.time.roundTo(NANOSECONDS)));
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("expression", expression)
+                    .add("inputPositions", inputPositions)
+                    .add("selectedPositions", selectedPositions)
+                    .add("time", time)
+                    .toString();
+        }
+    }
+}
@@ -21,6 +21,17 @@ public interface HashGenerator
 {
     long hashPosition(int position, Page page);
 
+    /**
+     * Calculates the hashes of the positions in the specified region of the page,
+     * and stores them in {@code hashes} starting at index zero.
+     */
+    default void hashPositions(Page page, int positionOffset, int length, long[] hashes)
+    {
+        for (int i = 0; i < length; i++) {
+            hashes[i] = hashPosition(positionOffset + i, page);
+        }
+    }
+
     default int getPartition(int partitionCount, int position, Page page)
     {
         long rawHash = hashPosition(position, page);
@@ -23,12 +23,14 @@ import io.trino.sql.planner.optimizations.HashGenerationOptimizer;
 import io.trino.type.BlockTypeOperators;
 import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.IntFunction;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.operator.ColumnHasher.createColumnHasher;
 import static java.util.Objects.requireNonNull;
 
 public class InterpretedHashGenerator
@@ -37,6 +39,7 @@ public class InterpretedHashGenerator
     private final List<Type> hashChannelTypes;
     private final int[] hashChannels;
     private final List<BlockPositionHashCode> hashCodeOperators;
+    private final List<ColumnHasher> columnHashers;
 
     public InterpretedHashGenerator(List<Type> hashChannelTypes, List<Integer> hashChannels, BlockTypeOperators blockTypeOperators)
     {
@@ -51,6 +54,9 @@ public class InterpretedHashGenerator
         this.hashCodeOperators = hashChannelTypes.stream()
                 .map(blockTypeOperators::getHashCodeOperator)
                 .collect(toImmutableList());
+        this.columnHashers = hashChannelTypes.stream()
+                .map(type -> createColumnHasher(type, blockTypeOperators))
+                .collect(toImmutableList());
     }
 
     @Override
@@ -69,6 +75,15 @@ public class InterpretedHashGenerator
         return result;
     }
 
+    @Override
+    public void hashPositions(Page page, int positionOffset, int length, long[] hashes)
+    {
+        Arrays.fill(hashes, 0, length, HashGenerationOptimizer.INITIAL_HASH_VALUE);
+        for (int i = 0; i < hashChannels.length; i++) {
+            columnHashers.get(i).combineHash(page.getBlock(hashChannels[i]), positionOffset, length, hashes);
+        }
+    }
+
     @Override
     public String toString()
     {
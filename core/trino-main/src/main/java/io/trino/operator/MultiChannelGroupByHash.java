@@ -278,6 +278,14 @@ public class MultiChannelGroupByHash
         return putIfAbsent(position, page, rawHash);
     }
 
+    private long[] hashPositions(Page page)
+    {
+        // hash the whole page column by column, rather than one row at a time
+        long[] rawHashes = new long[page.getPositionCount()];
+        hashGenerator.hashPositions(page, 0, page.getPositionCount(), rawHashes);
+        return rawHashes;
+    }
+
     private int putIfAbsent(int position, Page page, long rawHash)
     {
         int hashPosition = (int) getHashPosition(rawHash, mask);
@@ -569,12 +577,14 @@ public class MultiChannelGroupByHash
             implements Work<Void>
     {
         private final Page page;
+        private final long[] rawHashes;
 
         private int lastPosition;
 
         public AddNonDictionaryPageWork(Page page)
         {
             this.page = requireNonNull(page, "page is null");
+            this.rawHashes = hashPositions(page);
         }
 
         @Override
@@ -593,7 +603,7 @@ public class MultiChannelGroupByHash
             // Therefore needRehash will not generally return true even if we have just crossed the capacity boundary.
             while (lastPosition < positionCount && !needRehash()) {
                 // get the group for the current row
-                putIfAbsent(lastPosition, page);
+                putIfAbsent(lastPosition, page, rawHashes[lastPosition]);
                 lastPosition++;
             }
             return lastPosition == positionCount;
@@ -699,6 +709,7 @@ public class MultiChannelGroupByHash
     {
         private final BlockBuilder blockBuilder;
         private final Page page;
+        private final long[] rawHashes;
 
         private boolean finished;
         private int lastPosition;
@@ -706,6 +717,7 @@ public class MultiChannelGroupByHash
         public GetNonDictionaryGroupIdsWork(Page page)
         {
             this.page = requireNonNull(page, "page is null");
+            this.rawHashes = hashPositions(page);
             // we know the exact size required for the block
             this.blockBuilder = BIGINT.createFixedSizeBlockBuilder(page.getPositionCount());
         }
@@ -727,7 +739,7 @@ public class MultiChannelGroupByHash
             // Therefore needRehash will not generally return true even if we have just crossed the capacity boundary.
             while (lastPosition < positionCount && !needRehash()) {
                 // output the group id for this row
-                BIGINT.writeLong(blockBuilder, putIfAbsent(lastPosition, page));
+                BIGINT.writeLong(blockBuilder, putIfAbsent(lastPosition, page, rawHashes[lastPosition]));
                 lastPosition++;
             }
             return lastPosition == positionCount;
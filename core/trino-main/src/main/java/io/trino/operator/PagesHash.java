@@ -26,6 +26,7 @@ import static io.airlift.slice.SizeOf.sizeOf;
 import static io.airlift.units.DataSize.Unit.KILOBYTE;
 import static io.trino.operator.SyntheticAddress.decodePosition;
 import static io.trino.operator.SyntheticAddress.decodeSliceIndex;
+import static io.trino.operator.SyntheticAddress.encodeSyntheticAddress;
 import static io.trino.util.HashCollisionsEstimator.estimateNumberOfHashCollisions;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
@@ -71,6 +72,7 @@ public final class PagesHash
         // We will process addresses in batches, to save memory on array of hashes.
         int positionsInStep = Math.min(addresses.size() + 1, (int) CACHE_SIZE.toBytes() / Integer.SIZE);
         long[] positionToFullHashes = new long[positionsInStep];
+        long[] runHashes = new long[positionsInStep];
         long hashCollisionsLocal = 0;
 
         for (int step = 0; step * positionsInStep <= addresses.size(); step++) {
@@ -81,11 +83,9 @@ public final class PagesHash
             // First extract all hashes from blocks to native array.
             // Somehow having this as a separate loop is much faster compared
             // to extracting hashes on the fly in the loop below.
+            readHashPositions(stepBeginPosition, stepSize, positionToFullHashes, runHashes);
             for (int position = 0; position < stepSize; position++) {
-                int realPosition = position + stepBeginPosition;
-                long hash = readHashPosition(realPosition);
-                positionToFullHashes[position] = hash;
-                positionToHashes[realPosition] = (byte) hash;
+                positionToHashes[position + stepBeginPosition] = (byte) positionToFullHashes[position];
             }
 
             // index pages
@@ -186,13 +186,24 @@ public final class PagesHash
         return pagesHashStrategy.isPositionNull(blockIndex, blockPosition);
     }
 
-    private long readHashPosition(int position)
+    private void readHashPositions(int positionOffset, int length, long[] hashes, long[] runHashes)
     {
-        long pageAddress = addresses.getLong(position);
-        int blockIndex = decodeSliceIndex(pageAddress);
-        int blockPosition = decodePosition(pageAddress);
-
-        return pagesHashStrategy.hashPosition(blockIndex, blockPosition);
+        // the addresses of the positions of a block are usually consecutive, so the hashes of each such run are read at once
+        long[] pageAddresses = addresses.elements();
+        int position = 0;
+        while (position < length) {
+            long pageAddress = pageAddresses[positionOffset + position];
+            int blockIndex = decodeSliceIndex(pageAddress);
+            int blockPosition = decodePosition(pageAddress);
+
+            int runLength = 1;
+            while (position + runLength < length && pageAddresses[positionOffset + position + runLength] == encodeSyntheticAddress(blockIndex, blockPosition + runLength)) {
+                runLength++;
+            }
+            pagesHashStrategy.hashPositions(blockIndex, blockPosition, runLength, runHashes);
+            System.arraycopy(runHashes, 0, hashes, position, runLength);
+            position += runLength;
+        }
     }
 
     private boolean positionEqualsCurrentRowIgnoreNulls(int leftPosition, byte rawHash, int rightPosition, Page rightPage)
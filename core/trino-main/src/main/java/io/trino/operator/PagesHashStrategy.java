@@ -38,6 +38,17 @@ public interface PagesHashStrategy
      */
     long hashPosition(int blockIndex, int position);
 
+    /**
+     * Calculates the hash codes of {@code length} consecutive positions starting at {@code position}
+     * in the specified block, and stores them in the beginning of {@code hashes}.
+     */
+    default void hashPositions(int blockIndex, int position, int length, long[] hashes)
+    {
+        for (int i = 0; i < length; i++) {
+            hashes[i] = hashPosition(blockIndex, position + i);
+        }
+    }
+
     /**
      * Calculates the hash code at {@code position} in {@code page}. Page must have the same number of
      * Blocks as the hashed columns and each entry is expected to be the same type.
@@ -23,4 +23,17 @@ public interface PartitionFunction
      * @param page the arguments to bucketing function in order (no extra columns)
      */
     int getPartition(Page page, int position);
+
+    /**
+     * Calculates the partitions of the positions in the specified region of the page,
+     * and stores them in {@code partitions} starting at index zero.
+     *
+     * @param page the arguments to bucketing function in order (no extra columns)
+     */
+    default void getPartitions(Page page, int positionOffset, int length, int[] partitions)
+    {
+        for (int i = 0; i < length; i++) {
+            partitions[i] = getPartition(page, positionOffset + i);
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableMap;
+import io.trino.util.Mergeable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Distribution of rows over the partitions of a partitioned exchange and the
+ * sampled heavy hitter keys, as collected by {@link SkewedPartitionDetector}.
+ */
+public class PartitionSkewInfo
+        implements Mergeable<PartitionSkewInfo>
+{
+    private final long[] partitionRowCounts;
+    private final long sampledRows;
+    private final Map<String, Long> skewedKeySamples;
+
+    @JsonCreator
+    public PartitionSkewInfo(
+            @JsonProperty("partitionRowCounts") long[] partitionRowCounts,
+            @JsonProperty("sampledRows") long sampledRows,
+            @JsonProperty("skewedKeySamples") Map<String, Long> skewedKeySamples)
+    {
+        this.partitionRowCounts = requireNonNull(partitionRowCounts, "partitionRowCounts is null");
+        this.sampledRows = sampledRows;
+        this.skewedKeySamples = ImmutableMap.copyOf(requireNonNull(skewedKeySamples, "skewedKeySamples is null"));
+    }
+
+    @JsonProperty
+    public long[] getPartitionRowCounts()
+    {
+        return partitionRowCounts;
+    }
+
+    @JsonProperty
+    public long getSampledRows()
+    {
+        return sampledRows;
+    }
+
+    /**
+     * Number of sampled rows for each key which alone exceeded its fair share of a partition.
+     */
+    @JsonProperty
+    public Map<String, Long> getSkewedKeySamples()
+    {
+        return skewedKeySamples;
+    }
+
+    public long getMaxPartitionRows()
+    {
+        long max = 0;
+        for (long rows : partitionRowCounts) {
+            max = Math.max(max, rows);
+        }
+        return max;
+    }
+
+    public double getAveragePartitionRows()
+    {
+        if (partitionRowCounts.length == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (long rows : partitionRowCounts) {
+            total += rows;
+        }
+        return (double) total / partitionRowCounts.length;
+    }
+
+    @Override
+    public PartitionSkewInfo mergeWith(PartitionSkewInfo other)
+    {
+        checkArgument(partitionRowCounts.length == other.partitionRowCounts.length, "Partition counts do not match: %s vs %s", partitionRowCounts.length, other.partitionRowCounts.length);
+        long[] mergedRowCounts = partitionRowCounts.clone();
+        for (int partition = 0; partition < mergedRowCounts.length; partition++) {
+            mergedRowCounts[partition] += other.partitionRowCounts[partition];
+        }
+        Map<String, Long> mergedKeys = new HashMap<>(skewedKeySamples);
+        other.skewedKeySamples.forEach((key, count) -> mergedKeys.merge(key, count, Long::sum));
+        return new PartitionSkewInfo(mergedRowCounts, sampledRows + other.sampledRows, mergedKeys);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("partitions", partitionRowCounts.length)
+                .add("sampledRows", sampledRows)
+                .add("skewedKeySamples", skewedKeySamples)
+                .toString();
+    }
+}
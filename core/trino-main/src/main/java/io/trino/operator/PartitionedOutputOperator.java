@@ -21,17 +21,20 @@ import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.DataSize;
 import io.trino.execution.buffer.OutputBuffer;
 import io.trino.execution.buffer.PagesSerde;
+import io.trino.execution.buffer.PagesSerde.PagesSerdeContext;
 import io.trino.execution.buffer.PagesSerdeFactory;
 import io.trino.execution.buffer.SerializedPage;
 import io.trino.memory.context.LocalMemoryContext;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
 import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.block.RunLengthEncodedBlock;
 import io.trino.spi.predicate.NullableValue;
 import io.trino.spi.type.Type;
 import io.trino.sql.planner.plan.PlanNodeId;
 import io.trino.util.Mergeable;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 import javax.annotation.Nullable;
 
@@ -65,6 +68,7 @@ public class PartitionedOutputOperator
         private final boolean replicatesAnyRow;
         private final OptionalInt nullChannel;
         private final DataSize maxMemory;
+        private final Optional<List<Integer>> skewDetectionChannels;
 
         public PartitionedOutputFactory(
                 PartitionFunction partitionFunction,
@@ -73,7 +77,8 @@ public class PartitionedOutputOperator
                 boolean replicatesAnyRow,
                 OptionalInt nullChannel,
                 OutputBuffer outputBuffer,
-                DataSize maxMemory)
+                DataSize maxMemory,
+                Optional<List<Integer>> skewDetectionChannels)
         {
             this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
             this.partitionChannels = requireNonNull(partitionChannels, "partitionChannels is null");
@@ -82,6 +87,7 @@ public class PartitionedOutputOperator
             this.nullChannel = requireNonNull(nullChannel, "nullChannel is null");
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.maxMemory = requireNonNull(maxMemory, "maxMemory is null");
+            this.skewDetectionChannels = requireNonNull(skewDetectionChannels, "skewDetectionChannels is null");
         }
 
         @Override
@@ -104,7 +110,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    skewDetectionChannels);
         }
     }
 
@@ -123,6 +130,7 @@ public class PartitionedOutputOperator
         private final OutputBuffer outputBuffer;
         private final PagesSerdeFactory serdeFactory;
         private final DataSize maxMemory;
+        private final Optional<List<Integer>> skewDetectionChannels;
 
         public PartitionedOutputOperatorFactory(
                 int operatorId,
@@ -136,7 +144,8 @@ public class PartitionedOutputOperator
                 OptionalInt nullChannel,
                 OutputBuffer outputBuffer,
                 PagesSerdeFactory serdeFactory,
-                DataSize maxMemory)
+                DataSize maxMemory,
+                Optional<List<Integer>> skewDetectionChannels)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -150,6 +159,7 @@ public class PartitionedOutputOperator
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.serdeFactory = requireNonNull(serdeFactory, "serdeFactory is null");
             this.maxMemory = requireNonNull(maxMemory, "maxMemory is null");
+            this.skewDetectionChannels = requireNonNull(skewDetectionChannels, "skewDetectionChannels is null");
         }
 
         @Override
@@ -167,7 +177,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    skewDetectionChannels);
         }
 
         @Override
@@ -190,7 +201,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    skewDetectionChannels);
         }
     }
 
@@ -213,7 +225,8 @@ public class PartitionedOutputOperator
             OptionalInt nullChannel,
             OutputBuffer outputBuffer,
             PagesSerdeFactory serdeFactory,
-            DataSize maxMemory)
+            DataSize maxMemory,
+            Optional<List<Integer>> skewDetectionChannels)
     {
         this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
         this.pagePreprocessor = requireNonNull(pagePreprocessor, "pagePreprocessor is null");
@@ -227,6 +240,7 @@ public class PartitionedOutputOperator
                 serdeFactory,
                 sourceTypes,
                 maxMemory,
+                skewDetectionChannels,
                 operatorContext);
 
         operatorContext.setInfoSupplier(this::getInfo);
@@ -307,6 +321,9 @@ public class PartitionedOutputOperator
 
     private static class PagePartitioner
     {
+        private static final int REPLICATED = -1;
+        private static final int DIRECT_SERIALIZATION_MIN_POSITIONS = 16;
+
         private final OutputBuffer outputBuffer;
         private final List<Type> sourceTypes;
         private final PartitionFunction partitionFunction;
@@ -314,12 +331,18 @@ public class PartitionedOutputOperator
         @Nullable
         private final Block[] partitionConstantBlocks; // when null, no constants are present. Only non-null elements are constants
         private final PagesSerde serde;
+        private final int pageSize;
         private final PageBuilder[] pageBuilders;
+        private final IntArrayList[] partitionPositions;
+        private final IntArrayList replicatedPositions = new IntArrayList();
+        private int[] partitions = new int[0];
         private final boolean replicatesAnyRow;
         private final OptionalInt nullChannel; // when present, send the position to every partition if this channel is null.
         private final AtomicLong rowsAdded = new AtomicLong();
         private final AtomicLong pagesAdded = new AtomicLong();
         private boolean hasAnyRowBeenReplicated;
+        @Nullable
+        private final SkewedPartitionDetector skewDetector; // when null, skew detection is disabled
         private final OperatorContext operatorContext;
 
         public PagePartitioner(
@@ -332,6 +355,7 @@ public class PartitionedOutputOperator
                 PagesSerdeFactory serdeFactory,
                 List<Type> sourceTypes,
                 DataSize maxMemory,
+                Optional<List<Integer>> skewDetectionChannels,
                 OperatorContext operatorContext)
         {
             this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
@@ -362,12 +386,18 @@ public class PartitionedOutputOperator
 
             int partitionCount = partitionFunction.getPartitionCount();
             int pageSize = toIntExact(min(DEFAULT_MAX_PAGE_SIZE_IN_BYTES, maxMemory.toBytes() / partitionCount));
-            pageSize = max(1, pageSize);
+            this.pageSize = max(1, pageSize);
 
             this.pageBuilders = new PageBuilder[partitionCount];
+            this.partitionPositions = new IntArrayList[partitionCount];
             for (int i = 0; i < partitionCount; i++) {
-                pageBuilders[i] = PageBuilder.withMaxPageSize(pageSize, sourceTypes);
+                pageBuilders[i] = PageBuilder.withMaxPageSize(this.pageSize, sourceTypes);
+                partitionPositions[i] = new IntArrayList();
             }
+
+            this.skewDetector = requireNonNull(skewDetectionChannels, "skewDetectionChannels is null")
+                    .map(channels -> new SkewedPartitionDetector(channels, sourceTypes, partitionCount, operatorContext.getSession().toConnectorSession()))
+                    .orElse(null);
         }
 
         public ListenableFuture<?> isFull()
@@ -400,29 +430,94 @@ public class PartitionedOutputOperator
 
         public PartitionedOutputInfo getInfo()
         {
-            return new PartitionedOutputInfo(rowsAdded.get(), pagesAdded.get(), outputBuffer.getPeakMemoryUsage());
+            return new PartitionedOutputInfo(
+                    rowsAdded.get(),
+                    pagesAdded.get(),
+                    outputBuffer.getPeakMemoryUsage(),
+                    Optional.ofNullable(skewDetector).map(SkewedPartitionDetector::getInfo));
         }
 
         public void partitionPage(Page page)
         {
             requireNonNull(page, "page is null");
 
-            Page partitionFunctionArgs = getPartitionFunctionArguments(page);
-            for (int position = 0; position < page.getPositionCount(); position++) {
-                boolean shouldReplicate = (replicatesAnyRow && !hasAnyRowBeenReplicated) ||
-                        nullChannel.isPresent() && page.getBlock(nullChannel.getAsInt()).isNull(position);
-                if (shouldReplicate) {
-                    for (PageBuilder pageBuilder : pageBuilders) {
-                        appendRow(pageBuilder, page, position);
-                    }
-                    hasAnyRowBeenReplicated = true;
+            int positionCount = page.getPositionCount();
+            int[] partitions = getPartitions(page);
+
+            // assign the positions to the partitions
+            for (IntArrayList positions : partitionPositions) {
+                positions.clear();
+            }
+            replicatedPositions.clear();
+            for (int position = 0; position < positionCount; position++) {
+                int partition = partitions[position];
+                if (partition == REPLICATED) {
+                    replicatedPositions.add(position);
                 }
                 else {
-                    int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
-                    appendRow(pageBuilders[partition], page, position);
+                    partitionPositions[partition].add(position);
+                    if (skewDetector != null) {
+                        skewDetector.recordRow(page, position, partition);
+                    }
+                }
+            }
+            if (!replicatedPositions.isEmpty()) {
+                hasAnyRowBeenReplicated = true;
+                for (IntArrayList positions : partitionPositions) {
+                    positions.addAll(replicatedPositions);
+                }
+            }
+
+            // the rows of a partition too large for buffering are serialized as they are, so dictionaries and runs are not expanded
+            long directSerializationPositions = Long.MAX_VALUE;
+            if (positionCount >= DIRECT_SERIALIZATION_MIN_POSITIONS) {
+                directSerializationPositions = max(1, pageSize / 2 / max(1, page.getSizeInBytes() / positionCount));
+            }
+
+            try (PagesSerdeContext context = serde.newContext()) {
+                for (int partition = 0; partition < partitionPositions.length; partition++) {
+                    IntArrayList positions = partitionPositions[partition];
+                    if (positions.isEmpty()) {
+                        continue;
+                    }
+                    if (positions.size() >= directSerializationPositions) {
+                        enqueuePage(context, partition, page.copyPositions(positions.elements(), 0, positions.size()));
+                    }
+                    else {
+                        appendPositions(pageBuilders[partition], page, positions.elements(), positions.size());
+                    }
+                }
+                flush(context, false);
+            }
+        }
+
+        /**
+         * Computes the partitions of all the positions in the page at once. The positions sent to every
+         * partition are assigned to {@code REPLICATED}.
+         */
+        private int[] getPartitions(Page page)
+        {
+            int positionCount = page.getPositionCount();
+            if (partitions.length < positionCount) {
+                partitions = new int[positionCount];
+            }
+
+            Page partitionFunctionArgs = getPartitionFunctionArguments(page);
+            Block nullBlock = nullChannel.isPresent() ? page.getBlock(nullChannel.getAsInt()) : null;
+            if (nullBlock != null && nullBlock.mayHaveNull()) {
+                // the partition function is not applied to the null rows
+                for (int position = 0; position < positionCount; position++) {
+                    partitions[position] = nullBlock.isNull(position) ? REPLICATED : partitionFunction.getPartition(partitionFunctionArgs, position);
                 }
             }
-            flush(false);
+            else {
+                partitionFunction.getPartitions(partitionFunctionArgs, 0, positionCount, partitions);
+            }
+
+            if (replicatesAnyRow && !hasAnyRowBeenReplicated) {
+                partitions[0] = REPLICATED;
+            }
+            return partitions;
         }
 
         private Page getPartitionFunctionArguments(Page page)
@@ -445,37 +540,53 @@ public class PartitionedOutputOperator
             return new Page(page.getPositionCount(), blocks);
         }
 
-        private void appendRow(PageBuilder pageBuilder, Page page, int position)
+        /**
+         * Appends the positions to the page builder one column at a time.
+         */
+        private void appendPositions(PageBuilder pageBuilder, Page page, int[] positions, int length)
         {
-            pageBuilder.declarePosition();
+            pageBuilder.declarePositions(length);
 
             for (int channel = 0; channel < sourceTypes.size(); channel++) {
                 Type type = sourceTypes.get(channel);
-                type.appendTo(page.getBlock(channel), position, pageBuilder.getBlockBuilder(channel));
+                Block block = page.getBlock(channel);
+                BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(channel);
+                for (int i = 0; i < length; i++) {
+                    type.appendTo(block, positions[i], blockBuilder);
+                }
             }
         }
 
         public void flush(boolean force)
         {
-            try (PagesSerde.PagesSerdeContext context = serde.newContext()) {
-                // add all full pages to output buffer
-                for (int partition = 0; partition < pageBuilders.length; partition++) {
-                    PageBuilder partitionPageBuilder = pageBuilders[partition];
-                    if (!partitionPageBuilder.isEmpty() && (force || partitionPageBuilder.isFull())) {
-                        Page pagePartition = partitionPageBuilder.build();
-                        partitionPageBuilder.reset();
-
-                        operatorContext.recordOutput(pagePartition.getSizeInBytes(), pagePartition.getPositionCount());
-
-                        outputBuffer.enqueue(partition, splitAndSerializePage(context, pagePartition));
-                        pagesAdded.incrementAndGet();
-                        rowsAdded.addAndGet(pagePartition.getPositionCount());
-                    }
+            try (PagesSerdeContext context = serde.newContext()) {
+                flush(context, force);
+            }
+        }
+
+        private void flush(PagesSerdeContext context, boolean force)
+        {
+            // add all full pages to output buffer
+            for (int partition = 0; partition < pageBuilders.length; partition++) {
+                PageBuilder partitionPageBuilder = pageBuilders[partition];
+                if (!partitionPageBuilder.isEmpty() && (force || partitionPageBuilder.isFull())) {
+                    Page pagePartition = partitionPageBuilder.build();
+                    partitionPageBuilder.reset();
+                    enqueuePage(context, partition, pagePartition);
                 }
             }
         }
 
-        private List<SerializedPage> splitAndSerializePage(PagesSerde.PagesSerdeContext context, Page page)
+        private void enqueuePage(PagesSerdeContext context, int partition, Page pagePartition)
+        {
+            operatorContext.recordOutput(pagePartition.getSizeInBytes(), pagePartition.getPositionCount());
+
+            outputBuffer.enqueue(partition, splitAndSerializePage(context, pagePartition));
+            pagesAdded.incrementAndGet();
+            rowsAdded.addAndGet(pagePartition.getPositionCount());
+        }
+
+        private List<SerializedPage> splitAndSerializePage(PagesSerdeContext context, Page page)
         {
             List<Page> split = splitPage(page, DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
             ImmutableList.Builder<SerializedPage> builder = ImmutableList.builderWithExpectedSize(split.size());
@@ -492,16 +603,19 @@ public class PartitionedOutputOperator
         private final long rowsAdded;
         private final long pagesAdded;
         private final long outputBufferPeakMemoryUsage;
+        private final Optional<PartitionSkewInfo> skewInfo;
 
         @JsonCreator
         public PartitionedOutputInfo(
                 @JsonProperty("rowsAdded") long rowsAdded,
                 @JsonProperty("pagesAdded") long pagesAdded,
-                @JsonProperty("outputBufferPeakMemoryUsage") long outputBufferPeakMemoryUsage)
+                @JsonProperty("outputBufferPeakMemoryUsage") long outputBufferPeakMemoryUsage,
+                @JsonProperty("skewInfo") Optional<PartitionSkewInfo> skewInfo)
         {
             this.rowsAdded = rowsAdded;
             this.pagesAdded = pagesAdded;
             this.outputBufferPeakMemoryUsage = outputBufferPeakMemoryUsage;
+            this.skewInfo = requireNonNull(skewInfo, "skewInfo is null");
         }
 
         @JsonProperty
@@ -522,13 +636,24 @@ public class PartitionedOutputOperator
             return outputBufferPeakMemoryUsage;
         }
 
+        @JsonProperty
+        public Optional<PartitionSkewInfo> getSkewInfo()
+        {
+            return skewInfo;
+        }
+
         @Override
         public PartitionedOutputInfo mergeWith(PartitionedOutputInfo other)
         {
+            Optional<PartitionSkewInfo> mergedSkewInfo = skewInfo;
+            if (other.skewInfo.isPresent()) {
+                mergedSkewInfo = Optional.of(skewInfo.map(info -> info.mergeWith(other.skewInfo.get())).orElse(other.skewInfo.get()));
+            }
             return new PartitionedOutputInfo(
                     rowsAdded + other.rowsAdded,
                     pagesAdded + other.pagesAdded,
-                    Math.max(outputBufferPeakMemoryUsage, other.outputBufferPeakMemoryUsage));
+                    Math.max(outputBufferPeakMemoryUsage, other.outputBufferPeakMemoryUsage),
+                    mergedSkewInfo);
         }
 
         @Override
@@ -544,6 +669,7 @@ public class PartitionedOutputOperator
                     .add("rowsAdded", rowsAdded)
                     .add("pagesAdded", pagesAdded)
                     .add("outputBufferPeakMemoryUsage", outputBufferPeakMemoryUsage)
+                    .add("skewInfo", skewInfo.orElse(null))
                     .toString();
         }
     }
@@ -34,6 +34,12 @@ public class PrecomputedHashGenerator
         return BigintType.BIGINT.getLong(page.getBlock(hashChannel), position);
     }
 
+    @Override
+    public void hashPositions(Page page, int positionOffset, int length, long[] hashes)
+    {
+        page.getBlock(hashChannel).copyLongs(positionOffset, length, hashes);
+    }
+
     @Override
     public String toString()
     {
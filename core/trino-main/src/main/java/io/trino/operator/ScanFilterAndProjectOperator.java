@@ -65,6 +65,7 @@ public class ScanFilterAndProjectOperator
         implements WorkProcessorSourceOperator
 {
     private final WorkProcessor<Page> pages;
+    private final PageProcessor pageProcessor;
 
     @Nullable
     private RecordCursor cursor;
@@ -93,6 +94,7 @@ public class ScanFilterAndProjectOperator
             int minOutputPageRowCount,
             boolean avoidPageMaterialization)
     {
+        this.pageProcessor = requireNonNull(pageProcessor, "pageProcessor is null");
         pages = splits.flatTransform(
                 new SplitToPages(
                         session,
@@ -163,6 +165,12 @@ public class ScanFilterAndProjectOperator
         return pages;
     }
 
+    @Override
+    public Optional<OperatorInfo> getOperatorInfo()
+    {
+        return pageProcessor.getFilterInfo().map(OperatorInfo.class::cast);
+    }
+
     @Override
     public void close()
     {
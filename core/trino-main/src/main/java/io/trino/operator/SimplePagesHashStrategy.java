@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
 import io.trino.spi.block.Block;
+import io.trino.spi.block.LongArrayBlock;
 import io.trino.spi.type.Type;
 import io.trino.type.BlockTypeOperators;
 import io.trino.type.BlockTypeOperators.BlockPositionComparison;
@@ -25,12 +26,14 @@ import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
 import io.trino.type.BlockTypeOperators.BlockPositionIsDistinctFrom;
 import org.openjdk.jol.info.ClassLayout;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.operator.ColumnHasher.createColumnHasher;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static java.util.Objects.requireNonNull;
 
@@ -44,9 +47,13 @@ public class SimplePagesHashStrategy
     private final List<List<Block>> channels;
     private final List<Integer> hashChannels;
     private final List<Block> precomputedHashChannel;
+    // arrays backing the blocks of the precomputed hash channel, or null for the blocks not backed by an array
+    private final long[][] precomputedHashes;
+    private final int[] precomputedHashOffsets;
     private final Optional<Integer> sortChannel;
     private final List<BlockPositionEqual> equalOperators;
     private final List<BlockPositionHashCode> hashCodeOperators;
+    private final List<ColumnHasher> columnHashers;
     private final List<BlockPositionIsDistinctFrom> isDistinctFromOperators;
 
     public SimplePagesHashStrategy(
@@ -69,9 +76,20 @@ public class SimplePagesHashStrategy
         this.hashChannels = ImmutableList.copyOf(requireNonNull(hashChannels, "hashChannels is null"));
         if (precomputedHashChannel.isPresent()) {
             this.precomputedHashChannel = channels.get(precomputedHashChannel.getAsInt());
+            this.precomputedHashes = new long[this.precomputedHashChannel.size()][];
+            this.precomputedHashOffsets = new int[this.precomputedHashChannel.size()];
+            for (int blockIndex = 0; blockIndex < this.precomputedHashChannel.size(); blockIndex++) {
+                Block block = this.precomputedHashChannel.get(blockIndex);
+                if (block instanceof LongArrayBlock) {
+                    precomputedHashes[blockIndex] = ((LongArrayBlock) block).getRawValues();
+                    precomputedHashOffsets[blockIndex] = ((LongArrayBlock) block).getRawArrayOffset();
+                }
+            }
         }
         else {
             this.precomputedHashChannel = null;
+            this.precomputedHashes = null;
+            this.precomputedHashOffsets = null;
         }
         this.sortChannel = requireNonNull(sortChannel, "sortChannel is null");
 
@@ -83,6 +101,10 @@ public class SimplePagesHashStrategy
                 .map(types::get)
                 .map(blockTypeOperators::getHashCodeOperator)
                 .collect(toImmutableList());
+        this.columnHashers = hashChannels.stream()
+                .map(types::get)
+                .map(type -> createColumnHasher(type, blockTypeOperators))
+                .collect(toImmutableList());
         this.isDistinctFromOperators = hashChannels.stream()
                 .map(types::get)
                 .map(blockTypeOperators::getDistinctFromOperator)
@@ -120,6 +142,10 @@ public class SimplePagesHashStrategy
     public long hashPosition(int blockIndex, int position)
     {
         if (precomputedHashChannel != null) {
+            long[] hashes = precomputedHashes[blockIndex];
+            if (hashes != null) {
+                return hashes[position + precomputedHashOffsets[blockIndex]];
+            }
             return BIGINT.getLong(precomputedHashChannel.get(blockIndex), position);
         }
         long result = 0;
@@ -130,6 +156,20 @@ public class SimplePagesHashStrategy
         return result;
     }
 
+    @Override
+    public void hashPositions(int blockIndex, int position, int length, long[] hashes)
+    {
+        if (precomputedHashChannel != null) {
+            precomputedHashChannel.get(blockIndex).copyLongs(position, length, hashes);
+            return;
+        }
+        Arrays.fill(hashes, 0, length, 0);
+        for (int i = 0; i < hashChannels.size(); i++) {
+            Block block = channels.get(hashChannels.get(i)).get(blockIndex);
+            columnHashers.get(i).combineHash(block, position, length, hashes);
+        }
+    }
+
     @Override
     public long hashRow(int position, Page page)
     {
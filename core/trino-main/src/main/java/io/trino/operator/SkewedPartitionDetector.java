@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.type.Type;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Tracks how rows of a partitioned exchange are spread over the output partitions
+ * and finds heavy hitter keys using the Misra-Gries frequent items algorithm over
+ * a sample of the input. Only every {@link #SAMPLING_INTERVAL}-th row is rendered
+ * and counted, so the per-row cost is a counter increment.
+ * <p>
+ * This only detects and reports the skew. The rows are still sent to the partition
+ * chosen by the partition function, as the consumers of a partitioned exchange, such as
+ * aggregations, joins and window functions, rely on all the rows of a key being in the
+ * same partition. Spreading a key over several partitions needs the plan to be adapted,
+ * for example by replicating the matching rows of the other side of a join, and the
+ * stages to agree on the skewed keys before they produce any row, which is beyond what
+ * the operator can decide on its own. The detector sees the output of a single task,
+ * so the thresholds apply to the rows of that task: a key that is frequent over the
+ * whole stage, but below the threshold in each of its tasks, is not reported.
+ */
+public class SkewedPartitionDetector
+{
+    static final int SAMPLING_INTERVAL = 16;
+    static final int MAX_TRACKED_KEYS = 64;
+    // Keys are reported only when they alone account for more than this many "fair shares" of a partition
+    static final double SKEW_FACTOR = 2.0;
+    static final long MIN_SAMPLED_ROWS = 100;
+
+    private final int[] keyChannels;
+    private final List<Type> keyTypes;
+    private final ConnectorSession session;
+    private final long[] partitionRowCounts;
+    private final Map<String, Long> keyCounters = new HashMap<>();
+    private long sampledRows;
+    private int rowsUntilNextSample = SAMPLING_INTERVAL;
+
+    public SkewedPartitionDetector(List<Integer> keyChannels, List<Type> sourceTypes, int partitionCount, ConnectorSession session)
+    {
+        requireNonNull(keyChannels, "keyChannels is null");
+        requireNonNull(sourceTypes, "sourceTypes is null");
+        checkArgument(partitionCount > 0, "partitionCount must be positive");
+        this.keyChannels = Ints.toArray(keyChannels);
+        this.keyTypes = keyChannels.stream()
+                .map(sourceTypes::get)
+                .collect(toImmutableList());
+        this.session = requireNonNull(session, "session is null");
+        this.partitionRowCounts = new long[partitionCount];
+    }
+
+    public void recordRow(Page page, int position, int partition)
+    {
+        partitionRowCounts[partition]++;
+        if (--rowsUntilNextSample > 0) {
+            return;
+        }
+        rowsUntilNextSample = SAMPLING_INTERVAL;
+        sampledRows++;
+        addKey(renderKey(page, position));
+    }
+
+    public PartitionSkewInfo getInfo()
+    {
+        ImmutableMap.Builder<String, Long> skewedKeys = ImmutableMap.builder();
+        if (sampledRows >= MIN_SAMPLED_ROWS) {
+            // Counters may underestimate frequencies by up to sampledRows / (MAX_TRACKED_KEYS + 1), so anything rarer is noise
+            double threshold = Math.max(SKEW_FACTOR * sampledRows / partitionRowCounts.length, (double) sampledRows / MAX_TRACKED_KEYS);
+            keyCounters.forEach((key, count) -> {
+                if (count > threshold) {
+                    skewedKeys.put(key, count);
+                }
+            });
+        }
+        return new PartitionSkewInfo(partitionRowCounts.clone(), sampledRows, skewedKeys.build());
+    }
+
+    private void addKey(String key)
+    {
+        Long count = keyCounters.get(key);
+        if (count != null) {
+            keyCounters.put(key, count + 1);
+            return;
+        }
+        if (keyCounters.size() < MAX_TRACKED_KEYS) {
+            keyCounters.put(key, 1L);
+            return;
+        }
+        // No free counter, so decrement all of them. Keys more frequent than 1 / (MAX_TRACKED_KEYS + 1) survive this.
+        Iterator<Map.Entry<String, Long>> iterator = keyCounters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getValue() == 1) {
+                iterator.remove();
+            }
+            else {
+                entry.setValue(entry.getValue() - 1);
+            }
+        }
+    }
+
+    private String renderKey(Page page, int position)
+    {
+        if (keyChannels.length == 1) {
+            return renderValue(keyTypes.get(0), page.getBlock(keyChannels[0]), position);
+        }
+        StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < keyChannels.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(renderValue(keyTypes.get(i), page.getBlock(keyChannels[i]), position));
+        }
+        return builder.append(")").toString();
+    }
+
+    private String renderValue(Type type, Block block, int position)
+    {
+        return String.valueOf(type.getObjectValue(session, block, position));
+    }
+}
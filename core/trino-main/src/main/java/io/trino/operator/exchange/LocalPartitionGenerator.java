@@ -26,6 +26,8 @@ public class LocalPartitionGenerator
     private final HashGenerator hashGenerator;
     private final int partitionCount;
     private final int hashMask;
+    // reused by getPartitions, which is not thread safe
+    private long[] rawHashes = new long[0];
 
     public LocalPartitionGenerator(HashGenerator hashGenerator, int partitionCount)
     {
@@ -48,6 +50,18 @@ public class LocalPartitionGenerator
         return processRawHash(rawHash) & hashMask;
     }
 
+    @Override
+    public void getPartitions(Page page, int positionOffset, int length, int[] partitions)
+    {
+        if (rawHashes.length < length) {
+            rawHashes = new long[length];
+        }
+        hashGenerator.hashPositions(page, positionOffset, length, rawHashes);
+        for (int i = 0; i < length; i++) {
+            partitions[i] = processRawHash(rawHashes[i]) & hashMask;
+        }
+    }
+
     public long getRawHash(Page page, int position)
     {
         return hashGenerator.hashPosition(position, page);
@@ -36,6 +36,7 @@ class PartitioningExchanger
     private final PartitionFunction partitionFunction;
     private final IntArrayList[] partitionAssignments;
     private final PageReleasedListener onPageReleased;
+    private int[] partitions = new int[0];
 
     public PartitioningExchanger(
             List<Consumer<PageReference>> partitions,
@@ -65,9 +66,13 @@ class PartitioningExchanger
 
         // assign each row to a partition
         Page partitionPage = partitionedPagePreparer.apply(page);
-        for (int position = 0; position < partitionPage.getPositionCount(); position++) {
-            int partition = partitionFunction.getPartition(partitionPage, position);
-            partitionAssignments[partition].add(position);
+        int positionCount = partitionPage.getPositionCount();
+        if (partitions.length < positionCount) {
+            partitions = new int[positionCount];
+        }
+        partitionFunction.getPartitions(partitionPage, 0, positionCount, partitions);
+        for (int position = 0; position < positionCount; position++) {
+            partitionAssignments[partitions[position]].add(position);
         }
 
         // build a page for each partition
@@ -0,0 +1,390 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.ConstantExpression;
+import io.trino.sql.relational.DeterminismEvaluator;
+import io.trino.sql.relational.InputReferenceExpression;
+import io.trino.sql.relational.LambdaDefinitionExpression;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.RowExpressionVisitor;
+import io.trino.sql.relational.SpecialForm;
+import io.trino.sql.relational.VariableReferenceExpression;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Lists.reverse;
+import static io.trino.sql.relational.Expressions.field;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Extract the subexpressions shared by the projections, so they are computed once per position.
+ * Each extracted subexpression becomes an additional channel of the input page, starting after
+ * the last channel referenced by the projections, and the projections reference that channel
+ * instead. A subexpression may reference the channels of the subexpressions before it.
+ * <p>
+ * Only subexpressions which are evaluated for every position in at least one of their occurrences
+ * are extracted, so computing them ahead of the projections does not evaluate anything which the
+ * original projections would have skipped, e.g., the branches of an IF, or the arguments following
+ * a null argument of a function.
+ */
+public final class CommonSubexpressionRewriter
+{
+    private CommonSubexpressionRewriter() {}
+
+    public static Result extractCommonSubexpressions(List<? extends RowExpression> projections, DeterminismEvaluator determinismEvaluator)
+    {
+        int firstChannel = projections.stream()
+                .mapToInt(CommonSubexpressionRewriter::getMaxInputChannel)
+                .max()
+                .orElse(-1) + 1;
+
+        // extract the largest shared subexpression first, as it may contain smaller shared subexpressions
+        List<RowExpression> rewrittenProjections = ImmutableList.copyOf(projections);
+        List<RowExpression> subexpressions = ImmutableList.of();
+        while (true) {
+            Optional<RowExpression> candidate = findLargestCommonSubexpression(rewrittenProjections, subexpressions, determinismEvaluator);
+            if (candidate.isEmpty()) {
+                break;
+            }
+            InputReferenceExpression reference = field(firstChannel + subexpressions.size(), candidate.get().getType());
+            rewrittenProjections = replace(rewrittenProjections, candidate.get(), reference);
+            subexpressions = ImmutableList.<RowExpression>builder()
+                    .addAll(replace(subexpressions, candidate.get(), reference))
+                    .add(candidate.get())
+                    .build();
+        }
+
+        if (subexpressions.isEmpty()) {
+            return new Result(ImmutableList.of(), firstChannel, rewrittenProjections);
+        }
+
+        // the subexpressions extracted later are contained in the ones extracted earlier, so compute them in reverse order
+        int count = subexpressions.size();
+        Function<RowExpression, RowExpression> renumber = expression -> expression.accept(new RenumberChannels(firstChannel, count), null);
+        List<RowExpression> orderedSubexpressions = reverse(subexpressions).stream()
+                .map(renumber)
+                .collect(toImmutableList());
+        for (int i = 0; i < orderedSubexpressions.size(); i++) {
+            verify(getMaxInputChannel(orderedSubexpressions.get(i)) < firstChannel + i, "subexpression references a channel which is not computed yet");
+        }
+        return new Result(
+                orderedSubexpressions,
+                firstChannel,
+                rewrittenProjections.stream()
+                        .map(renumber)
+                        .collect(toImmutableList()));
+    }
+
+    private static Optional<RowExpression> findLargestCommonSubexpression(List<RowExpression> projections, List<RowExpression> subexpressions, DeterminismEvaluator determinismEvaluator)
+    {
+        Map<RowExpression, Occurrences> occurrences = new LinkedHashMap<>();
+        // the projections and the already extracted subexpressions are computed for every position
+        for (RowExpression expression : Iterables.concat(projections, subexpressions)) {
+            collectOccurrences(expression, true, occurrences);
+        }
+
+        RowExpression largest = null;
+        int largestSize = 0;
+        for (Map.Entry<RowExpression, Occurrences> entry : occurrences.entrySet()) {
+            RowExpression expression = entry.getKey();
+            Occurrences expressionOccurrences = entry.getValue();
+            if (expressionOccurrences.getCount() < 2 || !expressionOccurrences.isUnconditional()) {
+                continue;
+            }
+            int size = getSize(expression);
+            if (size > largestSize && isExtractable(expression) && determinismEvaluator.isDeterministic(expression)) {
+                largest = expression;
+                largestSize = size;
+            }
+        }
+        return Optional.ofNullable(largest);
+    }
+
+    /**
+     * Count the occurrences of the calls and special forms in the expression, and whether any
+     * of the occurrences is evaluated for every position the expression is evaluated for.
+     */
+    static void collectOccurrences(RowExpression expression, boolean unconditional, Map<RowExpression, Occurrences> occurrences)
+    {
+        if (expression instanceof CallExpression) {
+            occurrences.computeIfAbsent(expression, ignored -> new Occurrences()).add(unconditional);
+            // a null argument short circuits the invocation, so only the arguments up to the first one which may be null are always evaluated
+            boolean argumentUnconditional = unconditional;
+            for (RowExpression argument : ((CallExpression) expression).getArguments()) {
+                collectOccurrences(argument, argumentUnconditional, occurrences);
+                argumentUnconditional &= argument instanceof ConstantExpression && ((ConstantExpression) argument).getValue() != null;
+            }
+        }
+        else if (expression instanceof SpecialForm) {
+            occurrences.computeIfAbsent(expression, ignored -> new Occurrences()).add(unconditional);
+            // the first argument of each special form is always evaluated, the others may be skipped
+            List<RowExpression> arguments = ((SpecialForm) expression).getArguments();
+            for (int i = 0; i < arguments.size(); i++) {
+                collectOccurrences(arguments.get(i), unconditional && i == 0, occurrences);
+            }
+        }
+        // lambda bodies are evaluated by the functions they are passed to
+    }
+
+    /**
+     * Computing a subexpression ahead of the projections is worthwhile only if it works on
+     * values which are not primitives (strings, JSON, arrays, etc.), as cheap arithmetic costs
+     * less to recompute than to read back through an additional channel.
+     */
+    private static boolean isExtractable(RowExpression expression)
+    {
+        return (expression instanceof CallExpression || expression instanceof SpecialForm) &&
+                !containsLambda(expression) &&
+                involvesNonPrimitiveValues(expression);
+    }
+
+    private static boolean containsLambda(RowExpression expression)
+    {
+        if (expression instanceof LambdaDefinitionExpression || expression instanceof VariableReferenceExpression) {
+            return true;
+        }
+        if (expression instanceof CallExpression) {
+            return ((CallExpression) expression).getArguments().stream().anyMatch(CommonSubexpressionRewriter::containsLambda);
+        }
+        if (expression instanceof SpecialForm) {
+            return ((SpecialForm) expression).getArguments().stream().anyMatch(CommonSubexpressionRewriter::containsLambda);
+        }
+        return false;
+    }
+
+    private static boolean involvesNonPrimitiveValues(RowExpression expression)
+    {
+        if (isNonPrimitive(expression)) {
+            return true;
+        }
+        if (expression instanceof CallExpression) {
+            return ((CallExpression) expression).getArguments().stream().anyMatch(CommonSubexpressionRewriter::involvesNonPrimitiveValues);
+        }
+        if (expression instanceof SpecialForm) {
+            return ((SpecialForm) expression).getArguments().stream().anyMatch(CommonSubexpressionRewriter::involvesNonPrimitiveValues);
+        }
+        return false;
+    }
+
+    private static boolean isNonPrimitive(RowExpression expression)
+    {
+        return !(expression instanceof ConstantExpression) && !expression.getType().getJavaType().isPrimitive();
+    }
+
+    private static int getSize(RowExpression expression)
+    {
+        if (expression instanceof CallExpression) {
+            return 1 + ((CallExpression) expression).getArguments().stream().mapToInt(CommonSubexpressionRewriter::getSize).sum();
+        }
+        if (expression instanceof SpecialForm) {
+            return 1 + ((SpecialForm) expression).getArguments().stream().mapToInt(CommonSubexpressionRewriter::getSize).sum();
+        }
+        if (expression instanceof LambdaDefinitionExpression) {
+            return 1 + getSize(((LambdaDefinitionExpression) expression).getBody());
+        }
+        return 1;
+    }
+
+    private static int getMaxInputChannel(RowExpression expression)
+    {
+        if (expression instanceof InputReferenceExpression) {
+            return ((InputReferenceExpression) expression).getField();
+        }
+        if (expression instanceof CallExpression) {
+            return ((CallExpression) expression).getArguments().stream().mapToInt(CommonSubexpressionRewriter::getMaxInputChannel).max().orElse(-1);
+        }
+        if (expression instanceof SpecialForm) {
+            return ((SpecialForm) expression).getArguments().stream().mapToInt(CommonSubexpressionRewriter::getMaxInputChannel).max().orElse(-1);
+        }
+        if (expression instanceof LambdaDefinitionExpression) {
+            return getMaxInputChannel(((LambdaDefinitionExpression) expression).getBody());
+        }
+        return -1;
+    }
+
+    private static List<RowExpression> replace(List<RowExpression> expressions, RowExpression target, RowExpression replacement)
+    {
+        return expressions.stream()
+                .map(expression -> expression.accept(new ReplaceSubexpression(target, replacement), null))
+                .collect(toImmutableList());
+    }
+
+    static class Occurrences
+    {
+        private int count;
+        private boolean unconditional;
+
+        public void add(boolean unconditional)
+        {
+            count++;
+            this.unconditional |= unconditional;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+
+        public boolean isUnconditional()
+        {
+            return unconditional;
+        }
+    }
+
+    abstract static class RewritingVisitor
+            implements RowExpressionVisitor<RowExpression, Void>
+    {
+        @Override
+        public RowExpression visitCall(CallExpression call, Void context)
+        {
+            return new CallExpression(
+                    call.getResolvedFunction(),
+                    call.getArguments().stream()
+                            .map(expression -> expression.accept(this, context))
+                            .collect(toImmutableList()));
+        }
+
+        @Override
+        public RowExpression visitSpecialForm(SpecialForm specialForm, Void context)
+        {
+            return new SpecialForm(
+                    specialForm.getForm(),
+                    specialForm.getType(),
+                    specialForm.getArguments().stream()
+                            .map(expression -> expression.accept(this, context))
+                            .collect(toImmutableList()),
+                    specialForm.getFunctionDependencies());
+        }
+
+        @Override
+        public RowExpression visitInputReference(InputReferenceExpression reference, Void context)
+        {
+            return reference;
+        }
+
+        @Override
+        public RowExpression visitConstant(ConstantExpression literal, Void context)
+        {
+            return literal;
+        }
+
+        @Override
+        public RowExpression visitLambda(LambdaDefinitionExpression lambda, Void context)
+        {
+            return lambda;
+        }
+
+        @Override
+        public RowExpression visitVariableReference(VariableReferenceExpression reference, Void context)
+        {
+            return reference;
+        }
+    }
+
+    private static class ReplaceSubexpression
+            extends RewritingVisitor
+    {
+        private final RowExpression target;
+        private final RowExpression replacement;
+
+        public ReplaceSubexpression(RowExpression target, RowExpression replacement)
+        {
+            this.target = requireNonNull(target, "target is null");
+            this.replacement = requireNonNull(replacement, "replacement is null");
+        }
+
+        @Override
+        public RowExpression visitCall(CallExpression call, Void context)
+        {
+            if (call.equals(target)) {
+                return replacement;
+            }
+            return super.visitCall(call, context);
+        }
+
+        @Override
+        public RowExpression visitSpecialForm(SpecialForm specialForm, Void context)
+        {
+            if (specialForm.equals(target)) {
+                return replacement;
+            }
+            return super.visitSpecialForm(specialForm, context);
+        }
+    }
+
+    private static class RenumberChannels
+            extends RewritingVisitor
+    {
+        private final int firstChannel;
+        private final int count;
+
+        public RenumberChannels(int firstChannel, int count)
+        {
+            this.firstChannel = firstChannel;
+            this.count = count;
+        }
+
+        @Override
+        public RowExpression visitInputReference(InputReferenceExpression reference, Void context)
+        {
+            if (reference.getField() < firstChannel) {
+                return reference;
+            }
+            return field(firstChannel + count - 1 - (reference.getField() - firstChannel), reference.getType());
+        }
+    }
+
+    public static class Result
+    {
+        private final List<RowExpression> commonSubexpressions;
+        private final int firstChannel;
+        private final List<RowExpression> rewrittenProjections;
+
+        public Result(List<RowExpression> commonSubexpressions, int firstChannel, List<RowExpression> rewrittenProjections)
+        {
+            this.commonSubexpressions = ImmutableList.copyOf(requireNonNull(commonSubexpressions, "commonSubexpressions is null"));
+            this.firstChannel = firstChannel;
+            this.rewrittenProjections = ImmutableList.copyOf(requireNonNull(rewrittenProjections, "rewrittenProjections is null"));
+        }
+
+        /**
+         * Subexpressions in the order they must be computed. The subexpression at index {@code i}
+         * is the channel {@code getFirstChannel() + i}.
+         */
+        public List<RowExpression> getCommonSubexpressions()
+        {
+            return commonSubexpressions;
+        }
+
+        public int getFirstChannel()
+        {
+            return firstChannel;
+        }
+
+        public List<RowExpression> getRewrittenProjections()
+        {
+            return rewrittenProjections;
+        }
+    }
+}
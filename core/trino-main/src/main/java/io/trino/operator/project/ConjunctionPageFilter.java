@@ -0,0 +1,245 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import io.trino.operator.FilterInfo;
+import io.trino.operator.FilterInfo.ConjunctInfo;
+import io.trino.spi.Page;
+import io.trino.spi.connector.ConnectorSession;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.units.Duration.succinctNanos;
+import static io.trino.operator.project.SelectedPositions.positionsRange;
+import static java.util.Comparator.comparingDouble;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Evaluates the conjuncts of a filter one at a time, each one only for the positions selected by
+ * the conjuncts evaluated before it. The conjuncts are ordered by their observed cost per position
+ * and selectivity, so the cheap conjuncts rejecting most positions are evaluated first.
+ * <p>
+ * In SQL, a conjunct can fail for positions which the other conjuncts reject, e.g., {@code x <> 0 AND 10 / x > 1}.
+ * If a page fails in any order but the original one, it is filtered again in the original order, and the
+ * conjuncts are no longer reordered, so the remaining pages are not evaluated twice.
+ */
+public class ConjunctionPageFilter
+        implements PageFilter
+{
+    @VisibleForTesting
+    static final int REORDER_INTERVAL = 16;
+
+    private final List<PageFilter> conjuncts;
+    private final List<String> conjunctExpressions;
+    private final List<int[]> conjunctChannels;
+    private final InputChannels inputChannels;
+    private final boolean deterministic;
+    private final int[] originalOrder;
+
+    // recent statistics used for ordering the conjuncts, which decay over time
+    private final long[] inputPositions;
+    private final long[] selectedPositions;
+    private final long[] nanos;
+    private volatile int[] order;
+    private boolean reorderingEnabled;
+    private int pagesSinceReorder;
+
+    // statistics of all the pages, reported in the operator info
+    private final long[] totalInputPositions;
+    private final long[] totalSelectedPositions;
+    private final long[] totalNanos;
+    private long pages;
+    private long reorders;
+
+    public ConjunctionPageFilter(List<PageFilter> conjuncts, List<String> conjunctExpressions)
+    {
+        requireNonNull(conjuncts, "conjuncts is null");
+        checkArgument(conjuncts.size() > 1, "conjunction must have at least two conjuncts");
+        this.conjunctExpressions = ImmutableList.copyOf(requireNonNull(conjunctExpressions, "conjunctExpressions is null"));
+        checkArgument(conjunctExpressions.size() == conjuncts.size(), "conjunctExpressions does not match conjuncts");
+
+        List<Integer> channels = conjuncts.stream()
+                .flatMap(conjunct -> conjunct.getInputChannels().getInputChannels().stream())
+                .distinct()
+                .sorted()
+                .collect(toImmutableList());
+        this.inputChannels = new InputChannels(channels);
+        this.conjunctChannels = conjuncts.stream()
+                .map(conjunct -> conjunct.getInputChannels().getInputChannels().stream()
+                        .mapToInt(channels::indexOf)
+                        .toArray())
+                .collect(toImmutableList());
+        // a conjunction over a single channel is processed on dictionaries as a whole by the page processor
+        this.conjuncts = conjuncts.stream()
+                .map(conjunct -> {
+                    if (channels.size() > 1 && conjunct.getInputChannels().size() == 1 && conjunct.isDeterministic()) {
+                        return new DictionaryAwarePageFilter(conjunct);
+                    }
+                    return conjunct;
+                })
+                .collect(toImmutableList());
+        this.deterministic = conjuncts.stream().allMatch(PageFilter::isDeterministic);
+        this.reorderingEnabled = deterministic;
+
+        this.originalOrder = IntStream.range(0, conjuncts.size()).toArray();
+        this.order = originalOrder;
+        this.inputPositions = new long[conjuncts.size()];
+        this.selectedPositions = new long[conjuncts.size()];
+        this.nanos = new long[conjuncts.size()];
+        this.totalInputPositions = new long[conjuncts.size()];
+        this.totalSelectedPositions = new long[conjuncts.size()];
+        this.totalNanos = new long[conjuncts.size()];
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return deterministic;
+    }
+
+    @Override
+    public InputChannels getInputChannels()
+    {
+        return inputChannels;
+    }
+
+    @Override
+    public SelectedPositions filter(ConnectorSession session, Page page)
+    {
+        return filter(session, page, positionsRange(0, page.getPositionCount()));
+    }
+
+    @Override
+    public SelectedPositions filter(ConnectorSession session, Page page, SelectedPositions activePositions)
+    {
+        int[] order = this.order;
+        SelectedPositions result;
+        if (order == originalOrder) {
+            result = filter(session, page, activePositions, originalOrder);
+        }
+        else {
+            try {
+                result = filter(session, page, activePositions, order);
+            }
+            catch (RuntimeException e) {
+                // if the failure is not caused by the order, it fails again in the original order
+                this.order = originalOrder;
+                reorderingEnabled = false;
+                result = filter(session, page, activePositions, originalOrder);
+            }
+        }
+
+        pages++;
+        pagesSinceReorder++;
+        if (reorderingEnabled && pagesSinceReorder >= REORDER_INTERVAL) {
+            reorder();
+        }
+        return result;
+    }
+
+    private SelectedPositions filter(ConnectorSession session, Page page, SelectedPositions activePositions, int[] order)
+    {
+        SelectedPositions positions = activePositions;
+        for (int i = 0; i < order.length && !positions.isEmpty(); i++) {
+            int conjunct = order[i];
+            long start = System.nanoTime();
+            SelectedPositions selected = conjuncts.get(conjunct).filter(session, page.getColumns(conjunctChannels.get(conjunct)), positions);
+            long elapsed = System.nanoTime() - start;
+            nanos[conjunct] += elapsed;
+            inputPositions[conjunct] += positions.size();
+            selectedPositions[conjunct] += selected.size();
+            totalNanos[conjunct] += elapsed;
+            totalInputPositions[conjunct] += positions.size();
+            totalSelectedPositions[conjunct] += selected.size();
+            positions = selected;
+        }
+        return positions;
+    }
+
+    private void reorder()
+    {
+        int[] newOrder = Arrays.stream(order)
+                .boxed()
+                .sorted(comparingDouble(this::getRank))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        if (!Arrays.equals(newOrder, order)) {
+            order = Arrays.equals(newOrder, originalOrder) ? originalOrder : newOrder;
+            reorders++;
+        }
+
+        // decay the statistics, so the order follows changes in the data
+        for (int conjunct = 0; conjunct < conjuncts.size(); conjunct++) {
+            inputPositions[conjunct] /= 2;
+            selectedPositions[conjunct] /= 2;
+            nanos[conjunct] /= 2;
+        }
+        pagesSinceReorder = 0;
+    }
+
+    /**
+     * The expected cost of rejecting a position. Evaluating the conjuncts in the order of their
+     * ranks minimizes the expected cost of the conjunction, if the conjuncts are independent.
+     */
+    private double getRank(int conjunct)
+    {
+        if (inputPositions[conjunct] == 0) {
+            // not evaluated recently, so try it first to learn its cost and selectivity
+            return 0;
+        }
+        double costPerPosition = (double) nanos[conjunct] / inputPositions[conjunct];
+        double rejectedFraction = 1 - (double) selectedPositions[conjunct] / inputPositions[conjunct];
+        if (rejectedFraction <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return costPerPosition / rejectedFraction;
+    }
+
+    @Override
+    public Optional<FilterInfo> getInfo()
+    {
+        ImmutableList.Builder<ConjunctInfo> conjunctInfos = ImmutableList.builder();
+        for (int conjunct = 0; conjunct < conjuncts.size(); conjunct++) {
+            conjunctInfos.add(new ConjunctInfo(
+                    conjunctExpressions.get(conjunct),
+                    totalInputPositions[conjunct],
+                    totalSelectedPositions[conjunct],
+                    succinctNanos(totalNanos[conjunct])));
+        }
+        return Optional.of(new FilterInfo(conjunctInfos.build(), getOrder(), pages, reorders));
+    }
+
+    @VisibleForTesting
+    List<Integer> getOrder()
+    {
+        return Arrays.stream(order).boxed().collect(toImmutableList());
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("conjuncts", conjunctExpressions)
+                .add("order", Arrays.toString(order))
+                .toString();
+    }
+}
@@ -13,6 +13,7 @@
  */
 package io.trino.operator.project;
 
+import io.trino.operator.FilterInfo;
 import io.trino.spi.Page;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.DictionaryBlock;
@@ -22,6 +23,7 @@ import io.trino.spi.connector.ConnectorSession;
 import java.util.Optional;
 
 import static com.google.common.base.Verify.verify;
+import static io.trino.operator.project.SelectedPositions.positionsRange;
 import static java.util.Objects.requireNonNull;
 
 public class DictionaryAwarePageFilter
@@ -53,8 +55,20 @@ public class DictionaryAwarePageFilter
         return filter.getInputChannels();
     }
 
+    @Override
+    public Optional<FilterInfo> getInfo()
+    {
+        return filter.getInfo();
+    }
+
     @Override
     public SelectedPositions filter(ConnectorSession session, Page page)
+    {
+        return filter(session, page, positionsRange(0, page.getPositionCount()));
+    }
+
+    @Override
+    public SelectedPositions filter(ConnectorSession session, Page page, SelectedPositions activePositions)
     {
         Block block = page.getBlock(0).getLoadedBlock();
 
@@ -64,7 +78,7 @@ public class DictionaryAwarePageFilter
             // single value block is always considered effective, but the processing could have thrown
             // in that case we fallback and process again so the correct error message sent
             if (selectedPosition.isPresent()) {
-                return SelectedPositions.positionsRange(0, selectedPosition.get()[0] ? page.getPositionCount() : 0);
+                return selectedPosition.get()[0] ? activePositions : positionsRange(0, 0);
             }
         }
 
@@ -73,14 +87,14 @@ public class DictionaryAwarePageFilter
             // Attempt to process the dictionary.  If dictionary is processing has not been considered effective, an empty response will be returned
             Optional<boolean[]> selectedDictionaryPositions = processDictionary(session, dictionaryBlock.getDictionary());
             // record the usage count regardless of dictionary processing choice, so we have stats for next time
-            lastDictionaryUsageCount += page.getPositionCount();
+            lastDictionaryUsageCount += activePositions.size();
             // if dictionary was processed, produce a dictionary block; otherwise do normal processing
             if (selectedDictionaryPositions.isPresent()) {
-                return selectDictionaryPositions(dictionaryBlock, selectedDictionaryPositions.get());
+                return selectDictionaryPositions(dictionaryBlock, selectedDictionaryPositions.get(), activePositions);
             }
         }
 
-        return filter.filter(session, new Page(block));
+        return filter.filter(session, new Page(block), activePositions);
     }
 
     private Optional<boolean[]> processDictionary(ConnectorSession session, Block dictionary)
@@ -117,25 +131,33 @@ public class DictionaryAwarePageFilter
         return lastOutputDictionary;
     }
 
-    private static SelectedPositions selectDictionaryPositions(DictionaryBlock dictionaryBlock, boolean[] selectedDictionaryPositions)
+    private static SelectedPositions selectDictionaryPositions(DictionaryBlock dictionaryBlock, boolean[] selectedDictionaryPositions, SelectedPositions activePositions)
     {
+        int[] activePositionsList = activePositions.isList() ? activePositions.getPositions() : null;
+        int offset = activePositions.getOffset();
+
         int selectedCount = 0;
-        for (int position = 0; position < dictionaryBlock.getPositionCount(); position++) {
+        for (int index = 0; index < activePositions.size(); index++) {
+            int position = activePositionsList == null ? offset + index : activePositionsList[offset + index];
             if (selectedDictionaryPositions[dictionaryBlock.getId(position)]) {
                 selectedCount++;
             }
         }
 
-        if (selectedCount == 0 || selectedCount == dictionaryBlock.getPositionCount()) {
-            return SelectedPositions.positionsRange(0, selectedCount);
+        if (selectedCount == 0) {
+            return positionsRange(0, 0);
+        }
+        if (selectedCount == activePositions.size()) {
+            return activePositions;
         }
 
         int[] positions = new int[selectedCount];
-        int index = 0;
-        for (int position = 0; position < dictionaryBlock.getPositionCount(); position++) {
+        int selectedIndex = 0;
+        for (int index = 0; index < activePositions.size(); index++) {
+            int position = activePositionsList == null ? offset + index : activePositionsList[offset + index];
             if (selectedDictionaryPositions[dictionaryBlock.getId(position)]) {
-                positions[index] = position;
-                index++;
+                positions[selectedIndex] = position;
+                selectedIndex++;
             }
         }
         return SelectedPositions.positionsList(positions, 0, selectedCount);
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Metadata;
+import io.trino.metadata.ResolvedFunction;
+import io.trino.operator.project.CommonSubexpressionRewriter.Occurrences;
+import io.trino.operator.project.CommonSubexpressionRewriter.RewritingVisitor;
+import io.trino.operator.scalar.JsonPath;
+import io.trino.operator.scalar.JsonPathTrie;
+import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.ConstantExpression;
+import io.trino.sql.relational.DeterminismEvaluator;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.tree.QualifiedName;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.spi.function.OperatorType.SUBSCRIPT;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static io.trino.sql.relational.Expressions.constant;
+import static io.trino.type.JsonPathTrieType.JSON_PATH_TRIE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Combine the {@code json_extract_scalar} calls with constant paths over the same JSON input into
+ * a single call extracting all the paths in one pass over the document. Each call is replaced with
+ * a subscript of the combined call, and all the replacements share the same combined call, so
+ * {@link CommonSubexpressionRewriter} computes it once per position.
+ * <p>
+ * The extractions are combined only if at least one of them is evaluated for every position,
+ * so the combined call does not parse documents which the original projections would have skipped.
+ */
+public final class JsonExtractionRewriter
+{
+    private static final String JSON_EXTRACT_SCALAR = "json_extract_scalar";
+    private static final QualifiedName JSON_EXTRACT_SCALARS = QualifiedName.of("$json_extract_scalars");
+
+    private JsonExtractionRewriter() {}
+
+    public static List<RowExpression> combineJsonExtractions(List<? extends RowExpression> projections, Metadata metadata, DeterminismEvaluator determinismEvaluator)
+    {
+        Map<RowExpression, Occurrences> occurrences = new LinkedHashMap<>();
+        for (RowExpression projection : projections) {
+            CommonSubexpressionRewriter.collectOccurrences(projection, true, occurrences);
+        }
+
+        // group the extractions by their JSON input
+        Map<RowExpression, List<CallExpression>> extractions = new LinkedHashMap<>();
+        Set<RowExpression> unconditionalInputs = new HashSet<>();
+        for (Map.Entry<RowExpression, Occurrences> entry : occurrences.entrySet()) {
+            if (!isCombinableExtraction(entry.getKey()) || !determinismEvaluator.isDeterministic(entry.getKey())) {
+                continue;
+            }
+            CallExpression extraction = (CallExpression) entry.getKey();
+            RowExpression input = extraction.getArguments().get(0);
+            extractions.computeIfAbsent(input, ignored -> new ArrayList<>()).add(extraction);
+            if (entry.getValue().isUnconditional()) {
+                unconditionalInputs.add(input);
+            }
+        }
+
+        Map<RowExpression, RowExpression> replacements = new HashMap<>();
+        for (Map.Entry<RowExpression, List<CallExpression>> entry : extractions.entrySet()) {
+            RowExpression input = entry.getKey();
+            Set<String> distinctPaths = new LinkedHashSet<>();
+            for (CallExpression extraction : entry.getValue()) {
+                distinctPaths.add(getPath(extraction));
+            }
+            if (distinctPaths.size() < 2 || !unconditionalInputs.contains(input)) {
+                continue;
+            }
+
+            List<String> paths = ImmutableList.copyOf(distinctPaths);
+            CallExpression combined = new CallExpression(
+                    metadata.resolveFunction(JSON_EXTRACT_SCALARS, fromTypes(input.getType(), JSON_PATH_TRIE)),
+                    ImmutableList.of(input, constant(new JsonPathTrie(paths), JSON_PATH_TRIE)));
+            ResolvedFunction subscript = metadata.resolveOperator(SUBSCRIPT, ImmutableList.of(combined.getType(), BIGINT));
+            for (CallExpression extraction : entry.getValue()) {
+                long index = paths.indexOf(getPath(extraction)) + 1;
+                replacements.put(extraction, new CallExpression(subscript, ImmutableList.of(combined, constant(index, BIGINT))));
+            }
+        }
+
+        if (replacements.isEmpty()) {
+            return ImmutableList.copyOf(projections);
+        }
+        return projections.stream()
+                .map(projection -> projection.accept(new ReplaceExtractions(replacements), null))
+                .collect(toImmutableList());
+    }
+
+    private static boolean isCombinableExtraction(RowExpression expression)
+    {
+        if (!(expression instanceof CallExpression)) {
+            return false;
+        }
+        CallExpression call = (CallExpression) expression;
+        if (!call.getResolvedFunction().getSignature().getName().equals(JSON_EXTRACT_SCALAR) || call.getArguments().size() != 2) {
+            return false;
+        }
+        RowExpression path = call.getArguments().get(1);
+        return path instanceof ConstantExpression &&
+                ((ConstantExpression) path).getValue() instanceof JsonPath &&
+                JsonPathTrie.isSupportedPath(getPath(call));
+    }
+
+    private static String getPath(CallExpression extraction)
+    {
+        return ((JsonPath) ((ConstantExpression) extraction.getArguments().get(1)).getValue()).pattern();
+    }
+
+    private static class ReplaceExtractions
+            extends RewritingVisitor
+    {
+        private final Map<RowExpression, RowExpression> replacements;
+
+        public ReplaceExtractions(Map<RowExpression, RowExpression> replacements)
+        {
+            this.replacements = requireNonNull(replacements, "replacements is null");
+        }
+
+        @Override
+        public RowExpression visitCall(CallExpression call, Void context)
+        {
+            RowExpression replacement = replacements.get(call);
+            if (replacement != null) {
+                return replacement;
+            }
+            return super.visitCall(call, context);
+        }
+    }
+}
@@ -13,9 +13,12 @@
  */
 package io.trino.operator.project;
 
+import io.trino.operator.FilterInfo;
 import io.trino.spi.Page;
 import io.trino.spi.connector.ConnectorSession;
 
+import java.util.Optional;
+
 public interface PageFilter
 {
     boolean isDeterministic();
@@ -24,6 +27,38 @@ public interface PageFilter
 
     SelectedPositions filter(ConnectorSession session, Page page);
 
+    default Optional<FilterInfo> getInfo()
+    {
+        return Optional.empty();
+    }
+
+    /**
+     * Filter only the active positions of the page. The returned positions are a subset of the active positions.
+     */
+    default SelectedPositions filter(ConnectorSession session, Page page, SelectedPositions activePositions)
+    {
+        if (!activePositions.isList() && activePositions.getOffset() == 0 && activePositions.size() == page.getPositionCount()) {
+            return filter(session, page);
+        }
+
+        Page activePage;
+        if (activePositions.isList()) {
+            activePage = page.getPositions(activePositions.getPositions(), activePositions.getOffset(), activePositions.size());
+        }
+        else {
+            activePage = page.getRegion(activePositions.getOffset(), activePositions.size());
+        }
+        SelectedPositions selectedPositions = filter(session, activePage);
+
+        // translate the positions of the active page to the positions of the page
+        int[] positions = new int[selectedPositions.size()];
+        for (int i = 0; i < positions.length; i++) {
+            int activePosition = selectedPositions.isList() ? selectedPositions.getPositions()[selectedPositions.getOffset() + i] : selectedPositions.getOffset() + i;
+            positions[i] = activePositions.isList() ? activePositions.getPositions()[activePositions.getOffset() + activePosition] : activePositions.getOffset() + activePosition;
+        }
+        return SelectedPositions.positionsList(positions, 0, positions.length);
+    }
+
     static SelectedPositions positionsArrayToSelectedPositions(boolean[] selectedPositions, int size)
     {
         int selectedCount = 0;
@@ -14,10 +14,13 @@
 package io.trino.operator.project;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import io.airlift.slice.SizeOf;
 import io.trino.array.ReferenceCountMap;
 import io.trino.memory.context.LocalMemoryContext;
 import io.trino.operator.DriverYieldSignal;
+import io.trino.operator.FilterInfo;
 import io.trino.operator.Work;
 import io.trino.operator.WorkProcessor;
 import io.trino.operator.WorkProcessor.ProcessState;
@@ -30,6 +33,7 @@ import io.trino.sql.gen.ExpressionProfiler;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -60,6 +64,9 @@ public class PageProcessor
     private final ExpressionProfiler expressionProfiler;
     private final DictionarySourceIdFunction dictionarySourceIdFunction = new DictionarySourceIdFunction();
     private final Optional<PageFilter> filter;
+    // subexpressions shared by the projections, appended to the page as the channels following commonSubexpressionsChannel
+    private final List<PageProjection> commonSubexpressions;
+    private final int commonSubexpressionsChannel;
     private final List<PageProjection> projections;
 
     private int projectBatchSize;
@@ -73,6 +80,18 @@ public class PageProcessor
     @VisibleForTesting
     public PageProcessor(Optional<PageFilter> filter, List<? extends PageProjection> projections, OptionalInt initialBatchSize, ExpressionProfiler expressionProfiler)
     {
+        this(filter, ImmutableList.of(), 0, projections, initialBatchSize, expressionProfiler);
+    }
+
+    public PageProcessor(
+            Optional<PageFilter> filter,
+            List<? extends PageProjection> commonSubexpressions,
+            int commonSubexpressionsChannel,
+            List<? extends PageProjection> projections,
+            OptionalInt initialBatchSize,
+            ExpressionProfiler expressionProfiler)
+    {
+        checkArgument(commonSubexpressionsChannel >= 0, "commonSubexpressionsChannel is negative");
         this.filter = requireNonNull(filter, "filter is null")
                 .map(pageFilter -> {
                     if (pageFilter.getInputChannels().size() == 1 && pageFilter.isDeterministic()) {
@@ -80,13 +99,12 @@ public class PageProcessor
                     }
                     return pageFilter;
                 });
+        this.commonSubexpressions = requireNonNull(commonSubexpressions, "commonSubexpressions is null").stream()
+                .map(this::dictionaryAware)
+                .collect(toImmutableList());
+        this.commonSubexpressionsChannel = commonSubexpressionsChannel;
         this.projections = requireNonNull(projections, "projections is null").stream()
-                .map(projection -> {
-                    if (projection.getInputChannels().size() == 1 && projection.isDeterministic()) {
-                        return new DictionaryAwarePageProjection(projection, dictionarySourceIdFunction, projection instanceof InputPageProjection);
-                    }
-                    return projection;
-                })
+                .map(this::dictionaryAware)
                 .collect(toImmutableList());
         this.projectBatchSize = initialBatchSize.orElse(1);
         this.expressionProfiler = requireNonNull(expressionProfiler, "expressionProfiler is null");
@@ -97,6 +115,19 @@ public class PageProcessor
         this(filter, projections, OptionalInt.of(1));
     }
 
+    private PageProjection dictionaryAware(PageProjection projection)
+    {
+        if (projection.getInputChannels().size() == 1 && projection.isDeterministic()) {
+            return new DictionaryAwarePageProjection(projection, dictionarySourceIdFunction, projection instanceof InputPageProjection);
+        }
+        return projection;
+    }
+
+    public Optional<FilterInfo> getFilterInfo()
+    {
+        return filter.flatMap(PageFilter::getInfo);
+    }
+
     public Iterator<Optional<Page>> process(ConnectorSession session, DriverYieldSignal yieldSignal, LocalMemoryContext memoryContext, Page page)
     {
         return process(session, yieldSignal, memoryContext, page, false);
@@ -146,6 +177,7 @@ public class PageProcessor
 
         private Page page;
         private final Block[] previouslyComputedResults;
+        private final Block[] previouslyComputedSubexpressions;
         private SelectedPositions selectedPositions;
         private long retainedSizeInBytes;
 
@@ -153,6 +185,10 @@ public class PageProcessor
         private boolean lastComputeYielded;
         private int lastComputeBatchSize;
         private Work<Block> pageProjectWork;
+        // maps the positions of the page to the positions of a batch of selected positions, reused by the batches of the page
+        private int[] batchPositionIds;
+        private int batchPositionIdsStart;
+        private int batchPositionIdsEnd;
 
         private int outputPagePositions = -1;
         private long outputPageSizeInBytes;
@@ -174,6 +210,7 @@ public class PageProcessor
             this.avoidPageMaterialization = avoidPageMaterialization;
             this.selectedPositions = selectedPositions;
             this.previouslyComputedResults = new Block[projections.size()];
+            this.previouslyComputedSubexpressions = new Block[commonSubexpressions.size()];
         }
 
         @Override
@@ -237,14 +274,8 @@ public class PageProcessor
 
                 // remove batch from selectedPositions and previouslyComputedResults
                 selectedPositions = selectedPositions.subRange(batchSize, selectedPositions.size());
-                for (int i = 0; i < previouslyComputedResults.length; i++) {
-                    if (previouslyComputedResults[i] != null && previouslyComputedResults[i].getPositionCount() > batchSize) {
-                        previouslyComputedResults[i] = previouslyComputedResults[i].getRegion(batchSize, previouslyComputedResults[i].getPositionCount() - batchSize);
-                    }
-                    else {
-                        previouslyComputedResults[i] = null;
-                    }
-                }
+                removeBatch(previouslyComputedResults, batchSize);
+                removeBatch(previouslyComputedSubexpressions, batchSize);
 
                 if (!selectedPositions.isEmpty()) {
                     // there are still some positions to process therefore we need to retain page and account its memory
@@ -252,9 +283,9 @@ public class PageProcessor
                 }
                 else {
                     page = null;
-                    for (int i = 0; i < previouslyComputedResults.length; i++) {
-                        previouslyComputedResults[i] = null;
-                    }
+                    batchPositionIds = null;
+                    Arrays.fill(previouslyComputedResults, null);
+                    Arrays.fill(previouslyComputedSubexpressions, null);
                     memoryContext.setBytes(0);
                 }
 
@@ -262,6 +293,18 @@ public class PageProcessor
             }
         }
 
+        private void removeBatch(Block[] previouslyComputed, int batchSize)
+        {
+            for (int i = 0; i < previouslyComputed.length; i++) {
+                if (previouslyComputed[i] != null && previouslyComputed[i].getPositionCount() > batchSize) {
+                    previouslyComputed[i] = previouslyComputed[i].getRegion(batchSize, previouslyComputed[i].getPositionCount() - batchSize);
+                }
+                else {
+                    previouslyComputed[i] = null;
+                }
+            }
+        }
+
         private void updateBatchSize(int positionCount, long pageSize)
         {
             // if we produced a large page or if the expression is expensive, halve the batch size for the next call
@@ -279,6 +322,9 @@ public class PageProcessor
         {
             // increment the size only when it is the first reference
             retainedSizeInBytes = Page.INSTANCE_SIZE + SizeOf.sizeOfObjectArray(page.getChannelCount());
+            if (batchPositionIds != null) {
+                retainedSizeInBytes += SizeOf.sizeOf(batchPositionIds);
+            }
             ReferenceCountMap referenceCountMap = new ReferenceCountMap();
             for (int channel = 0; channel < page.getChannelCount(); channel++) {
                 Block block = page.getBlock(channel);
@@ -291,7 +337,7 @@ public class PageProcessor
                     });
                 }
             }
-            for (Block previouslyComputedResult : previouslyComputedResults) {
+            for (Block previouslyComputedResult : Iterables.concat(Arrays.asList(previouslyComputedResults), Arrays.asList(previouslyComputedSubexpressions))) {
                 if (previouslyComputedResult != null) {
                     previouslyComputedResult.retainedBytesForEachPart((object, size) -> {
                         if (referenceCountMap.incrementAndGet(object) == 1) {
@@ -310,6 +356,58 @@ public class PageProcessor
 
             int pageSize = 0;
             SelectedPositions positionsBatch = selectedPositions.subRange(0, batchSize);
+
+            Page projectionPage = page;
+            if (!commonSubexpressions.isEmpty()) {
+                // the subexpressions are computed only for the positions of the batch, so the projections read a region of
+                // the page when the batch is a range, and the subexpressions through a dictionary mapping the positions otherwise
+                Block[] channels = new Block[commonSubexpressionsChannel + commonSubexpressions.size()];
+                int channelPositionCount;
+                int[] positionIds = null;
+                if (positionsBatch.isList()) {
+                    for (int channel = 0; channel < commonSubexpressionsChannel; channel++) {
+                        channels[channel] = page.getBlock(channel);
+                    }
+                    channelPositionCount = page.getPositionCount();
+                    positionIds = getBatchPositionIds(positionsBatch);
+                }
+                else {
+                    for (int channel = 0; channel < commonSubexpressionsChannel; channel++) {
+                        channels[channel] = page.getBlock(channel).getRegion(positionsBatch.getOffset(), batchSize);
+                    }
+                    channelPositionCount = batchSize;
+                    positionsBatch = positionsRange(0, batchSize);
+                }
+                for (int i = 0; i < commonSubexpressions.size(); i++) {
+                    if (yieldSignal.isSet()) {
+                        return ProcessBatchResult.processBatchYield();
+                    }
+
+                    Block result;
+                    PageProjection subexpression = commonSubexpressions.get(i);
+                    if (previouslyComputedSubexpressions[i] != null && previouslyComputedSubexpressions[i].getPositionCount() >= batchSize) {
+                        result = previouslyComputedSubexpressions[i].getRegion(0, batchSize);
+                    }
+                    else {
+                        if (pageProjectWork == null) {
+                            // a subexpression may reference the subexpressions computed before it
+                            Page subexpressionPage = new Page(channelPositionCount, Arrays.copyOf(channels, commonSubexpressionsChannel + i));
+                            expressionProfiler.start();
+                            pageProjectWork = subexpression.project(session, yieldSignal, subexpression.getInputChannels().getInputChannels(subexpressionPage), positionsBatch);
+                            expressionProfiler.stop(positionsBatch.size());
+                        }
+                        if (!pageProjectWork.process()) {
+                            return ProcessBatchResult.processBatchYield();
+                        }
+                        previouslyComputedSubexpressions[i] = pageProjectWork.getResult();
+                        pageProjectWork = null;
+                        result = previouslyComputedSubexpressions[i];
+                    }
+                    channels[commonSubexpressionsChannel + i] = positionIds == null ? result : new DictionaryBlock(channelPositionCount, result, positionIds);
+                }
+                projectionPage = new Page(channelPositionCount, channels);
+            }
+
             for (int i = 0; i < projections.size(); i++) {
                 if (yieldSignal.isSet()) {
                     return ProcessBatchResult.processBatchYield();
@@ -327,7 +425,7 @@ public class PageProcessor
                 else {
                     if (pageProjectWork == null) {
                         expressionProfiler.start();
-                        pageProjectWork = projection.project(session, yieldSignal, projection.getInputChannels().getInputChannels(page), positionsBatch);
+                        pageProjectWork = projection.project(session, yieldSignal, projection.getInputChannels().getInputChannels(projectionPage), positionsBatch);
                         expressionProfiler.stop(positionsBatch.size());
                     }
                     if (!pageProjectWork.process()) {
@@ -345,6 +443,25 @@ public class PageProcessor
             }
             return ProcessBatchResult.processBatchSuccess(new Page(positionsBatch.size(), blocks));
         }
+
+        private int[] getBatchPositionIds(SelectedPositions positionsBatch)
+        {
+            // positions of the page outside of the batch are never accessed, and so they refer to the first value
+            if (batchPositionIds == null) {
+                batchPositionIds = new int[page.getPositionCount()];
+            }
+            else {
+                Arrays.fill(batchPositionIds, batchPositionIdsStart, batchPositionIdsEnd, 0);
+            }
+            int[] positions = positionsBatch.getPositions();
+            int offset = positionsBatch.getOffset();
+            for (int i = 0; i < positionsBatch.size(); i++) {
+                batchPositionIds[positions[offset + i]] = i;
+            }
+            batchPositionIdsStart = positions[offset];
+            batchPositionIdsEnd = positions[offset + positionsBatch.size() - 1] + 1;
+            return batchPositionIds;
+        }
     }
 
     @VisibleForTesting
@@ -353,6 +470,12 @@ public class PageProcessor
         return projections;
     }
 
+    @VisibleForTesting
+    public List<PageProjection> getCommonSubexpressions()
+    {
+        return commonSubexpressions;
+    }
+
     @NotThreadSafe
     private static class DictionarySourceIdFunction
             implements Function<DictionaryBlock, DictionaryId>
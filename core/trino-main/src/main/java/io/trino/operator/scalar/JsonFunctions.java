@@ -21,6 +21,8 @@ import com.google.common.primitives.Doubles;
 import io.airlift.slice.Slice;
 import io.trino.plugin.base.util.JsonTypeUtil;
 import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.function.LiteralParameter;
 import io.trino.spi.function.LiteralParameters;
 import io.trino.spi.function.OperatorType;
@@ -29,6 +31,7 @@ import io.trino.spi.function.ScalarOperator;
 import io.trino.spi.function.SqlNullable;
 import io.trino.spi.function.SqlType;
 import io.trino.spi.type.StandardTypes;
+import io.trino.type.JsonPathTrieType;
 import io.trino.type.JsonPathType;
 
 import java.io.IOException;
@@ -48,6 +51,7 @@ import static com.fasterxml.jackson.core.JsonToken.VALUE_TRUE;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.trino.spi.StandardErrorCode.INVALID_FUNCTION_ARGUMENT;
 import static io.trino.spi.type.Chars.padSpaces;
+import static io.trino.spi.type.VarcharType.VARCHAR;
 import static io.trino.util.JsonUtil.createJsonParser;
 import static io.trino.util.JsonUtil.truncateIfNecessaryForErrorMessage;
 
@@ -423,6 +427,36 @@ public final class JsonFunctions
         return JsonExtract.extract(json, jsonPath.getScalarExtractor());
     }
 
+    @ScalarFunction(value = "$json_extract_scalars", hidden = true)
+    @LiteralParameters("x")
+    @SqlType("array(varchar(x))")
+    public static Block varcharJsonExtractScalars(@SqlType("varchar(x)") Slice json, @SqlType(JsonPathTrieType.NAME) JsonPathTrie jsonPaths)
+    {
+        return extractScalars(json, jsonPaths);
+    }
+
+    @ScalarFunction(value = "$json_extract_scalars", hidden = true)
+    @SqlType("array(varchar)")
+    public static Block jsonExtractScalars(@SqlType(StandardTypes.JSON) Slice json, @SqlType(JsonPathTrieType.NAME) JsonPathTrie jsonPaths)
+    {
+        return extractScalars(json, jsonPaths);
+    }
+
+    private static Block extractScalars(Slice json, JsonPathTrie jsonPaths)
+    {
+        Slice[] values = jsonPaths.extractScalars(json);
+        BlockBuilder blockBuilder = VARCHAR.createBlockBuilder(null, values.length);
+        for (Slice value : values) {
+            if (value == null) {
+                blockBuilder.appendNull();
+            }
+            else {
+                VARCHAR.writeSlice(blockBuilder, value);
+            }
+        }
+        return blockBuilder.build();
+    }
+
     @ScalarFunction("json_extract")
     @LiteralParameters("x")
     @SqlNullable
@@ -0,0 +1,265 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.scalar;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import io.airlift.slice.Slice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fasterxml.jackson.core.JsonFactory.Feature.CANONICALIZE_FIELD_NAMES;
+import static com.fasterxml.jackson.core.JsonToken.END_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_ARRAY;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_NULL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.util.JsonUtil.createJsonParser;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Extracts the scalar values of several JSON paths in a single pass over the document.
+ * The paths are merged into a trie of their tokens, and the parser descends only into
+ * the object fields and array elements which are a prefix of some path. The values are
+ * the same as the ones {@link JsonExtract} extracts for each path separately.
+ */
+public final class JsonPathTrie
+{
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(CANONICALIZE_FIELD_NAMES);
+
+    private final List<String> paths;
+    private final Node root;
+    private final int nodeCount;
+
+    public JsonPathTrie(List<String> paths)
+    {
+        this.paths = ImmutableList.copyOf(requireNonNull(paths, "paths is null"));
+        this.root = new Node(0);
+        int nodes = 1;
+        for (int path = 0; path < this.paths.size(); path++) {
+            Node node = root;
+            for (String token : new JsonPathTokenizer(this.paths.get(path))) {
+                checkArgument(isSupportedToken(token), "Unsupported JSON path: %s", this.paths.get(path));
+                Node child = node.children.get(token);
+                if (child == null) {
+                    child = new Node(nodes++);
+                    node.children.put(token, child);
+                    Integer index = Ints.tryParse(token);
+                    if (index != null && index >= 0) {
+                        node.elements.put(index, child);
+                    }
+                }
+                node = child;
+            }
+            node.paths.add(path);
+        }
+        this.nodeCount = nodes;
+    }
+
+    /**
+     * The tokens of the path are both object field names and array subscripts. A subscript
+     * with leading zeros or a sign refers to the same array element as another token, which
+     * the trie cannot tell apart.
+     */
+    public static boolean isSupportedPath(String path)
+    {
+        for (String token : new JsonPathTokenizer(path)) {
+            if (!isSupportedToken(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupportedToken(String token)
+    {
+        Integer index = Ints.tryParse(token);
+        return index == null || (index >= 0 && String.valueOf(index).equals(token));
+    }
+
+    public List<String> getPaths()
+    {
+        return paths;
+    }
+
+    /**
+     * Returns the scalar values of the paths in the order of the paths. A value is null if the
+     * path does not exist, does not refer to a scalar, or the document is invalid before the value.
+     */
+    public Slice[] extractScalars(Slice json)
+    {
+        Extraction extraction = new Extraction(paths.size(), nodeCount);
+        try (JsonParser parser = createJsonParser(JSON_FACTORY, json)) {
+            if (parser.nextToken() != null) {
+                extract(parser, root, extraction);
+            }
+        }
+        catch (JsonParseException e) {
+            // the values found before the invalid part of the document are the same as extracted separately
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return extraction.values;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return paths.equals(((JsonPathTrie) o).paths);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return paths.hashCode();
+    }
+
+    /**
+     * The parser must be on the first token of the value. If any path is not resolved yet,
+     * the current token is the last token of the value when this method returns.
+     */
+    private static void extract(JsonParser parser, Node node, Extraction extraction)
+            throws IOException
+    {
+        JsonToken token = parser.getCurrentToken();
+        if (!node.paths.isEmpty()) {
+            Slice value = null;
+            if (token.isScalarValue() && token != VALUE_NULL) {
+                value = utf8Slice(parser.getText());
+            }
+            for (int path : node.paths) {
+                extraction.values[path] = value;
+            }
+            extraction.remaining -= node.paths.size();
+        }
+
+        if (node.children.isEmpty() || (token != START_OBJECT && token != START_ARRAY)) {
+            // paths below a scalar do not exist
+            extraction.remaining -= node.getPathCountBelow();
+            parser.skipChildren();
+            return;
+        }
+
+        if (token == START_OBJECT) {
+            while (extraction.remaining > 0) {
+                token = parser.nextToken();
+                if (token == END_OBJECT) {
+                    break;
+                }
+                if (token != FIELD_NAME) {
+                    throw new JsonParseException(parser, "Unexpected end of object");
+                }
+                Node child = node.children.get(parser.getCurrentName());
+                parser.nextToken();
+                // only the first occurrence of a duplicate field is extracted
+                if (child != null && !extraction.visited[child.id]) {
+                    extraction.visited[child.id] = true;
+                    extract(parser, child, extraction);
+                }
+                else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        else {
+            int index = 0;
+            while (extraction.remaining > 0) {
+                token = parser.nextToken();
+                if (token == null) {
+                    throw new JsonParseException(parser, "Unexpected end of array");
+                }
+                if (token == END_ARRAY) {
+                    break;
+                }
+                Node child = node.elements.get(index);
+                if (child != null) {
+                    extraction.visited[child.id] = true;
+                    extract(parser, child, extraction);
+                }
+                else {
+                    parser.skipChildren();
+                }
+                index++;
+            }
+        }
+
+        if (extraction.remaining > 0) {
+            // the whole value was read, so the paths below the fields or elements which were not found do not exist
+            for (Node child : node.children.values()) {
+                if (!extraction.visited[child.id]) {
+                    extraction.remaining -= child.getPathCount();
+                }
+            }
+        }
+    }
+
+    private static final class Extraction
+    {
+        private final Slice[] values;
+        private final boolean[] visited;
+        private int remaining;
+
+        public Extraction(int pathCount, int nodeCount)
+        {
+            this.values = new Slice[pathCount];
+            this.visited = new boolean[nodeCount];
+            this.remaining = pathCount;
+        }
+    }
+
+    private static final class Node
+    {
+        private final int id;
+        private final List<Integer> paths = new ArrayList<>();
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<Integer, Node> elements = new HashMap<>();
+
+        public Node(int id)
+        {
+            this.id = id;
+        }
+
+        public int getPathCount()
+        {
+            return paths.size() + getPathCountBelow();
+        }
+
+        public int getPathCountBelow()
+        {
+            return children.values().stream()
+                    .mapToInt(Node::getPathCount)
+                    .sum();
+        }
+    }
+}
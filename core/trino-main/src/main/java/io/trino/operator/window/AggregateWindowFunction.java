@@ -22,6 +22,7 @@ import io.trino.operator.aggregation.LambdaProvider;
 import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.function.WindowFunction;
 import io.trino.spi.function.WindowIndex;
+import io.trino.spi.type.FixedWidthType;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,16 +34,23 @@ import static java.util.Objects.requireNonNull;
 public class AggregateWindowFunction
         implements WindowFunction
 {
+    // frames of fewer rows are aggregated directly, rather than from the segment tree
+    private static final int MIN_SEGMENT_TREE_FRAME_SIZE = 4 * AggregationSegmentTree.BUCKET_SIZE;
+
     private final List<Integer> argumentChannels;
     private final AccumulatorFactory accumulatorFactory;
     private final boolean accumulatorHasRemoveInput;
+    private final boolean useSegmentTree;
 
     private WindowIndex windowIndex;
     private Accumulator accumulator;
     private int currentStart;
     private int currentEnd;
 
-    private AggregateWindowFunction(InternalAggregationFunction function, List<Integer> argumentChannels, List<LambdaProvider> lambdaProviders)
+    // built on the first frame of the partition, which is worth aggregating from it
+    private AggregationSegmentTree segmentTree;
+
+    private AggregateWindowFunction(InternalAggregationFunction function, boolean decomposable, List<Integer> argumentChannels, List<LambdaProvider> lambdaProviders)
     {
         this.argumentChannels = ImmutableList.copyOf(argumentChannels);
         this.accumulatorFactory = function.bind(
@@ -59,12 +67,16 @@ public class AggregateWindowFunction
                 null);
 
         this.accumulatorHasRemoveInput = accumulatorFactory.hasRemoveInput();
+        // the states of the segment tree are combined, and they are not accounted in the memory of the operator,
+        // so the tree is limited to the states of a fixed size, which are small compared to the partition
+        this.useSegmentTree = !accumulatorHasRemoveInput && decomposable && function.getIntermediateType() instanceof FixedWidthType;
     }
 
     @Override
     public void reset(WindowIndex windowIndex)
     {
         this.windowIndex = windowIndex;
+        this.segmentTree = null;
         resetAccumulator();
     }
 
@@ -122,7 +134,16 @@ public class AggregateWindowFunction
 
         // We couldn't or didn't want to modify the accumulation: instead, discard the current accumulation and start fresh.
         resetAccumulator();
-        accumulate(frameStart, frameEnd);
+        if (useSegmentTree && frameEnd - frameStart + 1 >= MIN_SEGMENT_TREE_FRAME_SIZE) {
+            // aggregate the frame from the states of the parts of the partition, instead of all its rows
+            if (segmentTree == null) {
+                segmentTree = new AggregationSegmentTree(accumulatorFactory, windowIndex, argumentChannels);
+            }
+            segmentTree.addInput(accumulator, frameStart, frameEnd);
+        }
+        else {
+            accumulate(frameStart, frameEnd);
+        }
         currentStart = frameStart;
         currentEnd = frameEnd;
     }
@@ -146,7 +167,7 @@ public class AggregateWindowFunction
         }
     }
 
-    public static WindowFunctionSupplier supplier(Signature signature, InternalAggregationFunction function)
+    public static WindowFunctionSupplier supplier(Signature signature, InternalAggregationFunction function, boolean decomposable)
     {
         requireNonNull(function, "function is null");
         return new AbstractWindowFunctionSupplier(signature, null, function.getLambdaInterfaces())
@@ -154,7 +175,7 @@ public class AggregateWindowFunction
             @Override
             protected WindowFunction newWindowFunction(List<Integer> inputs, boolean ignoreNulls, List<LambdaProvider> lambdaProviders)
             {
-                return new AggregateWindowFunction(function, inputs, lambdaProviders);
+                return new AggregateWindowFunction(function, decomposable, inputs, lambdaProviders);
             }
         };
     }
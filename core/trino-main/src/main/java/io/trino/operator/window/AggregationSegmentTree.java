@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.window;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.operator.aggregation.Accumulator;
+import io.trino.operator.aggregation.AccumulatorFactory;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.function.WindowIndex;
+import io.trino.spi.type.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Segment tree of the intermediate states of an aggregation over a partition, used to aggregate
+ * arbitrary frames of an aggregation without {@code removeInput}. The leaves are the states of
+ * consecutive buckets of {@link #BUCKET_SIZE} rows, and every other node is the combination of
+ * its two children. A frame is aggregated from the rows at its edges, which do not fill a bucket,
+ * and at most two nodes per level of the tree in between, so that a frame of {@code w} rows costs
+ * {@code O(BUCKET_SIZE + log w)} instead of {@code O(w)}. The rows and the nodes are added in the
+ * order of the rows, so the aggregations sensitive to the order of their input are not affected.
+ * The aggregation must be decomposable, as the states are combined.
+ */
+final class AggregationSegmentTree
+{
+    static final int BUCKET_SIZE = 32;
+
+    private final WindowIndex windowIndex;
+    private final List<Integer> argumentChannels;
+
+    // the nodes of a level are the combinations of pairs of nodes of the level below
+    private final Block[] levels;
+
+    // nodes of the current frame to add after the nodes at the start of the frame, by level
+    private final int[] endNodes;
+
+    AggregationSegmentTree(AccumulatorFactory accumulatorFactory, WindowIndex windowIndex, List<Integer> argumentChannels)
+    {
+        requireNonNull(accumulatorFactory, "accumulatorFactory is null");
+        this.windowIndex = requireNonNull(windowIndex, "windowIndex is null");
+        this.argumentChannels = ImmutableList.copyOf(requireNonNull(argumentChannels, "argumentChannels is null"));
+
+        Type intermediateType = accumulatorFactory.createAccumulator().getIntermediateType();
+        int buckets = windowIndex.size() / BUCKET_SIZE;
+        List<Block> levels = new ArrayList<>();
+        if (buckets > 0) {
+            BlockBuilder leaves = intermediateType.createBlockBuilder(null, buckets);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                Accumulator accumulator = accumulatorFactory.createAccumulator();
+                accumulator.addInput(windowIndex, this.argumentChannels, bucket * BUCKET_SIZE, (bucket + 1) * BUCKET_SIZE - 1);
+                accumulator.evaluateIntermediate(leaves);
+            }
+            levels.add(leaves.build());
+
+            Block children = levels.get(0);
+            while (children.getPositionCount() > 1) {
+                int nodes = (children.getPositionCount() + 1) / 2;
+                BlockBuilder parents = intermediateType.createBlockBuilder(null, nodes);
+                for (int node = 0; node < nodes; node++) {
+                    // the last node of a level with an odd number of nodes has no sibling
+                    int firstChild = node * 2;
+                    Accumulator accumulator = accumulatorFactory.createAccumulator();
+                    accumulator.addIntermediate(children.getRegion(firstChild, Math.min(2, children.getPositionCount() - firstChild)));
+                    accumulator.evaluateIntermediate(parents);
+                }
+                children = parents.build();
+                levels.add(children);
+            }
+        }
+        this.levels = levels.toArray(Block[]::new);
+        this.endNodes = new int[this.levels.length];
+    }
+
+    /**
+     * Adds the rows from {@code start} to {@code end}, both inclusive, to the accumulator.
+     */
+    public void addInput(Accumulator accumulator, int start, int end)
+    {
+        checkArgument(0 <= start && end < windowIndex.size(), "Frame is out of the partition");
+
+        int firstBucket = (start + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        int lastBucket = (end + 1) / BUCKET_SIZE - 1;
+        if (firstBucket > lastBucket) {
+            // the frame does not contain a whole bucket
+            accumulator.addInput(windowIndex, argumentChannels, start, end);
+            return;
+        }
+
+        int bucketsStart = firstBucket * BUCKET_SIZE;
+        if (start < bucketsStart) {
+            accumulator.addInput(windowIndex, argumentChannels, start, bucketsStart - 1);
+        }
+        addBuckets(accumulator, firstBucket, lastBucket);
+        int bucketsEnd = (lastBucket + 1) * BUCKET_SIZE;
+        if (bucketsEnd <= end) {
+            accumulator.addInput(windowIndex, argumentChannels, bucketsEnd, end);
+        }
+    }
+
+    private void addBuckets(Accumulator accumulator, int first, int last)
+    {
+        // climb the tree from the leaves, adding the nodes only partially covered by their parent
+        int level = 0;
+        for (; first <= last; level++) {
+            if ((first & 1) == 1) {
+                addNode(accumulator, level, first);
+                first++;
+            }
+            if ((last & 1) == 0) {
+                endNodes[level] = last;
+                last--;
+            }
+            else {
+                endNodes[level] = -1;
+            }
+            first >>= 1;
+            last >>= 1;
+        }
+
+        // the nodes at the end of the frame are found in the reverse order
+        for (level--; level >= 0; level--) {
+            if (endNodes[level] >= 0) {
+                addNode(accumulator, level, endNodes[level]);
+            }
+        }
+    }
+
+    private void addNode(Accumulator accumulator, int level, int node)
+    {
+        accumulator.addIntermediate(levels[level].getRegion(node, 1));
+    }
+}
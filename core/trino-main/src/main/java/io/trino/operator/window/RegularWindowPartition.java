@@ -19,9 +19,9 @@ import io.trino.operator.PagesIndex;
 import io.trino.operator.PagesIndexComparator;
 import io.trino.operator.WindowOperator.FrameBoundKey;
 import io.trino.spi.PageBuilder;
+import io.trino.spi.function.RankingWindowFunction;
 import io.trino.spi.function.WindowIndex;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -48,7 +48,8 @@ public final class RegularWindowPartition
     private int currentGroupIndex = -1;
     private int currentPosition;
 
-    private final Map<Integer, Framing> framings = new HashMap<>();
+    // the framings of the functions, or null for the ranking functions which do not depend on the frame
+    private final Framing[] framings;
 
     public RegularWindowPartition(
             PagesIndex pagesIndex,
@@ -75,7 +76,11 @@ public final class RegularWindowPartition
         currentPosition = partitionStart;
         updatePeerGroup();
 
+        framings = new Framing[windowFunctions.size()];
         for (int i = 0; i < windowFunctions.size(); i++) {
+            if (windowFunctions.get(i).getFunction() instanceof RankingWindowFunction) {
+                continue;
+            }
             FrameInfo frame = windowFunctions.get(i).getFrame();
 
             Framing framing;
@@ -122,7 +127,7 @@ public final class RegularWindowPartition
                     throw new UnsupportedOperationException("not yet implemented");
             }
 
-            framings.put(i, framing);
+            framings[i] = framing;
         }
     }
 
@@ -164,13 +169,24 @@ public final class RegularWindowPartition
 
         for (int i = 0; i < windowFunctions.size(); i++) {
             FramedWindowFunction framedFunction = windowFunctions.get(i);
-            Framing.Range range = framings.get(i).getRange(currentPosition, currentGroupIndex, peerGroupStart, peerGroupEnd);
-            framedFunction.getFunction().processRow(
-                    pageBuilder.getBlockBuilder(channel),
-                    peerGroupStart - partitionStart,
-                    peerGroupEnd - partitionStart - 1,
-                    range.getStart(),
-                    range.getEnd());
+            Framing framing = framings[i];
+            if (framing == null) {
+                framedFunction.getFunction().processRow(
+                        pageBuilder.getBlockBuilder(channel),
+                        peerGroupStart - partitionStart,
+                        peerGroupEnd - partitionStart - 1,
+                        -1,
+                        -1);
+            }
+            else {
+                Framing.Range range = framing.getRange(currentPosition, currentGroupIndex, peerGroupStart, peerGroupEnd);
+                framedFunction.getFunction().processRow(
+                        pageBuilder.getBlockBuilder(channel),
+                        peerGroupStart - partitionStart,
+                        peerGroupEnd - partitionStart - 1,
+                        range.getStart(),
+                        range.getEnd());
+            }
             channel++;
         }
 
@@ -0,0 +1,393 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.window;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Signature;
+import io.trino.operator.aggregation.LambdaProvider;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.function.WindowFunction;
+import io.trino.spi.function.WindowIndex;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeSignature;
+import io.trino.type.BigintOperators;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.sql.tree.FrameBound.Type.UNBOUNDED_PRECEDING;
+
+/**
+ * Evaluates the common aggregations over the frames starting at the beginning of the partition,
+ * such as running totals. The rows are accumulated by a loop specialized for the aggregation and
+ * the type, which keeps the state in fields, rather than by an {@link AggregateWindowFunction}
+ * through an accumulator. The frame end usually does not move backwards, so every row of the
+ * partition is accumulated once.
+ */
+public abstract class RunningAggregateWindowFunction
+        implements WindowFunction
+{
+    protected final int channel;
+    protected WindowIndex windowIndex;
+
+    // the rows before this position are accumulated
+    private int accumulatedEnd;
+
+    private RunningAggregateWindowFunction(int channel)
+    {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns a window function supplier specialized for the aggregation and the frame, if there is one.
+     * The signature must be the one the aggregation is bound to.
+     */
+    public static Optional<WindowFunctionSupplier> getRunningAggregationSupplier(Signature signature, FrameInfo frameInfo)
+    {
+        List<TypeSignature> argumentTypes = signature.getArgumentTypes();
+        if (signature.getName().equals("count") && argumentTypes.isEmpty()) {
+            // the number of rows of any frame is its size
+            return Optional.of(supplier(signature, ignored -> new CountRowsWindowFunction()));
+        }
+        if (frameInfo.getStartType() != UNBOUNDED_PRECEDING || argumentTypes.size() != 1) {
+            return Optional.empty();
+        }
+
+        TypeSignature argumentType = argumentTypes.get(0);
+        switch (signature.getName()) {
+            case "count":
+                return Optional.of(supplier(signature, CountValues::new));
+            case "sum":
+                if (argumentType.equals(BIGINT.getTypeSignature())) {
+                    return Optional.of(supplier(signature, LongSum::new));
+                }
+                if (argumentType.equals(DOUBLE.getTypeSignature())) {
+                    return Optional.of(supplier(signature, DoubleSum::new));
+                }
+                return Optional.empty();
+            case "avg":
+                if (argumentType.equals(BIGINT.getTypeSignature())) {
+                    return Optional.of(supplier(signature, channel -> new Average(channel, true)));
+                }
+                if (argumentType.equals(DOUBLE.getTypeSignature())) {
+                    return Optional.of(supplier(signature, channel -> new Average(channel, false)));
+                }
+                return Optional.empty();
+            case "min":
+            case "max":
+                boolean min = signature.getName().equals("min");
+                if (argumentType.equals(BIGINT.getTypeSignature())) {
+                    return Optional.of(supplier(signature, channel -> new LongMinMax(channel, BIGINT, min)));
+                }
+                if (argumentType.equals(INTEGER.getTypeSignature())) {
+                    return Optional.of(supplier(signature, channel -> new LongMinMax(channel, INTEGER, min)));
+                }
+                return Optional.empty();
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static WindowFunctionSupplier supplier(Signature signature, IntFunction<WindowFunction> windowFunctionFactory)
+    {
+        return new AbstractWindowFunctionSupplier(signature, null, ImmutableList.of())
+        {
+            @Override
+            protected WindowFunction newWindowFunction(List<Integer> inputs, boolean ignoreNulls, List<LambdaProvider> lambdaProviders)
+            {
+                return windowFunctionFactory.apply(inputs.isEmpty() ? -1 : inputs.get(0));
+            }
+        };
+    }
+
+    @Override
+    public final void reset(WindowIndex windowIndex)
+    {
+        this.windowIndex = windowIndex;
+        restart();
+    }
+
+    @Override
+    public final void processRow(BlockBuilder output, int peerGroupStart, int peerGroupEnd, int frameStart, int frameEnd)
+    {
+        if (frameStart < 0) {
+            // empty frame
+            outputEmpty(output);
+            return;
+        }
+        checkState(frameStart == 0, "Frame must start at the beginning of the partition");
+
+        if (frameEnd < accumulatedEnd - 1) {
+            // the frame end moved backwards, which is possible only with a frame end offset varying between the rows
+            restart();
+        }
+        if (frameEnd >= accumulatedEnd) {
+            accumulate(accumulatedEnd, frameEnd + 1);
+            accumulatedEnd = frameEnd + 1;
+        }
+        output(output);
+    }
+
+    private void restart()
+    {
+        accumulatedEnd = 0;
+        clear();
+    }
+
+    protected abstract void clear();
+
+    /**
+     * Accumulates the rows from {@code start} inclusive to {@code end} exclusive.
+     */
+    protected abstract void accumulate(int start, int end);
+
+    protected abstract void output(BlockBuilder output);
+
+    protected void outputEmpty(BlockBuilder output)
+    {
+        output.appendNull();
+    }
+
+    private static class CountRowsWindowFunction
+            implements WindowFunction
+    {
+        @Override
+        public void reset(WindowIndex windowIndex) {}
+
+        @Override
+        public void processRow(BlockBuilder output, int peerGroupStart, int peerGroupEnd, int frameStart, int frameEnd)
+        {
+            BIGINT.writeLong(output, frameStart < 0 || frameEnd < frameStart ? 0 : frameEnd - frameStart + 1);
+        }
+    }
+
+    private static class CountValues
+            extends RunningAggregateWindowFunction
+    {
+        private long count;
+
+        public CountValues(int channel)
+        {
+            super(channel);
+        }
+
+        @Override
+        protected void clear()
+        {
+            count = 0;
+        }
+
+        @Override
+        protected void accumulate(int start, int end)
+        {
+            for (int position = start; position < end; position++) {
+                if (!windowIndex.isNull(channel, position)) {
+                    count++;
+                }
+            }
+        }
+
+        @Override
+        protected void output(BlockBuilder output)
+        {
+            BIGINT.writeLong(output, count);
+        }
+
+        @Override
+        protected void outputEmpty(BlockBuilder output)
+        {
+            BIGINT.writeLong(output, 0);
+        }
+    }
+
+    private static class LongSum
+            extends RunningAggregateWindowFunction
+    {
+        private long count;
+        private long sum;
+
+        public LongSum(int channel)
+        {
+            super(channel);
+        }
+
+        @Override
+        protected void clear()
+        {
+            count = 0;
+            sum = 0;
+        }
+
+        @Override
+        protected void accumulate(int start, int end)
+        {
+            for (int position = start; position < end; position++) {
+                if (!windowIndex.isNull(channel, position)) {
+                    count++;
+                    sum = BigintOperators.add(sum, windowIndex.getLong(channel, position));
+                }
+            }
+        }
+
+        @Override
+        protected void output(BlockBuilder output)
+        {
+            if (count == 0) {
+                output.appendNull();
+            }
+            else {
+                BIGINT.writeLong(output, sum);
+            }
+        }
+    }
+
+    private static class DoubleSum
+            extends RunningAggregateWindowFunction
+    {
+        private long count;
+        private double sum;
+
+        public DoubleSum(int channel)
+        {
+            super(channel);
+        }
+
+        @Override
+        protected void clear()
+        {
+            count = 0;
+            sum = 0;
+        }
+
+        @Override
+        protected void accumulate(int start, int end)
+        {
+            for (int position = start; position < end; position++) {
+                if (!windowIndex.isNull(channel, position)) {
+                    count++;
+                    sum += windowIndex.getDouble(channel, position);
+                }
+            }
+        }
+
+        @Override
+        protected void output(BlockBuilder output)
+        {
+            if (count == 0) {
+                output.appendNull();
+            }
+            else {
+                DOUBLE.writeDouble(output, sum);
+            }
+        }
+    }
+
+    private static class Average
+            extends RunningAggregateWindowFunction
+    {
+        private final boolean bigint;
+        private long count;
+        private double sum;
+
+        public Average(int channel, boolean bigint)
+        {
+            super(channel);
+            this.bigint = bigint;
+        }
+
+        @Override
+        protected void clear()
+        {
+            count = 0;
+            sum = 0;
+        }
+
+        @Override
+        protected void accumulate(int start, int end)
+        {
+            for (int position = start; position < end; position++) {
+                if (!windowIndex.isNull(channel, position)) {
+                    count++;
+                    sum += bigint ? windowIndex.getLong(channel, position) : windowIndex.getDouble(channel, position);
+                }
+            }
+        }
+
+        @Override
+        protected void output(BlockBuilder output)
+        {
+            if (count == 0) {
+                output.appendNull();
+            }
+            else {
+                DOUBLE.writeDouble(output, sum / count);
+            }
+        }
+    }
+
+    private static class LongMinMax
+            extends RunningAggregateWindowFunction
+    {
+        private final Type type;
+        private final boolean min;
+        private boolean hasValue;
+        private long value;
+
+        public LongMinMax(int channel, Type type, boolean min)
+        {
+            super(channel);
+            this.type = type;
+            this.min = min;
+        }
+
+        @Override
+        protected void clear()
+        {
+            hasValue = false;
+        }
+
+        @Override
+        protected void accumulate(int start, int end)
+        {
+            for (int position = start; position < end; position++) {
+                if (!windowIndex.isNull(channel, position)) {
+                    long current = windowIndex.getLong(channel, position);
+                    if (!hasValue) {
+                        value = current;
+                        hasValue = true;
+                    }
+                    else {
+                        value = min ? Math.min(value, current) : Math.max(value, current);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void output(BlockBuilder output)
+        {
+            if (!hasValue) {
+                output.appendNull();
+            }
+            else {
+                type.writeLong(output, value);
+            }
+        }
+    }
+}
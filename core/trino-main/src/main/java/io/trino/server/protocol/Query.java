@@ -36,10 +36,13 @@ import io.trino.client.RowFieldName;
 import io.trino.client.StageStats;
 import io.trino.client.StatementStats;
 import io.trino.client.Warning;
+import io.trino.execution.CachedQueryResult;
 import io.trino.execution.ExecutionFailureInfo;
 import io.trino.execution.QueryExecution;
 import io.trino.execution.QueryInfo;
 import io.trino.execution.QueryManager;
+import io.trino.execution.QueryResultCache;
+import io.trino.execution.QueryResultCacheKey;
 import io.trino.execution.QueryState;
 import io.trino.execution.QueryStats;
 import io.trino.execution.StageId;
@@ -79,6 +82,8 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +104,7 @@ import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addTimeout;
 import static io.trino.SystemSessionProperties.isExchangeCompressionEnabled;
 import static io.trino.execution.QueryState.FAILED;
+import static io.trino.execution.QueryState.FINISHED;
 import static io.trino.server.protocol.QueryResultRows.queryResultRowsBuilder;
 import static io.trino.server.protocol.Slug.Context.EXECUTING_QUERY;
 import static io.trino.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
@@ -131,6 +137,7 @@ public class Query
 
     private final PagesSerde serde;
     private final boolean supportsParametricDateTime;
+    private final QueryResultCache queryResultCache;
 
     @GuardedBy("this")
     private OptionalLong nextToken = OptionalLong.of(0);
@@ -183,6 +190,17 @@ public class Query
     @GuardedBy("this")
     private Long updateCount;
 
+    // pages of a result served from the result cache, which are returned instead of the exchange output
+    @GuardedBy("this")
+    private Deque<SerializedPage> cachedPages;
+
+    @GuardedBy("this")
+    private Optional<QueryResultCacheKey> resultCacheKey = Optional.empty();
+
+    // collects the output of the query to be stored in the result cache once the query finishes
+    @GuardedBy("this")
+    private CachedQueryResult.Builder resultCacheBuilder;
+
     public static Query create(
             Session session,
             Slug slug,
@@ -191,9 +209,10 @@ public class Query
             ExchangeClient exchangeClient,
             Executor dataProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            QueryResultCache queryResultCache)
     {
-        Query result = new Query(session, slug, queryManager, queryInfoUrl, exchangeClient, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde);
+        Query result = new Query(session, slug, queryManager, queryInfoUrl, exchangeClient, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde, queryResultCache);
 
         result.queryManager.addOutputInfoListener(result.getQueryId(), result::setQueryOutputInfo);
 
@@ -215,7 +234,8 @@ public class Query
             ExchangeClient exchangeClient,
             Executor resultsProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
-            BlockEncodingSerde blockEncodingSerde)
+            BlockEncodingSerde blockEncodingSerde,
+            QueryResultCache queryResultCache)
     {
         requireNonNull(session, "session is null");
         requireNonNull(slug, "slug is null");
@@ -225,6 +245,7 @@ public class Query
         requireNonNull(resultsProcessorExecutor, "resultsProcessorExecutor is null");
         requireNonNull(timeoutExecutor, "timeoutExecutor is null");
         requireNonNull(blockEncodingSerde, "blockEncodingSerde is null");
+        requireNonNull(queryResultCache, "queryResultCache is null");
 
         this.queryManager = queryManager;
         this.queryId = session.getQueryId();
@@ -234,6 +255,7 @@ public class Query
         this.exchangeClient = exchangeClient;
         this.resultsProcessorExecutor = resultsProcessorExecutor;
         this.timeoutExecutor = timeoutExecutor;
+        this.queryResultCache = queryResultCache;
         this.supportsParametricDateTime = session.getClientCapabilities().contains(ClientCapabilities.PARAMETRIC_DATETIME.toString());
         serde = new PagesSerdeFactory(blockEncodingSerde, isExchangeCompressionEnabled(session)).createPagesSerde();
     }
@@ -258,6 +280,10 @@ public class Query
     public synchronized void dispose()
     {
         exchangeClient.close();
+        if (resultCacheBuilder != null) {
+            resultCacheBuilder.abandon();
+            resultCacheBuilder = null;
+        }
     }
 
     public QueryId getQueryId()
@@ -351,6 +377,11 @@ public class Query
 
     private synchronized ListenableFuture<?> getFutureStateChange()
     {
+        // cached output is available without waiting
+        if (cachedPages != null && !cachedPages.isEmpty()) {
+            return immediateFuture(null);
+        }
+
         // if the exchange client is open, wait for data
         if (!exchangeClient.isClosed()) {
             return exchangeClient.isBlocked();
@@ -436,11 +467,12 @@ public class Query
         // (1) the query is not done AND the query state is not FAILED
         //   OR
         // (2)there is more data to send (due to buffering)
-        if ((!queryInfo.isFinalQueryInfo() && queryInfo.getState() != FAILED) || !exchangeClient.isClosed()) {
+        if ((!queryInfo.isFinalQueryInfo() && queryInfo.getState() != FAILED) || !exchangeClient.isClosed() || hasPendingCachedOutput(queryInfo)) {
             nextToken = OptionalLong.of(token + 1);
         }
         else {
             nextToken = OptionalLong.empty();
+            storeResultInCache(queryInfo);
         }
 
         URI nextResultsUri = null;
@@ -496,7 +528,8 @@ public class Query
     private synchronized QueryResultRows removePagesFromExchange(QueryInfo queryInfo, long targetResultBytes)
     {
         // For queries with no output, return a fake boolean result for clients that require it.
-        if ((queryInfo.getState() == QueryState.FINISHED) && queryInfo.getOutputStage().isEmpty()) {
+        // Queries served from the result cache have no output stage either, but do have output fields.
+        if ((queryInfo.getState() == QueryState.FINISHED) && queryInfo.getOutputStage().isEmpty() && queryInfo.getFieldNames().isEmpty()) {
             return queryResultRowsBuilder(session)
                     .withSingleBooleanValue(createColumn("result", BooleanType.BOOLEAN), true)
                     .build();
@@ -516,10 +549,13 @@ public class Query
         try (PagesSerde.PagesSerdeContext context = serde.newContext()) {
             long bytes = 0;
             while (bytes < targetResultBytes) {
-                SerializedPage serializedPage = exchangeClient.pollPage();
+                SerializedPage serializedPage = pollPage();
                 if (serializedPage == null) {
                     break;
                 }
+                if (resultCacheBuilder != null) {
+                    resultCacheBuilder.addPage(serializedPage);
+                }
 
                 Page page = serde.deserialize(context, serializedPage);
                 bytes += page.getLogicalSizeInBytes();
@@ -533,6 +569,37 @@ public class Query
         return resultBuilder.build();
     }
 
+    private synchronized SerializedPage pollPage()
+    {
+        if (cachedPages != null) {
+            return cachedPages.poll();
+        }
+        return exchangeClient.pollPage();
+    }
+
+    private synchronized boolean hasPendingCachedOutput(QueryInfo queryInfo)
+    {
+        if (cachedPages != null) {
+            return !cachedPages.isEmpty();
+        }
+        // the output info of a query served from the result cache may arrive after the query has finished
+        return columns == null && queryInfo.getState() == FINISHED && queryInfo.getOutputStage().isEmpty() && !queryInfo.getFieldNames().isEmpty();
+    }
+
+    private synchronized void storeResultInCache(QueryInfo queryInfo)
+    {
+        if (resultCacheBuilder == null) {
+            return;
+        }
+        if (queryInfo.getState() == FINISHED && typeSerializationException.isEmpty()) {
+            resultCacheBuilder.build().ifPresent(result -> queryResultCache.put(resultCacheKey.orElseThrow(), result));
+        }
+        else {
+            resultCacheBuilder.abandon();
+        }
+        resultCacheBuilder = null;
+    }
+
     private synchronized void closeExchangeClientIfNecessary(QueryInfo queryInfo)
     {
         // Close the exchange client if the query has failed, or if the query
@@ -573,6 +640,14 @@ public class Query
             }
             columns = list.build();
             types = outputInfo.getColumnTypes();
+
+            if (outputInfo.getCachedResult().isPresent()) {
+                cachedPages = new ArrayDeque<>(outputInfo.getCachedResult().get().getPages());
+            }
+            else if (outputInfo.getResultCacheKey().isPresent()) {
+                resultCacheKey = outputInfo.getResultCacheKey();
+                resultCacheBuilder = queryResultCache.newResultBuilder(columnNames, columnTypes);
+            }
         }
 
         for (URI outputLocation : outputInfo.getBufferLocations()) {
@@ -165,6 +165,8 @@ public class Analysis
     private final Map<NodeRef<Expression>, PredicateCoercions> predicateCoercions = new LinkedHashMap<>();
 
     private final Map<NodeRef<Table>, TableEntry> tables = new LinkedHashMap<>();
+    // handles to use instead of resolving the table by name, such as the appended rows of a source table during an incremental refresh
+    private final Map<NodeRef<Table>, TableHandle> tableHandleOverrides = new LinkedHashMap<>();
 
     private final Map<NodeRef<Expression>, Type> types = new LinkedHashMap<>();
     private final Map<NodeRef<Expression>, Type> coercions = new LinkedHashMap<>();
@@ -261,6 +263,16 @@ public class Analysis
         this.skipMaterializedViewRefresh = skipMaterializedViewRefresh;
     }
 
+    public void setTableHandleOverride(Table table, TableHandle handle)
+    {
+        tableHandleOverrides.put(NodeRef.of(table), handle);
+    }
+
+    public Optional<TableHandle> getTableHandleOverride(Table table)
+    {
+        return Optional.ofNullable(tableHandleOverrides.get(NodeRef.of(table)));
+    }
+
     public void setAggregates(QuerySpecification node, List<FunctionCall> aggregates)
     {
         this.aggregates.put(NodeRef.of(node), ImmutableList.copyOf(aggregates));
@@ -89,6 +89,7 @@ public class FeaturesConfig
     private boolean pushTableWriteThroughUnion = true;
     private DataIntegrityVerification exchangeDataIntegrityVerification = DataIntegrityVerification.ABORT;
     private boolean exchangeCompressionEnabled;
+    private boolean skewedPartitionDetectionEnabled;
     private boolean legacyRowToJsonCast;
     private boolean optimizeMixedDistinctAggregations;
     private boolean unwrapCasts = true;
@@ -117,6 +118,7 @@ public class FeaturesConfig
     private boolean enableForcedExchangeBelowGroupId = true;
     private boolean pushAggregationThroughOuterJoin = true;
     private boolean pushPartialAggregationThoughJoin;
+    private boolean eagerPartialAggregationEnabled;
     private double memoryRevokingTarget = 0.5;
     private double memoryRevokingThreshold = 0.9;
     private boolean parseDecimalLiteralsAsDouble;
@@ -134,6 +136,7 @@ public class FeaturesConfig
     private boolean useTableScanNodePartitioning = true;
     private double tableScanNodePartitioningMinBucketToTaskRatio = 0.5;
     private boolean mergeProjectWithValues = true;
+    private boolean incrementalMaterializedViewRefreshEnabled = true;
 
     private Duration iterativeOptimizerTimeout = new Duration(3, MINUTES); // by default let optimizer wait a long time in case it retrieves some data from ConnectorMetadata
     private DataSize filterAndProjectMinOutputPageSize = DataSize.of(500, KILOBYTE);
@@ -789,6 +792,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isSkewedPartitionDetectionEnabled()
+    {
+        return skewedPartitionDetectionEnabled;
+    }
+
+    @Config("exchange.skewed-partition-detection-enabled")
+    @ConfigDescription("Sample partitioning keys of hash exchanges to report heavy hitters in EXPLAIN ANALYZE, without changing the partitioning")
+    public FeaturesConfig setSkewedPartitionDetectionEnabled(boolean skewedPartitionDetectionEnabled)
+    {
+        this.skewedPartitionDetectionEnabled = skewedPartitionDetectionEnabled;
+        return this;
+    }
+
     public DataIntegrityVerification getExchangeDataIntegrityVerification()
     {
         return exchangeDataIntegrityVerification;
@@ -838,6 +854,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isEagerPartialAggregationEnabled()
+    {
+        return eagerPartialAggregationEnabled;
+    }
+
+    @Config("optimizer.eager-partial-aggregation-enabled")
+    @ConfigDescription("Push partial aggregations below joins when statistics estimate that this reduces the join input")
+    public FeaturesConfig setEagerPartialAggregationEnabled(boolean eagerPartialAggregationEnabled)
+    {
+        this.eagerPartialAggregationEnabled = eagerPartialAggregationEnabled;
+        return this;
+    }
+
     public boolean isParseDecimalLiteralsAsDouble()
     {
         return parseDecimalLiteralsAsDouble;
@@ -1075,4 +1104,17 @@ public class FeaturesConfig
         this.mergeProjectWithValues = mergeProjectWithValues;
         return this;
     }
+
+    public boolean isIncrementalMaterializedViewRefreshEnabled()
+    {
+        return incrementalMaterializedViewRefreshEnabled;
+    }
+
+    @Config("incremental-materialized-view-refresh-enabled")
+    @ConfigDescription("Refresh materialized views over a single table from the rows appended since the last refresh, when the connector supports it")
+    public FeaturesConfig setIncrementalMaterializedViewRefreshEnabled(boolean incrementalMaterializedViewRefreshEnabled)
+    {
+        this.incrementalMaterializedViewRefreshEnabled = incrementalMaterializedViewRefreshEnabled;
+        return this;
+    }
 }
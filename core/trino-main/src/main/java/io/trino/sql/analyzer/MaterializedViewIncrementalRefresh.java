@@ -0,0 +1,288 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.analyzer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.trino.metadata.Metadata;
+import io.trino.sql.tree.AliasedRelation;
+import io.trino.sql.tree.CurrentTime;
+import io.trino.sql.tree.Expression;
+import io.trino.sql.tree.FunctionCall;
+import io.trino.sql.tree.GroupBy;
+import io.trino.sql.tree.GroupingElement;
+import io.trino.sql.tree.Identifier;
+import io.trino.sql.tree.LongLiteral;
+import io.trino.sql.tree.QualifiedName;
+import io.trino.sql.tree.Query;
+import io.trino.sql.tree.QuerySpecification;
+import io.trino.sql.tree.Relation;
+import io.trino.sql.tree.Select;
+import io.trino.sql.tree.SelectItem;
+import io.trino.sql.tree.SimpleGroupBy;
+import io.trino.sql.tree.SingleColumn;
+import io.trino.sql.tree.Table;
+import io.trino.sql.tree.TableSubquery;
+import io.trino.sql.tree.Union;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.sql.analyzer.ExpressionTreeUtils.extractAggregateFunctions;
+import static io.trino.sql.util.AstUtils.preOrder;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recognizes materialized view definitions which can be refreshed from the rows appended to their single
+ * source table since the previous refresh:
+ * <ul>
+ * <li>projections and filters, whose result for the appended rows is added to the storage table</li>
+ * <li>aggregations grouped by projected columns using only {@code sum}, {@code count}, {@code min} and {@code max},
+ * whose result for the appended rows is merged with the current content of the storage table</li>
+ * </ul>
+ */
+final class MaterializedViewIncrementalRefresh
+{
+    // aggregations which can be computed from partial results, and the function combining them
+    private static final Map<String, String> MERGE_FUNCTIONS = ImmutableMap.of(
+            "sum", "sum",
+            "count", "sum",
+            "min", "min",
+            "max", "max");
+
+    // functions whose result depends on the time of the refresh, so previously computed rows would not be reproduced
+    private static final Set<String> TIME_DEPENDENT_FUNCTIONS = ImmutableSet.of(
+            "now",
+            "current_date",
+            "current_timezone",
+            "$current_time",
+            "$current_timestamp",
+            "$localtime",
+            "$localtimestamp");
+
+    private final Query query;
+    private final Table sourceTable;
+    // for aggregations, the merge function of every output column or empty for grouping keys
+    private final Optional<List<Optional<String>>> mergeFunctions;
+
+    private MaterializedViewIncrementalRefresh(Query query, Table sourceTable, Optional<List<Optional<String>>> mergeFunctions)
+    {
+        this.query = requireNonNull(query, "query is null");
+        this.sourceTable = requireNonNull(sourceTable, "sourceTable is null");
+        this.mergeFunctions = requireNonNull(mergeFunctions, "mergeFunctions is null");
+    }
+
+    public static Optional<MaterializedViewIncrementalRefresh> analyze(Query query, Metadata metadata)
+    {
+        if (query.getWith().isPresent() || query.getOrderBy().isPresent() || query.getOffset().isPresent() || query.getLimit().isPresent()) {
+            return Optional.empty();
+        }
+        if (!(query.getQueryBody() instanceof QuerySpecification)) {
+            return Optional.empty();
+        }
+        QuerySpecification specification = (QuerySpecification) query.getQueryBody();
+        if (specification.getHaving().isPresent() ||
+                !specification.getWindows().isEmpty() ||
+                specification.getOrderBy().isPresent() ||
+                specification.getOffset().isPresent() ||
+                specification.getLimit().isPresent() ||
+                specification.getSelect().isDistinct()) {
+            return Optional.empty();
+        }
+
+        Optional<Table> sourceTable = specification.getFrom().flatMap(MaterializedViewIncrementalRefresh::getSourceTable);
+        if (sourceTable.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The source must be the only relation. Subqueries, window functions and time dependent expressions are not supported.
+        boolean supported = preOrder(query).allMatch(node -> {
+            if (node == query || node == sourceTable.get()) {
+                return true;
+            }
+            if (node instanceof Query || node instanceof Table || node instanceof CurrentTime) {
+                return false;
+            }
+            if (node instanceof FunctionCall) {
+                FunctionCall functionCall = (FunctionCall) node;
+                return functionCall.getWindow().isEmpty() &&
+                        !TIME_DEPENDENT_FUNCTIONS.contains(functionCall.getName().toString().toLowerCase(Locale.ENGLISH));
+            }
+            return true;
+        });
+        if (!supported) {
+            return Optional.empty();
+        }
+
+        List<SelectItem> selectItems = specification.getSelect().getSelectItems();
+        if (specification.getGroupBy().isEmpty() && extractAggregateFunctions(selectItems, metadata).isEmpty()) {
+            return Optional.of(new MaterializedViewIncrementalRefresh(query, sourceTable.get(), Optional.empty()));
+        }
+
+        return getMergeFunctions(specification, metadata)
+                .map(functions -> new MaterializedViewIncrementalRefresh(query, sourceTable.get(), Optional.of(functions)));
+    }
+
+    private static Optional<Table> getSourceTable(Relation relation)
+    {
+        if (relation instanceof AliasedRelation && ((AliasedRelation) relation).getColumnNames().isEmpty()) {
+            return getSourceTable(((AliasedRelation) relation).getRelation());
+        }
+        if (relation instanceof Table) {
+            return Optional.of((Table) relation);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<List<Optional<String>>> getMergeFunctions(QuerySpecification specification, Metadata metadata)
+    {
+        List<SelectItem> selectItems = specification.getSelect().getSelectItems();
+        if (!selectItems.stream().allMatch(SingleColumn.class::isInstance)) {
+            return Optional.empty();
+        }
+        List<Expression> outputs = selectItems.stream()
+                .map(SingleColumn.class::cast)
+                .map(SingleColumn::getExpression)
+                .collect(toImmutableList());
+
+        List<Expression> groupingKeys = new ArrayList<>();
+        if (specification.getGroupBy().isPresent()) {
+            GroupBy groupBy = specification.getGroupBy().get();
+            if (groupBy.isDistinct()) {
+                return Optional.empty();
+            }
+            for (GroupingElement element : groupBy.getGroupingElements()) {
+                if (!(element instanceof SimpleGroupBy)) {
+                    return Optional.empty();
+                }
+                for (Expression key : ((SimpleGroupBy) element).getExpressions()) {
+                    if (key instanceof LongLiteral) {
+                        // GROUP BY ordinal
+                        long ordinal = ((LongLiteral) key).getValue();
+                        if (ordinal < 1 || ordinal > outputs.size()) {
+                            return Optional.empty();
+                        }
+                        key = outputs.get((int) ordinal - 1);
+                    }
+                    // every group must be identifiable in the storage table
+                    if (!outputs.contains(key)) {
+                        return Optional.empty();
+                    }
+                    groupingKeys.add(key);
+                }
+            }
+        }
+
+        ImmutableList.Builder<Optional<String>> mergeFunctions = ImmutableList.builder();
+        for (Expression output : outputs) {
+            if (groupingKeys.contains(output)) {
+                mergeFunctions.add(Optional.empty());
+                continue;
+            }
+            if (!(output instanceof FunctionCall)) {
+                return Optional.empty();
+            }
+            FunctionCall aggregation = (FunctionCall) output;
+            String mergeFunction = MERGE_FUNCTIONS.get(aggregation.getName().toString().toLowerCase(Locale.ENGLISH));
+            if (mergeFunction == null ||
+                    aggregation.isDistinct() ||
+                    aggregation.getFilter().isPresent() ||
+                    aggregation.getOrderBy().isPresent() ||
+                    !extractAggregateFunctions(aggregation.getArguments(), metadata).isEmpty()) {
+                return Optional.empty();
+            }
+            mergeFunctions.add(Optional.of(mergeFunction));
+        }
+        return Optional.of(mergeFunctions.build());
+    }
+
+    public Table getSourceTable()
+    {
+        return sourceTable;
+    }
+
+    /**
+     * Returns whether the rewritten query reads the storage table.
+     */
+    public boolean readsStorageTable()
+    {
+        return mergeFunctions.isPresent();
+    }
+
+    /**
+     * Returns the query computing the new content of the storage table when the source table
+     * only returns the appended rows, or empty if the storage table does not match the view query.
+     * For projections this is the view query itself, and its result is appended to the storage table.
+     * For aggregations the result replaces the storage table.
+     */
+    public Optional<Query> rewrite(QualifiedName storageTable, List<String> storageColumns)
+    {
+        if (mergeFunctions.isEmpty()) {
+            return Optional.of(query);
+        }
+        List<Optional<String>> functions = mergeFunctions.get();
+        if (functions.size() != storageColumns.size()) {
+            return Optional.empty();
+        }
+
+        // SELECT key, merge(value) FROM (TABLE storage UNION ALL <view query>) t(key, value) GROUP BY key
+        ImmutableList.Builder<SelectItem> selectItems = ImmutableList.builder();
+        ImmutableList.Builder<Expression> groupingKeys = ImmutableList.builder();
+        for (int i = 0; i < functions.size(); i++) {
+            Identifier column = new Identifier(storageColumns.get(i), true);
+            if (functions.get(i).isEmpty()) {
+                selectItems.add(new SingleColumn(column));
+                groupingKeys.add(column);
+            }
+            else {
+                selectItems.add(new SingleColumn(new FunctionCall(QualifiedName.of(functions.get(i).get()), ImmutableList.of(column))));
+            }
+        }
+        List<Expression> keys = groupingKeys.build();
+
+        Relation mergedRows = new AliasedRelation(
+                new TableSubquery(new Query(
+                        Optional.empty(),
+                        new Union(ImmutableList.of(new Table(storageTable), new TableSubquery(query)), false),
+                        Optional.empty(),
+                        Optional.empty(),
+                        Optional.empty())),
+                new Identifier("merged"),
+                storageColumns.stream()
+                        .map(name -> new Identifier(name, true))
+                        .collect(toImmutableList()));
+
+        return Optional.of(new Query(
+                Optional.empty(),
+                new QuerySpecification(
+                        new Select(false, selectItems.build()),
+                        Optional.of(mergedRows),
+                        Optional.empty(),
+                        keys.isEmpty() ? Optional.empty() : Optional.of(new GroupBy(false, ImmutableList.of(new SimpleGroupBy(keys)))),
+                        Optional.empty(),
+                        ImmutableList.of(),
+                        Optional.empty(),
+                        Optional.empty(),
+                        Optional.empty()),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty()));
+    }
+}
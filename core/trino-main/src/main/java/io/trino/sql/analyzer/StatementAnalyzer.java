@@ -212,6 +212,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.getLast;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static io.trino.SystemSessionProperties.getMaxGroupingSets;
+import static io.trino.SystemSessionProperties.isIncrementalMaterializedViewRefreshEnabled;
 import static io.trino.metadata.FunctionKind.AGGREGATE;
 import static io.trino.metadata.FunctionKind.WINDOW;
 import static io.trino.metadata.MetadataUtil.createQualifiedObjectName;
@@ -538,24 +539,26 @@ class StatementAnalyzer
 
             QualifiedObjectName targetTable = createQualifiedObjectName(session, refreshMaterializedView, storageName.get());
 
-            // analyze the query that creates the data
-            Query query = parseView(optionalView.get().getOriginalSql(), name, refreshMaterializedView);
-            Scope queryScope = process(query, scope);
-
-            // verify the insert destination columns match the query
             Optional<TableHandle> targetTableHandle = metadata.getTableHandle(session, targetTable);
             if (targetTableHandle.isEmpty()) {
                 throw semanticException(TABLE_NOT_FOUND, refreshMaterializedView, "Table '%s' does not exist", targetTable);
             }
 
-            analysis.setSkipMaterializedViewRefresh(metadata.getMaterializedViewFreshness(session, name).isMaterializedViewFresh());
-
             TableMetadata tableMetadata = metadata.getTableMetadata(session, targetTableHandle.get());
             List<String> insertColumns = tableMetadata.getColumns().stream()
                     .filter(column -> !column.isHidden())
                     .map(ColumnMetadata::getName)
                     .collect(toImmutableList());
 
+            // analyze the query that creates the data
+            Query query = parseView(optionalView.get().getOriginalSql(), name, refreshMaterializedView);
+            if (isIncrementalMaterializedViewRefreshEnabled(session)) {
+                query = rewriteForIncrementalRefresh(name, storageName.get(), targetTable, tableMetadata, insertColumns, query);
+            }
+            Scope queryScope = process(query, scope);
+
+            analysis.setSkipMaterializedViewRefresh(metadata.getMaterializedViewFreshness(session, name).isMaterializedViewFresh());
+
             Map<String, ColumnHandle> columnHandles = metadata.getColumnHandles(session, targetTableHandle.get());
             analysis.setRefreshMaterializedView(new Analysis.RefreshMaterializedViewAnalysis(
                     name,
@@ -595,6 +598,57 @@ class StatementAnalyzer
             return createAndAssignScope(refreshMaterializedView, scope, Field.newUnqualified("rows", BIGINT));
         }
 
+        private Query rewriteForIncrementalRefresh(
+                QualifiedObjectName viewName,
+                QualifiedName storageName,
+                QualifiedObjectName storageTable,
+                TableMetadata storageTableMetadata,
+                List<String> storageColumns,
+                Query query)
+        {
+            Optional<MaterializedViewIncrementalRefresh> incrementalRefresh = MaterializedViewIncrementalRefresh.analyze(query, metadata);
+            if (incrementalRefresh.isEmpty()) {
+                return query;
+            }
+
+            Table sourceTable = incrementalRefresh.get().getSourceTable();
+            QualifiedObjectName sourceName = createQualifiedObjectName(session, sourceTable, sourceTable.getName());
+            if (metadata.getMaterializedView(session, sourceName).isPresent() || metadata.getView(session, sourceName).isPresent()) {
+                return query;
+            }
+            Optional<TableHandle> appendedRows = metadata.getTableHandle(session, sourceName)
+                    .flatMap(handle -> metadata.getMaterializedViewIncrementalSource(session, viewName, handle));
+            if (appendedRows.isEmpty()) {
+                return query;
+            }
+            if (incrementalRefresh.get().readsStorageTable() && !canReadUnrestricted(storageTable, storageTableMetadata, storageColumns)) {
+                // the full refresh does not read the storage table, so the user may not be allowed to read it
+                return query;
+            }
+
+            Optional<Query> rewritten = incrementalRefresh.get().rewrite(storageName, storageColumns);
+            if (rewritten.isEmpty()) {
+                return query;
+            }
+            analysis.setTableHandleOverride(sourceTable, appendedRows.get());
+            return rewritten.get();
+        }
+
+        private boolean canReadUnrestricted(QualifiedObjectName table, TableMetadata tableMetadata, List<String> columns)
+        {
+            try {
+                accessControl.checkCanSelectFromColumns(session.toSecurityContext(), table, ImmutableSet.copyOf(columns));
+            }
+            catch (AccessDeniedException e) {
+                return false;
+            }
+            if (!accessControl.getRowFilters(session.toSecurityContext(), table).isEmpty()) {
+                return false;
+            }
+            return columns.stream()
+                    .allMatch(column -> accessControl.getColumnMasks(session.toSecurityContext(), table, column, tableMetadata.getColumn(column).getType()).isEmpty());
+        }
+
         private boolean typesMatchForInsert(List<Type> tableTypes, List<Type> queryTypes)
         {
             if (tableTypes.size() != queryTypes.size()) {
@@ -1309,7 +1363,8 @@ class StatementAnalyzer
             if (optionalView.isPresent()) {
                 return createScopeForView(table, name, scope, optionalView.get());
             }
-            Optional<TableHandle> tableHandle = metadata.getTableHandle(session, name);
+            Optional<TableHandle> tableHandle = analysis.getTableHandleOverride(table)
+                    .or(() -> metadata.getTableHandle(session, name));
 
             if (tableHandle.isEmpty()) {
                 if (metadata.getCatalogHandle(session, name.getCatalogName()).isEmpty()) {
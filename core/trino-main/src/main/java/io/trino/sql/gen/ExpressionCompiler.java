@@ -22,11 +22,13 @@ import io.airlift.bytecode.ClassDefinition;
 import io.airlift.bytecode.CompilationException;
 import io.airlift.jmx.CacheStatsMBean;
 import io.trino.metadata.Metadata;
+import io.trino.operator.project.CommonSubexpressionRewriter;
 import io.trino.operator.project.CursorProcessor;
 import io.trino.operator.project.PageFilter;
 import io.trino.operator.project.PageProcessor;
 import io.trino.operator.project.PageProjection;
 import io.trino.spi.TrinoException;
+import io.trino.sql.relational.DeterminismEvaluator;
 import io.trino.sql.relational.RowExpression;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
@@ -45,6 +47,8 @@ import static io.airlift.bytecode.Access.FINAL;
 import static io.airlift.bytecode.Access.PUBLIC;
 import static io.airlift.bytecode.Access.a;
 import static io.airlift.bytecode.ParameterizedType.type;
+import static io.trino.operator.project.CommonSubexpressionRewriter.extractCommonSubexpressions;
+import static io.trino.operator.project.JsonExtractionRewriter.combineJsonExtractions;
 import static io.trino.spi.StandardErrorCode.COMPILER_ERROR;
 import static io.trino.spi.type.BooleanType.BOOLEAN;
 import static io.trino.sql.gen.BytecodeUtils.invoke;
@@ -55,15 +59,18 @@ import static java.util.Objects.requireNonNull;
 
 public class ExpressionCompiler
 {
+    private final Metadata metadata;
     private final PageFunctionCompiler pageFunctionCompiler;
+    private final DeterminismEvaluator determinismEvaluator;
     private final LoadingCache<CacheKey, Class<? extends CursorProcessor>> cursorProcessors;
     private final CacheStatsMBean cacheStatsMBean;
 
     @Inject
     public ExpressionCompiler(Metadata metadata, PageFunctionCompiler pageFunctionCompiler)
     {
-        requireNonNull(metadata, "metadata is null");
+        this.metadata = requireNonNull(metadata, "metadata is null");
         this.pageFunctionCompiler = requireNonNull(pageFunctionCompiler, "pageFunctionCompiler is null");
+        this.determinismEvaluator = new DeterminismEvaluator(metadata);
         this.cursorProcessors = CacheBuilder.newBuilder()
                 .recordStats()
                 .maximumSize(1000)
@@ -103,16 +110,27 @@ public class ExpressionCompiler
             OptionalInt initialBatchSize)
     {
         Optional<Supplier<PageFilter>> filterFunctionSupplier = filter.map(expression -> pageFunctionCompiler.compileFilter(expression, classNameSuffix));
-        List<Supplier<PageProjection>> pageProjectionSuppliers = projections.stream()
+
+        // the filter is evaluated for all positions of the page before the projections, so only the projections share subexpressions
+        List<RowExpression> combinedProjections = combineJsonExtractions(projections, metadata, determinismEvaluator);
+        CommonSubexpressionRewriter.Result commonSubexpressions = extractCommonSubexpressions(combinedProjections, determinismEvaluator);
+        List<Supplier<PageProjection>> commonSubexpressionSuppliers = commonSubexpressions.getCommonSubexpressions().stream()
+                .map(subexpression -> pageFunctionCompiler.compileProjection(subexpression, classNameSuffix))
+                .collect(toImmutableList());
+        int commonSubexpressionsChannel = commonSubexpressions.getFirstChannel();
+        List<Supplier<PageProjection>> pageProjectionSuppliers = commonSubexpressions.getRewrittenProjections().stream()
                 .map(projection -> pageFunctionCompiler.compileProjection(projection, classNameSuffix))
                 .collect(toImmutableList());
 
         return () -> {
             Optional<PageFilter> filterFunction = filterFunctionSupplier.map(Supplier::get);
+            List<PageProjection> commonSubexpressionProjections = commonSubexpressionSuppliers.stream()
+                    .map(Supplier::get)
+                    .collect(toImmutableList());
             List<PageProjection> pageProjections = pageProjectionSuppliers.stream()
                     .map(Supplier::get)
                     .collect(toImmutableList());
-            return new PageProcessor(filterFunction, pageProjections, initialBatchSize);
+            return new PageProcessor(filterFunction, commonSubexpressionProjections, commonSubexpressionsChannel, pageProjections, initialBatchSize, new ExpressionProfiler());
         };
     }
 
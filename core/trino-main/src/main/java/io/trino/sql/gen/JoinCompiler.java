@@ -34,6 +34,7 @@ import io.airlift.bytecode.expression.BytecodeExpressions;
 import io.airlift.bytecode.instruction.LabelNode;
 import io.airlift.jmx.CacheStatsMBean;
 import io.trino.Session;
+import io.trino.operator.ColumnHasher;
 import io.trino.operator.JoinHash;
 import io.trino.operator.JoinHashSupplier;
 import io.trino.operator.LookupSourceSupplier;
@@ -47,6 +48,7 @@ import io.trino.spi.type.BigintType;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeOperators;
 import io.trino.sql.gen.JoinFilterFunctionCompiler.JoinFilterFunctionFactory;
+import io.trino.type.BlockTypeOperators;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.openjdk.jol.info.ClassLayout;
 import org.weakref.jmx.Managed;
@@ -57,6 +59,7 @@ import javax.inject.Inject;
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -78,13 +81,16 @@ import static io.airlift.bytecode.expression.BytecodeExpressions.constantNull;
 import static io.airlift.bytecode.expression.BytecodeExpressions.constantTrue;
 import static io.airlift.bytecode.expression.BytecodeExpressions.getStatic;
 import static io.airlift.bytecode.expression.BytecodeExpressions.invokeDynamic;
+import static io.airlift.bytecode.expression.BytecodeExpressions.invokeStatic;
 import static io.airlift.bytecode.expression.BytecodeExpressions.newInstance;
 import static io.airlift.bytecode.expression.BytecodeExpressions.notEqual;
+import static io.trino.operator.ColumnHasher.createColumnHasher;
 import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
 import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
 import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.NULLABLE_RETURN;
 import static io.trino.spi.function.InvocationConvention.simpleConvention;
 import static io.trino.sql.gen.Bootstrap.BOOTSTRAP_METHOD;
+import static io.trino.sql.gen.BytecodeUtils.loadConstant;
 import static io.trino.sql.gen.SqlTypeBytecodeExpression.constantType;
 import static io.trino.util.CompilerUtils.defineClass;
 import static io.trino.util.CompilerUtils.makeClassName;
@@ -93,6 +99,7 @@ import static java.util.Objects.requireNonNull;
 public class JoinCompiler
 {
     private final TypeOperators typeOperators;
+    private final BlockTypeOperators blockTypeOperators;
 
     private final LoadingCache<CacheKey, LookupSourceSupplierFactory> lookupSourceFactories = CacheBuilder.newBuilder()
             .recordStats()
@@ -110,6 +117,7 @@ public class JoinCompiler
     public JoinCompiler(TypeOperators typeOperators)
     {
         this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+        this.blockTypeOperators = new BlockTypeOperators(typeOperators);
     }
 
     @Managed
@@ -220,6 +228,7 @@ public class JoinCompiler
         generateGetSizeInBytesMethod(classDefinition, sizeField);
         generateAppendToMethod(classDefinition, callSiteBinder, types, outputChannels, channelFields);
         generateHashPositionMethod(classDefinition, callSiteBinder, joinChannelTypes, joinChannelFields, hashChannelField);
+        generateHashPositionsMethod(classDefinition, callSiteBinder, joinChannelTypes, joinChannelFields, hashChannelField);
         generateHashRowMethod(classDefinition, callSiteBinder, joinChannelTypes);
         generateRowEqualsRowMethod(classDefinition, callSiteBinder, joinChannelTypes);
         generateRowNotDistinctFromRowMethod(classDefinition, callSiteBinder, joinChannelTypes);
@@ -459,6 +468,55 @@ public class JoinCompiler
                 .retLong();
     }
 
+    private void generateHashPositionsMethod(ClassDefinition classDefinition, CallSiteBinder callSiteBinder, List<Type> joinChannelTypes, List<FieldDefinition> joinChannelFields, FieldDefinition hashChannelField)
+    {
+        Parameter blockIndex = arg("blockIndex", int.class);
+        Parameter blockPosition = arg("blockPosition", int.class);
+        Parameter length = arg("length", int.class);
+        Parameter hashes = arg("hashes", long[].class);
+        MethodDefinition hashPositionsMethod = classDefinition.declareMethod(
+                a(PUBLIC),
+                "hashPositions",
+                type(void.class),
+                blockIndex,
+                blockPosition,
+                length,
+                hashes);
+
+        Variable thisVariable = hashPositionsMethod.getThis();
+        BytecodeExpression hashChannel = thisVariable.getField(hashChannelField);
+
+        hashPositionsMethod
+                .getBody()
+                .append(new IfStatement()
+                        .condition(notEqual(hashChannel, constantNull(hashChannelField.getType())))
+                        .ifTrue(new BytecodeBlock()
+                                .append(hashChannel.invoke("get", Object.class, blockIndex)
+                                        .cast(Block.class)
+                                        .invoke("copyLongs", void.class, blockPosition, length, hashes))
+                                .ret()));
+
+        hashPositionsMethod
+                .getBody()
+                .append(invokeStatic(Arrays.class, "fill", void.class, hashes, constantInt(0), length, constantLong(0)));
+
+        for (int index = 0; index < joinChannelTypes.size(); index++) {
+            BytecodeExpression columnHasher = loadConstant(callSiteBinder, createColumnHasher(joinChannelTypes.get(index), blockTypeOperators), ColumnHasher.class);
+            BytecodeExpression block = thisVariable
+                    .getField(joinChannelFields.get(index))
+                    .invoke("get", Object.class, blockIndex)
+                    .cast(Block.class);
+
+            hashPositionsMethod
+                    .getBody()
+                    .append(columnHasher.invoke("combineHash", void.class, block, blockPosition, length, hashes));
+        }
+
+        hashPositionsMethod
+                .getBody()
+                .ret();
+    }
+
     private void generateHashRowMethod(ClassDefinition classDefinition, CallSiteBinder callSiteBinder, List<Type> joinChannelTypes)
     {
         Parameter position = arg("position", int.class);
@@ -34,6 +34,7 @@ import io.airlift.bytecode.control.IfStatement;
 import io.airlift.jmx.CacheStatsMBean;
 import io.trino.metadata.Metadata;
 import io.trino.operator.Work;
+import io.trino.operator.project.ConjunctionPageFilter;
 import io.trino.operator.project.ConstantPageProjection;
 import io.trino.operator.project.GeneratedPageProjection;
 import io.trino.operator.project.InputChannels;
@@ -56,6 +57,7 @@ import io.trino.sql.relational.InputReferenceExpression;
 import io.trino.sql.relational.LambdaDefinitionExpression;
 import io.trino.sql.relational.RowExpression;
 import io.trino.sql.relational.RowExpressionVisitor;
+import io.trino.sql.relational.SpecialForm;
 import org.objectweb.asm.MethodTooLargeException;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
@@ -72,6 +74,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.bytecode.Access.FINAL;
 import static io.airlift.bytecode.Access.PRIVATE;
 import static io.airlift.bytecode.Access.PUBLIC;
@@ -84,6 +87,7 @@ import static io.airlift.bytecode.expression.BytecodeExpressions.constantBoolean
 import static io.airlift.bytecode.expression.BytecodeExpressions.constantFalse;
 import static io.airlift.bytecode.expression.BytecodeExpressions.constantInt;
 import static io.airlift.bytecode.expression.BytecodeExpressions.constantNull;
+import static io.airlift.bytecode.expression.BytecodeExpressions.equal;
 import static io.airlift.bytecode.expression.BytecodeExpressions.invokeStatic;
 import static io.airlift.bytecode.expression.BytecodeExpressions.lessThan;
 import static io.airlift.bytecode.expression.BytecodeExpressions.newArray;
@@ -93,6 +97,7 @@ import static io.trino.spi.StandardErrorCode.COMPILER_ERROR;
 import static io.trino.sql.gen.BytecodeUtils.generateWrite;
 import static io.trino.sql.gen.BytecodeUtils.invoke;
 import static io.trino.sql.gen.LambdaExpressionExtractor.extractLambdaExpressions;
+import static io.trino.sql.relational.SpecialForm.Form.AND;
 import static io.trino.util.CompilerUtils.defineClass;
 import static io.trino.util.CompilerUtils.makeClassName;
 import static io.trino.util.Reflection.constructorMethodHandle;
@@ -102,6 +107,7 @@ public class PageFunctionCompiler
 {
     private final Metadata metadata;
     private final DeterminismEvaluator determinismEvaluator;
+    private final boolean vectorizedFilterEnabled;
 
     private final LoadingCache<RowExpression, Supplier<PageProjection>> projectionCache;
     private final LoadingCache<RowExpression, Supplier<PageFilter>> filterCache;
@@ -112,13 +118,19 @@ public class PageFunctionCompiler
     @Inject
     public PageFunctionCompiler(Metadata metadata, CompilerConfig config)
     {
-        this(metadata, requireNonNull(config, "config is null").getExpressionCacheSize());
+        this(metadata, requireNonNull(config, "config is null").getExpressionCacheSize(), config.isVectorizedFilterEnabled());
     }
 
     public PageFunctionCompiler(Metadata metadata, int expressionCacheSize)
+    {
+        this(metadata, expressionCacheSize, new CompilerConfig().isVectorizedFilterEnabled());
+    }
+
+    public PageFunctionCompiler(Metadata metadata, int expressionCacheSize, boolean vectorizedFilterEnabled)
     {
         this.metadata = requireNonNull(metadata, "metadata is null");
         this.determinismEvaluator = new DeterminismEvaluator(metadata);
+        this.vectorizedFilterEnabled = vectorizedFilterEnabled;
 
         if (expressionCacheSize > 0) {
             projectionCache = CacheBuilder.newBuilder()
@@ -365,6 +377,26 @@ public class PageFunctionCompiler
     }
 
     public Supplier<PageFilter> compileFilter(RowExpression filter, Optional<String> classNameSuffix)
+    {
+        List<RowExpression> conjuncts = extractConjuncts(filter);
+        if (vectorizedFilterEnabled && conjuncts.size() > 1) {
+            // each conjunct is evaluated only for the positions selected by the conjuncts before it
+            List<Supplier<PageFilter>> conjunctFilters = conjuncts.stream()
+                    .map(conjunct -> compileSingleFilter(conjunct, classNameSuffix))
+                    .collect(toImmutableList());
+            List<String> conjunctExpressions = conjuncts.stream()
+                    .map(RowExpression::toString)
+                    .collect(toImmutableList());
+            return () -> new ConjunctionPageFilter(
+                    conjunctFilters.stream()
+                            .map(Supplier::get)
+                            .collect(toImmutableList()),
+                    conjunctExpressions);
+        }
+        return compileSingleFilter(filter, classNameSuffix);
+    }
+
+    private Supplier<PageFilter> compileSingleFilter(RowExpression filter, Optional<String> classNameSuffix)
     {
         if (filterCache == null) {
             return compileFilterInternal(filter, classNameSuffix);
@@ -420,6 +452,7 @@ public class PageFunctionCompiler
 
         Map<LambdaDefinitionExpression, CompiledLambda> compiledLambdaMap = generateMethodsForLambda(classDefinition, callSiteBinder, cachedInstanceBinder, filter);
         generateFilterMethod(classDefinition, callSiteBinder, cachedInstanceBinder, compiledLambdaMap, filter);
+        generateActivePositionsFilterMethod(classDefinition, callSiteBinder, cachedInstanceBinder, compiledLambdaMap, filter);
 
         FieldDefinition selectedPositions = classDefinition.declareField(a(PRIVATE), "selectedPositions", boolean[].class);
         generatePageFilterMethod(classDefinition, selectedPositions);
@@ -543,6 +576,103 @@ public class PageFunctionCompiler
         return method;
     }
 
+    private MethodDefinition generateActivePositionsFilterMethod(
+            ClassDefinition classDefinition,
+            CallSiteBinder callSiteBinder,
+            CachedInstanceBinder cachedInstanceBinder,
+            Map<LambdaDefinitionExpression, CompiledLambda> compiledLambdaMap,
+            RowExpression filter)
+    {
+        Parameter session = arg("session", ConnectorSession.class);
+        Parameter page = arg("page", Page.class);
+        Parameter activePositions = arg("activePositions", SelectedPositions.class);
+
+        MethodDefinition method = classDefinition.declareMethod(
+                a(PUBLIC),
+                "filter",
+                type(SelectedPositions.class),
+                ImmutableList.<Parameter>builder()
+                        .add(session)
+                        .add(page)
+                        .add(activePositions)
+                        .build());
+
+        method.comment("Filter active positions: %s", filter.toString());
+
+        Scope scope = method.getScope();
+        BytecodeBlock body = method.getBody();
+
+        // the blocks are loaded once, and the filter is evaluated inline in a loop over the active positions
+        declareBlockVariables(filter, page, scope, body);
+
+        Variable isList = scope.declareVariable("isList", body, activePositions.invoke("isList", boolean.class));
+        Variable offset = scope.declareVariable("offset", body, activePositions.invoke("getOffset", int.class));
+        Variable size = scope.declareVariable("size", body, activePositions.invoke("size", int.class));
+        Variable positions = scope.declareVariable(int[].class, "positions");
+        body.append(new IfStatement()
+                .condition(isList)
+                .ifTrue(positions.set(activePositions.invoke("getPositions", int[].class)))
+                .ifFalse(positions.set(constantNull(int[].class))));
+
+        Variable selectedPositions = scope.declareVariable("selectedPositions", body, newArray(type(int[].class), size));
+        Variable selectedCount = scope.declareVariable("selectedCount", body, constantInt(0));
+        Variable index = scope.declareVariable(int.class, "index");
+        Variable position = scope.declareVariable(int.class, "position");
+        Variable wasNullVariable = scope.declareVariable(boolean.class, "wasNull");
+        Variable result = scope.declareVariable(boolean.class, "result");
+
+        RowExpressionCompiler compiler = new RowExpressionCompiler(
+                callSiteBinder,
+                cachedInstanceBinder,
+                fieldReferenceCompiler(callSiteBinder),
+                metadata,
+                compiledLambdaMap);
+
+        BytecodeBlock loopBody = new BytecodeBlock()
+                .append(new IfStatement()
+                        .condition(isList)
+                        .ifTrue(position.set(positions.getElement(add(offset, index))))
+                        .ifFalse(position.set(add(offset, index))))
+                .append(wasNullVariable.set(constantFalse()))
+                .append(compiler.compile(filter, scope))
+                // store result so we can check for null
+                .putVariable(result)
+                .append(new IfStatement()
+                        .condition(and(not(wasNullVariable), result))
+                        .ifTrue(new BytecodeBlock()
+                                .append(selectedPositions.setElement(selectedCount, position))
+                                .append(selectedCount.increment())));
+
+        body.append(new ForLoop()
+                .initialize(index.set(constantInt(0)))
+                .condition(lessThan(index, size))
+                .update(index.increment())
+                .body(loopBody));
+
+        body.append(new IfStatement()
+                .condition(equal(selectedCount, size))
+                .ifTrue(activePositions.ret()));
+        body.append(invokeStatic(
+                SelectedPositions.class,
+                "positionsList",
+                SelectedPositions.class,
+                selectedPositions,
+                constantInt(0),
+                selectedCount)
+                .ret());
+        return method;
+    }
+
+    private static List<RowExpression> extractConjuncts(RowExpression expression)
+    {
+        if (expression instanceof SpecialForm && ((SpecialForm) expression).getForm() == AND) {
+            return ((SpecialForm) expression).getArguments().stream()
+                    .flatMap(argument -> extractConjuncts(argument).stream())
+                    .collect(toImmutableList());
+        }
+        return ImmutableList.of(expression);
+    }
+
     private Map<LambdaDefinitionExpression, CompiledLambda> generateMethodsForLambda(
             ClassDefinition containerClassDefinition,
             CallSiteBinder callSiteBinder,
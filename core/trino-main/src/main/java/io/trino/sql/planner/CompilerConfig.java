@@ -23,6 +23,7 @@ import javax.validation.constraints.Min;
 public class CompilerConfig
 {
     private int expressionCacheSize = 10_000;
+    private boolean vectorizedFilterEnabled = true;
 
     @Min(0)
     public int getExpressionCacheSize()
@@ -37,4 +38,17 @@ public class CompilerConfig
         this.expressionCacheSize = expressionCacheSize;
         return this;
     }
+
+    public boolean isVectorizedFilterEnabled()
+    {
+        return vectorizedFilterEnabled;
+    }
+
+    @Config("compiler.vectorized-filter-enabled")
+    @Description("Evaluate the conjuncts of a filter one at a time over the positions selected by the previous conjuncts")
+    public CompilerConfig setVectorizedFilterEnabled(boolean vectorizedFilterEnabled)
+    {
+        this.vectorizedFilterEnabled = vectorizedFilterEnabled;
+        return this;
+    }
 }
@@ -263,6 +263,7 @@ import static io.trino.SystemSessionProperties.getTaskWriterCount;
 import static io.trino.SystemSessionProperties.isEnableLargeDynamicFilters;
 import static io.trino.SystemSessionProperties.isExchangeCompressionEnabled;
 import static io.trino.SystemSessionProperties.isLateMaterializationEnabled;
+import static io.trino.SystemSessionProperties.isSkewedPartitionDetectionEnabled;
 import static io.trino.SystemSessionProperties.isSpillEnabled;
 import static io.trino.SystemSessionProperties.isSpillOrderBy;
 import static io.trino.SystemSessionProperties.isSpillWindowOperator;
@@ -281,6 +282,7 @@ import static io.trino.operator.TableWriterOperator.TableWriterOperatorFactory;
 import static io.trino.operator.WindowFunctionDefinition.window;
 import static io.trino.operator.WorkProcessorPipelineSourceOperator.toOperatorFactories;
 import static io.trino.operator.unnest.UnnestOperator.UnnestOperatorFactory;
+import static io.trino.operator.window.RunningAggregateWindowFunction.getRunningAggregationSupplier;
 import static io.trino.operator.window.pattern.PhysicalValuePointer.CLASSIFIER;
 import static io.trino.operator.window.pattern.PhysicalValuePointer.MATCH_NUMBER;
 import static io.trino.spi.StandardErrorCode.COMPILER_ERROR;
@@ -479,6 +481,15 @@ public class LocalExecutionPlanner
             nullChannel = OptionalInt.of(outputLayout.indexOf(getOnlyElement(partitioningColumns)));
         }
 
+        // Heavy hitters are sampled on the partitioning columns themselves rather than on the precomputed hash, so they can be reported
+        Optional<List<Integer>> skewDetectionChannels = Optional.empty();
+        if (isSkewedPartitionDetectionEnabled(taskContext.getSession()) && !partitioningColumns.isEmpty()) {
+            skewDetectionChannels = Optional.of(partitioningScheme.getPartitioning().getArguments().stream()
+                    .filter(argument -> !argument.isConstant())
+                    .map(argument -> outputLayout.indexOf(argument.getColumn()))
+                    .collect(toImmutableList()));
+        }
+
         return plan(
                 taskContext,
                 stageExecutionDescriptor,
@@ -493,7 +504,8 @@ public class LocalExecutionPlanner
                         partitioningScheme.isReplicateNullsAndAny(),
                         nullChannel,
                         outputBuffer,
-                        maxPagePartitioningBufferSize));
+                        maxPagePartitioningBufferSize,
+                        skewDetectionChannels));
     }
 
     public LocalExecutionPlan plan(
@@ -1060,7 +1072,8 @@ public class LocalExecutionPlanner
                     }
                 }
                 Symbol symbol = entry.getKey();
-                WindowFunctionSupplier windowFunctionSupplier = metadata.getWindowFunctionImplementation(resolvedFunction);
+                WindowFunctionSupplier windowFunctionSupplier = getRunningAggregationSupplier(resolvedFunction.getSignature(), frameInfo)
+                        .orElseGet(() -> metadata.getWindowFunctionImplementation(resolvedFunction));
                 Type type = resolvedFunction.getSignature().getReturnType();
 
                 List<LambdaExpression> lambdaExpressions = function.getArguments().stream()
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import io.trino.Session;
+import io.trino.cost.PlanNodeStatsEstimate;
 import io.trino.matching.Capture;
 import io.trino.matching.Captures;
 import io.trino.matching.Pattern;
@@ -36,17 +37,33 @@ import java.util.stream.Collectors;
 
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Sets.intersection;
+import static io.trino.SystemSessionProperties.isEagerPartialAggregationEnabled;
 import static io.trino.SystemSessionProperties.isPushPartialAggregationThroughJoin;
+import static io.trino.cost.AggregationStatsRule.getRowsCount;
 import static io.trino.sql.planner.iterative.rule.Util.restrictOutputs;
 import static io.trino.sql.planner.plan.AggregationNode.Step.PARTIAL;
 import static io.trino.sql.planner.plan.AggregationNode.singleGroupingSet;
 import static io.trino.sql.planner.plan.Patterns.aggregation;
 import static io.trino.sql.planner.plan.Patterns.join;
 import static io.trino.sql.planner.plan.Patterns.source;
-
+import static java.lang.Double.isNaN;
+
+/**
+ * Pushes a partial aggregation below an inner join when all aggregation inputs come from one side.
+ * The pushed aggregation additionally groups on the join symbols of that side, so that the join
+ * and the final aggregation still see one row per distinct join key and grouping key combination.
+ * <p>
+ * When enabled by {@code push_partial_aggregation_through_join} the pushdown is unconditional.
+ * When enabled by {@code eager_partial_aggregation_enabled} it is applied only if the estimated
+ * number of groups shrinks the join input, and therefore any exchange below the join, enough to pay
+ * for the additional aggregation.
+ */
 public class PushPartialAggregationThroughJoin
         implements Rule<AggregationNode>
 {
+    // The pushed aggregation must reduce the estimated row count of the join side by at least half
+    private static final double MAX_EAGER_AGGREGATION_ROW_RATIO = 0.5;
+
     private static final Capture<JoinNode> JOIN_NODE = Capture.newCapture();
 
     private static final Pattern<AggregationNode> PATTERN = aggregation()
@@ -76,7 +93,7 @@ public class PushPartialAggregationThroughJoin
     @Override
     public boolean isEnabled(Session session)
     {
-        return isPushPartialAggregationThroughJoin(session);
+        return isPushPartialAggregationThroughJoin(session) || isEagerPartialAggregationEnabled(session);
     }
 
     @Override
@@ -90,15 +107,38 @@ public class PushPartialAggregationThroughJoin
 
         // TODO: leave partial aggregation above Join?
         if (allAggregationsOn(aggregationNode.getAggregations(), joinNode.getLeft().getOutputSymbols())) {
-            return Result.ofPlanNode(pushPartialToLeftChild(aggregationNode, joinNode, context));
+            AggregationNode pushedAggregation = pushedToLeftChild(aggregationNode, joinNode);
+            if (!shouldPush(pushedAggregation, context)) {
+                return Result.empty();
+            }
+            return Result.ofPlanNode(pushPartialToJoin(aggregationNode, joinNode, pushedAggregation, joinNode.getRight(), context));
         }
         if (allAggregationsOn(aggregationNode.getAggregations(), joinNode.getRight().getOutputSymbols())) {
-            return Result.ofPlanNode(pushPartialToRightChild(aggregationNode, joinNode, context));
+            AggregationNode pushedAggregation = pushedToRightChild(aggregationNode, joinNode);
+            if (!shouldPush(pushedAggregation, context)) {
+                return Result.empty();
+            }
+            return Result.ofPlanNode(pushPartialToJoin(aggregationNode, joinNode, joinNode.getLeft(), pushedAggregation, context));
         }
 
         return Result.empty();
     }
 
+    private static boolean shouldPush(AggregationNode pushedAggregation, Context context)
+    {
+        if (isPushPartialAggregationThroughJoin(context.getSession())) {
+            return true;
+        }
+
+        PlanNodeStatsEstimate sourceStats = context.getStatsProvider().getStats(pushedAggregation.getSource());
+        double inputRows = sourceStats.getOutputRowCount();
+        double groups = getRowsCount(sourceStats, pushedAggregation.getGroupingKeys());
+        if (isNaN(inputRows) || isNaN(groups)) {
+            return false;
+        }
+        return groups <= inputRows * MAX_EAGER_AGGREGATION_ROW_RATIO;
+    }
+
     private static boolean allAggregationsOn(Map<Symbol, Aggregation> aggregations, List<Symbol> symbols)
     {
         Set<Symbol> inputs = aggregations.values().stream()
@@ -108,20 +148,18 @@ public class PushPartialAggregationThroughJoin
         return symbols.containsAll(inputs);
     }
 
-    private PlanNode pushPartialToLeftChild(AggregationNode node, JoinNode child, Context context)
+    private AggregationNode pushedToLeftChild(AggregationNode node, JoinNode child)
     {
         Set<Symbol> joinLeftChildSymbols = ImmutableSet.copyOf(child.getLeft().getOutputSymbols());
         List<Symbol> groupingSet = getPushedDownGroupingSet(node, joinLeftChildSymbols, intersection(getJoinRequiredSymbols(child), joinLeftChildSymbols));
-        AggregationNode pushedAggregation = replaceAggregationSource(node, child.getLeft(), groupingSet);
-        return pushPartialToJoin(node, child, pushedAggregation, child.getRight(), context);
+        return replaceAggregationSource(node, child.getLeft(), groupingSet);
     }
 
-    private PlanNode pushPartialToRightChild(AggregationNode node, JoinNode child, Context context)
+    private AggregationNode pushedToRightChild(AggregationNode node, JoinNode child)
     {
         Set<Symbol> joinRightChildSymbols = ImmutableSet.copyOf(child.getRight().getOutputSymbols());
         List<Symbol> groupingSet = getPushedDownGroupingSet(node, joinRightChildSymbols, intersection(getJoinRequiredSymbols(child), joinRightChildSymbols));
-        AggregationNode pushedAggregation = replaceAggregationSource(node, child.getRight(), groupingSet);
-        return pushPartialToJoin(node, child, child.getLeft(), pushedAggregation, context);
+        return replaceAggregationSource(node, child.getRight(), groupingSet);
     }
 
     private Set<Symbol> getJoinRequiredSymbols(JoinNode node)
@@ -31,6 +31,9 @@ import io.trino.execution.StageStats;
 import io.trino.execution.TableInfo;
 import io.trino.metadata.Metadata;
 import io.trino.metadata.TableHandle;
+import io.trino.operator.OperatorStats;
+import io.trino.operator.PartitionSkewInfo;
+import io.trino.operator.PartitionedOutputOperator.PartitionedOutputInfo;
 import io.trino.operator.StageExecutionDescriptor;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.predicate.Domain;
@@ -160,6 +163,8 @@ import static java.util.stream.Collectors.toList;
 
 public class PlanPrinter
 {
+    private static final int MAX_PRINTED_SKEWED_KEYS = 10;
+
     private final PlanRepresentation representation;
     private final Function<TableScanNode, TableInfo> tableInfoSupplier;
     private final Map<DynamicFilterId, DynamicFilterDomainStats> dynamicFilterDomainStats;
@@ -332,6 +337,15 @@ public class PlanPrinter
                             formatDouble(sdAmongTasks),
                             formatPositions(stageStats.getOutputPositions()),
                             stageStats.getOutputDataSize()));
+
+            stageStats.getOperatorSummaries().stream()
+                    .map(OperatorStats::getInfo)
+                    .filter(PartitionedOutputInfo.class::isInstance)
+                    .map(PartitionedOutputInfo.class::cast)
+                    .map(PartitionedOutputInfo::getSkewInfo)
+                    .flatMap(Optional::stream)
+                    .reduce(PartitionSkewInfo::mergeWith)
+                    .ifPresent(skewInfo -> builder.append(indentString(1)).append(formatPartitionSkew(skewInfo)));
         }
 
         PartitioningScheme partitioningScheme = fragment.getPartitioningScheme();
@@ -1534,6 +1548,20 @@ public class PlanPrinter
         return builder.toString();
     }
 
+    private static String formatPartitionSkew(PartitionSkewInfo skewInfo)
+    {
+        double averagePartitionRows = skewInfo.getAveragePartitionRows();
+        String heavyHitters = skewInfo.getSkewedKeySamples().entrySet().stream()
+                .sorted(Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_PRINTED_SKEWED_KEYS)
+                .map(entry -> format("%s (%s%%)", entry.getKey(), formatDouble(100.0d * entry.getValue() / skewInfo.getSampledRows())))
+                .collect(joining(", "));
+        return format("Output skew: max partition: %s rows (%sx avg.), skewed keys: [%s]\n",
+                formatPositions(skewInfo.getMaxPartitionRows()),
+                formatDouble(averagePartitionRows == 0 ? 0 : skewInfo.getMaxPartitionRows() / averagePartitionRows),
+                heavyHitters);
+    }
+
     @SafeVarargs
     private static String formatHash(Optional<Symbol>... hashes)
     {
@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.type;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.Slices;
+import io.trino.operator.scalar.JsonPathTrie;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.type.AbstractVariableWidthType;
+import io.trino.spi.type.TypeSignature;
+
+public class JsonPathTrieType
+        extends AbstractVariableWidthType
+{
+    public static final JsonPathTrieType JSON_PATH_TRIE = new JsonPathTrieType();
+    public static final String NAME = "JsonPathTrie";
+
+    private JsonPathTrieType()
+    {
+        super(new TypeSignature(NAME), JsonPathTrie.class);
+    }
+
+    @Override
+    public Object getObjectValue(ConnectorSession session, Block block, int position)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void appendTo(Block block, int position, BlockBuilder blockBuilder)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getObject(Block block, int position)
+    {
+        if (block.isNull(position)) {
+            return null;
+        }
+
+        SliceInput input = block.getSlice(position, 0, block.getSliceLength(position)).getInput();
+        int pathCount = input.readInt();
+        ImmutableList.Builder<String> paths = ImmutableList.builderWithExpectedSize(pathCount);
+        for (int i = 0; i < pathCount; i++) {
+            int length = input.readInt();
+            paths.add(input.readSlice(length).toStringUtf8());
+        }
+        return new JsonPathTrie(paths.build());
+    }
+
+    @Override
+    public void writeObject(BlockBuilder blockBuilder, Object value)
+    {
+        JsonPathTrie trie = (JsonPathTrie) value;
+        DynamicSliceOutput output = new DynamicSliceOutput(64);
+        output.writeInt(trie.getPaths().size());
+        for (String path : trie.getPaths()) {
+            Slice slice = Slices.utf8Slice(path);
+            output.writeInt(slice.length());
+            output.writeBytes(slice);
+        }
+        Slice serialized = output.slice();
+        blockBuilder.writeBytes(serialized, 0, serialized.length()).closeEntry();
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.type;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.airlift.slice.SliceUtf8.lengthOfCodePoint;
+import static io.airlift.slice.SliceUtf8.tryGetCodePointAt;
+import static io.airlift.slice.Slices.EMPTY_SLICE;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.type.LikeFunctions.checkEscape;
+
+/**
+ * Matches values against a LIKE pattern. Patterns consisting of literals and {@code %} wildcards only,
+ * e.g., {@code 'foo%'}, {@code '%foo'}, {@code '%foo%'} or {@code 'a%b%c'}, are matched by comparing
+ * and searching the UTF-8 bytes of the value directly. Patterns with {@code _} wildcards are matched
+ * with a DFA over the code points of the value.
+ */
+public abstract class LikeMatcher
+{
+    // the elements of a parsed pattern are code points of literals, or the wildcards
+    private static final int ANY_SEQUENCE = -1;
+    private static final int ANY_CHARACTER = -2;
+
+    public abstract boolean match(Slice value);
+
+    public static LikeMatcher compile(String pattern, Optional<Character> escape)
+    {
+        int[] elements = parse(pattern, escape);
+        if (Arrays.stream(elements).anyMatch(element -> element == ANY_CHARACTER)) {
+            return new DfaMatcher(elements);
+        }
+
+        // split the pattern into the literals between the wildcards
+        List<Slice> literals = new ArrayList<>();
+        int literalStart = 0;
+        for (int i = 0; i <= elements.length; i++) {
+            if (i == elements.length || elements[i] == ANY_SEQUENCE) {
+                if (i > literalStart) {
+                    literals.add(utf8Slice(new String(elements, literalStart, i - literalStart)));
+                }
+                literalStart = i + 1;
+            }
+        }
+        boolean leadingWildcard = elements.length > 0 && elements[0] == ANY_SEQUENCE;
+        boolean trailingWildcard = elements.length > 0 && elements[elements.length - 1] == ANY_SEQUENCE;
+
+        if (literals.isEmpty()) {
+            return leadingWildcard ? new MatchAll() : new Equals(EMPTY_SLICE);
+        }
+        if (literals.size() == 1) {
+            Slice literal = literals.get(0);
+            if (!leadingWildcard && !trailingWildcard) {
+                return new Equals(literal);
+            }
+            if (!leadingWildcard) {
+                return new Prefix(literal);
+            }
+            if (!trailingWildcard) {
+                return new Suffix(literal);
+            }
+            return new Contains(literal);
+        }
+
+        Optional<Slice> prefix = leadingWildcard ? Optional.empty() : Optional.of(literals.remove(0));
+        Optional<Slice> suffix = trailingWildcard ? Optional.empty() : Optional.of(literals.remove(literals.size() - 1));
+        return new Sequence(prefix, literals, suffix);
+    }
+
+    private static int[] parse(String pattern, Optional<Character> escape)
+    {
+        int[] elements = new int[pattern.length()];
+        int count = 0;
+        boolean escaped = false;
+        int index = 0;
+        while (index < pattern.length()) {
+            int codePoint = pattern.codePointAt(index);
+            index += Character.charCount(codePoint);
+
+            boolean escapeCharacter = escape.isPresent() && codePoint == escape.get();
+            if (escaped) {
+                checkEscape(codePoint == '%' || codePoint == '_' || escapeCharacter);
+                elements[count++] = codePoint;
+                escaped = false;
+            }
+            else if (escapeCharacter) {
+                escaped = true;
+            }
+            else if (codePoint == '%') {
+                // consecutive wildcards are equivalent to a single one
+                if (count == 0 || elements[count - 1] != ANY_SEQUENCE) {
+                    elements[count++] = ANY_SEQUENCE;
+                }
+            }
+            else if (codePoint == '_') {
+                elements[count++] = ANY_CHARACTER;
+            }
+            else {
+                elements[count++] = codePoint;
+            }
+        }
+        checkEscape(!escaped);
+        return Arrays.copyOf(elements, count);
+    }
+
+    private static boolean startsWith(Slice value, Slice prefix)
+    {
+        return value.length() >= prefix.length() && value.equals(0, prefix.length(), prefix, 0, prefix.length());
+    }
+
+    private static boolean endsWith(Slice value, Slice suffix)
+    {
+        return value.length() >= suffix.length() && value.equals(value.length() - suffix.length(), suffix.length(), suffix, 0, suffix.length());
+    }
+
+    private static final class MatchAll
+            extends LikeMatcher
+    {
+        @Override
+        public boolean match(Slice value)
+        {
+            return true;
+        }
+    }
+
+    private static final class Equals
+            extends LikeMatcher
+    {
+        private final Slice literal;
+
+        public Equals(Slice literal)
+        {
+            this.literal = literal;
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            return value.equals(literal);
+        }
+    }
+
+    private static final class Prefix
+            extends LikeMatcher
+    {
+        private final Slice prefix;
+
+        public Prefix(Slice prefix)
+        {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            return startsWith(value, prefix);
+        }
+    }
+
+    private static final class Suffix
+            extends LikeMatcher
+    {
+        private final Slice suffix;
+
+        public Suffix(Slice suffix)
+        {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            return endsWith(value, suffix);
+        }
+    }
+
+    private static final class Contains
+            extends LikeMatcher
+    {
+        private final Slice literal;
+
+        public Contains(Slice literal)
+        {
+            this.literal = literal;
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            return value.indexOf(literal) >= 0;
+        }
+    }
+
+    /**
+     * Literals separated by {@code %}, optionally anchored at the start and at the end of the value.
+     * Searching for each literal from the end of the previous one finds a match if there is any,
+     * as the first occurrence leaves the most room for the following literals.
+     */
+    private static final class Sequence
+            extends LikeMatcher
+    {
+        private final Optional<Slice> prefix;
+        private final List<Slice> literals;
+        private final Optional<Slice> suffix;
+
+        public Sequence(Optional<Slice> prefix, List<Slice> literals, Optional<Slice> suffix)
+        {
+            this.prefix = prefix;
+            this.literals = ImmutableList.copyOf(literals);
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            int start = 0;
+            int end = value.length();
+            if (prefix.isPresent()) {
+                if (!startsWith(value, prefix.get())) {
+                    return false;
+                }
+                start = prefix.get().length();
+            }
+            if (suffix.isPresent()) {
+                if (end - start < suffix.get().length() || !endsWith(value, suffix.get())) {
+                    return false;
+                }
+                end -= suffix.get().length();
+            }
+            for (Slice literal : literals) {
+                int index = value.indexOf(literal, start);
+                if (index < 0 || index + literal.length() > end) {
+                    return false;
+                }
+                start = index + literal.length();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The states of the automaton are the sets of pattern positions reachable after the characters consumed so far.
+     * The input alphabet consists of the code points of the literals, and of a symbol for all other characters.
+     */
+    private static final class DfaMatcher
+            extends LikeMatcher
+    {
+        // patterns with more states are matched by tracking the pattern positions for each value
+        private static final int MAX_STATES = 1000;
+        private static final int OTHER_SYMBOL = 0;
+
+        private final int[] elements;
+        private final int[] alphabet;
+        private final int[] asciiSymbols = new int[128];
+        private final int symbolCount;
+        private final BitSet initialPositions;
+
+        // null if the automaton has too many states
+        private final int[] transitions;
+        private final boolean[] accepting;
+        // the result of the match is known regardless of the remaining characters
+        private final boolean[] rejectsAll;
+        private final boolean[] acceptsAll;
+
+        public DfaMatcher(int[] elements)
+        {
+            this.elements = elements;
+            this.alphabet = Arrays.stream(elements)
+                    .filter(element -> element >= 0)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            for (int i = 0; i < alphabet.length && alphabet[i] < asciiSymbols.length; i++) {
+                asciiSymbols[alphabet[i]] = i + 1;
+            }
+            this.symbolCount = alphabet.length + 1;
+
+            BitSet initial = new BitSet(elements.length + 1);
+            initial.set(0);
+            addSkippedPositions(initial);
+            this.initialPositions = initial;
+
+            Map<BitSet, Integer> stateIds = new HashMap<>();
+            List<BitSet> states = new ArrayList<>();
+            stateIds.put(initial, 0);
+            states.add(initial);
+            int[] stateTransitions = new int[16 * symbolCount];
+            for (int state = 0; state < states.size() && states.size() <= MAX_STATES; state++) {
+                if (stateTransitions.length < (state + 1) * symbolCount) {
+                    stateTransitions = Arrays.copyOf(stateTransitions, stateTransitions.length * 2);
+                }
+                for (int symbol = 0; symbol < symbolCount; symbol++) {
+                    BitSet next = step(states.get(state), symbol);
+                    Integer nextState = stateIds.get(next);
+                    if (nextState == null) {
+                        nextState = states.size();
+                        stateIds.put(next, nextState);
+                        states.add(next);
+                    }
+                    stateTransitions[state * symbolCount + symbol] = nextState;
+                }
+            }
+
+            if (states.size() > MAX_STATES) {
+                this.transitions = null;
+                this.accepting = null;
+                this.rejectsAll = null;
+                this.acceptsAll = null;
+                return;
+            }
+
+            this.transitions = Arrays.copyOf(stateTransitions, states.size() * symbolCount);
+            this.accepting = new boolean[states.size()];
+            this.rejectsAll = new boolean[states.size()];
+            this.acceptsAll = new boolean[states.size()];
+            for (int state = 0; state < states.size(); state++) {
+                accepting[state] = states.get(state).get(elements.length);
+                rejectsAll[state] = states.get(state).isEmpty();
+                boolean loops = true;
+                for (int symbol = 0; symbol < symbolCount; symbol++) {
+                    loops &= transitions[state * symbolCount + symbol] == state;
+                }
+                acceptsAll[state] = accepting[state] && loops;
+            }
+        }
+
+        @Override
+        public boolean match(Slice value)
+        {
+            if (transitions == null) {
+                return matchPositions(value);
+            }
+
+            int state = 0;
+            int position = 0;
+            int length = value.length();
+            while (position < length) {
+                if (rejectsAll[state]) {
+                    return false;
+                }
+                if (acceptsAll[state]) {
+                    return true;
+                }
+
+                int symbol;
+                byte firstByte = value.getByte(position);
+                if (firstByte >= 0) {
+                    symbol = asciiSymbols[firstByte];
+                    position++;
+                }
+                else {
+                    int codePoint = tryGetCodePointAt(value, position);
+                    if (codePoint >= 0) {
+                        symbol = getSymbol(codePoint);
+                        position += lengthOfCodePoint(codePoint);
+                    }
+                    else {
+                        // an invalid sequence is a single character, which does not match any literal
+                        symbol = OTHER_SYMBOL;
+                        position += -codePoint;
+                    }
+                }
+                state = transitions[state * symbolCount + symbol];
+            }
+            return accepting[state];
+        }
+
+        private boolean matchPositions(Slice value)
+        {
+            BitSet positions = initialPositions;
+            int position = 0;
+            while (position < value.length() && !positions.isEmpty()) {
+                int codePoint = tryGetCodePointAt(value, position);
+                if (codePoint >= 0) {
+                    positions = step(positions, getSymbol(codePoint));
+                    position += lengthOfCodePoint(codePoint);
+                }
+                else {
+                    positions = step(positions, OTHER_SYMBOL);
+                    position += -codePoint;
+                }
+            }
+            return positions.get(elements.length);
+        }
+
+        private int getSymbol(int codePoint)
+        {
+            if (codePoint < asciiSymbols.length) {
+                return asciiSymbols[codePoint];
+            }
+            int index = Arrays.binarySearch(alphabet, codePoint);
+            return index >= 0 ? index + 1 : OTHER_SYMBOL;
+        }
+
+        private BitSet step(BitSet positions, int symbol)
+        {
+            BitSet next = new BitSet(elements.length + 1);
+            for (int position = positions.nextSetBit(0); position >= 0 && position < elements.length; position = positions.nextSetBit(position + 1)) {
+                int element = elements[position];
+                if (element == ANY_SEQUENCE) {
+                    next.set(position);
+                }
+                else if (element == ANY_CHARACTER || (symbol != OTHER_SYMBOL && alphabet[symbol - 1] == element)) {
+                    next.set(position + 1);
+                }
+            }
+            addSkippedPositions(next);
+            return next;
+        }
+
+        private void addSkippedPositions(BitSet positions)
+        {
+            // % matches an empty sequence as well
+            for (int position = 0; position < elements.length; position++) {
+                if (elements[position] == ANY_SEQUENCE && positions.get(position)) {
+                    positions.set(position + 1);
+                }
+            }
+        }
+    }
+}
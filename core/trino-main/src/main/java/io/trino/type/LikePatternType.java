@@ -20,7 +20,10 @@ import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.type.AbstractVariableWidthType;
 import io.trino.spi.type.TypeSignature;
 
-import static io.trino.operator.scalar.JoniRegexpCasts.joniRegexp;
+import java.util.Optional;
+
+import static io.airlift.slice.SizeOf.SIZE_OF_INT;
+import static io.airlift.slice.Slices.utf8Slice;
 
 public class LikePatternType
         extends AbstractVariableWidthType
@@ -30,7 +33,7 @@ public class LikePatternType
 
     private LikePatternType()
     {
-        super(new TypeSignature(NAME), JoniRegexp.class);
+        super(new TypeSignature(NAME), LikePattern.class);
     }
 
     @Override
@@ -52,13 +55,19 @@ public class LikePatternType
             return null;
         }
 
-        return joniRegexp(block.getSlice(position, 0, block.getSliceLength(position)));
+        // the escape character, or -1 if there is none, followed by the pattern
+        Slice slice = block.getSlice(position, 0, block.getSliceLength(position));
+        int escape = slice.getInt(0);
+        String pattern = slice.slice(SIZE_OF_INT, slice.length() - SIZE_OF_INT).toStringUtf8();
+        return LikePattern.compile(pattern, escape < 0 ? Optional.empty() : Optional.of((char) escape));
     }
 
     @Override
     public void writeObject(BlockBuilder blockBuilder, Object value)
     {
-        Slice pattern = ((JoniRegexp) value).pattern();
+        LikePattern likePattern = (LikePattern) value;
+        Slice pattern = utf8Slice(likePattern.getPattern());
+        blockBuilder.writeInt(likePattern.getEscape().map(escape -> (int) escape).orElse(-1));
         blockBuilder.writeBytes(pattern, 0, pattern.length()).closeEntry();
     }
 }
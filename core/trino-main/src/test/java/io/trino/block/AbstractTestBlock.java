@@ -14,6 +14,7 @@
 package io.trino.block;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Booleans;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.SliceOutput;
@@ -35,6 +36,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static io.airlift.slice.SizeOf.SIZE_OF_BYTE;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
@@ -77,6 +79,8 @@ public abstract class AbstractTestBlock
         assertBlockSize(block);
         assertRetainedSize(block);
 
+        assertCopyIsNull(block);
+
         assertThatThrownBy(() -> block.isNull(-1))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageMatching(format("(position is not valid|Invalid position -1 in block with %d positions)", block.getPositionCount()));
@@ -86,6 +90,33 @@ public abstract class AbstractTestBlock
                 .hasMessageMatching(format("(position is not valid|Invalid position %d in block with %d positions)", block.getPositionCount(), block.getPositionCount()));
     }
 
+    private static void assertCopyIsNull(Block block)
+    {
+        int positionCount = block.getPositionCount();
+        boolean[] expectedIsNull = new boolean[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            expectedIsNull[position] = block.isNull(position);
+        }
+        boolean expectedHasNull = Booleans.contains(expectedIsNull, true);
+
+        boolean[] isNull = new boolean[positionCount];
+        assertEquals(block.copyIsNull(0, positionCount, isNull), expectedHasNull);
+        assertEquals(isNull, expectedIsNull);
+
+        if (positionCount > 1) {
+            isNull = new boolean[positionCount - 1];
+            assertEquals(block.copyIsNull(1, positionCount - 1, isNull), Booleans.contains(Arrays.copyOfRange(expectedIsNull, 1, positionCount), true));
+            assertEquals(isNull, Arrays.copyOfRange(expectedIsNull, 1, positionCount));
+        }
+
+        int[] positions = IntStream.range(0, positionCount).map(position -> positionCount - 1 - position).toArray();
+        isNull = new boolean[positionCount];
+        assertEquals(block.copyIsNull(positions, 0, positionCount, isNull), expectedHasNull);
+        for (int i = 0; i < positionCount; i++) {
+            assertEquals(isNull[i], expectedIsNull[positions[i]]);
+        }
+    }
+
     private void assertRetainedSize(Block block)
     {
         long retainedSize = ClassLayout.parseClass(block.getClass()).instanceSize();
@@ -14,16 +14,24 @@
 package io.trino.block;
 
 import io.airlift.slice.Slice;
+import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.block.DictionaryBlock;
 import io.trino.spi.block.LongArrayBlock;
 import io.trino.spi.block.LongArrayBlockBuilder;
+import io.trino.spi.block.RunLengthEncodedBlock;
 import io.trino.spi.block.VariableWidthBlockBuilder;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class TestLongArrayBlock
@@ -82,6 +90,52 @@ public class TestLongArrayBlock
         testIncompactBlock(new LongArrayBlock(longArray.length - 1, Optional.of(valueIsNull), longArray));
     }
 
+    @Test
+    public void testCopyLongs()
+    {
+        long[] values = {10L, 0L, 12L, 13L, 14L, 15L};
+        boolean[] valueIsNull = {false, true, false, false, false, false};
+        LongArrayBlock block = new LongArrayBlock(values.length, Optional.of(valueIsNull), values);
+
+        long[] target = new long[4];
+        block.copyLongs(2, 4, target);
+        assertEquals(target, new long[] {12L, 13L, 14L, 15L});
+        block.getRegion(1, 4).copyLongs(new int[] {3, 1, 3}, 0, 3, target);
+        assertEquals(Arrays.copyOf(target, 3), new long[] {14L, 12L, 14L});
+
+        boolean[] isNull = new boolean[3];
+        assertTrue(block.copyIsNull(new int[] {5, 1, 0}, 0, 3, isNull));
+        assertEquals(isNull, new boolean[] {false, true, false});
+        assertFalse(block.copyIsNull(2, 3, isNull));
+        assertEquals(isNull, new boolean[] {false, false, false});
+
+        Block dictionaryBlock = new DictionaryBlock(block, new int[] {5, 5, 0, 3});
+        dictionaryBlock.copyLongs(0, 4, target);
+        assertEquals(target, new long[] {15L, 15L, 10L, 13L});
+        dictionaryBlock.copyLongs(new int[] {3, 2}, 0, 2, target);
+        assertEquals(Arrays.copyOf(target, 2), new long[] {13L, 10L});
+
+        Block runLengthEncodedBlock = new RunLengthEncodedBlock(block.getSingleValueBlock(4), 4);
+        runLengthEncodedBlock.copyLongs(0, 4, target);
+        assertEquals(target, new long[] {14L, 14L, 14L, 14L});
+
+        assertThatThrownBy(() -> block.copyLongs(3, 4, target))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> block.copyLongs(new int[] {6}, 0, 1, target))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("position is not valid");
+    }
+
+    @Test
+    public void testRawValues()
+    {
+        long[] values = {10L, 11L, 12L, 13L};
+        LongArrayBlock block = (LongArrayBlock) new LongArrayBlock(values.length, Optional.empty(), values).getRegion(1, 2);
+        assertSame(block.getRawValues(), values);
+        assertEquals(block.getRawArrayOffset(), 1);
+        assertNull(block.getRawValueIsNull());
+    }
+
     private void assertFixedWithValues(Slice[] expectedValues)
     {
         BlockBuilder blockBuilder = createBlockBuilderWithValues(expectedValues);
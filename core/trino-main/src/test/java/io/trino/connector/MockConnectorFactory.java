@@ -79,6 +79,7 @@ public class MockConnectorFactory
     private final BiFunction<ConnectorSession, SchemaTableName, Optional<ConnectorNewTableLayout>> getInsertLayout;
     private final BiFunction<ConnectorSession, ConnectorTableMetadata, Optional<ConnectorNewTableLayout>> getNewTableLayout;
     private final BiFunction<ConnectorSession, ConnectorTableHandle, ConnectorTableProperties> getTableProperties;
+    private final BiFunction<ConnectorSession, ConnectorTableHandle, Optional<String>> getTableVersionToken;
     private final Supplier<Iterable<EventListener>> eventListeners;
     private final ListRoleGrants roleGrants;
     private final MockConnectorAccessControl accessControl;
@@ -99,6 +100,7 @@ public class MockConnectorFactory
             BiFunction<ConnectorSession, SchemaTableName, Optional<ConnectorNewTableLayout>> getInsertLayout,
             BiFunction<ConnectorSession, ConnectorTableMetadata, Optional<ConnectorNewTableLayout>> getNewTableLayout,
             BiFunction<ConnectorSession, ConnectorTableHandle, ConnectorTableProperties> getTableProperties,
+            BiFunction<ConnectorSession, ConnectorTableHandle, Optional<String>> getTableVersionToken,
             Supplier<Iterable<EventListener>> eventListeners,
             ListRoleGrants roleGrants,
             MockConnectorAccessControl accessControl)
@@ -118,6 +120,7 @@ public class MockConnectorFactory
         this.getInsertLayout = requireNonNull(getInsertLayout, "getInsertLayout is null");
         this.getNewTableLayout = requireNonNull(getNewTableLayout, "getNewTableLayout is null");
         this.getTableProperties = requireNonNull(getTableProperties, "getTableProperties is null");
+        this.getTableVersionToken = requireNonNull(getTableVersionToken, "getTableVersionToken is null");
         this.eventListeners = requireNonNull(eventListeners, "eventListeners is null");
         this.roleGrants = requireNonNull(roleGrants, "roleGrants is null");
         this.accessControl = requireNonNull(accessControl, "accessControl is null");
@@ -154,6 +157,7 @@ public class MockConnectorFactory
                 getInsertLayout,
                 getNewTableLayout,
                 getTableProperties,
+                getTableVersionToken,
                 eventListeners,
                 roleGrants,
                 accessControl);
@@ -241,6 +245,7 @@ public class MockConnectorFactory
         private BiFunction<ConnectorSession, SchemaTableName, Optional<ConnectorNewTableLayout>> getInsertLayout = defaultGetInsertLayout();
         private BiFunction<ConnectorSession, ConnectorTableMetadata, Optional<ConnectorNewTableLayout>> getNewTableLayout = defaultGetNewTableLayout();
         private BiFunction<ConnectorSession, ConnectorTableHandle, ConnectorTableProperties> getTableProperties = defaultGetTableProperties();
+        private BiFunction<ConnectorSession, ConnectorTableHandle, Optional<String>> getTableVersionToken = (session, tableHandle) -> Optional.empty();
         private Supplier<Iterable<EventListener>> eventListeners = ImmutableList::of;
         private ListRoleGrants roleGrants = defaultRoleAuthorizations();
         private ApplyTopN applyTopN = (session, handle, topNCount, sortItems, assignments) -> Optional.empty();
@@ -347,6 +352,12 @@ public class MockConnectorFactory
             return this;
         }
 
+        public Builder withGetTableVersionToken(BiFunction<ConnectorSession, ConnectorTableHandle, Optional<String>> getTableVersionToken)
+        {
+            this.getTableVersionToken = requireNonNull(getTableVersionToken, "getTableVersionToken is null");
+            return this;
+        }
+
         public Builder withEventListener(EventListener listener)
         {
             requireNonNull(listener, "listener is null");
@@ -405,6 +416,7 @@ public class MockConnectorFactory
                     getInsertLayout,
                     getNewTableLayout,
                     getTableProperties,
+                    getTableVersionToken,
                     eventListeners,
                     roleGrants,
                     new MockConnectorAccessControl(schemaGrants, tableGrants, rowFilter, columnMask));
@@ -38,6 +38,7 @@ public class TestQueryManagerConfig
                 .setMinQueryExpireAge(new Duration(15, MINUTES))
                 .setMaxQueryHistory(100)
                 .setMaxQueryLength(1_000_000)
+                .setPreparedStatementCacheSize(1000)
                 .setMaxStageCount(100)
                 .setStageCountWarningThreshold(50)
                 .setClientTimeout(new Duration(5, MINUTES))
@@ -68,6 +69,7 @@ public class TestQueryManagerConfig
                 .put("query.min-expire-age", "30s")
                 .put("query.max-history", "10")
                 .put("query.max-length", "10000")
+                .put("query.prepared-statement-cache-size", "10")
                 .put("query.max-stage-count", "12345")
                 .put("query.stage-count-warning-threshold", "12300")
                 .put("query.schedule-split-batch-size", "99")
@@ -93,6 +95,7 @@ public class TestQueryManagerConfig
                 .setMinQueryExpireAge(new Duration(30, SECONDS))
                 .setMaxQueryHistory(10)
                 .setMaxQueryLength(10000)
+                .setPreparedStatementCacheSize(10)
                 .setMaxStageCount(12345)
                 .setStageCountWarningThreshold(12300)
                 .setClientTimeout(new Duration(10, SECONDS))
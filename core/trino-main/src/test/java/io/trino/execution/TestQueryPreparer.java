@@ -13,14 +13,17 @@
  */
 package io.trino.execution;
 
+import com.google.common.collect.ImmutableList;
 import io.trino.Session;
 import io.trino.execution.QueryPreparer.PreparedQuery;
 import io.trino.sql.parser.SqlParser;
 import io.trino.sql.tree.AllColumns;
+import io.trino.sql.tree.LongLiteral;
 import io.trino.sql.tree.QualifiedName;
 import org.testng.annotations.Test;
 
 import static io.trino.SessionTestUtils.TEST_SESSION;
+import static io.trino.SystemSessionProperties.PARSE_DECIMAL_LITERALS_AS_DOUBLE;
 import static io.trino.spi.StandardErrorCode.INVALID_PARAMETER_USAGE;
 import static io.trino.spi.StandardErrorCode.NOT_FOUND;
 import static io.trino.sql.QueryUtil.selectList;
@@ -29,6 +32,8 @@ import static io.trino.sql.QueryUtil.table;
 import static io.trino.testing.TestingSession.testSessionBuilder;
 import static io.trino.testing.assertions.TrinoExceptionAssert.assertTrinoExceptionThrownBy;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 public class TestQueryPreparer
 {
@@ -54,6 +59,28 @@ public class TestQueryPreparer
                 simpleQuery(selectList(new AllColumns()), table(QualifiedName.of("foo"))));
     }
 
+    @Test
+    public void testExecuteStatementReusesParsedStatement()
+    {
+        QueryPreparer queryPreparer = new QueryPreparer(SQL_PARSER, new QueryManagerConfig().setPreparedStatementCacheSize(10));
+        Session session = testSessionBuilder()
+                .addPreparedStatement("my_query", "SELECT * FROM foo WHERE col1 = ?")
+                .build();
+        PreparedQuery first = queryPreparer.prepareQuery(session, "EXECUTE my_query USING 1");
+        PreparedQuery second = queryPreparer.prepareQuery(session, "EXECUTE my_query USING 2");
+        assertSame(second.getStatement(), first.getStatement());
+        assertEquals(second.getParameters(), ImmutableList.of(new LongLiteral("2")));
+        assertEquals(queryPreparer.getPreparedStatementCacheHitCount(), 1);
+
+        Session decimalAsDoubleSession = testSessionBuilder()
+                .addPreparedStatement("my_query", "SELECT * FROM foo WHERE col1 = ?")
+                .setSystemProperty(PARSE_DECIMAL_LITERALS_AS_DOUBLE, "true")
+                .build();
+        PreparedQuery third = queryPreparer.prepareQuery(decimalAsDoubleSession, "EXECUTE my_query USING 3");
+        assertNotSame(third.getStatement(), first.getStatement());
+        assertEquals(queryPreparer.getPreparedStatementCacheHitCount(), 1);
+    }
+
     @Test
     public void testExecuteStatementDoesNotExist()
     {
@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slices;
+import io.airlift.units.DataSize;
+import io.trino.execution.buffer.PageCodecMarker;
+import io.trino.execution.buffer.SerializedPage;
+import org.testng.annotations.Test;
+
+import static io.trino.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryResultCache
+{
+    private static final SerializedPage PAGE = new SerializedPage(Slices.allocate(1000), PageCodecMarker.MarkerSet.empty(), 1, 1000);
+
+    @Test
+    public void testMaxEntrySize()
+    {
+        QueryResultCache cache = new QueryResultCache(new QueryResultCacheConfig()
+                .setMaxEntrySize(DataSize.ofBytes(PAGE.getRetainedSizeInBytes() * 2)));
+
+        CachedQueryResult.Builder builder = cache.newResultBuilder(ImmutableList.of("x"), ImmutableList.of(BIGINT));
+        builder.addPage(PAGE);
+        builder.addPage(PAGE);
+        assertFalse(builder.isAbandoned());
+        assertEquals(cache.getPendingSizeInBytes(), PAGE.getRetainedSizeInBytes() * 2);
+
+        builder.addPage(PAGE);
+        assertTrue(builder.isAbandoned());
+        assertEquals(cache.getPendingSizeInBytes(), 0);
+        assertFalse(builder.build().isPresent());
+    }
+
+    @Test
+    public void testMaxPendingSize()
+    {
+        QueryResultCache cache = new QueryResultCache(new QueryResultCacheConfig()
+                .setMaxPendingSize(DataSize.ofBytes(PAGE.getRetainedSizeInBytes() * 2)));
+
+        CachedQueryResult.Builder first = cache.newResultBuilder(ImmutableList.of("x"), ImmutableList.of(BIGINT));
+        CachedQueryResult.Builder second = cache.newResultBuilder(ImmutableList.of("x"), ImmutableList.of(BIGINT));
+        first.addPage(PAGE);
+        second.addPage(PAGE);
+        assertEquals(cache.getPendingSizeInBytes(), PAGE.getRetainedSizeInBytes() * 2);
+
+        // the results of all the running queries exceed the limit
+        first.addPage(PAGE);
+        assertTrue(first.isAbandoned());
+        assertEquals(cache.getPendingSizeInBytes(), PAGE.getRetainedSizeInBytes());
+
+        // a built result is not pending anymore
+        assertEquals(second.build().orElseThrow().getPages(), ImmutableList.of(PAGE));
+        assertEquals(cache.getPendingSizeInBytes(), 0);
+    }
+
+    @Test
+    public void testAbandon()
+    {
+        QueryResultCache cache = new QueryResultCache(new QueryResultCacheConfig());
+
+        CachedQueryResult.Builder builder = cache.newResultBuilder(ImmutableList.of("x"), ImmutableList.of(BIGINT));
+        builder.addPage(PAGE);
+        assertEquals(cache.getPendingSizeInBytes(), PAGE.getRetainedSizeInBytes());
+
+        builder.abandon();
+        assertEquals(cache.getPendingSizeInBytes(), 0);
+        assertFalse(builder.build().isPresent());
+    }
+}
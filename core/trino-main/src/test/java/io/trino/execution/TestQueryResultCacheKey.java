@@ -0,0 +1,144 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.execution;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.trino.Session;
+import io.trino.connector.MockConnectorFactory;
+import io.trino.connector.MockConnectorTableHandle;
+import io.trino.execution.warnings.WarningCollector;
+import io.trino.spi.security.Identity;
+import io.trino.sql.SqlPath;
+import io.trino.sql.planner.Plan;
+import io.trino.testing.LocalQueryRunner;
+import org.intellij.lang.annotations.Language;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.trino.testing.TestingSession.testSessionBuilder;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryResultCacheKey
+{
+    private static final String CATALOG = "mock";
+    private static final String QUERY = "SELECT column_0 FROM mock.default.versioned WHERE column_1 = 'x'";
+
+    private static final Session SESSION = testSessionBuilder()
+            .setCatalog(CATALOG)
+            .setSchema("default")
+            .build();
+
+    private final AtomicReference<String> version = new AtomicReference<>("1");
+    private LocalQueryRunner queryRunner;
+
+    @BeforeClass
+    public void setUp()
+    {
+        queryRunner = LocalQueryRunner.create(SESSION);
+        queryRunner.createCatalog(
+                CATALOG,
+                MockConnectorFactory.builder()
+                        .withGetTableVersionToken((session, tableHandle) -> {
+                            if (((MockConnectorTableHandle) tableHandle).getTableName().getTableName().equals("versioned")) {
+                                return Optional.of(version.get());
+                            }
+                            return Optional.empty();
+                        })
+                        .build(),
+                ImmutableMap.of());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        queryRunner.close();
+        queryRunner = null;
+    }
+
+    @Test
+    public void testEquality()
+    {
+        QueryResultCacheKey key = createKey(SESSION, QUERY).orElseThrow();
+        assertEquals(createKey(SESSION, QUERY).orElseThrow(), key);
+        assertEquals(createKey(SESSION, QUERY).orElseThrow().hashCode(), key.hashCode());
+
+        assertNotEquals(createKey(SESSION, "SELECT column_0 FROM mock.default.versioned WHERE column_1 = 'y'").orElseThrow(), key);
+    }
+
+    @Test
+    public void testSessionState()
+    {
+        // the table names are qualified, so that only the session differs
+        QueryResultCacheKey key = createKey(SESSION, QUERY).orElseThrow();
+        assertNotEquals(createKey(Session.builder(SESSION).setIdentity(Identity.ofUser("other")).build(), QUERY).orElseThrow(), key);
+        assertNotEquals(createKey(Session.builder(SESSION).setCatalog("other").build(), QUERY).orElseThrow(), key);
+        assertNotEquals(createKey(Session.builder(SESSION).setSchema("other").build(), QUERY).orElseThrow(), key);
+        assertNotEquals(createKey(Session.builder(SESSION).setPath(new SqlPath(Optional.of("mock.other"))).build(), QUERY).orElseThrow(), key);
+        assertNotEquals(createKey(Session.builder(SESSION).setSystemProperty("join_distribution_type", "BROADCAST").build(), QUERY).orElseThrow(), key);
+    }
+
+    @Test
+    public void testInvalidation()
+    {
+        QueryResultCache cache = new QueryResultCache(new QueryResultCacheConfig());
+        CachedQueryResult result = new CachedQueryResult(ImmutableList.of(), ImmutableList.of(), ImmutableList.of());
+
+        QueryResultCacheKey key = createKey(SESSION, QUERY).orElseThrow();
+        cache.put(key, result);
+        assertEquals(cache.get(createKey(SESSION, QUERY).orElseThrow()), Optional.of(result));
+
+        // a new version of the table invalidates the cached result
+        version.set("2");
+        try {
+            QueryResultCacheKey newKey = createKey(SESSION, QUERY).orElseThrow();
+            assertNotEquals(newKey, key);
+            assertFalse(cache.get(newKey).isPresent());
+        }
+        finally {
+            version.set("1");
+        }
+        assertTrue(cache.get(createKey(SESSION, QUERY).orElseThrow()).isPresent());
+    }
+
+    @Test
+    public void testNotCacheable()
+    {
+        // a table without a version token
+        assertFalse(createKey(SESSION, "SELECT column_0 FROM mock.default.unversioned").isPresent());
+        assertFalse(createKey(SESSION, "SELECT * FROM mock.default.versioned v JOIN mock.default.unversioned u ON v.column_0 = u.column_0").isPresent());
+
+        // no table to read
+        assertFalse(createKey(SESSION, "SELECT 1").isPresent());
+
+        // not deterministic
+        assertFalse(createKey(SESSION, "SELECT column_0 FROM mock.default.versioned WHERE random() > 0.5").isPresent());
+        assertFalse(createKey(SESSION, "SELECT column_0 FROM mock.default.versioned TABLESAMPLE BERNOULLI (50)").isPresent());
+    }
+
+    private Optional<QueryResultCacheKey> createKey(Session session, @Language("SQL") String sql)
+    {
+        return queryRunner.inTransaction(session, transactionSession -> {
+            Plan plan = queryRunner.createPlan(transactionSession, sql, WarningCollector.NOOP);
+            return QueryResultCacheKey.create(plan, transactionSession, queryRunner.getMetadata());
+        });
+    }
+}
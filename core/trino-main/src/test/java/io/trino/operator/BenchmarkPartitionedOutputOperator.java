@@ -24,7 +24,9 @@ import io.trino.operator.PartitionedOutputOperator.PartitionedOutputFactory;
 import io.trino.operator.exchange.LocalPartitionGenerator;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
+import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.block.DictionaryBlock;
 import io.trino.spi.type.RowType;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeOperators;
@@ -37,7 +39,9 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.RunnerException;
@@ -64,6 +68,7 @@ import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregate
 import static io.trino.metadata.MetadataManager.createTestMetadataManager;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.VarcharType.VARCHAR;
+import static java.lang.Math.max;
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
@@ -90,20 +95,33 @@ public class BenchmarkPartitionedOutputOperator
     @State(Scope.Thread)
     public static class BenchmarkData
     {
-        private static final int PAGE_COUNT = 5000;
-        private static final int PARTITION_COUNT = 512;
-        private static final int ENTRIES_PER_PAGE = 256;
+        private static final int TOTAL_POSITION_COUNT = 5000 * 256;
         private static final DataSize MAX_MEMORY = DataSize.of(1, GIGABYTE);
         private static final RowType rowType = RowType.anonymous(ImmutableList.of(VARCHAR, VARCHAR, VARCHAR, VARCHAR));
         private static final List<Type> TYPES = ImmutableList.of(BIGINT, rowType, rowType, rowType);
         private static final ExecutorService EXECUTOR = newCachedThreadPool(daemonThreadsNamed("BenchmarkPartitionedOutputOperator-executor-%s"));
         private static final ScheduledExecutorService SCHEDULER = newScheduledThreadPool(1, daemonThreadsNamed("BenchmarkPartitionedOutputOperator-scheduledExecutor-%s"));
 
-        private final Page dataPage = createPage();
+        @Param({"16", "512"})
+        private int partitionCount = 512;
+
+        @Param({"256", "8192"})
+        private int positionCount = 256;
+
+        @Param({"false", "true"})
+        private boolean dictionary;
+
+        private Page dataPage;
+
+        @Setup
+        public void setup()
+        {
+            dataPage = createPage();
+        }
 
         private int getPageCount()
         {
-            return PAGE_COUNT;
+            return TOTAL_POSITION_COUNT / positionCount;
         }
 
         public Page getDataPage()
@@ -116,10 +134,10 @@ public class BenchmarkPartitionedOutputOperator
             BlockTypeOperators blockTypeOperators = new BlockTypeOperators(new TypeOperators());
             PartitionFunction partitionFunction = new LocalPartitionGenerator(
                     new InterpretedHashGenerator(ImmutableList.of(BIGINT), new int[] {0}, blockTypeOperators),
-                    PARTITION_COUNT);
+                    partitionCount);
             PagesSerdeFactory serdeFactory = new PagesSerdeFactory(createTestMetadataManager().getBlockEncodingSerde(), false);
             OutputBuffers buffers = createInitialEmptyOutputBuffers(PARTITIONED);
-            for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            for (int partition = 0; partition < partitionCount; partition++) {
                 buffers = buffers.withBuffer(new OutputBuffers.OutputBufferId(partition), partition);
             }
             PartitionedOutputBuffer buffer = createPartitionedBuffer(
@@ -132,7 +150,8 @@ public class BenchmarkPartitionedOutputOperator
                     false,
                     OptionalInt.empty(),
                     buffer,
-                    DataSize.of(1, GIGABYTE));
+                    DataSize.of(1, GIGABYTE),
+                    Optional.empty());
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), TYPES, Function.identity(), serdeFactory)
                     .createOperator(createDriverContext());
@@ -140,20 +159,35 @@ public class BenchmarkPartitionedOutputOperator
 
         private Page createPage()
         {
-            List<Object>[] testRows = generateTestRows(ImmutableList.of(VARCHAR, VARCHAR, VARCHAR, VARCHAR), ENTRIES_PER_PAGE);
-            PageBuilder pageBuilder = new PageBuilder(TYPES);
-            BlockBuilder bigintBlockBuilder = pageBuilder.getBlockBuilder(0);
-            BlockBuilder rowBlockBuilder = pageBuilder.getBlockBuilder(1);
-            BlockBuilder rowBlockBuilder2 = pageBuilder.getBlockBuilder(2);
-            BlockBuilder rowBlockBuilder3 = pageBuilder.getBlockBuilder(3);
-            for (int i = 0; i < ENTRIES_PER_PAGE; i++) {
-                BIGINT.writeLong(bigintBlockBuilder, i);
+            // the dictionaries have a row for every tenth position
+            int rowCount = dictionary ? max(1, positionCount / 10) : positionCount;
+            List<Object>[] testRows = generateTestRows(ImmutableList.of(VARCHAR, VARCHAR, VARCHAR, VARCHAR), rowCount);
+            PageBuilder pageBuilder = new PageBuilder(ImmutableList.of(rowType, rowType, rowType));
+            BlockBuilder rowBlockBuilder = pageBuilder.getBlockBuilder(0);
+            BlockBuilder rowBlockBuilder2 = pageBuilder.getBlockBuilder(1);
+            BlockBuilder rowBlockBuilder3 = pageBuilder.getBlockBuilder(2);
+            for (int i = 0; i < rowCount; i++) {
                 writeRow(testRows[i], rowBlockBuilder);
                 writeRow(testRows[i], rowBlockBuilder2);
                 writeRow(testRows[i], rowBlockBuilder3);
             }
-            pageBuilder.declarePositions(ENTRIES_PER_PAGE);
-            return pageBuilder.build();
+            pageBuilder.declarePositions(rowCount);
+            Page rows = pageBuilder.build();
+
+            BlockBuilder bigintBlockBuilder = BIGINT.createFixedSizeBlockBuilder(positionCount);
+            int[] ids = new int[positionCount];
+            for (int i = 0; i < positionCount; i++) {
+                BIGINT.writeLong(bigintBlockBuilder, i);
+                ids[i] = ThreadLocalRandom.current().nextInt(rowCount);
+            }
+
+            Block[] blocks = new Block[TYPES.size()];
+            blocks[0] = bigintBlockBuilder.build();
+            for (int channel = 1; channel < blocks.length; channel++) {
+                Block block = rows.getBlock(channel - 1);
+                blocks[channel] = dictionary ? new DictionaryBlock(block, ids) : block;
+            }
+            return new Page(blocks);
         }
 
         private void writeRow(List<Object> testRow, BlockBuilder rowBlockBuilder)
@@ -218,6 +252,7 @@ public class BenchmarkPartitionedOutputOperator
     {
         // assure the benchmarks are valid before running
         BenchmarkData data = new BenchmarkData();
+        data.setup();
         new BenchmarkPartitionedOutputOperator().addPage(data);
 
         benchmark(BenchmarkPartitionedOutputOperator.class)
@@ -18,10 +18,14 @@ import com.google.common.primitives.Ints;
 import io.airlift.units.DataSize;
 import io.trino.RowPagesBuilder;
 import io.trino.jmh.Benchmarks;
+import io.trino.metadata.Metadata;
+import io.trino.metadata.ResolvedFunction;
+import io.trino.operator.window.FrameInfo;
 import io.trino.spi.Page;
 import io.trino.spi.block.BlockBuilder;
 import io.trino.spi.connector.SortOrder;
 import io.trino.spi.type.Type;
+import io.trino.sql.tree.QualifiedName;
 import io.trino.testing.TestingTaskContext;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -39,6 +43,7 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -46,11 +51,18 @@ import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.units.DataSize.Unit.GIGABYTE;
 import static io.trino.SessionTestUtils.TEST_SESSION;
 import static io.trino.block.BlockAssertions.createLongSequenceBlock;
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
 import static io.trino.operator.BenchmarkWindowOperator.Context.ROWS_PER_PAGE;
 import static io.trino.operator.BenchmarkWindowOperator.Context.TOTAL_PAGES;
 import static io.trino.operator.TestWindowOperator.ROW_NUMBER;
 import static io.trino.operator.TestWindowOperator.createFactoryUnbounded;
+import static io.trino.operator.WindowFunctionDefinition.window;
+import static io.trino.operator.window.RunningAggregateWindowFunction.getRunningAggregationSupplier;
 import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static io.trino.sql.tree.FrameBound.Type.CURRENT_ROW;
+import static io.trino.sql.tree.FrameBound.Type.UNBOUNDED_PRECEDING;
+import static io.trino.sql.tree.WindowFrame.Type.ROWS;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -74,6 +86,9 @@ public class BenchmarkWindowOperator
         public static final int TOTAL_PAGES = 140;
         public static final int ROWS_PER_PAGE = 10000;
         private static final List<Integer> PARTITION_CHANNELS = Ints.asList(0, 1);
+        private static final Metadata METADATA = createTestMetadataManager();
+        private static final ResolvedFunction SUM = METADATA.resolveFunction(QualifiedName.of("sum"), fromTypes(BIGINT));
+        private static final FrameInfo RUNNING_FRAME = new FrameInfo(ROWS, UNBOUNDED_PRECEDING, Optional.empty(), Optional.empty(), CURRENT_ROW, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
 
         @Param({"10", "20", "100"})
         public int rowsPerPartition;
@@ -84,6 +99,9 @@ public class BenchmarkWindowOperator
         @Param({"10", "50", "100"})
         public int partitionsPerGroup;
 
+        @Param({"row_number", "sum", "running_sum"})
+        public String windowFunction = "row_number";
+
         private ExecutorService executor;
         private ScheduledExecutorService scheduledExecutor;
         private OperatorFactory operatorFactory;
@@ -109,13 +127,14 @@ public class BenchmarkWindowOperator
         private void createOperatorFactoryAndGenerateTestData(int numberOfPreGroupedColumns)
         {
             pages = generateTestData();
+            List<WindowFunctionDefinition> windowFunctions = createWindowFunctions(windowFunction);
 
             if (numberOfPreGroupedColumns == 0) {
                 // Ungrouped
                 operatorFactory = createFactoryUnbounded(
                         ImmutableList.of(BIGINT, BIGINT, BIGINT, BIGINT),
                         Ints.asList(0, 1, 2, 3),
-                        ROW_NUMBER,
+                        windowFunctions,
                         PARTITION_CHANNELS,
                         Ints.asList(),
                         Ints.asList(3),
@@ -129,7 +148,7 @@ public class BenchmarkWindowOperator
                 operatorFactory = createFactoryUnbounded(
                         ImmutableList.of(BIGINT, BIGINT, BIGINT, BIGINT),
                         Ints.asList(0, 1, 2, 3),
-                        ROW_NUMBER,
+                        windowFunctions,
                         PARTITION_CHANNELS,
                         Ints.asList(1),
                         Ints.asList(3),
@@ -143,7 +162,7 @@ public class BenchmarkWindowOperator
                 operatorFactory = createFactoryUnbounded(
                         ImmutableList.of(BIGINT, BIGINT, BIGINT, BIGINT),
                         Ints.asList(0, 1, 2, 3),
-                        ROW_NUMBER,
+                        windowFunctions,
                         PARTITION_CHANNELS,
                         Ints.asList(0, 1),
                         Ints.asList(3),
@@ -154,6 +173,21 @@ public class BenchmarkWindowOperator
             }
         }
 
+        private static List<WindowFunctionDefinition> createWindowFunctions(String windowFunction)
+        {
+            switch (windowFunction) {
+                case "row_number":
+                    return ROW_NUMBER;
+                case "sum":
+                    // running sum evaluated by the accumulator of the aggregation
+                    return ImmutableList.of(window(METADATA.getWindowFunctionImplementation(SUM), BIGINT, RUNNING_FRAME, false, ImmutableList.of(), 2));
+                case "running_sum":
+                    return ImmutableList.of(window(getRunningAggregationSupplier(SUM.getSignature(), RUNNING_FRAME).orElseThrow(), BIGINT, RUNNING_FRAME, false, ImmutableList.of(), 2));
+                default:
+                    throw new IllegalArgumentException("Unsupported window function: " + windowFunction);
+            }
+        }
+
         private List<Page> generateTestData()
         {
             List<Type> typesArray = new ArrayList<>();
@@ -303,12 +337,36 @@ public class BenchmarkWindowOperator
         verify(10, 3, true);
     }
 
+    @Test
+    public void verifyAggregation()
+    {
+        verify(10, 0, false, "sum");
+        verify(10, 2, true, "sum");
+    }
+
+    @Test
+    public void verifyRunningAggregation()
+    {
+        verify(10, 0, false, "running_sum");
+        verify(10, 2, true, "running_sum");
+    }
+
     private void verify(
             int numberOfRowsPerPartition,
             int numberOfPreGroupedColumns,
             boolean useSinglePartition)
+    {
+        verify(numberOfRowsPerPartition, numberOfPreGroupedColumns, useSinglePartition, "row_number");
+    }
+
+    private void verify(
+            int numberOfRowsPerPartition,
+            int numberOfPreGroupedColumns,
+            boolean useSinglePartition,
+            String windowFunction)
     {
         Context context = new Context();
+        context.windowFunction = windowFunction;
 
         context.rowsPerPartition = numberOfRowsPerPartition;
         context.numberOfPregroupedColumns = numberOfPreGroupedColumns;
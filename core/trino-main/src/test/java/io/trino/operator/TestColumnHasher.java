@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import io.trino.operator.scalar.CombineHashFunction;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.DictionaryBlock;
+import io.trino.spi.block.LazyBlock;
+import io.trino.spi.block.RunLengthEncodedBlock;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+import io.trino.type.BlockTypeOperators;
+import io.trino.type.BlockTypeOperators.BlockPositionHashCode;
+import org.testng.annotations.Test;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.block.BlockAssertions.createDoublesBlock;
+import static io.trino.block.BlockAssertions.createIntsBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
+import static io.trino.block.BlockAssertions.createSlicesBlock;
+import static io.trino.block.BlockAssertions.createStringsBlock;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.VarbinaryType.VARBINARY;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+
+public class TestColumnHasher
+{
+    private static final BlockTypeOperators BLOCK_TYPE_OPERATORS = new BlockTypeOperators(new TypeOperators());
+
+    @Test
+    public void testBigint()
+    {
+        assertColumnHasher(BIGINT, createLongsBlock(1L, null, 3L, Long.MIN_VALUE, null, Long.MAX_VALUE));
+        assertColumnHasher(BIGINT, createLongsBlock(1L, 2L, 3L, 4L, 5L, 6L));
+    }
+
+    @Test
+    public void testInteger()
+    {
+        assertColumnHasher(INTEGER, createIntsBlock(1, null, -3, Integer.MIN_VALUE, null, Integer.MAX_VALUE));
+        assertColumnHasher(INTEGER, createIntsBlock(1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void testVarchar()
+    {
+        assertColumnHasher(VARCHAR, createStringsBlock("a", "", null, "dddddddddddddddddddddddddddddddddd", "e", null));
+        assertColumnHasher(VARBINARY, createSlicesBlock(utf8Slice("a"), utf8Slice(""), null, utf8Slice("ddd")));
+    }
+
+    @Test
+    public void testGeneric()
+    {
+        assertColumnHasher(DOUBLE, createDoublesBlock(1.0, null, -0.0, Double.NaN, 5.0));
+    }
+
+    private static void assertColumnHasher(Type type, Block block)
+    {
+        assertColumnHasherForBlock(type, block);
+        assertColumnHasherForBlock(type, block.getRegion(1, block.getPositionCount() - 1));
+        assertColumnHasherForBlock(type, new LazyBlock(block.getPositionCount(), () -> block));
+        assertColumnHasherForBlock(type, new RunLengthEncodedBlock(block.getSingleValueBlock(0), 5));
+        assertColumnHasherForBlock(type, new RunLengthEncodedBlock(block.getSingleValueBlock(1), 5));
+
+        int[] ids = new int[block.getPositionCount() * 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (i * 7) % block.getPositionCount();
+        }
+        assertColumnHasherForBlock(type, new DictionaryBlock(block, ids));
+        // a dictionary larger than the hashed range is not hashed as a whole
+        assertColumnHasherForBlock(type, new DictionaryBlock(block, new int[] {1, 0}));
+    }
+
+    private static void assertColumnHasherForBlock(Type type, Block block)
+    {
+        ColumnHasher columnHasher = ColumnHasher.createColumnHasher(type, BLOCK_TYPE_OPERATORS);
+        BlockPositionHashCode hashCodeOperator = BLOCK_TYPE_OPERATORS.getHashCodeOperator(type);
+        for (int positionOffset = 0; positionOffset < block.getPositionCount(); positionOffset++) {
+            int length = block.getPositionCount() - positionOffset;
+
+            long[] hashes = new long[length];
+            columnHasher.hash(block, positionOffset, length, hashes);
+            for (int i = 0; i < length; i++) {
+                assertEquals(hashes[i], hashCodeOperator.hashCodeNullSafe(block, positionOffset + i));
+            }
+
+            long[] combinedHashes = new long[length];
+            for (int i = 0; i < length; i++) {
+                combinedHashes[i] = i;
+            }
+            columnHasher.combineHash(block, positionOffset, length, combinedHashes);
+            for (int i = 0; i < length; i++) {
+                assertEquals(combinedHashes[i], CombineHashFunction.getHash(i, hashCodeOperator.hashCodeNullSafe(block, positionOffset + i)));
+            }
+        }
+    }
+}
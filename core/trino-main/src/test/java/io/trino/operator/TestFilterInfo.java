@@ -0,0 +1,73 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.json.JsonCodec;
+import io.airlift.units.Duration;
+import io.trino.operator.FilterInfo.ConjunctInfo;
+import org.testng.annotations.Test;
+
+import static io.airlift.json.JsonCodec.jsonCodec;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+
+public class TestFilterInfo
+{
+    @Test
+    public void testMerge()
+    {
+        FilterInfo base = new FilterInfo(
+                ImmutableList.of(
+                        new ConjunctInfo("a", 100, 50, new Duration(10, MILLISECONDS)),
+                        new ConjunctInfo("b", 50, 5, new Duration(20, MILLISECONDS))),
+                ImmutableList.of(0, 1),
+                10,
+                0);
+        FilterInfo other = new FilterInfo(
+                ImmutableList.of(
+                        new ConjunctInfo("a", 30, 20, new Duration(5, MILLISECONDS)),
+                        new ConjunctInfo("b", 300, 30, new Duration(60, MILLISECONDS))),
+                ImmutableList.of(1, 0),
+                30,
+                2);
+
+        FilterInfo merged = base.mergeWith(other);
+        assertEquals(merged.getOrder(), ImmutableList.of(1, 0));
+        assertEquals(merged.getPages(), 40);
+        assertEquals(merged.getReorders(), 2);
+        assertEquals(merged.getConjuncts().get(0).getInputPositions(), 130);
+        assertEquals(merged.getConjuncts().get(0).getSelectedPositions(), 70);
+        assertEquals(merged.getConjuncts().get(0).getTime(), new Duration(15, MILLISECONDS));
+        assertEquals(merged.getConjuncts().get(1).getInputPositions(), 350);
+        assertEquals(merged.getConjuncts().get(1).getSelectedPositions(), 35);
+    }
+
+    @Test
+    public void testJsonRoundTrip()
+    {
+        JsonCodec<FilterInfo> codec = jsonCodec(FilterInfo.class);
+        FilterInfo info = new FilterInfo(
+                ImmutableList.of(new ConjunctInfo("a", 100, 50, new Duration(10, MILLISECONDS)), new ConjunctInfo("b", 50, 5, new Duration(20, MILLISECONDS))),
+                ImmutableList.of(1, 0),
+                10,
+                1);
+
+        FilterInfo copy = codec.fromJson(codec.toJson(info));
+        assertEquals(copy.getOrder(), info.getOrder());
+        assertEquals(copy.getPages(), info.getPages());
+        assertEquals(copy.getConjuncts().get(1).getExpression(), "b");
+        assertEquals(copy.getConjuncts().get(1).getTime(), new Duration(20, MILLISECONDS));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.Page;
+import io.trino.spi.type.TypeOperators;
+import io.trino.type.BlockTypeOperators;
+import org.testng.annotations.Test;
+
+import static io.trino.block.BlockAssertions.createLongDictionaryBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
+import static io.trino.block.BlockAssertions.createRLEBlock;
+import static io.trino.block.BlockAssertions.createStringsBlock;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+
+public class TestInterpretedHashGenerator
+{
+    private static final BlockTypeOperators BLOCK_TYPE_OPERATORS = new BlockTypeOperators(new TypeOperators());
+
+    @Test
+    public void testHashPositions()
+    {
+        Page page = new Page(
+                createLongsBlock(1L, null, 3L, 4L, null, 6L),
+                createStringsBlock("a", "b", null, "d", "e", null),
+                createLongDictionaryBlock(0, 6),
+                createRLEBlock(42L, 6));
+
+        assertHashPositions(new InterpretedHashGenerator(ImmutableList.of(BIGINT), new int[] {0}, BLOCK_TYPE_OPERATORS), page);
+        assertHashPositions(new InterpretedHashGenerator(ImmutableList.of(VARCHAR, BIGINT), new int[] {1, 0}, BLOCK_TYPE_OPERATORS), page);
+        assertHashPositions(new InterpretedHashGenerator(ImmutableList.of(BIGINT, BIGINT), new int[] {2, 3}, BLOCK_TYPE_OPERATORS), page);
+        assertHashPositions(new PrecomputedHashGenerator(0), page.getColumns(2));
+    }
+
+    private static void assertHashPositions(HashGenerator hashGenerator, Page page)
+    {
+        for (int positionOffset = 0; positionOffset < page.getPositionCount(); positionOffset++) {
+            int length = page.getPositionCount() - positionOffset;
+            long[] hashes = new long[length];
+            hashGenerator.hashPositions(page, positionOffset, length, hashes);
+            for (int i = 0; i < length; i++) {
+                assertEquals(hashes[i], hashGenerator.hashPosition(positionOffset + i, page));
+            }
+        }
+    }
+}
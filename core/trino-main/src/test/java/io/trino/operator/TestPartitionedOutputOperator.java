@@ -14,6 +14,7 @@
 package io.trino.operator;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
 import io.trino.execution.StateMachine;
 import io.trino.execution.buffer.OutputBuffers;
@@ -56,6 +57,7 @@ import static io.trino.spi.type.BigintType.BIGINT;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class TestPartitionedOutputOperator
 {
@@ -179,7 +181,57 @@ public class TestPartitionedOutputOperator
         assertEquals(operatorContext.getOutputPositions().getTotalCount(), PAGE_COUNT * PARTITION_COUNT * TESTING_PAGE_WITH_NULL_BLOCK.getPositionCount());
     }
 
+    @Test
+    public void testOutputForLargePartitionWithRunLength()
+    {
+        PartitionedOutputOperator partitionedOutputOperator = createPartitionedOutputOperator(false);
+        // all the positions belong to a single partition, so they are serialized without expanding the run
+        Page page = new Page(createRLEBlock(42L, 100 * POSITIONS_PER_PAGE));
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            partitionedOutputOperator.addInput(page);
+        }
+        partitionedOutputOperator.finish();
+
+        OperatorContext operatorContext = partitionedOutputOperator.getOperatorContext();
+        assertEquals(operatorContext.getOutputDataSize().getTotalCount(), PAGE_COUNT * page.getSizeInBytes());
+        assertEquals(operatorContext.getOutputPositions().getTotalCount(), PAGE_COUNT * page.getPositionCount());
+        assertEquals(partitionedOutputOperator.getInfo().getPagesAdded(), PAGE_COUNT);
+    }
+
+    @Test
+    public void testSkewedKeyDetection()
+    {
+        PartitionedOutputOperator partitionedOutputOperator = createPartitionedOutputOperator(false, Optional.of(ImmutableList.of(0)));
+        Block skewedBlock = createRLEBlock(42L, POSITIONS_PER_PAGE);
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            partitionedOutputOperator.addInput(TESTING_PAGE);
+            partitionedOutputOperator.addInput(new Page(skewedBlock));
+        }
+        partitionedOutputOperator.finish();
+
+        PartitionSkewInfo skewInfo = partitionedOutputOperator.getInfo().getSkewInfo().orElseThrow();
+        assertEquals(skewInfo.getPartitionRowCounts().length, PARTITION_COUNT);
+        assertTrue(skewInfo.getMaxPartitionRows() >= PAGE_COUNT * POSITIONS_PER_PAGE);
+        assertEquals(skewInfo.getSampledRows(), 2 * PAGE_COUNT * POSITIONS_PER_PAGE / SkewedPartitionDetector.SAMPLING_INTERVAL);
+        assertEquals(skewInfo.getSkewedKeySamples().keySet(), ImmutableSet.of("42"));
+    }
+
+    @Test
+    public void testSkewDetectionDisabled()
+    {
+        PartitionedOutputOperator partitionedOutputOperator = createPartitionedOutputOperator(false);
+        partitionedOutputOperator.addInput(TESTING_PAGE);
+        partitionedOutputOperator.finish();
+
+        assertTrue(partitionedOutputOperator.getInfo().getSkewInfo().isEmpty());
+    }
+
     private PartitionedOutputOperator createPartitionedOutputOperator(boolean shouldReplicate)
+    {
+        return createPartitionedOutputOperator(shouldReplicate, Optional.empty());
+    }
+
+    private PartitionedOutputOperator createPartitionedOutputOperator(boolean shouldReplicate, Optional<List<Integer>> skewDetectionChannels)
     {
         BlockTypeOperators blockTypeOperators = new BlockTypeOperators(new TypeOperators());
         PartitionFunction partitionFunction = new LocalPartitionGenerator(
@@ -214,7 +266,8 @@ public class TestPartitionedOutputOperator
                     true,
                     OptionalInt.of(0),
                     buffer,
-                    PARTITION_MAX_MEMORY);
+                    PARTITION_MAX_MEMORY,
+                    skewDetectionChannels);
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), REPLICATION_TYPES, Function.identity(), serdeFactory)
                     .createOperator(driverContext);
@@ -227,7 +280,8 @@ public class TestPartitionedOutputOperator
                     false,
                     OptionalInt.empty(),
                     buffer,
-                    PARTITION_MAX_MEMORY);
+                    PARTITION_MAX_MEMORY,
+                    skewDetectionChannels);
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), TYPES, Function.identity(), serdeFactory)
                     .createOperator(driverContext);
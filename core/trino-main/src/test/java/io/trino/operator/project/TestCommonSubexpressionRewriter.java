@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Metadata;
+import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.DeterminismEvaluator;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
+import io.trino.sql.tree.QualifiedName;
+import org.testng.annotations.Test;
+
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
+import static io.trino.operator.project.CommonSubexpressionRewriter.extractCommonSubexpressions;
+import static io.trino.spi.function.OperatorType.ADD;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static io.trino.sql.relational.Expressions.constant;
+import static io.trino.sql.relational.Expressions.field;
+import static io.trino.sql.relational.SpecialForm.Form.IF;
+import static org.testng.Assert.assertEquals;
+
+public class TestCommonSubexpressionRewriter
+{
+    private final Metadata metadata = createTestMetadataManager();
+    private final DeterminismEvaluator determinismEvaluator = new DeterminismEvaluator(metadata);
+
+    @Test
+    public void testNestedSubexpressions()
+    {
+        RowExpression lower = call("lower", field(1, VARCHAR));
+        RowExpression upper = call("upper", lower);
+
+        CommonSubexpressionRewriter.Result result = extractCommonSubexpressions(
+                ImmutableList.of(call("length", upper), call("reverse", upper), call("length", lower), field(0, BIGINT)),
+                determinismEvaluator);
+
+        assertEquals(result.getFirstChannel(), 2);
+        assertEquals(result.getCommonSubexpressions(), ImmutableList.of(lower, call("upper", field(2, VARCHAR))));
+        assertEquals(
+                result.getRewrittenProjections(),
+                ImmutableList.of(call("length", field(3, VARCHAR)), call("reverse", field(3, VARCHAR)), call("length", field(2, VARCHAR)), field(0, BIGINT)));
+    }
+
+    @Test
+    public void testConditionalSubexpressions()
+    {
+        RowExpression lower = call("lower", field(0, VARCHAR));
+        RowExpression conditional = new SpecialForm(IF, VARCHAR, field(1, BOOLEAN), lower, constant(null, VARCHAR));
+        ImmutableList<RowExpression> projections = ImmutableList.of(conditional, call("reverse", conditional));
+
+        CommonSubexpressionRewriter.Result result = extractCommonSubexpressions(projections, determinismEvaluator);
+        assertEquals(result.getCommonSubexpressions(), ImmutableList.of(conditional));
+        assertEquals(result.getRewrittenProjections(), ImmutableList.of(field(2, VARCHAR), call("reverse", field(2, VARCHAR))));
+
+        // the branches of the IF are evaluated only for some positions
+        result = extractCommonSubexpressions(ImmutableList.of(conditional, call("length", lower), field(0, VARCHAR)), determinismEvaluator);
+        assertEquals(result.getCommonSubexpressions(), ImmutableList.of(lower));
+
+        result = extractCommonSubexpressions(ImmutableList.of(conditional, new SpecialForm(IF, VARCHAR, field(1, BOOLEAN), constant(null, VARCHAR), lower)), determinismEvaluator);
+        assertEquals(result.getCommonSubexpressions(), ImmutableList.of());
+    }
+
+    @Test
+    public void testCheapSubexpressions()
+    {
+        RowExpression add = new CallExpression(
+                metadata.resolveOperator(ADD, ImmutableList.of(BIGINT, BIGINT)),
+                ImmutableList.of(field(0, BIGINT), constant(1L, BIGINT)));
+        ImmutableList<RowExpression> projections = ImmutableList.of(add, call("abs", add));
+
+        CommonSubexpressionRewriter.Result result = extractCommonSubexpressions(projections, determinismEvaluator);
+        assertEquals(result.getCommonSubexpressions(), ImmutableList.of());
+        assertEquals(result.getRewrittenProjections(), projections);
+    }
+
+    private RowExpression call(String name, RowExpression argument)
+    {
+        return new CallExpression(
+                metadata.resolveFunction(QualifiedName.of(name), fromTypes(argument.getType())),
+                ImmutableList.of(argument));
+    }
+}
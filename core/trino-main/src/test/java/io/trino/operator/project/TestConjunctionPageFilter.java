@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.operator.FilterInfo;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.connector.ConnectorSession;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+import static io.trino.operator.project.ConjunctionPageFilter.REORDER_INTERVAL;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.testing.TestingConnectorSession.SESSION;
+import static org.testng.Assert.assertEquals;
+
+public class TestConjunctionPageFilter
+{
+    @Test
+    public void testNarrowsPositions()
+    {
+        LongFilter even = new LongFilter(0, value -> value % 2 == 0);
+        LongFilter small = new LongFilter(1, value -> value < 3);
+        ConjunctionPageFilter filter = new ConjunctionPageFilter(ImmutableList.of(even, small), ImmutableList.of("even", "small"));
+        assertEquals(filter.getInputChannels().getInputChannels(), ImmutableList.of(0, 1));
+
+        Page page = new Page(createLongsBlock(0, 1, 2, 3, 4, 5), createLongsBlock(5, 4, 3, 2, 1, 0));
+        assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(4));
+        assertEquals(even.getEvaluatedPositions(), 6);
+        // only the even positions are evaluated by the second conjunct
+        assertEquals(small.getEvaluatedPositions(), 3);
+    }
+
+    @Test
+    public void testReorder()
+    {
+        LongFilter all = new LongFilter(0, value -> true);
+        LongFilter selective = new LongFilter(0, value -> value == 1);
+        ConjunctionPageFilter filter = new ConjunctionPageFilter(ImmutableList.of(all, selective), ImmutableList.of("all", "selective"));
+
+        Page page = new Page(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7));
+        for (int i = 0; i < REORDER_INTERVAL; i++) {
+            assertEquals(filter.getOrder(), ImmutableList.of(0, 1));
+            assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(1));
+        }
+        assertEquals(filter.getOrder(), ImmutableList.of(1, 0));
+        assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(1));
+
+        FilterInfo info = filter.getInfo().orElseThrow();
+        assertEquals(info.getOrder(), ImmutableList.of(1, 0));
+        assertEquals(info.getPages(), REORDER_INTERVAL + 1);
+        assertEquals(info.getReorders(), 1);
+        assertEquals(info.getConjuncts().get(0).getExpression(), "all");
+        assertEquals(info.getConjuncts().get(0).getInputPositions(), 8 * REORDER_INTERVAL + 1);
+        assertEquals(info.getConjuncts().get(0).getSelectedPositions(), 8 * REORDER_INTERVAL + 1);
+        assertEquals(info.getConjuncts().get(1).getInputPositions(), 8 * (REORDER_INTERVAL + 1));
+        assertEquals(info.getConjuncts().get(1).getSelectedPositions(), REORDER_INTERVAL + 1);
+    }
+
+    @Test
+    public void testFailureInReorderedConjunct()
+    {
+        LongFilter nonZero = new LongFilter(0, value -> value != 0);
+        LongFilter division = new LongFilter(0, value -> 10 / value > 5);
+        ConjunctionPageFilter filter = new ConjunctionPageFilter(ImmutableList.of(nonZero, division), ImmutableList.of("nonZero", "division"));
+
+        Page page = new Page(createLongsBlock(1, 2, 3, 4, 5, 6, 7, 8));
+        for (int i = 0; i < REORDER_INTERVAL; i++) {
+            assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(0));
+        }
+        assertEquals(filter.getOrder(), ImmutableList.of(1, 0));
+
+        // the division fails for zero, which the original order filters out first
+        assertEquals(positions(filter.filter(SESSION, new Page(createLongsBlock(0, 1, 2)))), ImmutableList.of(1));
+        assertEquals(filter.getOrder(), ImmutableList.of(0, 1));
+    }
+
+    @Test
+    public void testRepeatedFailuresInReorderedConjunct()
+    {
+        AtomicInteger divisionFailures = new AtomicInteger();
+        LongFilter nonZero = new LongFilter(0, value -> value != 0);
+        LongFilter division = new LongFilter(0, value -> {
+            if (value == 0) {
+                divisionFailures.incrementAndGet();
+            }
+            return 10 / value > 5;
+        });
+        ConjunctionPageFilter filter = new ConjunctionPageFilter(ImmutableList.of(nonZero, division), ImmutableList.of("nonZero", "division"));
+
+        Page page = new Page(createLongsBlock(1, 2, 3, 4, 5, 6, 7, 8));
+        for (int i = 0; i < REORDER_INTERVAL; i++) {
+            assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(0));
+        }
+        assertEquals(filter.getOrder(), ImmutableList.of(1, 0));
+
+        // after the first failure, the pages are only filtered in the original order
+        Page failingPage = new Page(createLongsBlock(0, 1, 2));
+        for (int i = 0; i < 3 * REORDER_INTERVAL; i++) {
+            assertEquals(positions(filter.filter(SESSION, failingPage)), ImmutableList.of(1));
+            assertEquals(filter.getOrder(), ImmutableList.of(0, 1));
+        }
+        assertEquals(divisionFailures.get(), 1);
+        assertEquals(filter.getInfo().orElseThrow().getReorders(), 1);
+    }
+
+    private static List<Integer> positions(SelectedPositions selectedPositions)
+    {
+        ImmutableList.Builder<Integer> positions = ImmutableList.builder();
+        for (int i = 0; i < selectedPositions.size(); i++) {
+            positions.add(selectedPositions.isList() ? selectedPositions.getPositions()[selectedPositions.getOffset() + i] : selectedPositions.getOffset() + i);
+        }
+        return positions.build();
+    }
+
+    private static Block createLongsBlock(long... values)
+    {
+        BlockBuilder builder = BIGINT.createBlockBuilder(null, values.length);
+        for (long value : values) {
+            BIGINT.writeLong(builder, value);
+        }
+        return builder.build();
+    }
+
+    private static class LongFilter
+            implements PageFilter
+    {
+        private final int channel;
+        private final LongPredicate predicate;
+        private long evaluatedPositions;
+
+        public LongFilter(int channel, LongPredicate predicate)
+        {
+            this.channel = channel;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean isDeterministic()
+        {
+            return true;
+        }
+
+        @Override
+        public InputChannels getInputChannels()
+        {
+            return new InputChannels(channel);
+        }
+
+        @Override
+        public SelectedPositions filter(ConnectorSession session, Page page)
+        {
+            boolean[] selected = new boolean[page.getPositionCount()];
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                selected[position] = predicate.test(BIGINT.getLong(page.getBlock(0), position));
+            }
+            evaluatedPositions += page.getPositionCount();
+            return PageFilter.positionsArrayToSelectedPositions(selected, page.getPositionCount());
+        }
+
+        public long getEvaluatedPositions()
+        {
+            return evaluatedPositions;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.project;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Metadata;
+import io.trino.operator.scalar.JsonPath;
+import io.trino.operator.scalar.JsonPathTrie;
+import io.trino.spi.type.ArrayType;
+import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.DeterminismEvaluator;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
+import io.trino.sql.tree.QualifiedName;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
+import static io.trino.operator.project.CommonSubexpressionRewriter.extractCommonSubexpressions;
+import static io.trino.operator.project.JsonExtractionRewriter.combineJsonExtractions;
+import static io.trino.spi.function.OperatorType.SUBSCRIPT;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static io.trino.sql.relational.Expressions.constant;
+import static io.trino.sql.relational.Expressions.field;
+import static io.trino.sql.relational.SpecialForm.Form.IF;
+import static io.trino.type.JsonPathTrieType.JSON_PATH_TRIE;
+import static io.trino.type.JsonPathType.JSON_PATH;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestJsonExtractionRewriter
+{
+    private final Metadata metadata = createTestMetadataManager();
+    private final DeterminismEvaluator determinismEvaluator = new DeterminismEvaluator(metadata);
+
+    @Test
+    public void testCombineExtractions()
+    {
+        List<RowExpression> projections = ImmutableList.of(
+                extract(field(0, VARCHAR), "$.a"),
+                extract(field(0, VARCHAR), "$.b.c"),
+                extract(field(0, VARCHAR), "$.a"),
+                extract(field(1, VARCHAR), "$.a"),
+                extract(field(1, VARCHAR), "$.b"));
+
+        RowExpression first = extractScalars(field(0, VARCHAR), "$.a", "$.b.c");
+        RowExpression second = extractScalars(field(1, VARCHAR), "$.a", "$.b");
+        assertEquals(
+                combineJsonExtractions(projections, metadata, determinismEvaluator),
+                ImmutableList.of(subscript(first, 1), subscript(first, 2), subscript(first, 1), subscript(second, 1), subscript(second, 2)));
+
+        // each combined extraction is computed once
+        CommonSubexpressionRewriter.Result result = extractCommonSubexpressions(combineJsonExtractions(projections, metadata, determinismEvaluator), determinismEvaluator);
+        assertTrue(result.getCommonSubexpressions().containsAll(ImmutableList.of(first, second)));
+    }
+
+    @Test
+    public void testSkipExtractions()
+    {
+        // a single path
+        assertUnchanged(ImmutableList.of(extract(field(0, VARCHAR), "$.a"), extract(field(0, VARCHAR), "$.a")));
+
+        // a path the trie does not support
+        assertUnchanged(ImmutableList.of(extract(field(0, VARCHAR), "$.a"), extract(field(0, VARCHAR), "$.a[01]")));
+
+        // no extraction is evaluated for every position
+        assertUnchanged(ImmutableList.of(
+                new SpecialForm(IF, VARCHAR, field(1, BOOLEAN), extract(field(0, VARCHAR), "$.a"), constant(null, VARCHAR)),
+                new SpecialForm(IF, VARCHAR, field(1, BOOLEAN), extract(field(0, VARCHAR), "$.b"), constant(null, VARCHAR))));
+    }
+
+    private void assertUnchanged(List<RowExpression> projections)
+    {
+        assertEquals(combineJsonExtractions(projections, metadata, determinismEvaluator), projections);
+    }
+
+    private RowExpression extract(RowExpression json, String path)
+    {
+        return new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("json_extract_scalar"), fromTypes(json.getType(), JSON_PATH)),
+                ImmutableList.of(json, constant(new JsonPath(path), JSON_PATH)));
+    }
+
+    private RowExpression extractScalars(RowExpression json, String... paths)
+    {
+        return new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("$json_extract_scalars"), fromTypes(json.getType(), JSON_PATH_TRIE)),
+                ImmutableList.of(json, constant(new JsonPathTrie(ImmutableList.copyOf(paths)), JSON_PATH_TRIE)));
+    }
+
+    private RowExpression subscript(RowExpression array, long index)
+    {
+        return new CallExpression(
+                metadata.resolveOperator(SUBSCRIPT, ImmutableList.of(new ArrayType(VARCHAR), BIGINT)),
+                ImmutableList.of(array, constant(index, BIGINT)));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.scalar;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.trino.jmh.Benchmarks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+
+@SuppressWarnings("MethodMayBeStatic")
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkJsonExtractScalars
+{
+    private static final int DOCUMENT_COUNT = 1000;
+    private static final int FIELD_COUNT = 20;
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENT_COUNT)
+    public Slice[] separateExtractions(BenchmarkData data)
+    {
+        Slice[] values = new Slice[data.getPaths().size()];
+        for (Slice document : data.getDocuments()) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = JsonExtract.extract(document, data.getPaths().get(i).getScalarExtractor());
+            }
+        }
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENT_COUNT)
+    public Slice[] singlePassExtraction(BenchmarkData data)
+    {
+        Slice[] values = null;
+        for (Slice document : data.getDocuments()) {
+            values = data.getTrie().extractScalars(document);
+        }
+        return values;
+    }
+
+    @SuppressWarnings("FieldMayBeFinal")
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"2", "5", "10"})
+        private int pathCount = 5;
+
+        private List<Slice> documents;
+        private List<JsonPath> paths;
+        private JsonPathTrie trie;
+
+        @Setup
+        public void setup()
+        {
+            ImmutableList.Builder<JsonPath> paths = ImmutableList.builder();
+            ImmutableList.Builder<String> patterns = ImmutableList.builder();
+            for (int i = 0; i < pathCount; i++) {
+                // spread the paths over the document, alternating between top level and nested fields
+                int field = (i * FIELD_COUNT) / pathCount;
+                String pattern = i % 2 == 0 ? "$.field" + field : "$.nested" + field + ".value";
+                paths.add(new JsonPath(pattern));
+                patterns.add(pattern);
+            }
+            this.paths = paths.build();
+            this.trie = new JsonPathTrie(patterns.build());
+
+            ImmutableList.Builder<Slice> documents = ImmutableList.builder();
+            for (int i = 0; i < DOCUMENT_COUNT; i++) {
+                documents.add(createDocument());
+            }
+            this.documents = documents.build();
+        }
+
+        private static Slice createDocument()
+        {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder builder = new StringBuilder("{");
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (field > 0) {
+                    builder.append(", ");
+                }
+                builder.append("\"field").append(field).append("\": \"").append(Long.toHexString(random.nextLong())).append("\", ");
+                builder.append("\"nested").append(field).append("\": {\"value\": ").append(random.nextInt())
+                        .append(", \"list\": [").append(random.nextDouble()).append(", ").append(random.nextBoolean()).append("]}");
+            }
+            return utf8Slice(builder.append('}').toString());
+        }
+
+        public List<Slice> getDocuments()
+        {
+            return documents;
+        }
+
+        public List<JsonPath> getPaths()
+        {
+            return paths;
+        }
+
+        public JsonPathTrie getTrie()
+        {
+            return trie;
+        }
+    }
+
+    @Test
+    public void verify()
+    {
+        BenchmarkData data = new BenchmarkData();
+        data.setup();
+        BenchmarkJsonExtractScalars benchmark = new BenchmarkJsonExtractScalars();
+        assertEquals(benchmark.singlePassExtraction(data), benchmark.separateExtractions(data));
+    }
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        Benchmarks.benchmark(BenchmarkJsonExtractScalars.class).run();
+    }
+}
@@ -16,6 +16,8 @@ package io.trino.operator.scalar;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
+import io.trino.type.JoniRegexp;
+import io.trino.type.LikePattern;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -33,6 +35,8 @@ import java.util.stream.IntStream;
 
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.operator.scalar.JoniRegexpCasts.joniRegexp;
+import static io.trino.operator.scalar.JoniRegexpFunctions.regexpLike;
 import static io.trino.operator.scalar.StringFunctions.leftTrim;
 import static io.trino.operator.scalar.StringFunctions.length;
 import static io.trino.operator.scalar.StringFunctions.lower;
@@ -41,6 +45,8 @@ import static io.trino.operator.scalar.StringFunctions.rightTrim;
 import static io.trino.operator.scalar.StringFunctions.substring;
 import static io.trino.operator.scalar.StringFunctions.trim;
 import static io.trino.operator.scalar.StringFunctions.upper;
+import static io.trino.type.LikeFunctions.compileLikePattern;
+import static io.trino.type.LikeFunctions.likeVarchar;
 import static java.lang.Character.MAX_CODE_POINT;
 import static java.lang.Character.SURROGATE;
 import static java.lang.Character.getType;
@@ -132,6 +138,18 @@ public class BenchmarkStringFunctions
         return lower(data.getSlice());
     }
 
+    @Benchmark
+    public boolean benchmarkLike(LikeData data)
+    {
+        return likeVarchar(data.getSlice(), data.getLikePattern());
+    }
+
+    @Benchmark
+    public boolean benchmarkLikeRegexp(LikeData data)
+    {
+        return regexpLike(data.getSlice(), data.getRegexp());
+    }
+
     @State(Thread)
     public static class BenchmarkData
     {
@@ -251,6 +269,78 @@ public class BenchmarkStringFunctions
         }
     }
 
+    @State(Thread)
+    public static class LikeData
+    {
+        @Param({"10", "100", "1000"})
+        private int length;
+
+        @Param({"prefix", "suffix", "contains", "sequence", "general"})
+        private String shape;
+
+        private Slice slice;
+        private LikePattern likePattern;
+        private JoniRegexp regexp;
+
+        @Setup
+        public void setup()
+        {
+            String pattern;
+            String regex;
+            switch (shape) {
+                case "prefix":
+                    pattern = "abc%";
+                    regex = "^abc.*$";
+                    break;
+                case "suffix":
+                    pattern = "%xyz";
+                    regex = "^.*xyz$";
+                    break;
+                case "contains":
+                    pattern = "%needle%";
+                    regex = "^.*needle.*$";
+                    break;
+                case "sequence":
+                    pattern = "%abc%def%xyz";
+                    regex = "^.*abc.*def.*xyz$";
+                    break;
+                case "general":
+                    pattern = "%a_c%d_f%";
+                    regex = "^.*a.c.*d.f.*$";
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown shape: " + shape);
+            }
+            likePattern = compileLikePattern(utf8Slice(pattern));
+            regexp = joniRegexp(utf8Slice(regex));
+
+            // a random value containing the literals of the pattern, so the whole value is searched
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder value = new StringBuilder(length + 20);
+            value.append("abc");
+            for (int i = 0; i < length; i++) {
+                value.append((char) ('a' + random.nextInt(26)));
+            }
+            value.append("needle_adc_dff_def_xyz");
+            slice = utf8Slice(value.toString());
+        }
+
+        public Slice getSlice()
+        {
+            return slice;
+        }
+
+        public LikePattern getLikePattern()
+        {
+            return likePattern;
+        }
+
+        public JoniRegexp getRegexp()
+        {
+            return regexp;
+        }
+    }
+
     public static void main(String[] args)
             throws RunnerException
     {
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.scalar;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestJsonPathTrie
+{
+    private static final List<String> PATHS = ImmutableList.of(
+            "$",
+            "$.a",
+            "$.a.b",
+            "$.a[0]",
+            "$.a[1]",
+            "$.a.0",
+            "$.b",
+            "$.b[0].c",
+            "$.b[2].c",
+            "$[\"c.d\"]",
+            "$.missing.x");
+
+    @Test
+    public void testSameValuesAsSeparateExtraction()
+    {
+        assertSameValues("{\"a\": 1, \"b\": [{\"c\": \"x\"}, 2, {\"c\": true}], \"c.d\": null}");
+        assertSameValues("{\"a\": {\"b\": 1.5, \"0\": \"zero\"}, \"b\": \"scalar\"}");
+        assertSameValues("{\"a\": [\"first\", [1, 2]], \"b\": []}");
+        assertSameValues("{\"a\": \"x\", \"a\": {\"b\": 1}, \"b\": [{\"c\": 1}, {\"c\": 2}, {\"c\": 3}, {\"c\": 4}]}");
+        assertSameValues("{\"x\": {\"a\": 1}, \"a\": {\"b\": {}}, \"c.d\": \"dotted\"}");
+        assertSameValues("[1, 2, 3]");
+        assertSameValues("\"text\"");
+        assertSameValues("12");
+        assertSameValues("null");
+        assertSameValues("{}");
+        assertSameValues("");
+
+        // invalid documents
+        assertSameValues("{\"a\": 1, \"b\": [");
+        assertSameValues("{\"a\": 1, \"b\": [}");
+        assertSameValues("{\"b\": [{\"c\": 1}, 2, {\"c\": \"x\"}]}, \"a\": ");
+        assertSameValues("{\"a\" 1}");
+        assertSameValues("[1, 2");
+    }
+
+    @Test
+    public void testDuplicatePaths()
+    {
+        JsonPathTrie trie = new JsonPathTrie(ImmutableList.of("$.a", "$[\"a\"]", "$.b"));
+        assertEquals(trie.extractScalars(utf8Slice("{\"b\": 2, \"a\": 1}")), new Slice[] {utf8Slice("1"), utf8Slice("1"), utf8Slice("2")});
+    }
+
+    @Test
+    public void testSupportedPaths()
+    {
+        assertTrue(JsonPathTrie.isSupportedPath("$.a[0].b"));
+        assertTrue(JsonPathTrie.isSupportedPath("$[\"-x\"]"));
+        assertFalse(JsonPathTrie.isSupportedPath("$.a[01]"));
+        assertFalse(JsonPathTrie.isSupportedPath("$.a[-1]"));
+    }
+
+    private static void assertSameValues(String json)
+    {
+        Slice[] values = new JsonPathTrie(PATHS).extractScalars(utf8Slice(json));
+        assertEquals(values.length, PATHS.size());
+        for (int i = 0; i < PATHS.size(); i++) {
+            Slice expected = JsonExtract.extract(utf8Slice(json), new JsonPath(PATHS.get(i)).getScalarExtractor());
+            assertEquals(values[i], expected, "Path " + PATHS.get(i) + " of " + json);
+        }
+    }
+}
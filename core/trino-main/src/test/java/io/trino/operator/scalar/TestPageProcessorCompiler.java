@@ -40,8 +40,10 @@ import java.util.Optional;
 
 import static com.google.common.collect.Iterators.getOnlyElement;
 import static io.trino.block.BlockAssertions.createLongDictionaryBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
 import static io.trino.block.BlockAssertions.createRLEBlock;
 import static io.trino.block.BlockAssertions.createSlicesBlock;
+import static io.trino.block.BlockAssertions.createStringsBlock;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.trino.metadata.MetadataManager.createTestMetadataManager;
 import static io.trino.operator.project.PageProcessor.MAX_BATCH_SIZE;
@@ -226,6 +228,108 @@ public class TestPageProcessorCompiler
         assertFalse(outputPage.getBlock(0) instanceof DictionaryBlock);
     }
 
+    @Test
+    public void testCommonSubexpressions()
+    {
+        ResolvedFunction lessThan = metadata.resolveOperator(LESS_THAN, ImmutableList.of(BIGINT, BIGINT));
+        CallExpression filter = new CallExpression(lessThan, ImmutableList.of(field(1, BIGINT), constant(3L, BIGINT)));
+        CallExpression lower = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("lower"), fromTypes(VARCHAR)),
+                ImmutableList.of(field(0, VARCHAR)));
+        CallExpression upper = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("upper"), fromTypes(VARCHAR)),
+                ImmutableList.of(lower));
+        CallExpression length = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("length"), fromTypes(VARCHAR)),
+                ImmutableList.of(lower));
+
+        // start with batches of a single position, so the subexpressions are computed for several batches of the page
+        PageProcessor processor = compiler.compilePageProcessor(Optional.of(filter), ImmutableList.of(upper, length, field(1, BIGINT))).get();
+        assertEquals(processor.getCommonSubexpressions().size(), 1);
+
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        ImmutableList.Builder<Long> keys = ImmutableList.builder();
+        for (int i = 0; i < 100; i++) {
+            values.add("Value " + i);
+            keys.add((long) (i % 7));
+        }
+        Page page = new Page(createStringsBlock(values.build()), createLongsBlock(keys.build()));
+
+        ImmutableList.Builder<String> actualUpper = ImmutableList.builder();
+        ImmutableList.Builder<Long> actualLength = ImmutableList.builder();
+        processor.process(
+                null,
+                new DriverYieldSignal(),
+                newSimpleAggregatedMemoryContext().newLocalMemoryContext(PageProcessor.class.getSimpleName()),
+                page)
+                .forEachRemaining(outputPage -> {
+                    Page output = outputPage.orElseThrow(() -> new AssertionError("page is not present"));
+                    for (int position = 0; position < output.getPositionCount(); position++) {
+                        actualUpper.add(VARCHAR.getSlice(output.getBlock(0), position).toStringUtf8());
+                        actualLength.add(BIGINT.getLong(output.getBlock(1), position));
+                    }
+                });
+
+        ImmutableList.Builder<String> expectedUpper = ImmutableList.builder();
+        ImmutableList.Builder<Long> expectedLength = ImmutableList.builder();
+        for (int i = 0; i < 100; i++) {
+            if (i % 7 < 3) {
+                expectedUpper.add("VALUE " + i);
+                expectedLength.add((long) ("Value " + i).length());
+            }
+        }
+        assertEquals(actualUpper.build(), expectedUpper.build());
+        assertEquals(actualLength.build(), expectedLength.build());
+    }
+
+    @Test
+    public void testCommonSubexpressionsWithoutFilter()
+    {
+        CallExpression lower = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("lower"), fromTypes(VARCHAR)),
+                ImmutableList.of(field(0, VARCHAR)));
+        CallExpression upper = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("upper"), fromTypes(VARCHAR)),
+                ImmutableList.of(lower));
+        CallExpression length = new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("length"), fromTypes(VARCHAR)),
+                ImmutableList.of(lower));
+
+        // all the positions are selected, so the batches are ranges of the page
+        PageProcessor processor = compiler.compilePageProcessor(Optional.empty(), ImmutableList.of(upper, length)).get();
+        assertEquals(processor.getCommonSubexpressions().size(), 1);
+
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        for (int i = 0; i < 100; i++) {
+            values.add("Value " + i);
+        }
+        Page page = new Page(createStringsBlock(values.build()));
+
+        ImmutableList.Builder<String> actualUpper = ImmutableList.builder();
+        ImmutableList.Builder<Long> actualLength = ImmutableList.builder();
+        processor.process(
+                null,
+                new DriverYieldSignal(),
+                newSimpleAggregatedMemoryContext().newLocalMemoryContext(PageProcessor.class.getSimpleName()),
+                page)
+                .forEachRemaining(outputPage -> {
+                    Page output = outputPage.orElseThrow(() -> new AssertionError("page is not present"));
+                    for (int position = 0; position < output.getPositionCount(); position++) {
+                        actualUpper.add(VARCHAR.getSlice(output.getBlock(0), position).toStringUtf8());
+                        actualLength.add(BIGINT.getLong(output.getBlock(1), position));
+                    }
+                });
+
+        ImmutableList.Builder<String> expectedUpper = ImmutableList.builder();
+        ImmutableList.Builder<Long> expectedLength = ImmutableList.builder();
+        for (int i = 0; i < 100; i++) {
+            expectedUpper.add("VALUE " + i);
+            expectedLength.add((long) ("Value " + i).length());
+        }
+        assertEquals(actualUpper.build(), expectedUpper.build());
+        assertEquals(actualLength.build(), expectedLength.build());
+    }
+
     private static DictionaryBlock createDictionaryBlock(Slice[] expectedValues, int positionCount)
     {
         int dictionarySize = expectedValues.length;
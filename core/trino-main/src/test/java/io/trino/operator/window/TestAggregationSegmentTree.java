@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.window;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.trino.metadata.BoundSignature;
+import io.trino.metadata.FunctionBinding;
+import io.trino.metadata.FunctionDependencies;
+import io.trino.metadata.Metadata;
+import io.trino.metadata.Signature;
+import io.trino.operator.PagesIndex;
+import io.trino.operator.aggregation.Accumulator;
+import io.trino.operator.aggregation.AccumulatorFactory;
+import io.trino.operator.aggregation.InternalAggregationFunction;
+import io.trino.operator.aggregation.ParametricAggregation;
+import io.trino.operator.aggregation.state.NullableLongState;
+import io.trino.spi.Page;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.function.AggregationFunction;
+import io.trino.spi.function.AggregationState;
+import io.trino.spi.function.CombineFunction;
+import io.trino.spi.function.InputFunction;
+import io.trino.spi.function.OutputFunction;
+import io.trino.spi.function.SqlType;
+import io.trino.spi.function.WindowFunction;
+import io.trino.spi.function.WindowIndex;
+import io.trino.spi.type.StandardTypes;
+import io.trino.spi.type.Type;
+import io.trino.sql.tree.QualifiedName;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.trino.block.BlockAssertions.assertBlockEquals;
+import static io.trino.block.BlockAssertions.createLongSequenceBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
+import static io.trino.operator.aggregation.AggregationFromAnnotationsParser.parseFunctionDefinition;
+import static io.trino.operator.window.AggregationSegmentTree.BUCKET_SIZE;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static org.testng.Assert.assertFalse;
+
+public class TestAggregationSegmentTree
+{
+    private static final Metadata METADATA = createTestMetadataManager();
+    private static final List<Integer> CHANNELS = ImmutableList.of(0);
+
+    @Test
+    public void testMax()
+    {
+        assertSegmentTree("max", createPagesIndex(20 * BUCKET_SIZE + 7));
+    }
+
+    @Test
+    public void testArrayAgg()
+    {
+        // the order of the input is preserved
+        assertSegmentTree("array_agg", createPagesIndex(13 * BUCKET_SIZE + 3));
+    }
+
+    @Test
+    public void testNotDecomposable()
+    {
+        // the states of the aggregation cannot be combined, so the moving frames are aggregated from their rows
+        ParametricAggregation aggregation = parseFunctionDefinition(NotDecomposableMaxAggregation.class);
+        Signature signature = aggregation.getFunctionMetadata().getSignature();
+        FunctionBinding functionBinding = new FunctionBinding(
+                aggregation.getFunctionMetadata().getFunctionId(),
+                new BoundSignature(signature.getName(), BIGINT, ImmutableList.of(BIGINT)),
+                ImmutableMap.of(),
+                ImmutableMap.of());
+        InternalAggregationFunction function = aggregation.specialize(functionBinding, new FunctionDependencies(METADATA, ImmutableMap.of(), ImmutableSet.of()));
+        assertFalse(aggregation.getAggregationMetadata(functionBinding).getIntermediateType().isPresent());
+
+        WindowFunction windowFunction = AggregateWindowFunction.supplier(signature, function, false)
+                .createWindowFunction(CHANNELS, false, ImmutableList.of());
+        PagesIndex pagesIndex = createPagesIndex(20 * BUCKET_SIZE);
+        WindowIndex windowIndex = new PagesWindowIndex(pagesIndex, 0, pagesIndex.getPositionCount());
+        windowFunction.reset(windowIndex);
+
+        int frameSize = 5 * BUCKET_SIZE;
+        BlockBuilder expected = BIGINT.createBlockBuilder(null, windowIndex.size());
+        BlockBuilder actual = BIGINT.createBlockBuilder(null, windowIndex.size());
+        AccumulatorFactory accumulatorFactory = function.bind(CHANNELS, Optional.empty());
+        for (int start = 0; start + frameSize <= windowIndex.size(); start++) {
+            Accumulator accumulator = accumulatorFactory.createAccumulator();
+            accumulator.addInput(windowIndex, CHANNELS, start, start + frameSize - 1);
+            accumulator.evaluateFinal(expected);
+
+            windowFunction.processRow(actual, 0, 0, start, start + frameSize - 1);
+        }
+        assertBlockEquals(BIGINT, actual.build(), expected.build());
+    }
+
+    @Test
+    public void testSmallPartition()
+    {
+        assertSegmentTree("max", createPagesIndex(BUCKET_SIZE - 1));
+        assertSegmentTree("max", createPagesIndex(BUCKET_SIZE));
+    }
+
+    private static void assertSegmentTree(String name, PagesIndex pagesIndex)
+    {
+        AccumulatorFactory accumulatorFactory = METADATA.getAggregateFunctionImplementation(METADATA.resolveFunction(QualifiedName.of(name), fromTypes(BIGINT)))
+                .bind(CHANNELS, Optional.empty());
+        WindowIndex windowIndex = new PagesWindowIndex(pagesIndex, 0, pagesIndex.getPositionCount());
+        AggregationSegmentTree segmentTree = new AggregationSegmentTree(accumulatorFactory, windowIndex, CHANNELS);
+        Type type = accumulatorFactory.createAccumulator().getFinalType();
+
+        int size = windowIndex.size();
+        for (int start = 0; start < size; start += 5) {
+            BlockBuilder expected = type.createBlockBuilder(null, size);
+            BlockBuilder actual = type.createBlockBuilder(null, size);
+            for (int end = start; end < size; end++) {
+                Accumulator expectedAccumulator = accumulatorFactory.createAccumulator();
+                expectedAccumulator.addInput(windowIndex, CHANNELS, start, end);
+                expectedAccumulator.evaluateFinal(expected);
+
+                Accumulator actualAccumulator = accumulatorFactory.createAccumulator();
+                segmentTree.addInput(actualAccumulator, start, end);
+                actualAccumulator.evaluateFinal(actual);
+            }
+            assertBlockEquals(type, actual.build(), expected.build());
+        }
+    }
+
+    @AggregationFunction(value = "not_decomposable_max", decomposable = false)
+    public static final class NotDecomposableMaxAggregation
+    {
+        @InputFunction
+        public static void input(@AggregationState NullableLongState state, @SqlType(StandardTypes.BIGINT) long value)
+        {
+            state.setLong(state.isNull() ? value : Math.max(state.getLong(), value));
+            state.setNull(false);
+        }
+
+        @CombineFunction
+        public static void combine(@AggregationState NullableLongState state, @AggregationState NullableLongState otherState)
+        {
+            throw new UnsupportedOperationException("not_decomposable_max is not decomposable");
+        }
+
+        @OutputFunction(StandardTypes.BIGINT)
+        public static void output(@AggregationState NullableLongState state, BlockBuilder out)
+        {
+            NullableLongState.write(BIGINT, state, out);
+        }
+    }
+
+    private static PagesIndex createPagesIndex(int positions)
+    {
+        PagesIndex pagesIndex = new PagesIndex.TestingFactory(false).newPagesIndex(ImmutableList.of(BIGINT), positions);
+        // values not in the order of the rows, and a null
+        pagesIndex.addPage(new Page(createLongsBlock(3L, null, -1L)));
+        if (positions > 3) {
+            pagesIndex.addPage(new Page(createLongSequenceBlock(-positions, 3 - positions).getPositions(reversed(positions - 3), 0, positions - 3)));
+        }
+        return pagesIndex;
+    }
+
+    private static int[] reversed(int length)
+    {
+        int[] positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = length - 1 - i;
+        }
+        return positions;
+    }
+}
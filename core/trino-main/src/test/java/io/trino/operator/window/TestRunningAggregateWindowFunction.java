@@ -0,0 +1,152 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.operator.window;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Metadata;
+import io.trino.metadata.ResolvedFunction;
+import io.trino.operator.PagesIndex;
+import io.trino.spi.Page;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.function.WindowFunction;
+import io.trino.spi.function.WindowIndex;
+import io.trino.spi.type.Type;
+import io.trino.sql.tree.FrameBound;
+import io.trino.sql.tree.QualifiedName;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.trino.block.BlockAssertions.assertBlockEquals;
+import static io.trino.block.BlockAssertions.createDoublesBlock;
+import static io.trino.block.BlockAssertions.createIntsBlock;
+import static io.trino.block.BlockAssertions.createLongsBlock;
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
+import static io.trino.operator.window.RunningAggregateWindowFunction.getRunningAggregationSupplier;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static io.trino.sql.tree.FrameBound.Type.CURRENT_ROW;
+import static io.trino.sql.tree.FrameBound.Type.PRECEDING;
+import static io.trino.sql.tree.FrameBound.Type.UNBOUNDED_PRECEDING;
+import static io.trino.sql.tree.WindowFrame.Type.ROWS;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestRunningAggregateWindowFunction
+{
+    private static final Metadata METADATA = createTestMetadataManager();
+    private static final FrameInfo RUNNING_FRAME = frame(UNBOUNDED_PRECEDING);
+    private static final FrameInfo MOVING_FRAME = frame(PRECEDING);
+
+    // frames of a running aggregation, including empty frames and frame ends moving backwards
+    private static final List<int[]> RUNNING_FRAMES = ImmutableList.of(
+            new int[] {0, 0},
+            new int[] {0, 1},
+            new int[] {0, 3},
+            new int[] {-1, -1},
+            new int[] {0, 3},
+            new int[] {0, 2},
+            new int[] {0, -1},
+            new int[] {0, 5},
+            new int[] {0, 5});
+
+    private static final List<int[]> ANY_FRAMES = ImmutableList.of(
+            new int[] {0, 0},
+            new int[] {2, 5},
+            new int[] {-1, -1},
+            new int[] {4, 3},
+            new int[] {5, 5});
+
+    private final PagesIndex pagesIndex = createPagesIndex();
+
+    @Test
+    public void testAggregations()
+    {
+        assertRunningAggregation("count", ImmutableList.of(), ImmutableList.of(), ANY_FRAMES);
+        assertRunningAggregation("count", ImmutableList.of(), ImmutableList.of(), RUNNING_FRAMES);
+        assertRunningAggregation("count", ImmutableList.of(DOUBLE), ImmutableList.of(1), RUNNING_FRAMES);
+        assertRunningAggregation("sum", ImmutableList.of(BIGINT), ImmutableList.of(0), RUNNING_FRAMES);
+        assertRunningAggregation("sum", ImmutableList.of(DOUBLE), ImmutableList.of(1), RUNNING_FRAMES);
+        assertRunningAggregation("avg", ImmutableList.of(BIGINT), ImmutableList.of(0), RUNNING_FRAMES);
+        assertRunningAggregation("avg", ImmutableList.of(DOUBLE), ImmutableList.of(1), RUNNING_FRAMES);
+        assertRunningAggregation("min", ImmutableList.of(BIGINT), ImmutableList.of(0), RUNNING_FRAMES);
+        assertRunningAggregation("max", ImmutableList.of(BIGINT), ImmutableList.of(0), RUNNING_FRAMES);
+        assertRunningAggregation("min", ImmutableList.of(INTEGER), ImmutableList.of(2), RUNNING_FRAMES);
+        assertRunningAggregation("max", ImmutableList.of(INTEGER), ImmutableList.of(2), RUNNING_FRAMES);
+    }
+
+    @Test
+    public void testUnsupported()
+    {
+        assertTrue(getRunningAggregationSupplier(resolve("count", ImmutableList.of()).getSignature(), MOVING_FRAME).isPresent());
+        assertFalse(getRunningAggregationSupplier(resolve("sum", ImmutableList.of(BIGINT)).getSignature(), MOVING_FRAME).isPresent());
+        assertFalse(getRunningAggregationSupplier(resolve("min", ImmutableList.of(DOUBLE)).getSignature(), RUNNING_FRAME).isPresent());
+        assertFalse(getRunningAggregationSupplier(resolve("max_by", ImmutableList.of(BIGINT, BIGINT)).getSignature(), RUNNING_FRAME).isPresent());
+    }
+
+    private void assertRunningAggregation(String name, List<Type> argumentTypes, List<Integer> argumentChannels, List<int[]> frames)
+    {
+        ResolvedFunction resolvedFunction = resolve(name, argumentTypes);
+        Type type = resolvedFunction.getSignature().getReturnType();
+        WindowFunction expectedFunction = METADATA.getWindowFunctionImplementation(resolvedFunction)
+                .createWindowFunction(argumentChannels, false, ImmutableList.of());
+        WindowFunction actualFunction = getRunningAggregationSupplier(resolvedFunction.getSignature(), RUNNING_FRAME).orElseThrow()
+                .createWindowFunction(argumentChannels, false, ImmutableList.of());
+
+        // the whole index, and a partition in the middle of it
+        for (WindowIndex windowIndex : ImmutableList.of(new PagesWindowIndex(pagesIndex, 0, 8), new PagesWindowIndex(pagesIndex, 2, 8))) {
+            expectedFunction.reset(windowIndex);
+            actualFunction.reset(windowIndex);
+            BlockBuilder expected = type.createBlockBuilder(null, frames.size());
+            BlockBuilder actual = type.createBlockBuilder(null, frames.size());
+            for (int[] frame : frames) {
+                expectedFunction.processRow(expected, 0, 0, frame[0], frame[1]);
+                actualFunction.processRow(actual, 0, 0, frame[0], frame[1]);
+            }
+            assertBlockEquals(type, actual.build(), expected.build());
+        }
+    }
+
+    private static ResolvedFunction resolve(String name, List<Type> argumentTypes)
+    {
+        return METADATA.resolveFunction(QualifiedName.of(name), fromTypes(argumentTypes));
+    }
+
+    private static PagesIndex createPagesIndex()
+    {
+        PagesIndex pagesIndex = new PagesIndex.TestingFactory(false).newPagesIndex(ImmutableList.of(BIGINT, DOUBLE, INTEGER), 8);
+        pagesIndex.addPage(new Page(
+                createLongsBlock(5L, null, -3L, 7L, Long.MIN_VALUE, null, 2L, 1L),
+                createDoublesBlock(null, 1.5, -2.0, null, 0.25, 1e20, -1e20, 3.0),
+                createIntsBlock(null, null, 4, -1, 9, null, 3, -8)));
+        return pagesIndex;
+    }
+
+    private static FrameInfo frame(FrameBound.Type startType)
+    {
+        return new FrameInfo(
+                ROWS,
+                startType,
+                startType == PRECEDING ? Optional.of(3) : Optional.empty(),
+                Optional.empty(),
+                CURRENT_ROW,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty());
+    }
+}
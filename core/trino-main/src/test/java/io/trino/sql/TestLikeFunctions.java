@@ -17,8 +17,8 @@ import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import io.trino.operator.scalar.AbstractTestFunctions;
 import io.trino.spi.TrinoException;
-import io.trino.type.JoniRegexp;
 import io.trino.type.LikeFunctions;
+import io.trino.type.LikePattern;
 import org.testng.annotations.Test;
 
 import java.util.Optional;
@@ -31,6 +31,7 @@ import static io.trino.type.LikeFunctions.likePattern;
 import static io.trino.type.LikeFunctions.likeVarchar;
 import static io.trino.type.LikeFunctions.patternConstantPrefixBytes;
 import static io.trino.type.LikeFunctions.unescapeLiteralLikePattern;
+import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -50,7 +51,7 @@ public class TestLikeFunctions
     @Test
     public void testLikeBasic()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("f%b__"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("f%b__"));
         assertTrue(likeVarchar(utf8Slice("foobar"), regex));
         assertTrue(likeVarchar(offsetHeapSlice("foobar"), regex));
 
@@ -61,7 +62,7 @@ public class TestLikeFunctions
     @Test
     public void testLikeChar()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("f%b__"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("f%b__"));
         assertTrue(likeChar(6L, utf8Slice("foobar"), regex));
         assertTrue(likeChar(6L, offsetHeapSlice("foobar"), regex));
         assertTrue(likeChar(6L, utf8Slice("foob"), regex));
@@ -76,7 +77,7 @@ public class TestLikeFunctions
     @Test
     public void testLikeSpacesInPattern()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("ala  "));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("ala  "));
         assertTrue(likeVarchar(utf8Slice("ala  "), regex));
         assertFalse(likeVarchar(utf8Slice("ala"), regex));
 
@@ -88,28 +89,28 @@ public class TestLikeFunctions
     @Test
     public void testLikeNewlineInPattern()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("%o\nbar"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("%o\nbar"));
         assertTrue(likeVarchar(utf8Slice("foo\nbar"), regex));
     }
 
     @Test
     public void testLikeNewlineBeforeMatch()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("%b%"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("%b%"));
         assertTrue(likeVarchar(utf8Slice("foo\nbar"), regex));
     }
 
     @Test
     public void testLikeNewlineInMatch()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("f%b%"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("f%b%"));
         assertTrue(likeVarchar(utf8Slice("foo\nbar"), regex));
     }
 
     @Test(timeOut = 1000)
     public void testLikeUtf8Pattern()
     {
-        JoniRegexp regex = likePattern(utf8Slice("%\u540d\u8a89%"), utf8Slice("\\"));
+        LikePattern regex = likePattern(utf8Slice("%\u540d\u8a89%"), utf8Slice("\\"));
         assertFalse(likeVarchar(utf8Slice("foo"), regex));
     }
 
@@ -118,28 +119,28 @@ public class TestLikeFunctions
     public void testLikeInvalidUtf8Value()
     {
         Slice value = Slices.wrappedBuffer(new byte[] {'a', 'b', 'c', (byte) 0xFF, 'x', 'y'});
-        JoniRegexp regex = likePattern(utf8Slice("%b%"), utf8Slice("\\"));
+        LikePattern regex = likePattern(utf8Slice("%b%"), utf8Slice("\\"));
         assertTrue(likeVarchar(value, regex));
     }
 
     @Test
     public void testBackslashesNoSpecialTreatment()
     {
-        JoniRegexp regex = LikeFunctions.compileLikePattern(utf8Slice("\\abc\\/\\\\"));
+        LikePattern regex = LikeFunctions.compileLikePattern(utf8Slice("\\abc\\/\\\\"));
         assertTrue(likeVarchar(utf8Slice("\\abc\\/\\\\"), regex));
     }
 
     @Test
     public void testSelfEscaping()
     {
-        JoniRegexp regex = likePattern(utf8Slice("\\\\abc\\%"), utf8Slice("\\"));
+        LikePattern regex = likePattern(utf8Slice("\\\\abc\\%"), utf8Slice("\\"));
         assertTrue(likeVarchar(utf8Slice("\\abc%"), regex));
     }
 
     @Test
     public void testAlternateEscapedCharacters()
     {
-        JoniRegexp regex = likePattern(utf8Slice("xxx%x_abcxx"), utf8Slice("x"));
+        LikePattern regex = likePattern(utf8Slice("xxx%x_abcxx"), utf8Slice("x"));
         assertTrue(likeVarchar(utf8Slice("x%_abcx"), regex));
     }
 
@@ -157,6 +158,74 @@ public class TestLikeFunctions
                 .hasMessage("Escape character must be followed by '%', '_' or the escape character itself");
     }
 
+    @Test
+    public void testLikePatternShapes()
+    {
+        // literal
+        assertLike("abc", "abc", true);
+        assertLike("abc", "abcd", false);
+        assertLike("", "", true);
+        assertLike("", "a", false);
+        assertLike("abc", "abc\n", false);
+
+        // prefix, suffix and infix
+        assertLike("ab%", "abc", true);
+        assertLike("ab%", "ab", true);
+        assertLike("ab%", "a", false);
+        assertLike("%bc", "abc", true);
+        assertLike("%bc", "abcd", false);
+        assertLike("%b%", "abc", true);
+        assertLike("%b%", "ac", false);
+        assertLike("%\u540d%", "\u540d\u8a89", true);
+
+        // sequence of literals
+        assertLike("a%b%c", "abc", true);
+        assertLike("a%b%c", "axxbxxc", true);
+        assertLike("a%b%c", "acb", false);
+        assertLike("ab%bc", "abc", false);
+        assertLike("ab%bc", "abbc", true);
+        assertLike("%a%b%", "xaxbx", true);
+        assertLike("%a%b%", "xbxax", false);
+
+        // wildcards only
+        assertLike("%", "", true);
+        assertLike("%%", "abc", true);
+        assertLike("_", "", false);
+        assertLike("_", "\u540d", true);
+        assertLike("__", "\u540d", false);
+        assertLike("_%_", "ab", true);
+        assertLike("_%_", "a", false);
+
+        // general patterns
+        assertLike("a_c", "abc", true);
+        assertLike("a_c", "a\u540dc", true);
+        assertLike("a_c", "abbc", false);
+        assertLike("%a_c%", "xxabcxx", true);
+        assertLike("%a_c%", "xxabbcxx", false);
+        assertLike("a%_b", "aab", true);
+        assertLike("a%_b", "ab", false);
+        assertLike("%\n_", "a\nb", true);
+
+        // many states
+        assertLike("%a__________", "xxa0123456789", true);
+        assertLike("%a__________", "xxa012345678", false);
+        assertLike("%a__________", "a012345678a0123456789", true);
+    }
+
+    @Test
+    public void testLikeInvalidUtf8ValueWithAnyCharacter()
+    {
+        Slice value = Slices.wrappedBuffer(new byte[] {'a', (byte) 0xFF, 'c'});
+        assertTrue(likeVarchar(value, LikeFunctions.compileLikePattern(utf8Slice("a_c"))));
+        assertFalse(likeVarchar(value, LikeFunctions.compileLikePattern(utf8Slice("a_"))));
+    }
+
+    private static void assertLike(String pattern, String value, boolean expected)
+    {
+        assertEquals(likeVarchar(utf8Slice(value), LikeFunctions.compileLikePattern(utf8Slice(pattern))), expected, format("'%s' LIKE '%s'", value, pattern));
+        assertEquals(likeVarchar(offsetHeapSlice(value), LikeFunctions.compileLikePattern(utf8Slice(pattern))), expected, format("'%s' LIKE '%s'", value, pattern));
+    }
+
     @Test
     public void testIsLikePattern()
     {
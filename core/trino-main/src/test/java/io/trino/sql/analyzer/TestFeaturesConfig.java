@@ -85,11 +85,13 @@ public class TestFeaturesConfig
                 .setDefaultFilterFactorEnabled(false)
                 .setEnableForcedExchangeBelowGroupId(true)
                 .setExchangeCompressionEnabled(false)
+                .setSkewedPartitionDetectionEnabled(false)
                 .setExchangeDataIntegrityVerification(DataIntegrityVerification.ABORT)
                 .setLegacyRowToJsonCast(false)
                 .setEnableIntermediateAggregations(false)
                 .setPushAggregationThroughOuterJoin(true)
                 .setPushPartialAggregationThoughJoin(false)
+                .setEagerPartialAggregationEnabled(false)
                 .setParseDecimalLiteralsAsDouble(false)
                 .setForceSingleNodeOutput(true)
                 .setPagesIndexEagerCompactionEnabled(false)
@@ -112,7 +114,8 @@ public class TestFeaturesConfig
                 .setUseLegacyWindowFilterPushdown(false)
                 .setUseTableScanNodePartitioning(true)
                 .setTableScanNodePartitioningMinBucketToTaskRatio(0.5)
-                .setMergeProjectWithValues(true));
+                .setMergeProjectWithValues(true)
+                .setIncrementalMaterializedViewRefreshEnabled(true));
     }
 
     @Test
@@ -151,6 +154,7 @@ public class TestFeaturesConfig
                 .put("optimizer.dictionary-aggregation", "true")
                 .put("optimizer.push-aggregation-through-outer-join", "false")
                 .put("optimizer.push-partial-aggregation-through-join", "true")
+                .put("optimizer.eager-partial-aggregation-enabled", "true")
                 .put("regex-library", "RE2J")
                 .put("re2j.dfa-states-limit", "42")
                 .put("re2j.dfa-retries", "42")
@@ -164,6 +168,7 @@ public class TestFeaturesConfig
                 .put("memory-revoking-threshold", "0.2")
                 .put("memory-revoking-target", "0.8")
                 .put("exchange.compression-enabled", "true")
+                .put("exchange.skewed-partition-detection-enabled", "true")
                 .put("exchange.data-integrity-verification", "RETRY")
                 .put("deprecated.legacy-row-to-json-cast", "true")
                 .put("optimizer.enable-intermediate-aggregations", "true")
@@ -190,6 +195,7 @@ public class TestFeaturesConfig
                 .put("optimizer.use-table-scan-node-partitioning", "false")
                 .put("optimizer.table-scan-node-partitioning-min-bucket-to-task-ratio", "0.0")
                 .put("optimizer.merge-project-with-values", "false")
+                .put("incremental-materialized-view-refresh-enabled", "false")
                 .build();
 
         FeaturesConfig expected = new FeaturesConfig()
@@ -224,6 +230,7 @@ public class TestFeaturesConfig
                 .setDictionaryAggregation(true)
                 .setPushAggregationThroughOuterJoin(false)
                 .setPushPartialAggregationThoughJoin(true)
+                .setEagerPartialAggregationEnabled(true)
                 .setRegexLibrary(RE2J)
                 .setRe2JDfaStatesLimit(42)
                 .setRe2JDfaRetries(42)
@@ -237,6 +244,7 @@ public class TestFeaturesConfig
                 .setMemoryRevokingThreshold(0.2)
                 .setMemoryRevokingTarget(0.8)
                 .setExchangeCompressionEnabled(true)
+                .setSkewedPartitionDetectionEnabled(true)
                 .setExchangeDataIntegrityVerification(DataIntegrityVerification.RETRY)
                 .setLegacyRowToJsonCast(true)
                 .setEnableIntermediateAggregations(true)
@@ -263,7 +271,8 @@ public class TestFeaturesConfig
                 .setUseLegacyWindowFilterPushdown(true)
                 .setUseTableScanNodePartitioning(false)
                 .setTableScanNodePartitioningMinBucketToTaskRatio(0.0)
-                .setMergeProjectWithValues(false);
+                .setMergeProjectWithValues(false)
+                .setIncrementalMaterializedViewRefreshEnabled(false);
         assertFullMapping(properties, expected);
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.sql.analyzer;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.metadata.Metadata;
+import io.trino.sql.parser.ParsingOptions;
+import io.trino.sql.parser.SqlParser;
+import io.trino.sql.tree.QualifiedName;
+import io.trino.sql.tree.Query;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.trino.metadata.MetadataManager.createTestMetadataManager;
+import static io.trino.sql.SqlFormatter.formatSql;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestMaterializedViewIncrementalRefresh
+{
+    private static final SqlParser SQL_PARSER = new SqlParser();
+    private static final Metadata METADATA = createTestMetadataManager();
+    private static final QualifiedName STORAGE_TABLE = QualifiedName.of("storage");
+
+    @Test
+    public void testProjection()
+    {
+        Query query = parse("SELECT a * 2 AS doubled, b FROM source WHERE a > 0");
+        MaterializedViewIncrementalRefresh refresh = analyze(query).orElseThrow();
+        assertEquals(refresh.getSourceTable().getName(), QualifiedName.of("source"));
+        assertFalse(refresh.readsStorageTable());
+        // the result for the appended rows is appended to the storage table
+        assertEquals(refresh.rewrite(STORAGE_TABLE, ImmutableList.of("doubled", "b")), Optional.of(query));
+
+        assertTrue(analyze(parse("SELECT * FROM source s")).isPresent());
+    }
+
+    @Test
+    public void testAggregation()
+    {
+        assertRewrite(
+                "SELECT b, count(*) AS c, sum(a) AS s, min(a) AS mi, max(a) AS ma FROM source GROUP BY b",
+                ImmutableList.of("b", "c", "s", "mi", "ma"),
+                "SELECT \"b\", sum(\"c\"), sum(\"s\"), min(\"mi\"), max(\"ma\") " +
+                        "FROM (TABLE storage UNION ALL (SELECT b, count(*) AS c, sum(a) AS s, min(a) AS mi, max(a) AS ma FROM source GROUP BY b)) merged(\"b\", \"c\", \"s\", \"mi\", \"ma\") " +
+                        "GROUP BY \"b\"");
+
+        // grouping by ordinal
+        assertRewrite(
+                "SELECT b, count(a) AS c FROM source GROUP BY 1",
+                ImmutableList.of("b", "c"),
+                "SELECT \"b\", sum(\"c\") FROM (TABLE storage UNION ALL (SELECT b, count(a) AS c FROM source GROUP BY 1)) merged(\"b\", \"c\") GROUP BY \"b\"");
+
+        // global aggregation
+        assertRewrite(
+                "SELECT max(a) AS m FROM source",
+                ImmutableList.of("m"),
+                "SELECT max(\"m\") FROM (TABLE storage UNION ALL (SELECT max(a) AS m FROM source)) merged(\"m\")");
+
+        // the storage table does not match the view
+        MaterializedViewIncrementalRefresh refresh = analyze(parse("SELECT b, count(*) AS c FROM source GROUP BY b")).orElseThrow();
+        assertEquals(refresh.rewrite(STORAGE_TABLE, ImmutableList.of("b")), Optional.empty());
+    }
+
+    @Test
+    public void testNotIncremental()
+    {
+        // aggregations which cannot be merged
+        assertNotIncremental("SELECT b, avg(a) FROM source GROUP BY b");
+        assertNotIncremental("SELECT b, count(DISTINCT a) FROM source GROUP BY b");
+        assertNotIncremental("SELECT b, sum(a) FILTER (WHERE a > 0) FROM source GROUP BY b");
+        assertNotIncremental("SELECT count(*) FROM source GROUP BY b");
+        assertNotIncremental("SELECT b, count(*) FROM source GROUP BY b HAVING count(*) > 1");
+        assertNotIncremental("SELECT b, count(*) FROM source GROUP BY ROLLUP (b)");
+        assertNotIncremental("SELECT DISTINCT a FROM source");
+
+        // more than one relation
+        assertNotIncremental("SELECT * FROM source JOIN other ON source.a = other.a");
+        assertNotIncremental("SELECT * FROM source, other");
+        assertNotIncremental("SELECT * FROM source WHERE a IN (SELECT a FROM other)");
+        assertNotIncremental("SELECT * FROM (SELECT * FROM source)");
+        assertNotIncremental("SELECT * FROM source UNION ALL SELECT * FROM other");
+        assertNotIncremental("WITH t AS (SELECT * FROM source) SELECT * FROM t");
+
+        // results depending on the rows in the previous refreshes
+        assertNotIncremental("SELECT a, row_number() OVER (ORDER BY a) FROM source");
+        assertNotIncremental("SELECT a FROM source ORDER BY a LIMIT 10");
+
+        // results depending on the time of the refresh
+        assertNotIncremental("SELECT a, now() FROM source");
+        assertNotIncremental("SELECT a FROM source WHERE b > current_timestamp");
+        assertNotIncremental("SELECT a, current_date FROM source");
+        assertNotIncremental("SELECT a, localtime FROM source");
+        assertNotIncremental("SELECT a, current_timezone() FROM source");
+        assertNotIncremental("SELECT a, \"$current_timestamp\"() FROM source");
+        assertNotIncremental("SELECT a, \"$localtimestamp\"() FROM source");
+    }
+
+    private static void assertRewrite(String viewSql, List<String> storageColumns, String expectedSql)
+    {
+        MaterializedViewIncrementalRefresh refresh = analyze(parse(viewSql)).orElseThrow();
+        assertTrue(refresh.readsStorageTable());
+        Query rewritten = refresh.rewrite(STORAGE_TABLE, storageColumns).orElseThrow();
+        assertEquals(formatSql(rewritten), formatSql(parse(expectedSql)));
+    }
+
+    private static void assertNotIncremental(String viewSql)
+    {
+        assertFalse(analyze(parse(viewSql)).isPresent(), viewSql);
+    }
+
+    private static Optional<MaterializedViewIncrementalRefresh> analyze(Query query)
+    {
+        return MaterializedViewIncrementalRefresh.analyze(query, METADATA);
+    }
+
+    private static Query parse(String sql)
+    {
+        return (Query) SQL_PARSER.createStatement(sql, new ParsingOptions());
+    }
+}
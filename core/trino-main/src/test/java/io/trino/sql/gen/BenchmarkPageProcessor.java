@@ -18,6 +18,7 @@ import io.airlift.slice.Slice;
 import io.trino.metadata.Metadata;
 import io.trino.operator.DriverYieldSignal;
 import io.trino.operator.project.PageProcessor;
+import io.trino.operator.scalar.JsonPath;
 import io.trino.spi.Page;
 import io.trino.spi.PageBuilder;
 import io.trino.spi.block.Block;
@@ -25,6 +26,7 @@ import io.trino.sql.relational.CallExpression;
 import io.trino.sql.relational.RowExpression;
 import io.trino.sql.relational.SpecialForm;
 import io.trino.sql.relational.SpecialForm.Form;
+import io.trino.sql.tree.QualifiedName;
 import io.trino.tpch.LineItem;
 import io.trino.tpch.LineItemGenerator;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -40,9 +42,11 @@ import org.openjdk.jmh.runner.RunnerException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.trino.jmh.Benchmarks.benchmark;
 import static io.trino.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
@@ -54,8 +58,11 @@ import static io.trino.spi.type.BooleanType.BOOLEAN;
 import static io.trino.spi.type.DateType.DATE;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.spi.type.VarcharType.VARCHAR;
+import static io.trino.sql.analyzer.TypeSignatureProvider.fromTypes;
 import static io.trino.sql.relational.Expressions.constant;
 import static io.trino.sql.relational.Expressions.field;
+import static io.trino.type.JsonPathType.JSON_PATH;
+import static java.lang.String.format;
 
 @State(Scope.Thread)
 @OutputTimeUnit(TimeUnit.SECONDS)
@@ -72,9 +79,15 @@ public class BenchmarkPageProcessor
     private static final Slice MIN_SHIP_DATE = utf8Slice("1994-01-01");
     private static final Slice MAX_SHIP_DATE = utf8Slice("1995-01-01");
 
+    private static final int JSON = 0;
+
     private Page inputPage;
     private PageProcessor compiledProcessor;
 
+    private Page jsonInputPage;
+    private PageProcessor jsonProcessor;
+    private PageProcessor jsonProcessorWithoutCommonSubexpressions;
+
     @Setup
     public void setup()
     {
@@ -85,6 +98,17 @@ public class BenchmarkPageProcessor
         RowExpression projectExpression = createProjectExpression(metadata);
         ExpressionCompiler expressionCompiler = new ExpressionCompiler(metadata, new PageFunctionCompiler(metadata, 0));
         compiledProcessor = expressionCompiler.compilePageProcessor(Optional.of(filterExpression), ImmutableList.of(projectExpression)).get();
+
+        jsonInputPage = createJsonInputPage();
+        List<RowExpression> jsonProjections = createJsonProjectExpressions(metadata);
+        jsonProcessor = expressionCompiler.compilePageProcessor(Optional.empty(), jsonProjections).get();
+        PageFunctionCompiler pageFunctionCompiler = new PageFunctionCompiler(metadata, 0);
+        jsonProcessorWithoutCommonSubexpressions = new PageProcessor(
+                Optional.empty(),
+                jsonProjections.stream()
+                        .map(projection -> pageFunctionCompiler.compileProjection(projection, Optional.empty()).get())
+                        .collect(toImmutableList()),
+                OptionalInt.empty());
     }
 
     @Benchmark
@@ -98,13 +122,30 @@ public class BenchmarkPageProcessor
 
     @Benchmark
     public List<Optional<Page>> compiled()
+    {
+        return process(compiledProcessor, inputPage);
+    }
+
+    @Benchmark
+    public List<Optional<Page>> jsonCommonSubexpressions()
+    {
+        return process(jsonProcessor, jsonInputPage);
+    }
+
+    @Benchmark
+    public List<Optional<Page>> jsonWithoutCommonSubexpressions()
+    {
+        return process(jsonProcessorWithoutCommonSubexpressions, jsonInputPage);
+    }
+
+    private static List<Optional<Page>> process(PageProcessor processor, Page page)
     {
         return ImmutableList.copyOf(
-                compiledProcessor.process(
+                processor.process(
                         null,
                         new DriverYieldSignal(),
                         newSimpleAggregatedMemoryContext().newLocalMemoryContext(PageProcessor.class.getSimpleName()),
-                        inputPage));
+                        page));
     }
 
     public static void main(String[] args)
@@ -132,6 +173,17 @@ public class BenchmarkPageProcessor
         return pageBuilder.build();
     }
 
+    private static Page createJsonInputPage()
+    {
+        PageBuilder pageBuilder = new PageBuilder(ImmutableList.of(VARCHAR));
+        for (int i = 0; i < 10_000; i++) {
+            pageBuilder.declarePosition();
+            String json = format("{\"user\": {\"id\": %s, \"name\": \"User %s\"}, \"tags\": \"tag%s,tag%s\", \"comment\": \"%s\"}", i, i, i % 10, i % 7, "x".repeat(i % 100));
+            VARCHAR.writeSlice(pageBuilder.getBlockBuilder(JSON), utf8Slice(json));
+        }
+        return pageBuilder.build();
+    }
+
     private static final class Tpch1FilterAndProject
     {
         public static int process(Page page, int start, int end, PageBuilder pageBuilder)
@@ -209,6 +261,37 @@ public class BenchmarkPageProcessor
                                                 ImmutableList.of(field(QUANTITY, DOUBLE), constant(24.0, DOUBLE)))))));
     }
 
+    // select lower(json_extract_scalar(json, '$.user.name')),
+    //        upper(json_extract_scalar(json, '$.user.name')),
+    //        length(json_extract_scalar(json, '$.user.name')),
+    //        json_extract_scalar(json, '$.tags'),
+    //        length(json_extract_scalar(json, '$.tags'))
+    private static List<RowExpression> createJsonProjectExpressions(Metadata metadata)
+    {
+        RowExpression name = jsonExtractScalar(metadata, "$.user.name");
+        RowExpression tags = jsonExtractScalar(metadata, "$.tags");
+        return ImmutableList.of(
+                call(metadata, "lower", name),
+                call(metadata, "upper", name),
+                call(metadata, "length", name),
+                tags,
+                call(metadata, "length", tags));
+    }
+
+    private static RowExpression jsonExtractScalar(Metadata metadata, String path)
+    {
+        return new CallExpression(
+                metadata.resolveFunction(QualifiedName.of("json_extract_scalar"), fromTypes(VARCHAR, JSON_PATH)),
+                ImmutableList.of(field(JSON, VARCHAR), constant(new JsonPath(path), JSON_PATH)));
+    }
+
+    private static RowExpression call(Metadata metadata, String name, RowExpression argument)
+    {
+        return new CallExpression(
+                metadata.resolveFunction(QualifiedName.of(name), fromTypes(argument.getType())),
+                ImmutableList.of(argument));
+    }
+
     private static RowExpression createProjectExpression(Metadata metadata)
     {
         return new CallExpression(
@@ -99,6 +99,9 @@ public class TestJoinCompiler
 
             PageBuilder pageBuilder = new PageBuilder(ImmutableList.of(VARCHAR));
 
+            // hash codes of a range of positions must match the hash codes of each position
+            assertHashPositions(hashStrategy, leftBlockIndex, leftBlock.getPositionCount());
+
             for (int leftBlockPosition = 0; leftBlockPosition < leftBlock.getPositionCount(); leftBlockPosition++) {
                 // hash code of position must match block hash
                 assertEquals(hashStrategy.hashPosition(leftBlockIndex, leftBlockPosition), hashCodeOperator.hashCodeNullSafe(leftBlock, leftBlockPosition));
@@ -228,6 +231,8 @@ public class TestJoinCompiler
             leftBlocks[3] = booleanChannel.get(leftBlockIndex);
 
             int leftPositionCount = varcharChannel.get(leftBlockIndex).getPositionCount();
+            assertHashPositions(hashStrategy, leftBlockIndex, leftPositionCount);
+            assertHashPositions(expectedHashStrategy, leftBlockIndex, leftPositionCount);
             for (int leftBlockPosition = 0; leftBlockPosition < leftPositionCount; leftBlockPosition++) {
                 // hash code of position must match block hash
                 assertEquals(
@@ -360,4 +365,16 @@ public class TestJoinCompiler
             }
         }
     }
+
+    private static void assertHashPositions(PagesHashStrategy hashStrategy, int blockIndex, int positionCount)
+    {
+        for (int positionOffset = 0; positionOffset < positionCount; positionOffset++) {
+            int length = positionCount - positionOffset;
+            long[] hashes = new long[length];
+            hashStrategy.hashPositions(blockIndex, positionOffset, length, hashes);
+            for (int i = 0; i < length; i++) {
+                assertEquals(hashes[i], hashStrategy.hashPosition(blockIndex, positionOffset + i));
+            }
+        }
+    }
 }
@@ -17,27 +17,36 @@ import com.google.common.collect.ImmutableList;
 import io.trino.metadata.Metadata;
 import io.trino.operator.DriverYieldSignal;
 import io.trino.operator.Work;
+import io.trino.operator.project.ConjunctionPageFilter;
+import io.trino.operator.project.PageFilter;
 import io.trino.operator.project.PageProjection;
 import io.trino.operator.project.SelectedPositions;
 import io.trino.spi.Page;
 import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
 import io.trino.sql.relational.CallExpression;
+import io.trino.sql.relational.RowExpression;
+import io.trino.sql.relational.SpecialForm;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import static io.trino.metadata.MetadataManager.createTestMetadataManager;
 import static io.trino.spi.StandardErrorCode.NUMERIC_VALUE_OUT_OF_RANGE;
 import static io.trino.spi.function.OperatorType.ADD;
+import static io.trino.spi.function.OperatorType.LESS_THAN;
 import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
 import static io.trino.sql.relational.Expressions.call;
 import static io.trino.sql.relational.Expressions.constant;
 import static io.trino.sql.relational.Expressions.field;
+import static io.trino.sql.relational.SpecialForm.Form.AND;
 import static io.trino.testing.TestingConnectorSession.SESSION;
 import static io.trino.testing.assertions.TrinoExceptionAssert.assertTrinoExceptionThrownBy;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
@@ -49,6 +58,10 @@ public class TestPageFunctionCompiler
             METADATA.resolveOperator(ADD, ImmutableList.of(BIGINT, BIGINT)),
             field(0, BIGINT),
             constant(10L, BIGINT));
+    private static final CallExpression LESS_THAN_5_EXPRESSION = call(
+            METADATA.resolveOperator(LESS_THAN, ImmutableList.of(BIGINT, BIGINT)),
+            field(0, BIGINT),
+            constant(5L, BIGINT));
 
     @Test
     public void testFailureDoesNotCorruptFutureResults()
@@ -74,6 +87,39 @@ public class TestPageFunctionCompiler
         assertEquals(goodPage.getPositionCount(), goodResult.getPositionCount());
     }
 
+    @Test
+    public void testFilterActivePositions()
+    {
+        PageFunctionCompiler functionCompiler = new PageFunctionCompiler(METADATA, 0);
+        PageFilter filter = functionCompiler.compileFilter(LESS_THAN_5_EXPRESSION, Optional.empty()).get();
+
+        Page page = createLongBlockPage(0, 9, 1, 8, 2, 7, 3, 6, 4, 5);
+        assertEquals(positions(filter.filter(SESSION, page, SelectedPositions.positionsList(new int[] {1, 2, 4, 5, 9}, 1, 3))), ImmutableList.of(2, 4));
+        assertEquals(positions(filter.filter(SESSION, page, SelectedPositions.positionsRange(5, 4))), ImmutableList.of(6, 8));
+        assertEquals(positions(filter.filter(SESSION, page, SelectedPositions.positionsRange(6, 0))), ImmutableList.of());
+    }
+
+    @Test
+    public void testConjunctionFilter()
+    {
+        RowExpression conjunction = new SpecialForm(
+                AND,
+                BOOLEAN,
+                LESS_THAN_5_EXPRESSION,
+                call(METADATA.resolveOperator(LESS_THAN, ImmutableList.of(BIGINT, BIGINT)), constant(1L, BIGINT), field(1, BIGINT)));
+        Page page = new Page(
+                createLongBlockPage(0, 9, 1, 8, 2, 7, 3, 6, 4, 5).getBlock(0),
+                createLongBlockPage(5, 5, 0, 0, 5, 5, 0, 0, 5, 5).getBlock(0));
+
+        PageFilter filter = new PageFunctionCompiler(METADATA, 0, true).compileFilter(conjunction, Optional.empty()).get();
+        assertTrue(filter instanceof ConjunctionPageFilter);
+        assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(0, 4, 8));
+
+        filter = new PageFunctionCompiler(METADATA, 0, false).compileFilter(conjunction, Optional.empty()).get();
+        assertFalse(filter instanceof ConjunctionPageFilter);
+        assertEquals(positions(filter.filter(SESSION, page)), ImmutableList.of(0, 4, 8));
+    }
+
     @Test
     public void testGeneratedClassName()
     {
@@ -121,6 +167,15 @@ public class TestPageFunctionCompiler
                 noCacheCompiler.compileProjection(ADD_10_EXPRESSION, Optional.of("hint2")));
     }
 
+    private static List<Integer> positions(SelectedPositions selectedPositions)
+    {
+        ImmutableList.Builder<Integer> positions = ImmutableList.builder();
+        for (int i = 0; i < selectedPositions.size(); i++) {
+            positions.add(selectedPositions.isList() ? selectedPositions.getPositions()[selectedPositions.getOffset() + i] : selectedPositions.getOffset() + i);
+        }
+        return positions.build();
+    }
+
     private Block project(PageProjection projection, Page page, SelectedPositions selectedPositions)
     {
         Work<Block> work = projection.project(SESSION, new DriverYieldSignal(), page, selectedPositions);
@@ -36,12 +36,14 @@ import io.trino.sql.analyzer.Scope;
 import io.trino.sql.tree.Expression;
 import io.trino.sql.tree.NodeRef;
 import io.trino.transaction.TestingTransactionManager;
+import io.trino.type.LikePattern;
 import io.trino.type.Re2JRegexp;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiPredicate;
 
 import static com.google.common.base.Verify.verify;
@@ -231,7 +233,8 @@ public class TestLiteralEncoder
     @Test
     public void testEncodeRegex()
     {
-        assertRoundTrip(castVarcharToJoniRegexp(utf8Slice("[a-z]")), LIKE_PATTERN, (left, right) -> left.pattern().equals(right.pattern()));
+        assertRoundTrip(LikePattern.compile("[a-z]", Optional.empty()), LIKE_PATTERN, (left, right) -> left.getPattern().equals(right.getPattern()) && left.getEscape().equals(right.getEscape()));
+        assertRoundTrip(LikePattern.compile("a#%b", Optional.of('#')), LIKE_PATTERN, (left, right) -> left.getPattern().equals(right.getPattern()) && left.getEscape().equals(right.getEscape()));
         assertRoundTrip(castVarcharToJoniRegexp(utf8Slice("[a-z]")), JONI_REGEXP, (left, right) -> left.pattern().equals(right.pattern()));
         assertRoundTrip(castVarcharToRe2JRegexp(utf8Slice("[a-z]")), metadata.getType(RE2J_REGEXP_SIGNATURE), (left, right) -> left.pattern().equals(right.pattern()));
     }
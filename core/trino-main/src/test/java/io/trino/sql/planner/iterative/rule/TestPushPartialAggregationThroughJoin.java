@@ -15,14 +15,21 @@ package io.trino.sql.planner.iterative.rule;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import io.trino.cost.PlanNodeStatsEstimate;
+import io.trino.cost.SymbolStatsEstimate;
+import io.trino.sql.planner.Symbol;
 import io.trino.sql.planner.assertions.PlanMatchPattern;
 import io.trino.sql.planner.iterative.rule.test.BaseRuleTest;
+import io.trino.sql.planner.iterative.rule.test.RuleAssert;
 import io.trino.sql.planner.plan.JoinNode.EquiJoinClause;
+import io.trino.sql.planner.plan.PlanNodeId;
 import org.testng.annotations.Test;
 
 import java.util.Optional;
 
+import static io.trino.SystemSessionProperties.EAGER_PARTIAL_AGGREGATION_ENABLED;
 import static io.trino.SystemSessionProperties.PUSH_PARTIAL_AGGREGATION_THROUGH_JOIN;
+import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.sql.planner.assertions.PlanMatchPattern.aggregation;
 import static io.trino.sql.planner.assertions.PlanMatchPattern.equiJoinClause;
@@ -72,4 +79,67 @@ public class TestPushPartialAggregationThroughJoin
                                         values("LEFT_EQUI", "LEFT_NON_EQUI", "LEFT_GROUP_BY", "LEFT_AGGR", "LEFT_HASH")),
                                 values("RIGHT_EQUI", "RIGHT_NON_EQUI", "RIGHT_GROUP_BY", "RIGHT_HASH"))));
     }
+
+    @Test
+    public void testEagerAggregationWhenGroupingReducesRows()
+    {
+        assertEagerAggregation()
+                .overrideStats("fact", factStats(100))
+                .matches(project(ImmutableMap.of(
+                        "DIM_GROUP_BY", PlanMatchPattern.expression("DIM_GROUP_BY"),
+                        "SUM", PlanMatchPattern.expression("SUM")),
+                        join(INNER, ImmutableList.of(equiJoinClause("FACT_KEY", "DIM_KEY")),
+                                aggregation(
+                                        singleGroupingSet("FACT_KEY"),
+                                        ImmutableMap.of(Optional.of("SUM"), functionCall("sum", ImmutableList.of("FACT_VALUE"))),
+                                        Optional.empty(),
+                                        PARTIAL,
+                                        values("FACT_KEY", "FACT_VALUE")),
+                                values("DIM_KEY", "DIM_GROUP_BY"))));
+    }
+
+    @Test
+    public void testNoEagerAggregationWhenGroupingDoesNotReduceRows()
+    {
+        assertEagerAggregation()
+                .overrideStats("fact", factStats(9_000))
+                .doesNotFire();
+    }
+
+    @Test
+    public void testNoEagerAggregationWithoutStatistics()
+    {
+        assertEagerAggregation()
+                .overrideStats("fact", PlanNodeStatsEstimate.unknown())
+                .doesNotFire();
+    }
+
+    private RuleAssert assertEagerAggregation()
+    {
+        return tester().assertThat(new PushPartialAggregationThroughJoin())
+                .setSystemProperty(EAGER_PARTIAL_AGGREGATION_ENABLED, "true")
+                .on(p -> p.aggregation(ab -> ab
+                        .source(
+                                p.join(
+                                        INNER,
+                                        p.values(new PlanNodeId("fact"), p.symbol("FACT_KEY"), p.symbol("FACT_VALUE")),
+                                        p.values(new PlanNodeId("dim"), p.symbol("DIM_KEY"), p.symbol("DIM_GROUP_BY")),
+                                        ImmutableList.of(new EquiJoinClause(p.symbol("FACT_KEY"), p.symbol("DIM_KEY"))),
+                                        ImmutableList.of(p.symbol("FACT_VALUE")),
+                                        ImmutableList.of(p.symbol("DIM_GROUP_BY")),
+                                        Optional.empty()))
+                        .addAggregation(p.symbol("SUM", BIGINT), expression("sum(FACT_VALUE)"), ImmutableList.of(BIGINT))
+                        .singleGroupingSet(p.symbol("DIM_GROUP_BY"))
+                        .step(PARTIAL)));
+    }
+
+    private static PlanNodeStatsEstimate factStats(double keyDistinctValues)
+    {
+        return PlanNodeStatsEstimate.builder()
+                .setOutputRowCount(10_000)
+                .addSymbolStatistics(ImmutableMap.of(
+                        new Symbol("FACT_KEY"), new SymbolStatsEstimate(0, keyDistinctValues, 0, 8, keyDistinctValues),
+                        new Symbol("FACT_VALUE"), new SymbolStatsEstimate(0, 1_000, 0, 8, 1_000)))
+                .build();
+    }
 }
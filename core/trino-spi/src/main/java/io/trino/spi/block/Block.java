@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.function.BiConsumer;
 
 import static io.trino.spi.block.BlockUtil.checkArrayRange;
+import static io.trino.spi.block.BlockUtil.checkValidRegion;
 import static io.trino.spi.block.DictionaryId.randomDictionaryId;
 
 public interface Block
@@ -288,6 +289,76 @@ public interface Block
      */
     boolean isNull(int position);
 
+    /**
+     * Copies the null flags of the specified positions to {@code target} starting at index zero.
+     * Positions to copy are stored in a subarray within {@code positions} array
+     * that starts at {@code offset} and has length of {@code length}.
+     *
+     * @return false if none of the positions is null
+     */
+    default boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        checkArrayRange(positions, offset, length);
+
+        boolean hasNull = false;
+        for (int i = 0; i < length; i++) {
+            target[i] = isNull(positions[offset + i]);
+            hasNull |= target[i];
+        }
+        return hasNull;
+    }
+
+    /**
+     * Copies the null flags of the specified region to {@code target} starting at index zero.
+     * The specified region must be entirely contained within this block.
+     *
+     * @return false if none of the positions is null
+     */
+    default boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        checkValidRegion(getPositionCount(), positionOffset, length);
+
+        boolean hasNull = false;
+        for (int i = 0; i < length; i++) {
+            target[i] = isNull(positionOffset + i);
+            hasNull |= target[i];
+        }
+        return hasNull;
+    }
+
+    /**
+     * Copies the longs at offset zero in the values at the specified positions to {@code target}
+     * starting at index zero, as {@link #getLong(int, int)} reads them.
+     * Positions to copy are stored in a subarray within {@code positions} array
+     * that starts at {@code offset} and has length of {@code length}.
+     * The long copied for a null position is unspecified.
+     */
+    default void copyLongs(int[] positions, int offset, int length, long[] target)
+    {
+        checkArrayRange(positions, offset, length);
+
+        for (int i = 0; i < length; i++) {
+            int position = positions[offset + i];
+            target[i] = isNull(position) ? 0 : getLong(position, 0);
+        }
+    }
+
+    /**
+     * Copies the longs at offset zero in the values of the specified region to {@code target}
+     * starting at index zero, as {@link #getLong(int, int)} reads them.
+     * The specified region must be entirely contained within this block.
+     * The long copied for a null position is unspecified.
+     */
+    default void copyLongs(int positionOffset, int length, long[] target)
+    {
+        checkValidRegion(getPositionCount(), positionOffset, length);
+
+        for (int i = 0; i < length; i++) {
+            int position = positionOffset + i;
+            target[i] = isNull(position) ? 0 : getLong(position, 0);
+        }
+    }
+
     /**
      * Returns true if block data is fully loaded into memory.
      */
@@ -16,6 +16,8 @@ package io.trino.spi.block;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 
+import javax.annotation.Nullable;
+
 import java.util.Arrays;
 
 import static java.lang.Math.ceil;
@@ -181,6 +183,50 @@ final class BlockUtil
         return Arrays.copyOfRange(array, index, index + length);
     }
 
+    /**
+     * Copies the null flags of {@code positions} of a fixed width block to {@code target}.
+     */
+    static boolean copyIsNull(@Nullable boolean[] valueIsNull, int arrayOffset, int positionCount, int[] positions, int offset, int length, boolean[] target)
+    {
+        checkArrayRange(positions, offset, length);
+
+        if (valueIsNull == null) {
+            for (int i = 0; i < length; i++) {
+                checkValidPosition(positions[offset + i], positionCount);
+            }
+            Arrays.fill(target, 0, length, false);
+            return false;
+        }
+        boolean hasNull = false;
+        for (int i = 0; i < length; i++) {
+            int position = positions[offset + i];
+            checkValidPosition(position, positionCount);
+            target[i] = valueIsNull[position + arrayOffset];
+            hasNull |= target[i];
+        }
+        return hasNull;
+    }
+
+    /**
+     * Copies the null flags of a region of a fixed width block to {@code target}.
+     */
+    static boolean copyIsNull(@Nullable boolean[] valueIsNull, int arrayOffset, int positionCount, int positionOffset, int length, boolean[] target)
+    {
+        checkValidRegion(positionCount, positionOffset, length);
+
+        if (valueIsNull == null) {
+            Arrays.fill(target, 0, length, false);
+            return false;
+        }
+        System.arraycopy(valueIsNull, positionOffset + arrayOffset, target, 0, length);
+        for (int i = 0; i < length; i++) {
+            if (target[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     static int countUsedPositions(boolean[] positions)
     {
         int used = 0;
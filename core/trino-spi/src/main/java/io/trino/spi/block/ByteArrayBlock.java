@@ -141,6 +141,18 @@ public class ByteArrayBlock
         return valueIsNull != null && valueIsNull[position + arrayOffset];
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positions, offset, length, target);
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positionOffset, length, target);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
@@ -219,6 +231,31 @@ public class ByteArrayBlock
         return sb.toString();
     }
 
+    /**
+     * Returns the array backing the values of this block. The value at a position is at index
+     * {@code position + getRawArrayOffset()} of the array, which must not be modified.
+     */
+    public byte[] getRawValues()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the array backing the null flags of this block, or null if the block has no nulls.
+     * The flag of a position is at index {@code position + getRawArrayOffset()} of the array,
+     * which must not be modified.
+     */
+    @Nullable
+    public boolean[] getRawValueIsNull()
+    {
+        return valueIsNull;
+    }
+
+    public int getRawArrayOffset()
+    {
+        return arrayOffset;
+    }
+
     Slice getValuesSlice()
     {
         return Slices.wrappedBuffer(values, arrayOffset, positionCount);
@@ -371,6 +371,43 @@ public class DictionaryBlock
         return dictionary.isNull(getId(position));
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        return dictionary.copyIsNull(getIds(positions, offset, length), 0, length, target);
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        checkValidRegion(positionCount, positionOffset, length);
+        return dictionary.copyIsNull(ids, idsOffset + positionOffset, length, target);
+    }
+
+    @Override
+    public void copyLongs(int[] positions, int offset, int length, long[] target)
+    {
+        dictionary.copyLongs(getIds(positions, offset, length), 0, length, target);
+    }
+
+    @Override
+    public void copyLongs(int positionOffset, int length, long[] target)
+    {
+        checkValidRegion(positionCount, positionOffset, length);
+        dictionary.copyLongs(ids, idsOffset + positionOffset, length, target);
+    }
+
+    private int[] getIds(int[] positions, int offset, int length)
+    {
+        checkArrayRange(positions, offset, length);
+
+        int[] positionIds = new int[length];
+        for (int i = 0; i < length; i++) {
+            positionIds[i] = getId(positions[offset + i]);
+        }
+        return positionIds;
+    }
+
     @Override
     public Block getPositions(int[] positions, int offset, int length)
     {
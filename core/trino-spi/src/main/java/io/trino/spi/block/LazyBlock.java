@@ -253,6 +253,30 @@ public class LazyBlock
         return getBlock().isNull(position);
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        return getBlock().copyIsNull(positions, offset, length, target);
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        return getBlock().copyIsNull(positionOffset, length, target);
+    }
+
+    @Override
+    public void copyLongs(int[] positions, int offset, int length, long[] target)
+    {
+        getBlock().copyLongs(positions, offset, length, target);
+    }
+
+    @Override
+    public void copyLongs(int positionOffset, int length, long[] target)
+    {
+        getBlock().copyLongs(positionOffset, length, target);
+    }
+
     @Override
     public final List<Block> getChildren()
     {
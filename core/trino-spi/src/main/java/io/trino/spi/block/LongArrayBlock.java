@@ -188,6 +188,38 @@ public class LongArrayBlock
         return valueIsNull != null && valueIsNull[position + arrayOffset];
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positions, offset, length, target);
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positionOffset, length, target);
+    }
+
+    @Override
+    public void copyLongs(int[] positions, int offset, int length, long[] target)
+    {
+        checkArrayRange(positions, offset, length);
+
+        for (int i = 0; i < length; i++) {
+            int position = positions[offset + i];
+            checkReadablePosition(position);
+            target[i] = values[position + arrayOffset];
+        }
+    }
+
+    @Override
+    public void copyLongs(int positionOffset, int length, long[] target)
+    {
+        checkValidRegion(getPositionCount(), positionOffset, length);
+
+        System.arraycopy(values, positionOffset + arrayOffset, target, 0, length);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
@@ -266,6 +298,31 @@ public class LongArrayBlock
         return sb.toString();
     }
 
+    /**
+     * Returns the array backing the values of this block. The value at a position is at index
+     * {@code position + getRawArrayOffset()} of the array, which must not be modified.
+     */
+    public long[] getRawValues()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the array backing the null flags of this block, or null if the block has no nulls.
+     * The flag of a position is at index {@code position + getRawArrayOffset()} of the array,
+     * which must not be modified.
+     */
+    @Nullable
+    public boolean[] getRawValueIsNull()
+    {
+        return valueIsNull;
+    }
+
+    public int getRawArrayOffset()
+    {
+        return arrayOffset;
+    }
+
     Slice getValuesSlice()
     {
         return Slices.wrappedLongArray(values, arrayOffset, positionCount);
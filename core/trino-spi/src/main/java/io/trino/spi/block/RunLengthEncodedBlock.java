@@ -18,6 +18,7 @@ import io.trino.spi.predicate.Utils;
 import io.trino.spi.type.Type;
 import org.openjdk.jol.info.ClassLayout;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
 
@@ -278,6 +279,44 @@ public class RunLengthEncodedBlock
         return value.isNull(0);
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        checkArrayRange(positions, offset, length);
+        for (int i = 0; i < length; i++) {
+            checkReadablePosition(positions[offset + i]);
+        }
+        boolean isNull = value.isNull(0);
+        Arrays.fill(target, 0, length, isNull);
+        return isNull && length > 0;
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        checkValidRegion(positionCount, positionOffset, length);
+        boolean isNull = value.isNull(0);
+        Arrays.fill(target, 0, length, isNull);
+        return isNull && length > 0;
+    }
+
+    @Override
+    public void copyLongs(int[] positions, int offset, int length, long[] target)
+    {
+        checkArrayRange(positions, offset, length);
+        for (int i = 0; i < length; i++) {
+            checkReadablePosition(positions[offset + i]);
+        }
+        Arrays.fill(target, 0, length, value.isNull(0) ? 0 : value.getLong(0, 0));
+    }
+
+    @Override
+    public void copyLongs(int positionOffset, int length, long[] target)
+    {
+        checkValidRegion(positionCount, positionOffset, length);
+        Arrays.fill(target, 0, length, value.isNull(0) ? 0 : value.getLong(0, 0));
+    }
+
     @Override
     public String toString()
     {
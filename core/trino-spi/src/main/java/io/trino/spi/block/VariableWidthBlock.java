@@ -213,6 +213,52 @@ public class VariableWidthBlock
         return new VariableWidthBlock(0, length, newSlice, newOffsets, newValueIsNull);
     }
 
+    @Override
+    public boolean copyIsNull(int[] positions, int offset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positions, offset, length, target);
+    }
+
+    @Override
+    public boolean copyIsNull(int positionOffset, int length, boolean[] target)
+    {
+        return BlockUtil.copyIsNull(valueIsNull, arrayOffset, positionCount, positionOffset, length, target);
+    }
+
+    /**
+     * Returns the slice containing the bytes of the values of this block.
+     */
+    public Slice getRawSlice()
+    {
+        return slice;
+    }
+
+    /**
+     * Returns the array of the offsets of the values in {@link #getRawSlice()}. The value at a position
+     * starts at index {@code position + getRawArrayOffset()} of the array and ends at the next index.
+     * The array must not be modified.
+     */
+    public int[] getRawOffsets()
+    {
+        return offsets;
+    }
+
+    /**
+     * Returns the array backing the null flags of this block, or null if the block has no nulls.
+     * The flag of a position is at index {@code position + getRawArrayOffset()} of the array,
+     * which must not be modified.
+     */
+    @Nullable
+    public boolean[] getRawValueIsNull()
+    {
+        return valueIsNull;
+    }
+
+    public int getRawArrayOffset()
+    {
+        return arrayOffset;
+    }
+
     @Override
     public String toString()
     {
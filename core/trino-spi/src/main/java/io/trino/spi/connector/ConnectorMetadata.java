@@ -242,6 +242,17 @@ public interface ConnectorMetadata
         return TableStatistics.empty();
     }
 
+    /**
+     * Returns an opaque token identifying the version of the table data visible through the handle,
+     * such as a snapshot id. Two handles of the same table with equal tokens must return the same rows,
+     * which allows the engine to reuse results computed from them. Return empty if the table data can
+     * change without the token changing.
+     */
+    default Optional<String> getTableVersionToken(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        return Optional.empty();
+    }
+
     /**
      * Creates a schema.
      */
@@ -1141,6 +1152,16 @@ public interface ConnectorMetadata
         return new MaterializedViewFreshness(false);
     }
 
+    /**
+     * Returns a handle that reads only the rows added to the source table since the materialized view was last refreshed,
+     * or empty if the changes cannot be expressed as appended rows and the view has to be fully refreshed.
+     * The engine uses the handle to refresh views that are simple projections or mergeable aggregations over a single table.
+     */
+    default Optional<ConnectorTableHandle> getMaterializedViewIncrementalSource(ConnectorSession session, SchemaTableName viewName, ConnectorTableHandle sourceTableHandle)
+    {
+        return Optional.empty();
+    }
+
     default Optional<TableScanRedirectApplicationResult> applyTableScanRedirect(ConnectorSession session, ConnectorTableHandle tableHandle)
     {
         return Optional.empty();
@@ -40,12 +40,15 @@ import io.trino.spi.type.VarcharType;
 
 import javax.annotation.Nullable;
 
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -56,6 +59,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.emptyToNull;
@@ -65,6 +69,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static io.trino.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static io.trino.plugin.jdbc.JdbcSplitSessionProperties.getReadParallelism;
 import static io.trino.plugin.jdbc.PredicatePushdownController.DISABLE_PUSHDOWN;
 import static io.trino.plugin.jdbc.StandardColumnMappings.bigintWriteFunction;
 import static io.trino.plugin.jdbc.StandardColumnMappings.booleanWriteFunction;
@@ -109,6 +114,8 @@ public abstract class BaseJdbcClient
 {
     private static final Logger log = Logger.get(BaseJdbcClient.class);
 
+    private static final Set<Integer> SPLIT_COLUMN_JDBC_TYPES = ImmutableSet.of(Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.DATE);
+
     /**
      * @deprecated To be removed after {{@link #legacyToWriteMapping} is removed.
      */
@@ -397,9 +404,138 @@ public abstract class BaseJdbcClient
     @Override
     public ConnectorSplitSource getSplits(ConnectorSession session, JdbcTableHandle tableHandle)
     {
+        // A limit applies to the whole result, and aggregations and joins are not named relations, so such queries are not divided
+        if (tableHandle.isNamedRelation() && tableHandle.getLimit().isEmpty()) {
+            int readParallelism = getReadParallelism(session);
+            if (readParallelism > 1) {
+                List<String> predicates = getSplitPredicates(session, tableHandle, readParallelism);
+                if (!predicates.isEmpty()) {
+                    return new FixedSplitSource(predicates.stream()
+                            .map(predicate -> new JdbcSplit(Optional.of(predicate)))
+                            .collect(toImmutableList()));
+                }
+            }
+        }
         return new FixedSplitSource(ImmutableList.of(new JdbcSplit(Optional.empty())));
     }
 
+    /**
+     * Returns predicates dividing the rows of the table into at most {@code splitCount} disjoint parts,
+     * or an empty list if the table should be read by a single query. By default, the table is divided
+     * into ranges of a single column primary key, so that every part is read using the index.
+     */
+    protected List<String> getSplitPredicates(ConnectorSession session, JdbcTableHandle tableHandle, int splitCount)
+    {
+        Optional<JdbcColumnHandle> splitColumn = getSplitColumn(session, tableHandle);
+        if (splitColumn.isEmpty()) {
+            return ImmutableList.of();
+        }
+        String column = quoted(splitColumn.get().getColumnName());
+        boolean isDate = splitColumn.get().getJdbcTypeHandle().getJdbcType() == Types.DATE;
+        String sql = format("SELECT min(%s), max(%s) FROM %s", column, column, quoted(tableHandle.getRequiredNamedRelation().getRemoteTableName()));
+
+        try (Connection connection = connectionFactory.openConnection(session);
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                return ImmutableList.of();
+            }
+            long min;
+            long max;
+            if (isDate) {
+                LocalDate minDate = resultSet.getObject(1, LocalDate.class);
+                LocalDate maxDate = resultSet.getObject(2, LocalDate.class);
+                if (minDate == null || maxDate == null) {
+                    return ImmutableList.of();
+                }
+                min = minDate.toEpochDay();
+                max = maxDate.toEpochDay();
+            }
+            else {
+                min = resultSet.getLong(1);
+                max = resultSet.getLong(2);
+                if (resultSet.wasNull()) {
+                    return ImmutableList.of();
+                }
+            }
+            // dates are written using the JDBC escape syntax, which the drivers translate to the literal of the database
+            LongFunction<String> literal = isDate ? value -> format("{d '%s'}", LocalDate.ofEpochDay(value)) : Long::toString;
+            return getRangePredicates(column, getSplitBoundaries(min, max, splitCount), literal);
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+    }
+
+    /**
+     * Returns the column whose value ranges define the splits of the table. By default, this is
+     * a primary key consisting of a single integer or date column.
+     */
+    protected Optional<JdbcColumnHandle> getSplitColumn(ConnectorSession session, JdbcTableHandle tableHandle)
+    {
+        RemoteTableName remoteTableName = tableHandle.getRequiredNamedRelation().getRemoteTableName();
+        List<String> primaryKey = new ArrayList<>();
+        try (Connection connection = connectionFactory.openConnection(session);
+                ResultSet resultSet = connection.getMetaData().getPrimaryKeys(
+                        remoteTableName.getCatalogName().orElse(null),
+                        remoteTableName.getSchemaName().orElse(null),
+                        remoteTableName.getTableName())) {
+            while (resultSet.next()) {
+                primaryKey.add(resultSet.getString("COLUMN_NAME"));
+            }
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+        if (primaryKey.size() != 1) {
+            return Optional.empty();
+        }
+        return getColumns(session, tableHandle).stream()
+                .filter(column -> column.getColumnName().equals(primaryKey.get(0)))
+                .filter(column -> SPLIT_COLUMN_JDBC_TYPES.contains(column.getJdbcTypeHandle().getJdbcType()))
+                .findFirst();
+    }
+
+    /**
+     * Returns at most {@code splitCount - 1} increasing values dividing {@code [min, max]} into ranges of equal width.
+     */
+    protected static List<Long> getSplitBoundaries(long min, long max, int splitCount)
+    {
+        checkArgument(min <= max, "min is greater than max");
+        BigInteger width = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        ImmutableList.Builder<Long> boundaries = ImmutableList.builder();
+        long previous = min;
+        for (int i = 1; i < splitCount; i++) {
+            long boundary = width.multiply(BigInteger.valueOf(i))
+                    .divide(BigInteger.valueOf(splitCount))
+                    .add(BigInteger.valueOf(min))
+                    .longValueExact();
+            if (boundary > previous) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        return boundaries.build();
+    }
+
+    /**
+     * Returns predicates selecting the ranges between the boundaries. The first and the last range are unbounded,
+     * so rows added after the boundaries were computed are read as well. Null values belong to the first range.
+     */
+    protected static List<String> getRangePredicates(String column, List<Long> boundaries, LongFunction<String> literal)
+    {
+        if (boundaries.isEmpty()) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<String> predicates = ImmutableList.builder();
+        predicates.add(format("(%1$s < %2$s OR %1$s IS NULL)", column, literal.apply(boundaries.get(0))));
+        for (int i = 1; i < boundaries.size(); i++) {
+            predicates.add(format("%1$s >= %2$s AND %1$s < %3$s", column, literal.apply(boundaries.get(i - 1)), literal.apply(boundaries.get(i))));
+        }
+        predicates.add(format("%s >= %s", column, literal.apply(boundaries.get(boundaries.size() - 1))));
+        return predicates.build();
+    }
+
     @Override
     public Connection getConnection(ConnectorSession session, JdbcSplit split)
             throws SQLException
@@ -0,0 +1,302 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.jdbc;
+
+import com.google.common.base.VerifyException;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.trino.spi.Page;
+import io.trino.spi.PageBuilder;
+import io.trino.spi.TrinoException;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.type.Type;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the result set directly into pages. The writer of every column is chosen once, based on
+ * the Java type of the column, so no per value dispatch on the type is done, unlike when a
+ * {@link JdbcRecordCursor} is read through a {@link io.trino.spi.connector.RecordPageSource}.
+ */
+public class JdbcPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger log = Logger.get(JdbcPageSource.class);
+
+    // bounds the page size when no columns are read, for example for count(*)
+    private static final int MAX_POSITIONS_PER_PAGE = 8192;
+
+    private final JdbcClient jdbcClient;
+    private final ExecutorService executor;
+    private final ColumnWriter[] columnWriters;
+    private final PageBuilder pageBuilder;
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    @Nullable
+    private ResultSet resultSet;
+    private long readTimeNanos;
+    private boolean finished;
+    private boolean closed;
+
+    public JdbcPageSource(JdbcClient jdbcClient, ExecutorService executor, ConnectorSession session, JdbcSplit split, JdbcTableHandle table, List<JdbcColumnHandle> columnHandles)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.executor = requireNonNull(executor, "executor is null");
+
+        List<Type> types = columnHandles.stream()
+                .map(JdbcColumnHandle::getColumnType)
+                .collect(toImmutableList());
+        this.pageBuilder = new PageBuilder(types);
+        this.columnWriters = new ColumnWriter[columnHandles.size()];
+
+        try {
+            connection = jdbcClient.getConnection(session, split);
+
+            for (int i = 0; i < columnHandles.size(); i++) {
+                JdbcColumnHandle columnHandle = columnHandles.get(i);
+                ColumnMapping columnMapping = jdbcClient.toColumnMapping(session, connection, columnHandle.getJdbcTypeHandle())
+                        .orElseThrow(() -> new VerifyException("Unsupported column type"));
+                verify(
+                        columnHandle.getColumnType().equals(columnMapping.getType()),
+                        "Type mismatch: column handle has type %s but %s is mapped to %s",
+                        columnHandle.getColumnType(), columnHandle.getJdbcTypeHandle(), columnMapping.getType());
+                columnWriters[i] = createColumnWriter(columnMapping.getType(), columnMapping.getReadFunction(), i + 1);
+            }
+
+            statement = jdbcClient.buildSql(session, connection, split, table, columnHandles);
+        }
+        catch (SQLException | RuntimeException e) {
+            throw handleSqlException(e);
+        }
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return 0;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished || closed;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getRetainedSizeInBytes();
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (isFinished()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (resultSet == null) {
+                resultSet = executeQuery();
+            }
+            while (!pageBuilder.isFull() && pageBuilder.getPositionCount() < MAX_POSITIONS_PER_PAGE) {
+                if (!resultSet.next()) {
+                    finished = true;
+                    break;
+                }
+                pageBuilder.declarePosition();
+                for (int column = 0; column < columnWriters.length; column++) {
+                    columnWriters[column].write(resultSet, pageBuilder.getBlockBuilder(column));
+                }
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            throw handleSqlException(e);
+        }
+        finally {
+            readTimeNanos += System.nanoTime() - start;
+        }
+
+        if (pageBuilder.isEmpty()) {
+            return null;
+        }
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        return page;
+    }
+
+    private ResultSet executeQuery()
+            throws SQLException
+    {
+        Future<ResultSet> resultSetFuture = executor.submit(() -> {
+            log.debug("Executing: %s", statement.toString());
+            return statement.executeQuery();
+        });
+        try {
+            // statement.executeQuery() may block uninterruptedly, using async way so we are able to cancel remote query
+            // See javadoc of java.sql.Connection.setNetworkTimeout
+            return resultSetFuture.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                SQLException cause = (SQLException) e.getCause();
+                SQLException sqlException = new SQLException(cause.getMessage(), cause.getSQLState(), cause.getErrorCode(), e);
+                if (cause.getNextException() != null) {
+                    sqlException.setNextException(cause.getNextException());
+                }
+                throw sqlException;
+            }
+            throw new RuntimeException(e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultSetFuture.cancel(true);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // use try with resources to close everything properly
+        try (Connection connection = this.connection;
+                Statement statement = this.statement;
+                ResultSet resultSet = this.resultSet) {
+            if (statement != null) {
+                try {
+                    // Trying to cancel running statement as close() may not do it
+                    statement.cancel();
+                }
+                catch (SQLException ignored) {
+                    // statement already closed or cancel is not supported
+                }
+            }
+            if (connection != null) {
+                jdbcClient.abortReadConnection(connection);
+            }
+        }
+        catch (SQLException | RuntimeException e) {
+            // ignore exception from close
+        }
+    }
+
+    private RuntimeException handleSqlException(Exception e)
+    {
+        try {
+            close();
+        }
+        catch (Exception closeException) {
+            // Self-suppression not permitted
+            if (e != closeException) {
+                e.addSuppressed(closeException);
+            }
+        }
+        return new TrinoException(JDBC_ERROR, e);
+    }
+
+    private static ColumnWriter createColumnWriter(Type type, ReadFunction readFunction, int columnIndex)
+    {
+        Class<?> javaType = type.getJavaType();
+        if (javaType == boolean.class) {
+            BooleanReadFunction booleanReadFunction = (BooleanReadFunction) readFunction;
+            return (resultSet, output) -> {
+                if (booleanReadFunction.isNull(resultSet, columnIndex)) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeBoolean(output, booleanReadFunction.readBoolean(resultSet, columnIndex));
+                }
+            };
+        }
+        if (javaType == long.class) {
+            LongReadFunction longReadFunction = (LongReadFunction) readFunction;
+            return (resultSet, output) -> {
+                if (longReadFunction.isNull(resultSet, columnIndex)) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeLong(output, longReadFunction.readLong(resultSet, columnIndex));
+                }
+            };
+        }
+        if (javaType == double.class) {
+            DoubleReadFunction doubleReadFunction = (DoubleReadFunction) readFunction;
+            return (resultSet, output) -> {
+                if (doubleReadFunction.isNull(resultSet, columnIndex)) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeDouble(output, doubleReadFunction.readDouble(resultSet, columnIndex));
+                }
+            };
+        }
+        if (javaType == Slice.class) {
+            SliceReadFunction sliceReadFunction = (SliceReadFunction) readFunction;
+            return (resultSet, output) -> {
+                if (sliceReadFunction.isNull(resultSet, columnIndex)) {
+                    output.appendNull();
+                }
+                else {
+                    Slice slice = sliceReadFunction.readSlice(resultSet, columnIndex);
+                    type.writeSlice(output, slice, 0, slice.length());
+                }
+            };
+        }
+        ObjectReadFunction objectReadFunction = (ObjectReadFunction) readFunction;
+        return (resultSet, output) -> {
+            if (objectReadFunction.isNull(resultSet, columnIndex)) {
+                output.appendNull();
+            }
+            else {
+                type.writeObject(output, objectReadFunction.readObject(resultSet, columnIndex));
+            }
+        };
+    }
+
+    private interface ColumnWriter
+    {
+        void write(ResultSet resultSet, BlockBuilder output)
+                throws SQLException;
+    }
+}
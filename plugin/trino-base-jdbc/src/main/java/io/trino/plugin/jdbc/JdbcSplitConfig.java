@@ -0,0 +1,40 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.jdbc;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+
+import javax.validation.constraints.Min;
+
+public class JdbcSplitConfig
+{
+    // Reading a table in parallel requires an additional query to find the ranges of the splits,
+    // and puts more load on the remote database, so tables are read by a single query by default
+    private int readParallelism = 1;
+
+    @Min(1)
+    public int getReadParallelism()
+    {
+        return readParallelism;
+    }
+
+    @Config("read-parallelism")
+    @ConfigDescription("Maximum number of splits a table is divided into, when it can be read in parallel")
+    public JdbcSplitConfig setReadParallelism(int readParallelism)
+    {
+        this.readParallelism = readParallelism;
+        return this;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.plugin.base.session.SessionPropertiesProvider;
+import io.trino.spi.TrinoException;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.session.PropertyMetadata;
+
+import javax.inject.Inject;
+
+import java.util.List;
+
+import static io.trino.spi.StandardErrorCode.INVALID_SESSION_PROPERTY;
+import static io.trino.spi.session.PropertyMetadata.integerProperty;
+import static java.lang.String.format;
+
+public class JdbcSplitSessionProperties
+        implements SessionPropertiesProvider
+{
+    public static final String READ_PARALLELISM = "read_parallelism";
+
+    private final List<PropertyMetadata<?>> properties;
+
+    @Inject
+    public JdbcSplitSessionProperties(JdbcSplitConfig jdbcSplitConfig)
+    {
+        properties = ImmutableList.of(
+                integerProperty(
+                        READ_PARALLELISM,
+                        "Maximum number of splits a table is divided into, when it can be read in parallel",
+                        jdbcSplitConfig.getReadParallelism(),
+                        JdbcSplitSessionProperties::validateReadParallelism,
+                        false));
+    }
+
+    @Override
+    public List<PropertyMetadata<?>> getSessionProperties()
+    {
+        return properties;
+    }
+
+    public static int getReadParallelism(ConnectorSession session)
+    {
+        return session.getProperty(READ_PARALLELISM, Integer.class);
+    }
+
+    private static void validateReadParallelism(int readParallelism)
+    {
+        if (readParallelism < 1) {
+            throw new TrinoException(INVALID_SESSION_PROPERTY, format("%s must be greater than 0: %s", READ_PARALLELISM, readParallelism));
+        }
+    }
+}
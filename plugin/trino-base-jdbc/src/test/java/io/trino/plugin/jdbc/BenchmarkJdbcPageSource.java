@@ -0,0 +1,173 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.Page;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.RecordPageSource;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.testing.TestingConnectorSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static org.testng.Assert.assertEquals;
+
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkJdbcPageSource
+{
+    private static final int ROWS = 100_000;
+
+    @Benchmark
+    public long recordPageSource(BenchmarkData data)
+            throws IOException
+    {
+        return readPositions(new RecordPageSource(new JdbcRecordSet(data.jdbcClient, data.executor, data.session, data.split, data.table, data.columns)));
+    }
+
+    @Benchmark
+    public long jdbcPageSource(BenchmarkData data)
+            throws IOException
+    {
+        return readPositions(new JdbcPageSource(data.jdbcClient, data.executor, data.session, data.split, data.table, data.columns));
+    }
+
+    private static long readPositions(ConnectorPageSource pageSource)
+            throws IOException
+    {
+        long positions = 0;
+        try (pageSource) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page != null) {
+                    positions += page.getPositionCount();
+                }
+            }
+        }
+        return positions;
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"bigint", "double", "varchar", "date", "all"})
+        private String columnType = "all";
+
+        private final ConnectorSession session = TestingConnectorSession.builder()
+                .setPropertyMetadata(new JdbcSplitSessionProperties(new JdbcSplitConfig()).getSessionProperties())
+                .build();
+
+        private TestingDatabase database;
+        private ExecutorService executor;
+        private JdbcClient jdbcClient;
+        private JdbcTableHandle table;
+        private JdbcSplit split;
+        private List<JdbcColumnHandle> columns;
+
+        @Setup
+        public void setup()
+                throws Exception
+        {
+            database = new TestingDatabase();
+            try (Statement statement = database.getConnection().createStatement()) {
+                statement.execute("CREATE TABLE example.benchmark(id bigint, price double, comment varchar, ship_date date)");
+                statement.execute("" +
+                        "INSERT INTO example.benchmark " +
+                        "SELECT x, x * 1.5, 'comment ' || x, DATEADD('DAY', MOD(x, 3650), DATE '2000-01-01') " +
+                        "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            }
+            executor = newDirectExecutorService();
+            jdbcClient = database.getJdbcClient();
+            table = database.getTableHandle(session, new SchemaTableName("example", "benchmark"));
+            split = database.getSplit(session, table);
+
+            Map<String, JdbcColumnHandle> columnHandles = database.getColumnHandles(session, table);
+            switch (columnType) {
+                case "bigint":
+                    columns = ImmutableList.of(columnHandles.get("id"));
+                    break;
+                case "double":
+                    columns = ImmutableList.of(columnHandles.get("price"));
+                    break;
+                case "varchar":
+                    columns = ImmutableList.of(columnHandles.get("comment"));
+                    break;
+                case "date":
+                    columns = ImmutableList.of(columnHandles.get("ship_date"));
+                    break;
+                case "all":
+                    columns = ImmutableList.copyOf(columnHandles.values());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported column type: " + columnType);
+            }
+        }
+
+        @TearDown
+        public void tearDown()
+                throws Exception
+        {
+            database.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verify()
+            throws Exception
+    {
+        BenchmarkData data = new BenchmarkData();
+        data.setup();
+        try {
+            assertEquals(recordPageSource(data), ROWS);
+            assertEquals(jdbcPageSource(data), ROWS);
+        }
+        finally {
+            data.tearDown();
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        benchmark(BenchmarkJdbcPageSource.class).run();
+    }
+}
@@ -14,22 +14,30 @@
 package io.trino.plugin.jdbc;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.trino.spi.connector.ColumnMetadata;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorTableMetadata;
 import io.trino.spi.connector.SchemaTableName;
+import io.trino.testing.TestingConnectorSession;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.trino.plugin.jdbc.JdbcSplitSessionProperties.READ_PARALLELISM;
 import static io.trino.plugin.jdbc.TestingJdbcTypeHandle.JDBC_BIGINT;
 import static io.trino.plugin.jdbc.TestingJdbcTypeHandle.JDBC_DOUBLE;
 import static io.trino.plugin.jdbc.TestingJdbcTypeHandle.JDBC_REAL;
 import static io.trino.plugin.jdbc.TestingJdbcTypeHandle.JDBC_TIMESTAMP;
 import static io.trino.plugin.jdbc.TestingJdbcTypeHandle.JDBC_VARCHAR;
+import static io.trino.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
 import static io.trino.spi.type.BigintType.BIGINT;
 import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.spi.type.RealType.REAL;
@@ -158,4 +166,60 @@ public class TestJdbcClient
         assertThat(jdbcClient.getTableNames(session, Optional.empty())).doesNotContain(oldTable).doesNotContain(newTable);
         assertThat(jdbcClient.getSchemaNames(session)).doesNotContain(schemaName);
     }
+
+    @Test
+    public void testGetSplits()
+            throws Exception
+    {
+        ConnectorSession session = TestingConnectorSession.builder()
+                .setPropertyMetadata(new JdbcSplitSessionProperties(new JdbcSplitConfig()).getSessionProperties())
+                .setPropertyValues(ImmutableMap.of(READ_PARALLELISM, 4))
+                .build();
+        database.getConnection().createStatement().execute("CREATE SCHEMA split_test");
+        database.getConnection().createStatement().execute("CREATE TABLE split_test.split_keys(id integer primary key, value bigint)");
+        database.getConnection().createStatement().execute("INSERT INTO split_test.split_keys VALUES (1, 1), (50, 2), (100, 3)");
+        JdbcTableHandle table = database.getTableHandle(session, new SchemaTableName("split_test", "split_keys"));
+
+        assertEquals(getSplitPredicates(session, table), ImmutableList.of(
+                Optional.of("(\"ID\" < 26 OR \"ID\" IS NULL)"),
+                Optional.of("\"ID\" >= 26 AND \"ID\" < 51"),
+                Optional.of("\"ID\" >= 51 AND \"ID\" < 76"),
+                Optional.of("\"ID\" >= 76")));
+
+        // a limit applies to the whole table
+        assertEquals(getSplitPredicates(session, new JdbcTableHandle(
+                table.getRelationHandle(),
+                table.getConstraint(),
+                table.getSortOrder(),
+                OptionalLong.of(10),
+                table.getColumns(),
+                table.getOtherReferencedTables(),
+                table.getNextSyntheticColumnId())), ImmutableList.of(Optional.empty()));
+
+        // the primary key is not a number
+        assertEquals(getSplitPredicates(session, database.getTableHandle(session, new SchemaTableName("example", "numbers"))), ImmutableList.of(Optional.empty()));
+
+        // the table is read by a single query by default
+        ConnectorSession defaultSession = TestingConnectorSession.builder()
+                .setPropertyMetadata(new JdbcSplitSessionProperties(new JdbcSplitConfig()).getSessionProperties())
+                .build();
+        assertEquals(getSplitPredicates(defaultSession, table), ImmutableList.of(Optional.empty()));
+    }
+
+    @Test
+    public void testGetSplitBoundaries()
+    {
+        assertEquals(BaseJdbcClient.getSplitBoundaries(0, 9, 4), ImmutableList.of(2L, 5L, 7L));
+        assertEquals(BaseJdbcClient.getSplitBoundaries(5, 6, 4), ImmutableList.of(6L));
+        assertEquals(BaseJdbcClient.getSplitBoundaries(5, 5, 4), ImmutableList.of());
+        assertEquals(BaseJdbcClient.getSplitBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, 2), ImmutableList.of(0L));
+    }
+
+    private List<Optional<String>> getSplitPredicates(ConnectorSession session, JdbcTableHandle table)
+    {
+        return getFutureValue(jdbcClient.getSplits(session, table).getNextBatch(NOT_PARTITIONED, 1000)).getSplits().stream()
+                .map(JdbcSplit.class::cast)
+                .map(JdbcSplit::getAdditionalPredicate)
+                .collect(toImmutableList());
+    }
 }
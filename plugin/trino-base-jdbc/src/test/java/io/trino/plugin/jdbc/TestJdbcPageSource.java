@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.trino.spi.Page;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.testing.TestingConnectorSession;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.airlift.testing.Closeables.closeAll;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestJdbcPageSource
+{
+    private static final ConnectorSession SESSION = TestingConnectorSession.builder()
+            .setPropertyMetadata(new JdbcSplitSessionProperties(new JdbcSplitConfig()).getSessionProperties())
+            .build();
+
+    private static final Map<String, Long> EXPECTED_DATA = ImmutableMap.<String, Long>builder()
+            .put("one", 1L)
+            .put("two", 2L)
+            .put("three", 3L)
+            .put("ten", 10L)
+            .put("eleven", 11L)
+            .put("twelve", 12L)
+            .build();
+
+    private TestingDatabase database;
+    private JdbcClient jdbcClient;
+    private JdbcTableHandle table;
+    private JdbcSplit split;
+    private Map<String, JdbcColumnHandle> columnHandles;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase();
+        jdbcClient = database.getJdbcClient();
+        table = database.getTableHandle(SESSION, new SchemaTableName("example", "numbers"));
+        split = database.getSplit(SESSION, table);
+        columnHandles = database.getColumnHandles(SESSION, table);
+        executor = newDirectExecutorService();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        closeAll(
+                database,
+                () -> executor.shutdownNow());
+    }
+
+    @Test
+    public void testSimple()
+    {
+        List<Page> pages = readPages(ImmutableList.of(
+                columnHandles.get("text"),
+                columnHandles.get("text_short"),
+                columnHandles.get("value")));
+
+        Map<String, Long> data = new LinkedHashMap<>();
+        for (Page page : pages) {
+            assertEquals(page.getChannelCount(), 3);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                assertFalse(page.getBlock(0).isNull(position));
+                assertFalse(page.getBlock(2).isNull(position));
+                String text = VARCHAR.getSlice(page.getBlock(0), position).toStringUtf8();
+                assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), text);
+                data.put(text, BIGINT.getLong(page.getBlock(2), position));
+            }
+        }
+        assertEquals(data, EXPECTED_DATA);
+    }
+
+    @Test
+    public void testMixedOrder()
+    {
+        List<Page> pages = readPages(ImmutableList.of(
+                columnHandles.get("value"),
+                columnHandles.get("value"),
+                columnHandles.get("text")));
+
+        Map<String, Long> data = new LinkedHashMap<>();
+        for (Page page : pages) {
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                assertEquals(BIGINT.getLong(page.getBlock(0), position), BIGINT.getLong(page.getBlock(1), position));
+                data.put(VARCHAR.getSlice(page.getBlock(2), position).toStringUtf8(), BIGINT.getLong(page.getBlock(0), position));
+            }
+        }
+        assertEquals(data, EXPECTED_DATA);
+    }
+
+    @Test
+    public void testNoColumns()
+    {
+        int positions = readPages(ImmutableList.of()).stream()
+                .mapToInt(Page::getPositionCount)
+                .sum();
+        assertEquals(positions, EXPECTED_DATA.size());
+    }
+
+    @Test
+    public void testIdempotentClose()
+    {
+        JdbcPageSource pageSource = createPageSource(ImmutableList.of(columnHandles.get("value")));
+        pageSource.close();
+        pageSource.close();
+        assertTrue(pageSource.isFinished());
+        assertNull(pageSource.getNextPage());
+    }
+
+    private List<Page> readPages(List<JdbcColumnHandle> columns)
+    {
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        try (JdbcPageSource pageSource = createPageSource(columns)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page != null) {
+                    pages.add(page.getLoadedPage());
+                }
+            }
+        }
+        return pages.build();
+    }
+
+    private JdbcPageSource createPageSource(List<JdbcColumnHandle> columns)
+    {
+        return new JdbcPageSource(jdbcClient, executor, SESSION, split, table, columns);
+    }
+}
@@ -26,6 +26,7 @@ import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.Range;
 import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.predicate.ValueSet;
+import io.trino.spi.session.PropertyMetadata;
 import io.trino.testing.TestingConnectorSession;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -53,7 +54,10 @@ import static org.testng.Assert.assertNotNull;
 public class TestJdbcRecordSetProvider
 {
     private static final ConnectorSession SESSION = TestingConnectorSession.builder()
-            .setPropertyMetadata(new JdbcMetadataSessionProperties(new JdbcMetadataConfig(), Optional.empty()).getSessionProperties())
+            .setPropertyMetadata(ImmutableList.<PropertyMetadata<?>>builder()
+                    .addAll(new JdbcMetadataSessionProperties(new JdbcMetadataConfig(), Optional.empty()).getSessionProperties())
+                    .addAll(new JdbcSplitSessionProperties(new JdbcSplitConfig()).getSessionProperties())
+                    .build())
             .build();
 
     private TestingDatabase database;
@@ -14,6 +14,7 @@
 package io.trino.plugin.hive;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
@@ -22,6 +23,7 @@ import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Streams;
 import com.google.common.io.CharStreams;
 import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.concurrent.BoundedExecutor;
 import io.airlift.units.Duration;
 import io.trino.plugin.hive.HdfsEnvironment.HdfsContext;
 import io.trino.plugin.hive.HiveSplit.BucketConversion;
@@ -91,6 +93,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Maps.fromProperties;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static io.airlift.concurrent.MoreFutures.addExceptionCallback;
 import static io.airlift.concurrent.MoreFutures.toListenableFuture;
@@ -102,6 +105,7 @@ import static io.trino.plugin.hive.HiveErrorCode.HIVE_INVALID_PARTITION_VALUE;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_UNKNOWN_ERROR;
 import static io.trino.plugin.hive.HivePartitionManager.partitionMatches;
 import static io.trino.plugin.hive.HiveSessionProperties.getMaxInitialSplitSize;
+import static io.trino.plugin.hive.HiveSessionProperties.getRecursiveDirectoryListingConcurrency;
 import static io.trino.plugin.hive.HiveSessionProperties.isForceLocalScheduling;
 import static io.trino.plugin.hive.HiveSessionProperties.isValidateBucketing;
 import static io.trino.plugin.hive.metastore.MetastoreUtil.getHiveSchema;
@@ -158,6 +162,10 @@ public class BackgroundHiveSplitLoader
     private final boolean ignoreAbsentPartitions;
     private final boolean optimizeSymlinkListing;
     private final Executor executor;
+    // bounds the number of nested directories listed concurrently for this table scan
+    private final Optional<Executor> directoryListingExecutor;
+    // the iterators which have not reached their end, closed when the loader is stopped to cancel their pending directory listings
+    private final Set<HiveFileIterator> concurrentFileIterators = newConcurrentHashSet();
     private final ConnectorSession session;
     private final ConcurrentLazyQueue<HivePartitionMetadata> partitions;
     private final Deque<Iterator<InternalHiveSplit>> fileIterators = new ConcurrentLinkedDeque<>();
@@ -221,6 +229,10 @@ public class BackgroundHiveSplitLoader
         this.ignoreAbsentPartitions = ignoreAbsentPartitions;
         this.optimizeSymlinkListing = optimizeSymlinkListing;
         this.executor = executor;
+        int directoryListingConcurrency = getRecursiveDirectoryListingConcurrency(session);
+        this.directoryListingExecutor = recursiveDirWalkerEnabled && directoryListingConcurrency > 1
+                ? Optional.of(new BoundedExecutor(executor, directoryListingConcurrency))
+                : Optional.empty();
         this.partitions = new ConcurrentLazyQueue<>(partitions);
         this.hdfsContext = new HdfsContext(session);
         this.validWriteIds = requireNonNull(validWriteIds, "validWriteIds is null");
@@ -241,6 +253,10 @@ public class BackgroundHiveSplitLoader
     public void stop()
     {
         stopped = true;
+        for (HiveFileIterator files : concurrentFileIterators) {
+            files.close();
+            concurrentFileIterators.remove(files);
+        }
     }
 
     private class HiveSplitLoaderTask
@@ -746,7 +762,31 @@ public class BackgroundHiveSplitLoader
 
     private Iterator<InternalHiveSplit> createInternalHiveSplitIterator(Path path, FileSystem fileSystem, InternalHiveSplitFactory splitFactory, boolean splittable, Optional<AcidInfo> acidInfo)
     {
-        return Streams.stream(new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, ignoreAbsentPartitions))
+        HiveFileIterator files = recursiveDirWalkerEnabled
+                ? new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, RECURSE, ignoreAbsentPartitions, directoryListingExecutor)
+                : new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, IGNORED, ignoreAbsentPartitions);
+        Iterator<LocatedFileStatus> fileStatuses = files;
+        if (directoryListingExecutor.isPresent()) {
+            concurrentFileIterators.add(files);
+            if (stopped) {
+                // the loader was stopped concurrently, so the iterator might have been missed by stop
+                files.close();
+                concurrentFileIterators.remove(files);
+            }
+            fileStatuses = new AbstractIterator<>()
+            {
+                @Override
+                protected LocatedFileStatus computeNext()
+                {
+                    if (files.hasNext()) {
+                        return files.next();
+                    }
+                    concurrentFileIterators.remove(files);
+                    return endOfData();
+                }
+            };
+        }
+        return Streams.stream(fileStatuses)
                 .map(status -> splitFactory.createInternalHiveSplit(status, OptionalInt.empty(), splittable, acidInfo))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
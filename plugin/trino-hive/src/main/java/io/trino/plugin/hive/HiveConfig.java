@@ -72,6 +72,7 @@ public class HiveConfig
     private DataSize writerSortBufferSize = DataSize.of(64, MEGABYTE);
     private boolean forceLocalScheduling;
     private boolean recursiveDirWalkerEnabled;
+    private int recursiveDirectoryListingConcurrency = 1;
     private boolean ignoreAbsentPartitions;
 
     private int maxConcurrentFileRenames = 20;
@@ -90,6 +91,7 @@ public class HiveConfig
     private boolean createEmptyBucketFiles;
     private int maxPartitionsPerWriter = 100;
     private int maxOpenSortFiles = 50;
+    private int writerSortThreads = 4;
     private int writeValidationThreads = 16;
     private boolean validateBucketing = true;
     private boolean parallelPartitionedBucketedWrites = true;
@@ -292,6 +294,20 @@ public class HiveConfig
         return recursiveDirWalkerEnabled;
     }
 
+    @Min(1)
+    public int getRecursiveDirectoryListingConcurrency()
+    {
+        return recursiveDirectoryListingConcurrency;
+    }
+
+    @Config("hive.recursive-directories.listing-concurrency")
+    @ConfigDescription("Maximum number of nested directories listed concurrently for a table scan when recursive directories are enabled")
+    public HiveConfig setRecursiveDirectoryListingConcurrency(int recursiveDirectoryListingConcurrency)
+    {
+        this.recursiveDirectoryListingConcurrency = recursiveDirectoryListingConcurrency;
+        return this;
+    }
+
     public boolean isIgnoreAbsentPartitions()
     {
         return ignoreAbsentPartitions;
@@ -539,6 +555,20 @@ public class HiveConfig
         return this;
     }
 
+    @Min(1)
+    public int getWriterSortThreads()
+    {
+        return writerSortThreads;
+    }
+
+    @Config("hive.writer-sort-threads")
+    @ConfigDescription("Number of threads used for sorting and merging writer temporary files")
+    public HiveConfig setWriterSortThreads(int writerSortThreads)
+    {
+        this.writerSortThreads = writerSortThreads;
+        return this;
+    }
+
     public int getWriteValidationThreads()
     {
         return writeValidationThreads;
@@ -60,9 +60,11 @@ public class HivePageSinkProvider
     private final TypeManager typeManager;
     private final int maxOpenPartitions;
     private final int maxOpenSortFiles;
+    private final int writerSortThreads;
     private final DataSize writerSortBufferSize;
     private final LocationService locationService;
     private final ListeningExecutorService writeVerificationExecutor;
+    private final ListeningExecutorService writerSortExecutor;
     private final JsonCodec<PartitionUpdate> partitionUpdateCodec;
     private final NodeManager nodeManager;
     private final EventClient eventClient;
@@ -95,9 +97,11 @@ public class HivePageSinkProvider
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.maxOpenPartitions = config.getMaxPartitionsPerWriter();
         this.maxOpenSortFiles = config.getMaxOpenSortFiles();
+        this.writerSortThreads = config.getWriterSortThreads();
         this.writerSortBufferSize = requireNonNull(config.getWriterSortBufferSize(), "writerSortBufferSize is null");
         this.locationService = requireNonNull(locationService, "locationService is null");
         this.writeVerificationExecutor = listeningDecorator(newFixedThreadPool(config.getWriteValidationThreads(), daemonThreadsNamed("hive-write-validation-%s")));
+        this.writerSortExecutor = listeningDecorator(newFixedThreadPool(config.getWriterSortThreads(), daemonThreadsNamed("hive-writer-sort-%s")));
         this.partitionUpdateCodec = requireNonNull(partitionUpdateCodec, "partitionUpdateCodec is null");
         this.nodeManager = requireNonNull(nodeManager, "nodeManager is null");
         this.eventClient = requireNonNull(eventClient, "eventClient is null");
@@ -155,6 +159,8 @@ public class HivePageSinkProvider
                 pageSorter,
                 writerSortBufferSize,
                 maxOpenSortFiles,
+                writerSortThreads,
+                writerSortExecutor,
                 parquetTimeZone,
                 session,
                 nodeManager,
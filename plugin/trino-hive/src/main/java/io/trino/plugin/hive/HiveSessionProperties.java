@@ -91,6 +91,7 @@ public final class HiveSessionProperties
     private static final String TEMPORARY_STAGING_DIRECTORY_ENABLED = "temporary_staging_directory_enabled";
     private static final String TEMPORARY_STAGING_DIRECTORY_PATH = "temporary_staging_directory_path";
     private static final String IGNORE_ABSENT_PARTITIONS = "ignore_absent_partitions";
+    private static final String RECURSIVE_DIRECTORY_LISTING_CONCURRENCY = "recursive_directory_listing_concurrency";
     private static final String QUERY_PARTITION_FILTER_REQUIRED = "query_partition_filter_required";
     private static final String PROJECTION_PUSHDOWN_ENABLED = "projection_pushdown_enabled";
     private static final String TIMESTAMP_PRECISION = "timestamp_precision";
@@ -369,6 +370,16 @@ public final class HiveSessionProperties
                         "Ignore partitions when the file system location does not exist rather than failing the query.",
                         hiveConfig.isIgnoreAbsentPartitions(),
                         false),
+                integerProperty(
+                        RECURSIVE_DIRECTORY_LISTING_CONCURRENCY,
+                        "Maximum number of nested directories listed concurrently when recursive directories are enabled",
+                        hiveConfig.getRecursiveDirectoryListingConcurrency(),
+                        value -> {
+                            if (value < 1) {
+                                throw new TrinoException(INVALID_SESSION_PROPERTY, format("%s must be at least 1: %s", RECURSIVE_DIRECTORY_LISTING_CONCURRENCY, value));
+                            }
+                        },
+                        false),
                 booleanProperty(
                         QUERY_PARTITION_FILTER_REQUIRED,
                         "Require filter on partition column",
@@ -644,6 +655,11 @@ public final class HiveSessionProperties
         return session.getProperty(IGNORE_ABSENT_PARTITIONS, Boolean.class);
     }
 
+    public static int getRecursiveDirectoryListingConcurrency(ConnectorSession session)
+    {
+        return session.getProperty(RECURSIVE_DIRECTORY_LISTING_CONCURRENCY, Integer.class);
+    }
+
     public static boolean isQueryPartitionFilterRequired(ConnectorSession session)
     {
         return session.getProperty(QUERY_PARTITION_FILTER_REQUIRED, Boolean.class);
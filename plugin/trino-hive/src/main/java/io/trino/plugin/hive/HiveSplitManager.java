@@ -16,6 +16,7 @@ package io.trino.plugin.hive;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
 import io.airlift.concurrent.BoundedExecutor;
@@ -27,6 +28,7 @@ import io.trino.plugin.hive.metastore.Partition;
 import io.trino.plugin.hive.metastore.SemiTransactionalHiveMetastore;
 import io.trino.plugin.hive.metastore.Table;
 import io.trino.plugin.hive.util.HiveBucketing.HiveBucketFilter;
+import io.trino.plugin.hive.util.PrefetchingIterator;
 import io.trino.spi.TrinoException;
 import io.trino.spi.VersionEmbedder;
 import io.trino.spi.connector.ConnectorSession;
@@ -53,13 +55,13 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.getOnlyElement;
-import static com.google.common.collect.Iterables.transform;
 import static io.trino.plugin.hive.BackgroundHiveSplitLoader.BucketSplitInfo.createBucketSplitInfo;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_INVALID_METADATA;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_PARTITION_DROPPED_DURING_QUERY;
@@ -302,83 +304,99 @@ public class HiveSplitManager
         Optional<HiveStorageFormat> storageFormat = getHiveStorageFormat(table.getStorage().getStorageFormat());
 
         Iterable<List<HivePartition>> partitionNameBatches = partitionExponentially(hivePartitions, minPartitionBatchSize, maxPartitionBatchSize);
-        Iterable<List<HivePartitionMetadata>> partitionBatches = transform(partitionNameBatches, partitionBatch -> {
-            Map<String, Optional<Partition>> batch = metastore.getPartitionsByNames(
-                    new HiveIdentity(session),
-                    tableName.getSchemaName(),
-                    tableName.getTableName(),
-                    Lists.transform(partitionBatch, HivePartition::getPartitionId));
-            ImmutableMap.Builder<String, Partition> partitionBuilder = ImmutableMap.builder();
-            for (Map.Entry<String, Optional<Partition>> entry : batch.entrySet()) {
-                if (entry.getValue().isEmpty()) {
-                    throw new TrinoException(HIVE_PARTITION_DROPPED_DURING_QUERY, "Partition no longer exists: " + entry.getKey());
-                }
-                partitionBuilder.put(entry.getKey(), entry.getValue().get());
-            }
-            Map<String, Partition> partitions = partitionBuilder.build();
-            if (partitionBatch.size() != partitions.size()) {
-                throw new TrinoException(GENERIC_INTERNAL_ERROR, format("Expected %s partitions but found %s", partitionBatch.size(), partitions.size()));
+        // The metastore is asked for the next batch while the splits of the current one are generated
+        Iterable<List<HivePartitionMetadata>> partitionBatches = () -> {
+            Iterator<Supplier<List<HivePartitionMetadata>>> batchLoaders = Iterators.transform(
+                    partitionNameBatches.iterator(),
+                    partitionBatch -> () -> getPartitionMetadataBatch(session, metastore, table, tableName, storageFormat, bucketProperty, partitionBatch));
+            return new PrefetchingIterator<>(batchLoaders, executor);
+        };
+        return concat(partitionBatches);
+    }
+
+    private List<HivePartitionMetadata> getPartitionMetadataBatch(
+            ConnectorSession session,
+            SemiTransactionalHiveMetastore metastore,
+            Table table,
+            SchemaTableName tableName,
+            Optional<HiveStorageFormat> storageFormat,
+            Optional<HiveBucketProperty> bucketProperty,
+            List<HivePartition> partitionBatch)
+    {
+        Map<String, Optional<Partition>> batch = metastore.getPartitionsByNames(
+                new HiveIdentity(session),
+                tableName.getSchemaName(),
+                tableName.getTableName(),
+                Lists.transform(partitionBatch, HivePartition::getPartitionId));
+        ImmutableMap.Builder<String, Partition> partitionBuilder = ImmutableMap.builder();
+        for (Map.Entry<String, Optional<Partition>> entry : batch.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                throw new TrinoException(HIVE_PARTITION_DROPPED_DURING_QUERY, "Partition no longer exists: " + entry.getKey());
             }
+            partitionBuilder.put(entry.getKey(), entry.getValue().get());
+        }
+        Map<String, Partition> partitions = partitionBuilder.build();
+        if (partitionBatch.size() != partitions.size()) {
+            throw new TrinoException(GENERIC_INTERNAL_ERROR, format("Expected %s partitions but found %s", partitionBatch.size(), partitions.size()));
+        }
 
-            ImmutableList.Builder<HivePartitionMetadata> results = ImmutableList.builder();
-            for (HivePartition hivePartition : partitionBatch) {
-                Partition partition = partitions.get(hivePartition.getPartitionId());
-                if (partition == null) {
-                    throw new TrinoException(GENERIC_INTERNAL_ERROR, "Partition not loaded: " + hivePartition);
-                }
-                String partName = makePartitionName(table, partition);
+        ImmutableList.Builder<HivePartitionMetadata> results = ImmutableList.builder();
+        for (HivePartition hivePartition : partitionBatch) {
+            Partition partition = partitions.get(hivePartition.getPartitionId());
+            if (partition == null) {
+                throw new TrinoException(GENERIC_INTERNAL_ERROR, "Partition not loaded: " + hivePartition);
+            }
+            String partName = makePartitionName(table, partition);
 
-                // verify partition is online
-                verifyOnline(tableName, Optional.of(partName), getProtectMode(partition), partition.getParameters());
+            // verify partition is online
+            verifyOnline(tableName, Optional.of(partName), getProtectMode(partition), partition.getParameters());
 
-                // verify partition is not marked as non-readable
-                String partitionNotReadable = partition.getParameters().get(OBJECT_NOT_READABLE);
-                if (!isNullOrEmpty(partitionNotReadable)) {
-                    throw new HiveNotReadableException(tableName, Optional.of(partName), partitionNotReadable);
-                }
+            // verify partition is not marked as non-readable
+            String partitionNotReadable = partition.getParameters().get(OBJECT_NOT_READABLE);
+            if (!isNullOrEmpty(partitionNotReadable)) {
+                throw new HiveNotReadableException(tableName, Optional.of(partName), partitionNotReadable);
+            }
 
-                // Verify that the partition schema matches the table schema.
-                // Either adding or dropping columns from the end of the table
-                // without modifying existing partitions is allowed, but every
-                // column that exists in both the table and partition must have
-                // the same type.
-                List<Column> tableColumns = table.getDataColumns();
-                List<Column> partitionColumns = partition.getColumns();
-                if ((tableColumns == null) || (partitionColumns == null)) {
-                    throw new TrinoException(HIVE_INVALID_METADATA, format("Table '%s' or partition '%s' has null columns", tableName, partName));
+            // Verify that the partition schema matches the table schema.
+            // Either adding or dropping columns from the end of the table
+            // without modifying existing partitions is allowed, but every
+            // column that exists in both the table and partition must have
+            // the same type.
+            List<Column> tableColumns = table.getDataColumns();
+            List<Column> partitionColumns = partition.getColumns();
+            if ((tableColumns == null) || (partitionColumns == null)) {
+                throw new TrinoException(HIVE_INVALID_METADATA, format("Table '%s' or partition '%s' has null columns", tableName, partName));
+            }
+            TableToPartitionMapping tableToPartitionMapping = getTableToPartitionMapping(session, storageFormat, tableName, partName, tableColumns, partitionColumns);
+
+            if (bucketProperty.isPresent()) {
+                Optional<HiveBucketProperty> partitionBucketProperty = partition.getStorage().getBucketProperty();
+                if (partitionBucketProperty.isEmpty()) {
+                    throw new TrinoException(HIVE_PARTITION_SCHEMA_MISMATCH, format(
+                            "Hive table (%s) is bucketed but partition (%s) is not bucketed",
+                            hivePartition.getTableName(),
+                            hivePartition.getPartitionId()));
                 }
-                TableToPartitionMapping tableToPartitionMapping = getTableToPartitionMapping(session, storageFormat, tableName, partName, tableColumns, partitionColumns);
-
-                if (bucketProperty.isPresent()) {
-                    Optional<HiveBucketProperty> partitionBucketProperty = partition.getStorage().getBucketProperty();
-                    if (partitionBucketProperty.isEmpty()) {
-                        throw new TrinoException(HIVE_PARTITION_SCHEMA_MISMATCH, format(
-                                "Hive table (%s) is bucketed but partition (%s) is not bucketed",
-                                hivePartition.getTableName(),
-                                hivePartition.getPartitionId()));
-                    }
-                    int tableBucketCount = bucketProperty.get().getBucketCount();
-                    int partitionBucketCount = partitionBucketProperty.get().getBucketCount();
-                    List<String> tableBucketColumns = bucketProperty.get().getBucketedBy();
-                    List<String> partitionBucketColumns = partitionBucketProperty.get().getBucketedBy();
-                    if (!tableBucketColumns.equals(partitionBucketColumns) || !isBucketCountCompatible(tableBucketCount, partitionBucketCount)) {
-                        throw new TrinoException(HIVE_PARTITION_SCHEMA_MISMATCH, format(
-                                "Hive table (%s) bucketing (columns=%s, buckets=%s) is not compatible with partition (%s) bucketing (columns=%s, buckets=%s)",
-                                hivePartition.getTableName(),
-                                tableBucketColumns,
-                                tableBucketCount,
-                                hivePartition.getPartitionId(),
-                                partitionBucketColumns,
-                                partitionBucketCount));
-                    }
+                int tableBucketCount = bucketProperty.get().getBucketCount();
+                int partitionBucketCount = partitionBucketProperty.get().getBucketCount();
+                List<String> tableBucketColumns = bucketProperty.get().getBucketedBy();
+                List<String> partitionBucketColumns = partitionBucketProperty.get().getBucketedBy();
+                if (!tableBucketColumns.equals(partitionBucketColumns) || !isBucketCountCompatible(tableBucketCount, partitionBucketCount)) {
+                    throw new TrinoException(HIVE_PARTITION_SCHEMA_MISMATCH, format(
+                            "Hive table (%s) bucketing (columns=%s, buckets=%s) is not compatible with partition (%s) bucketing (columns=%s, buckets=%s)",
+                            hivePartition.getTableName(),
+                            tableBucketColumns,
+                            tableBucketCount,
+                            hivePartition.getPartitionId(),
+                            partitionBucketColumns,
+                            partitionBucketCount));
                 }
-
-                results.add(new HivePartitionMetadata(hivePartition, Optional.of(partition), tableToPartitionMapping));
             }
 
-            return results.build();
-        });
-        return concat(partitionBatches);
+            results.add(new HivePartitionMetadata(hivePartition, Optional.of(partition), tableToPartitionMapping));
+        }
+
+        return results.build();
     }
 
     private TableToPartitionMapping getTableToPartitionMapping(ConnectorSession session, Optional<HiveStorageFormat> storageFormat, SchemaTableName tableName, String partName, List<Column> tableColumns, List<Column> partitionColumns)
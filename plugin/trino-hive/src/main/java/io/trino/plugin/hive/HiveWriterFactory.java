@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.event.client.EventClient;
 import io.airlift.units.DataSize;
 import io.trino.plugin.hive.HdfsEnvironment.HdfsContext;
@@ -141,6 +142,8 @@ public class HiveWriterFactory
     private final Table table;
     private final DataSize sortBufferSize;
     private final int maxOpenSortFiles;
+    private final int maxConcurrentSortMerges;
+    private final ListeningExecutorService sortExecutor;
     private final boolean sortedWritingTempStagingPathEnabled;
     private final String sortedWritingTempStagingPath;
     private final InsertExistingPartitionsBehavior insertExistingPartitionsBehavior;
@@ -177,6 +180,8 @@ public class HiveWriterFactory
             PageSorter pageSorter,
             DataSize sortBufferSize,
             int maxOpenSortFiles,
+            int maxConcurrentSortMerges,
+            ListeningExecutorService sortExecutor,
             DateTimeZone parquetTimeZone,
             ConnectorSession session,
             NodeManager nodeManager,
@@ -203,6 +208,8 @@ public class HiveWriterFactory
         this.pageSorter = requireNonNull(pageSorter, "pageSorter is null");
         this.sortBufferSize = requireNonNull(sortBufferSize, "sortBufferSize is null");
         this.maxOpenSortFiles = maxOpenSortFiles;
+        this.maxConcurrentSortMerges = maxConcurrentSortMerges;
+        this.sortExecutor = requireNonNull(sortExecutor, "sortExecutor is null");
         this.sortedWritingTempStagingPathEnabled = isTemporaryStagingDirectoryEnabled(session);
         this.sortedWritingTempStagingPath = getTemporaryStagingDirectoryPath(session);
         this.insertExistingPartitionsBehavior = getInsertExistingPartitionsBehavior(session);
@@ -571,12 +578,14 @@ public class HiveWriterFactory
                     hiveFileWriter,
                     sortBufferSize,
                     maxOpenSortFiles,
+                    maxConcurrentSortMerges,
                     types,
                     sortFields,
                     sortOrders,
                     pageSorter,
                     typeManager.getTypeOperators(),
-                    OrcFileWriterFactory::createOrcDataSink);
+                    OrcFileWriterFactory::createOrcDataSink,
+                    sortExecutor);
         }
 
         return new HiveWriter(
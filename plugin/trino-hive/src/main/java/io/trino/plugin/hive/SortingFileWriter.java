@@ -15,6 +15,8 @@ package io.trino.plugin.hive;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.log.Logger;
 import io.airlift.units.DataSize;
 import io.trino.orc.OrcDataSink;
@@ -52,12 +54,25 @@ import java.util.stream.IntStream;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Futures.successfulAsList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_WRITER_CLOSE_ERROR;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_WRITER_DATA_ERROR;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Buffers the rows in memory and writes them sorted to the output writer. When the buffered rows exceed
+ * the memory limit, they are written as a sorted run to a temporary file, and the runs are merged when
+ * the writer is committed.
+ * <p>
+ * The memory is divided between two buffers, so a full buffer is sorted and written on the executor
+ * while the other one accepts rows. When there are more runs than can be merged in one pass, the
+ * groups of runs merged to reduce their number are merged concurrently. The concurrent merges share
+ * the limit of open temporary files, which is divided between at most {@code maxConcurrentMerges} groups.
+ */
 public class SortingFileWriter
         implements FileWriter
 {
@@ -68,15 +83,22 @@ public class SortingFileWriter
     private final FileSystem fileSystem;
     private final Path tempFilePrefix;
     private final int maxOpenTempFiles;
+    private final int maxConcurrentMerges;
     private final List<Type> types;
     private final List<Integer> sortFields;
     private final List<SortOrder> sortOrders;
     private final FileWriter outputWriter;
-    private final SortBuffer sortBuffer;
     private final TempFileSinkFactory tempFileSinkFactory;
     private final Queue<TempFile> tempFiles = new PriorityQueue<>(comparing(TempFile::getSize));
     private final AtomicLong nextFileId = new AtomicLong();
     private final TypeOperators typeOperators;
+    private final ListeningExecutorService executor;
+
+    private SortBuffer sortBuffer;
+    // accepts the rows after the sort buffer is full, while the sort buffer is written
+    private SortBuffer spareBuffer;
+    private ListenableFuture<TempFile> pendingFlush;
+    private long pendingFlushBytes;
 
     public SortingFileWriter(
             FileSystem fileSystem,
@@ -84,24 +106,32 @@ public class SortingFileWriter
             FileWriter outputWriter,
             DataSize maxMemory,
             int maxOpenTempFiles,
+            int maxConcurrentMerges,
             List<Type> types,
             List<Integer> sortFields,
             List<SortOrder> sortOrders,
             PageSorter pageSorter,
             TypeOperators typeOperators,
-            TempFileSinkFactory tempFileSinkFactory)
+            TempFileSinkFactory tempFileSinkFactory,
+            ListeningExecutorService executor)
     {
         checkArgument(maxOpenTempFiles >= 2, "maxOpenTempFiles must be at least two");
+        checkArgument(maxConcurrentMerges >= 1, "maxConcurrentMerges must be at least one");
         this.fileSystem = requireNonNull(fileSystem, "fileSystem is null");
         this.tempFilePrefix = requireNonNull(tempFilePrefix, "tempFilePrefix is null");
         this.maxOpenTempFiles = maxOpenTempFiles;
+        this.maxConcurrentMerges = maxConcurrentMerges;
         this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
         this.sortFields = ImmutableList.copyOf(requireNonNull(sortFields, "sortFields is null"));
         this.sortOrders = ImmutableList.copyOf(requireNonNull(sortOrders, "sortOrders is null"));
         this.outputWriter = requireNonNull(outputWriter, "outputWriter is null");
-        this.sortBuffer = new SortBuffer(maxMemory, types, sortFields, sortOrders, pageSorter);
+        // the runs are half the size of a single buffer using all the memory, so there are twice as many to merge
+        DataSize bufferSize = DataSize.ofBytes(max(maxMemory.toBytes() / 2, 1));
+        this.sortBuffer = new SortBuffer(bufferSize, types, sortFields, sortOrders, pageSorter);
+        this.spareBuffer = new SortBuffer(bufferSize, types, sortFields, sortOrders, pageSorter);
         this.tempFileSinkFactory = tempFileSinkFactory;
         this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
+        this.executor = requireNonNull(executor, "executor is null");
     }
 
     @Override
@@ -113,7 +143,7 @@ public class SortingFileWriter
     @Override
     public long getSystemMemoryUsage()
     {
-        return INSTANCE_SIZE + sortBuffer.getRetainedBytes();
+        return INSTANCE_SIZE + sortBuffer.getRetainedBytes() + pendingFlushBytes;
     }
 
     @Override
@@ -130,7 +160,7 @@ public class SortingFileWriter
     {
         if (!sortBuffer.isEmpty()) {
             // skip temporary files entirely if the total output size is small
-            if (tempFiles.isEmpty()) {
+            if (tempFiles.isEmpty() && pendingFlush == null) {
                 sortBuffer.flushTo(outputWriter::appendRows);
                 outputWriter.commit();
                 return;
@@ -140,6 +170,7 @@ public class SortingFileWriter
         }
 
         try {
+            finishPendingFlush();
             writeSorted();
             outputWriter.commit();
         }
@@ -151,6 +182,13 @@ public class SortingFileWriter
     @Override
     public void rollback()
     {
+        try {
+            finishPendingFlush();
+        }
+        catch (RuntimeException ignored) {
+            // the temporary file of a failed flush is removed when the flush fails
+        }
+
         for (TempFile file : tempFiles) {
             cleanupFile(file.getPath());
         }
@@ -181,7 +219,25 @@ public class SortingFileWriter
 
     private void flushToTempFile()
     {
-        writeTempFile(writer -> sortBuffer.flushTo(writer::writePage));
+        // the spare buffer can be used when its previous content is written
+        finishPendingFlush();
+
+        SortBuffer fullBuffer = sortBuffer;
+        sortBuffer = spareBuffer;
+        spareBuffer = fullBuffer;
+        pendingFlushBytes = fullBuffer.getRetainedBytes();
+        pendingFlush = executor.submit(() -> writeTempFile(writer -> fullBuffer.flushTo(writer::writePage)));
+    }
+
+    private void finishPendingFlush()
+    {
+        if (pendingFlush == null) {
+            return;
+        }
+        ListenableFuture<TempFile> flush = pendingFlush;
+        pendingFlush = null;
+        pendingFlushBytes = 0;
+        tempFiles.add(getFutureValue(flush));
     }
 
     // TODO: change connector SPI to make this resumable and have memory tracking
@@ -194,14 +250,47 @@ public class SortingFileWriter
 
     private void combineFiles()
     {
+        // the concurrent merges together read at most maxOpenTempFiles files
+        int maxGroupSize = max(maxOpenTempFiles / maxConcurrentMerges, 2);
         while (tempFiles.size() > maxOpenTempFiles) {
-            int count = min(maxOpenTempFiles, tempFiles.size() - (maxOpenTempFiles - 1));
-
-            List<TempFile> smallestFiles = IntStream.range(0, count)
-                    .mapToObj(i -> tempFiles.poll())
-                    .collect(toImmutableList());
+            // merge independent groups of the smallest files concurrently, each group reducing the number of files by its size minus one
+            List<ListenableFuture<TempFile>> merges = new ArrayList<>();
+            List<List<TempFile>> mergeInputs = new ArrayList<>();
+            int excessFiles = tempFiles.size() - maxOpenTempFiles;
+            int openFiles = 0;
+            while (excessFiles > 0 && tempFiles.size() >= 2 && openFiles + 2 <= maxOpenTempFiles) {
+                int count = min(min(maxGroupSize, excessFiles + 1), min(tempFiles.size(), maxOpenTempFiles - openFiles));
+
+                List<TempFile> smallestFiles = IntStream.range(0, count)
+                        .mapToObj(i -> tempFiles.poll())
+                        .collect(toImmutableList());
+
+                merges.add(executor.submit(() -> writeTempFile(writer -> mergeFiles(smallestFiles, writer::writePage))));
+                mergeInputs.add(smallestFiles);
+                openFiles += count;
+                excessFiles -= count - 1;
+            }
 
-            writeTempFile(writer -> mergeFiles(smallestFiles, writer::writePage));
+            getFutureValue(successfulAsList(merges));
+            // track the results of all successful merges and the inputs of the failed ones before failing, so that rollback deletes all of them
+            RuntimeException failure = null;
+            for (int i = 0; i < merges.size(); i++) {
+                try {
+                    tempFiles.add(getFutureValue(merges.get(i)));
+                }
+                catch (RuntimeException e) {
+                    tempFiles.addAll(mergeInputs.get(i));
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    else if (failure != e) {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
         }
     }
 
@@ -237,14 +326,14 @@ public class SortingFileWriter
         }
     }
 
-    private void writeTempFile(Consumer<TempFileWriter> consumer)
+    private TempFile writeTempFile(Consumer<TempFileWriter> consumer)
     {
         Path tempFile = getTempFileName();
 
         try (TempFileWriter writer = new TempFileWriter(types, tempFileSinkFactory.createSink(fileSystem, tempFile))) {
             consumer.accept(writer);
             writer.close();
-            tempFiles.add(new TempFile(tempFile, writer.getWrittenBytes()));
+            return new TempFile(tempFile, writer.getWrittenBytes());
         }
         catch (IOException | UncheckedIOException e) {
             cleanupFile(tempFile);
@@ -16,10 +16,16 @@ package io.trino.plugin.hive.metastore.cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.airlift.jmx.CacheStatsMBean;
 import io.airlift.units.Duration;
@@ -63,9 +69,13 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -101,6 +111,8 @@ public class CachingHiveMetastore
         DISABLED
     }
 
+    private static final int PARTITION_RELOAD_BATCH_SIZE = 100;
+
     protected final HiveMetastore delegate;
     private final LoadingCache<String, Optional<Database>> databaseCache;
     private final LoadingCache<String, List<String>> databaseNamesCache;
@@ -204,22 +216,9 @@ public class CachingHiveMetastore
         partitionFilterCache = newCacheBuilder(expiresAfterWriteMillis, refreshMills, maximumSize, statsRecording)
                 .build(asyncReloading(CacheLoader.from(this::loadPartitionNamesByFilter), executor));
 
-        // disable refresh since it can't use the bulk loading and causes too many requests
-        partitionCache = newCacheBuilder(expiresAfterWriteMillis, OptionalLong.empty(), maximumSize, statsRecording)
-                .build(asyncReloading(new CacheLoader<>()
-                {
-                    @Override
-                    public Optional<Partition> load(WithIdentity<HivePartitionName> partitionName)
-                    {
-                        return loadPartitionByName(partitionName);
-                    }
-
-                    @Override
-                    public Map<WithIdentity<HivePartitionName>, Optional<Partition>> loadAll(Iterable<? extends WithIdentity<HivePartitionName>> partitionNames)
-                    {
-                        return loadPartitionsByNames(partitionNames);
-                    }
-                }, executor));
+        // refreshes are batched, since refreshing partitions one by one causes too many requests
+        partitionCache = newCacheBuilder(expiresAfterWriteMillis, refreshMills, maximumSize, statsRecording)
+                .build(new PartitionCacheLoader(executor));
 
         tablePrivilegesCache = newCacheBuilder(expiresAfterWriteMillis, refreshMills, maximumSize, statsRecording)
                 .build(asyncReloading(CacheLoader.from(key -> loadTablePrivileges(key.getDatabase(), key.getTable(), key.getOwner(), key.getPrincipal())), executor));
@@ -1019,6 +1018,103 @@ public class CachingHiveMetastore
         }
     }
 
+    /**
+     * Loads stale partitions again in the background when they are accessed. The partitions whose
+     * refresh is requested while a reload is pending are loaded together, with one bulk request per table.
+     */
+    private class PartitionCacheLoader
+            extends CacheLoader<WithIdentity<HivePartitionName>, Optional<Partition>>
+    {
+        private final Executor executor;
+        private final Queue<PartitionReload> pendingReloads = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+        public PartitionCacheLoader(Executor executor)
+        {
+            this.executor = requireNonNull(executor, "executor is null");
+        }
+
+        @Override
+        public Optional<Partition> load(WithIdentity<HivePartitionName> partitionName)
+        {
+            return loadPartitionByName(partitionName);
+        }
+
+        @Override
+        public Map<WithIdentity<HivePartitionName>, Optional<Partition>> loadAll(Iterable<? extends WithIdentity<HivePartitionName>> partitionNames)
+        {
+            return loadPartitionsByNames(partitionNames);
+        }
+
+        @Override
+        public ListenableFuture<Optional<Partition>> reload(WithIdentity<HivePartitionName> partitionName, Optional<Partition> oldValue)
+        {
+            SettableFuture<Optional<Partition>> partition = SettableFuture.create();
+            pendingReloads.add(new PartitionReload(partitionName, partition));
+            if (reloadScheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::reloadPendingPartitions);
+                }
+                catch (RejectedExecutionException e) {
+                    // the pending partitions are reloaded with the next scheduled reload
+                    reloadScheduled.set(false);
+                    throw e;
+                }
+            }
+            return partition;
+        }
+
+        private void reloadPendingPartitions()
+        {
+            // partitions added after this point are reloaded by a new task
+            reloadScheduled.set(false);
+
+            ListMultimap<WithIdentity<HiveTableName>, PartitionReload> reloadsByTable = ArrayListMultimap.create();
+            for (PartitionReload reload = pendingReloads.poll(); reload != null; reload = pendingReloads.poll()) {
+                WithIdentity<HivePartitionName> partitionName = reload.getPartitionName();
+                reloadsByTable.put(new WithIdentity<>(partitionName.getIdentity(), partitionName.getKey().getHiveTableName()), reload);
+            }
+
+            for (List<PartitionReload> tableReloads : Multimaps.asMap(reloadsByTable).values()) {
+                for (List<PartitionReload> batch : Lists.partition(tableReloads, PARTITION_RELOAD_BATCH_SIZE)) {
+                    try {
+                        Map<WithIdentity<HivePartitionName>, Optional<Partition>> partitions = loadPartitionsByNames(batch.stream()
+                                .map(PartitionReload::getPartitionName)
+                                .distinct()
+                                .collect(toImmutableList()));
+                        batch.forEach(reload -> reload.getPartition().set(partitions.get(reload.getPartitionName())));
+                    }
+                    catch (Throwable t) {
+                        // the cache keeps the previous values
+                        batch.forEach(reload -> reload.getPartition().setException(t));
+                    }
+                }
+            }
+        }
+    }
+
+    private static class PartitionReload
+    {
+        private final WithIdentity<HivePartitionName> partitionName;
+        private final SettableFuture<Optional<Partition>> partition;
+
+        public PartitionReload(WithIdentity<HivePartitionName> partitionName, SettableFuture<Optional<Partition>> partition)
+        {
+            this.partitionName = requireNonNull(partitionName, "partitionName is null");
+            this.partition = requireNonNull(partition, "partition is null");
+        }
+
+        public WithIdentity<HivePartitionName> getPartitionName()
+        {
+            return partitionName;
+        }
+
+        public SettableFuture<Optional<Partition>> getPartition()
+        {
+            return partition;
+        }
+    }
+
     private static CacheBuilder<Object, Object> newCacheBuilder(OptionalLong expiresAfterWriteMillis, OptionalLong refreshMillis, long maximumSize, StatsRecording statsRecording)
     {
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
@@ -14,6 +14,8 @@
 package io.trino.plugin.hive.util;
 
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.stats.TimeStat;
 import io.trino.plugin.hive.DirectoryLister;
 import io.trino.plugin.hive.NamenodeStats;
@@ -24,12 +26,21 @@ import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.RemoteIterator;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_FILESYSTEM_ERROR;
 import static io.trino.plugin.hive.HiveErrorCode.HIVE_FILE_NOT_FOUND;
 import static java.util.Collections.emptyIterator;
@@ -37,6 +48,7 @@ import static java.util.Objects.requireNonNull;
 
 public class HiveFileIterator
         extends AbstractIterator<LocatedFileStatus>
+        implements Closeable
 {
     public enum NestedDirectoryPolicy
     {
@@ -46,14 +58,18 @@ public class HiveFileIterator
     }
 
     private final Deque<Path> paths = new ArrayDeque<>();
+    // accessed by the closing thread as well as the iterating thread
+    private final Deque<DirectoryListing> listings = new ConcurrentLinkedDeque<>();
     private final Table table;
     private final FileSystem fileSystem;
     private final DirectoryLister directoryLister;
     private final NamenodeStats namenodeStats;
     private final NestedDirectoryPolicy nestedDirectoryPolicy;
     private final boolean ignoreAbsentPartitions;
+    private final Optional<Executor> listingExecutor;
 
     private Iterator<LocatedFileStatus> remoteIterator = emptyIterator();
+    private volatile boolean closed;
 
     public HiveFileIterator(
             Table table,
@@ -63,6 +79,24 @@ public class HiveFileIterator
             NamenodeStats namenodeStats,
             NestedDirectoryPolicy nestedDirectoryPolicy,
             boolean ignoreAbsentPartitions)
+    {
+        this(table, path, fileSystem, directoryLister, namenodeStats, nestedDirectoryPolicy, ignoreAbsentPartitions, Optional.empty());
+    }
+
+    /**
+     * When a listing executor is given, nested directories are listed on the executor as soon as they are
+     * discovered, while the files of the directories listed before are returned. A listing which was not
+     * started by the executor when its files are needed is performed by the calling thread instead.
+     */
+    public HiveFileIterator(
+            Table table,
+            Path path,
+            FileSystem fileSystem,
+            DirectoryLister directoryLister,
+            NamenodeStats namenodeStats,
+            NestedDirectoryPolicy nestedDirectoryPolicy,
+            boolean ignoreAbsentPartitions,
+            Optional<Executor> listingExecutor)
     {
         paths.addLast(requireNonNull(path, "path is null"));
         this.table = requireNonNull(table, "table is null");
@@ -71,12 +105,18 @@ public class HiveFileIterator
         this.namenodeStats = requireNonNull(namenodeStats, "namenodeStats is null");
         this.nestedDirectoryPolicy = requireNonNull(nestedDirectoryPolicy, "nestedDirectoryPolicy is null");
         this.ignoreAbsentPartitions = ignoreAbsentPartitions;
+        this.listingExecutor = requireNonNull(listingExecutor, "listingExecutor is null");
+        checkArgument(listingExecutor.isEmpty() || nestedDirectoryPolicy == NestedDirectoryPolicy.RECURSE, "listingExecutor requires RECURSE policy");
     }
 
     @Override
     protected LocatedFileStatus computeNext()
     {
         while (true) {
+            if (closed) {
+                return endOfData();
+            }
+
             while (remoteIterator.hasNext()) {
                 LocatedFileStatus status = getLocatedFileStatus(remoteIterator);
 
@@ -91,7 +131,7 @@ public class HiveFileIterator
                         case IGNORED:
                             continue;
                         case RECURSE:
-                            paths.add(status.getPath());
+                            addNestedDirectory(status.getPath());
                             continue;
                         case FAIL:
                             throw new NestedDirectoryNotAllowedException(status.getPath());
@@ -101,11 +141,47 @@ public class HiveFileIterator
                 return status;
             }
 
-            if (paths.isEmpty()) {
+            if (!paths.isEmpty()) {
+                remoteIterator = getLocatedFileStatusRemoteIterator(paths.removeFirst());
+                continue;
+            }
+            DirectoryListing listing = listings.poll();
+            if (listing == null) {
                 return endOfData();
             }
-            remoteIterator = getLocatedFileStatusRemoteIterator(paths.removeFirst());
+            remoteIterator = listing.getFiles();
+        }
+    }
+
+    /**
+     * Cancels the listings of nested directories which have not completed yet. The listings
+     * already running on the executor are not interrupted, but their files are discarded.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        DirectoryListing listing;
+        while ((listing = listings.poll()) != null) {
+            listing.cancel();
+        }
+    }
+
+    private void addNestedDirectory(Path path)
+    {
+        if (listingExecutor.isEmpty()) {
+            paths.add(path);
+            return;
+        }
+        DirectoryListing listing = new DirectoryListing(path);
+        listings.add(listing);
+        if (closed) {
+            // the iterator was closed concurrently, so the listing might have been missed by close
+            listings.remove(listing);
+            listing.cancel();
+            return;
         }
+        listingExecutor.get().execute(listing::list);
     }
 
     private Iterator<LocatedFileStatus> getLocatedFileStatusRemoteIterator(Path path)
@@ -135,6 +211,51 @@ public class HiveFileIterator
         }
     }
 
+    private class DirectoryListing
+    {
+        private final Path path;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final SettableFuture<List<LocatedFileStatus>> files = SettableFuture.create();
+
+        private DirectoryListing(Path path)
+        {
+            this.path = requireNonNull(path, "path is null");
+        }
+
+        public void list()
+        {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                files.set(ImmutableList.copyOf(getLocatedFileStatusRemoteIterator(path)));
+            }
+            catch (Throwable t) {
+                files.setException(t);
+            }
+        }
+
+        public void cancel()
+        {
+            // prevent the executor from starting the listing, if it has not started it yet
+            started.set(true);
+            files.cancel(false);
+        }
+
+        public Iterator<LocatedFileStatus> getFiles()
+        {
+            // take over the listing if no executor thread has started it yet, so waiting for busy threads is avoided
+            list();
+            try {
+                return getFutureValue(files).iterator();
+            }
+            catch (CancellationException e) {
+                // the iterator was closed
+                return emptyIterator();
+            }
+        }
+    }
+
     private static class FileStatusIterator
             implements Iterator<LocatedFileStatus>
     {
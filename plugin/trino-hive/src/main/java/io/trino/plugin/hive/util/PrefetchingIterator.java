@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.util;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes the element following the returned one on the executor, so it is usually available by the time
+ * the returned element is consumed. An element whose computation was not started by the executor when
+ * it is requested is computed by the calling thread instead.
+ */
+public class PrefetchingIterator<T>
+        extends AbstractIterator<T>
+{
+    private final Iterator<? extends Supplier<T>> suppliers;
+    private final Executor executor;
+
+    private Prefetch<T> prefetched;
+
+    public PrefetchingIterator(Iterator<? extends Supplier<T>> suppliers, Executor executor)
+    {
+        this.suppliers = requireNonNull(suppliers, "suppliers is null");
+        this.executor = requireNonNull(executor, "executor is null");
+    }
+
+    @Override
+    protected T computeNext()
+    {
+        Prefetch<T> current = prefetched;
+        prefetched = null;
+        if (current == null) {
+            if (!suppliers.hasNext()) {
+                return endOfData();
+            }
+            current = new Prefetch<>(suppliers.next());
+        }
+
+        if (suppliers.hasNext()) {
+            prefetched = new Prefetch<>(suppliers.next());
+            executor.execute(prefetched::compute);
+        }
+        return current.get();
+    }
+
+    private static class Prefetch<T>
+    {
+        private final Supplier<T> supplier;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final SettableFuture<T> value = SettableFuture.create();
+
+        private Prefetch(Supplier<T> supplier)
+        {
+            this.supplier = requireNonNull(supplier, "supplier is null");
+        }
+
+        public void compute()
+        {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                value.set(supplier.get());
+            }
+            catch (Throwable t) {
+                value.setException(t);
+            }
+        }
+
+        public T get()
+        {
+            compute();
+            return getFutureValue(value);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import io.airlift.units.DataSize;
+import io.trino.plugin.hive.orc.OrcFileWriterFactory;
+import io.trino.spi.Page;
+import io.trino.spi.PageBuilder;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.jmh.Benchmarks.benchmark;
+import static io.trino.plugin.hive.HiveTestUtils.PAGE_SORTER;
+import static io.trino.spi.connector.SortOrder.ASC_NULLS_FIRST;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkSortingFileWriter
+{
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, VARCHAR);
+    private static final int ROWS = 2_000_000;
+
+    @Benchmark
+    public long write(BenchmarkData data)
+    {
+        CountingFileWriter outputWriter = new CountingFileWriter();
+        SortingFileWriter writer = new SortingFileWriter(
+                data.fileSystem,
+                new Path(data.tempDirectory.toURI().toString(), "sort"),
+                outputWriter,
+                data.sortBufferSize,
+                data.maxOpenSortFiles,
+                data.writerSortThreads,
+                TYPES,
+                ImmutableList.of(0),
+                ImmutableList.of(ASC_NULLS_FIRST),
+                PAGE_SORTER,
+                data.typeOperators,
+                OrcFileWriterFactory::createOrcDataSink,
+                data.executor);
+        for (Page page : data.pages) {
+            writer.appendRows(page);
+        }
+        writer.commit();
+        return outputWriter.rows;
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"1", "4"})
+        private int writerSortThreads = 4;
+
+        @Param({"8MB", "64MB"})
+        private String writerSortBufferSize = "8MB";
+
+        @Param({"4", "50"})
+        private int maxOpenSortFiles = 4;
+
+        private final TypeOperators typeOperators = new TypeOperators();
+        private DataSize sortBufferSize;
+        private ListeningExecutorService executor;
+        private RawLocalFileSystem fileSystem;
+        private File tempDirectory;
+        private List<Page> pages;
+
+        @Setup
+        public void setup()
+                throws Exception
+        {
+            sortBufferSize = DataSize.valueOf(writerSortBufferSize);
+            executor = listeningDecorator(newFixedThreadPool(writerSortThreads, daemonThreadsNamed("benchmark-sort-%s")));
+            fileSystem = new RawLocalFileSystem();
+            fileSystem.initialize(fileSystem.getUri(), new Configuration(false));
+            tempDirectory = Files.createTempDirectory("benchmark-sorting-file-writer").toFile();
+
+            Random random = new Random(42);
+            ImmutableList.Builder<Page> pages = ImmutableList.builder();
+            PageBuilder pageBuilder = new PageBuilder(TYPES);
+            for (int row = 0; row < ROWS; row++) {
+                pageBuilder.declarePosition();
+                long value = random.nextLong();
+                BIGINT.writeLong(pageBuilder.getBlockBuilder(0), value);
+                VARCHAR.writeSlice(pageBuilder.getBlockBuilder(1), utf8Slice("value_" + value));
+                if (pageBuilder.isFull()) {
+                    pages.add(pageBuilder.build());
+                    pageBuilder.reset();
+                }
+            }
+            if (!pageBuilder.isEmpty()) {
+                pages.add(pageBuilder.build());
+            }
+            this.pages = pages.build();
+        }
+
+        @TearDown
+        public void tearDown()
+                throws Exception
+        {
+            executor.shutdownNow();
+            deleteRecursively(tempDirectory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    private static class CountingFileWriter
+            implements FileWriter
+    {
+        private long rows;
+
+        @Override
+        public long getWrittenBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getSystemMemoryUsage()
+        {
+            return 0;
+        }
+
+        @Override
+        public void appendRows(Page dataPage)
+        {
+            rows += dataPage.getPositionCount();
+        }
+
+        @Override
+        public void commit() {}
+
+        @Override
+        public void rollback() {}
+
+        @Override
+        public long getValidationCpuNanos()
+        {
+            return 0;
+        }
+    }
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        benchmark(BenchmarkSortingFileWriter.class).run();
+    }
+}
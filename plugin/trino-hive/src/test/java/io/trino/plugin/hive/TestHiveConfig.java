@@ -56,6 +56,7 @@ public class TestHiveConfig
                 .setMaxConcurrentMetastoreDrops(20)
                 .setMaxConcurrentMetastoreUpdates(20)
                 .setRecursiveDirWalkerEnabled(false)
+                .setRecursiveDirectoryListingConcurrency(1)
                 .setIgnoreAbsentPartitions(false)
                 .setHiveStorageFormat(HiveStorageFormat.ORC)
                 .setHiveCompressionCodec(HiveCompressionCodec.GZIP)
@@ -66,6 +67,7 @@ public class TestHiveConfig
                 .setSortedWritingEnabled(true)
                 .setMaxPartitionsPerWriter(100)
                 .setMaxOpenSortFiles(50)
+                .setWriterSortThreads(4)
                 .setWriteValidationThreads(16)
                 .setValidateBucketing(true)
                 .setParallelPartitionedBucketedWrites(true)
@@ -124,6 +126,7 @@ public class TestHiveConfig
                 .put("hive.domain-compaction-threshold", "42")
                 .put("hive.writer-sort-buffer-size", "13MB")
                 .put("hive.recursive-directories", "true")
+                .put("hive.recursive-directories.listing-concurrency", "8")
                 .put("hive.ignore-absent-partitions", "true")
                 .put("hive.storage-format", "SEQUENCEFILE")
                 .put("hive.compression-codec", "NONE")
@@ -133,6 +136,7 @@ public class TestHiveConfig
                 .put("hive.create-empty-bucket-files", "true")
                 .put("hive.max-partitions-per-writers", "222")
                 .put("hive.max-open-sort-files", "333")
+                .put("hive.writer-sort-threads", "7")
                 .put("hive.write-validation-threads", "11")
                 .put("hive.validate-bucketing", "false")
                 .put("hive.parallel-partitioned-bucketed-writes", "false")
@@ -197,6 +201,7 @@ public class TestHiveConfig
                 .setMaxConcurrentMetastoreDrops(100)
                 .setMaxConcurrentMetastoreUpdates(100)
                 .setRecursiveDirWalkerEnabled(true)
+                .setRecursiveDirectoryListingConcurrency(8)
                 .setIgnoreAbsentPartitions(true)
                 .setHiveStorageFormat(HiveStorageFormat.SEQUENCEFILE)
                 .setHiveCompressionCodec(HiveCompressionCodec.NONE)
@@ -206,6 +211,7 @@ public class TestHiveConfig
                 .setCreateEmptyBucketFiles(true)
                 .setMaxPartitionsPerWriter(222)
                 .setMaxOpenSortFiles(333)
+                .setWriterSortThreads(7)
                 .setWriteValidationThreads(11)
                 .setValidateBucketing(false)
                 .setParallelPartitionedBucketedWrites(false)
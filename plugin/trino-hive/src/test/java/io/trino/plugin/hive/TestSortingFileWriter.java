@@ -0,0 +1,211 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import io.airlift.units.DataSize;
+import io.trino.plugin.hive.SortingFileWriter.TempFileSinkFactory;
+import io.trino.plugin.hive.orc.OrcFileWriterFactory;
+import io.trino.spi.Page;
+import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.type.TypeOperators;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.hive.HiveTestUtils.PAGE_SORTER;
+import static io.trino.spi.connector.SortOrder.ASC_NULLS_FIRST;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSortingFileWriter
+{
+    private ListeningExecutorService executor;
+    private RawLocalFileSystem fileSystem;
+    private File tempDirectory;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        executor = listeningDecorator(newFixedThreadPool(4, daemonThreadsNamed("test-sorting-file-writer-%s")));
+        fileSystem = new RawLocalFileSystem();
+        fileSystem.initialize(fileSystem.getUri(), new Configuration(false));
+        tempDirectory = Files.createTempDirectory("test-sorting-file-writer").toFile();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        executor.shutdownNow();
+        deleteRecursively(tempDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testSmallOutput()
+    {
+        assertSortedOutput(DataSize.of(1, DataSize.Unit.MEGABYTE), 50, 10, 100);
+    }
+
+    @Test
+    public void testMergeTempFiles()
+    {
+        // every page is written to its own temporary file
+        assertSortedOutput(DataSize.ofBytes(1), 50, 40, 100);
+    }
+
+    @Test
+    public void testCombineTempFiles()
+    {
+        // the files are combined in several concurrent merges before the final merge
+        assertSortedOutput(DataSize.ofBytes(1), 3, 40, 100);
+        assertSortedOutput(DataSize.ofBytes(1), 2, 17, 10);
+    }
+
+    @Test
+    public void testRollbackAfterFailedMerge()
+    {
+        // 10 temporary files are combined in 3 concurrent merges, and one of the merges fails
+        AtomicInteger createdSinks = new AtomicInteger();
+        TempFileSinkFactory sinkFactory = (fileSystem, path) -> {
+            if (createdSinks.incrementAndGet() == 12) {
+                throw new IOException("Failed to create sink");
+            }
+            return OrcFileWriterFactory.createOrcDataSink(fileSystem, path);
+        };
+        CollectingFileWriter outputWriter = new CollectingFileWriter();
+        SortingFileWriter writer = createWriter(outputWriter, DataSize.ofBytes(1), 3, "failed-merge", sinkFactory);
+        writePages(writer, new ArrayList<>(), 10, 100);
+
+        assertThatThrownBy(writer::commit)
+                .isInstanceOf(TrinoException.class)
+                .hasMessageContaining("Failed to write temporary file");
+        assertThat(outputWriter.committed).isFalse();
+
+        // the results of the successful merges and the inputs of the failed merge are removed
+        writer.rollback();
+        assertThat(tempDirectory.list()).isEmpty();
+    }
+
+    private void assertSortedOutput(DataSize maxMemory, int maxOpenTempFiles, int pageCount, int rowsPerPage)
+    {
+        List<Long> expected = new ArrayList<>();
+        CollectingFileWriter outputWriter = new CollectingFileWriter();
+        SortingFileWriter writer = createWriter(outputWriter, maxMemory, maxOpenTempFiles, "sort-" + maxOpenTempFiles + "-" + pageCount, OrcFileWriterFactory::createOrcDataSink);
+        writePages(writer, expected, pageCount, rowsPerPage);
+        writer.commit();
+
+        assertThat(outputWriter.committed).isTrue();
+        assertThat(outputWriter.values).isSortedAccordingTo(Long::compare);
+        assertThat(outputWriter.values).containsExactlyInAnyOrderElementsOf(expected);
+        // the temporary files are removed
+        assertThat(tempDirectory.list()).isEmpty();
+    }
+
+    private SortingFileWriter createWriter(FileWriter outputWriter, DataSize maxMemory, int maxOpenTempFiles, String tempFilePrefix, TempFileSinkFactory sinkFactory)
+    {
+        return new SortingFileWriter(
+                fileSystem,
+                new Path(tempDirectory.toURI().toString(), tempFilePrefix),
+                outputWriter,
+                maxMemory,
+                maxOpenTempFiles,
+                4,
+                ImmutableList.of(BIGINT),
+                ImmutableList.of(0),
+                ImmutableList.of(ASC_NULLS_FIRST),
+                PAGE_SORTER,
+                new TypeOperators(),
+                sinkFactory,
+                executor);
+    }
+
+    private static void writePages(SortingFileWriter writer, List<Long> values, int pageCount, int rowsPerPage)
+    {
+        Random random = new Random(pageCount);
+        for (int page = 0; page < pageCount; page++) {
+            BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, rowsPerPage);
+            for (int row = 0; row < rowsPerPage; row++) {
+                long value = random.nextInt(1000);
+                BIGINT.writeLong(blockBuilder, value);
+                values.add(value);
+            }
+            writer.appendRows(new Page(blockBuilder.build()));
+        }
+    }
+
+    private static class CollectingFileWriter
+            implements FileWriter
+    {
+        private final List<Long> values = new ArrayList<>();
+        private boolean committed;
+
+        @Override
+        public long getWrittenBytes()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getSystemMemoryUsage()
+        {
+            return 0;
+        }
+
+        @Override
+        public void appendRows(Page dataPage)
+        {
+            Block block = dataPage.getBlock(0);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                values.add(BIGINT.getLong(block, position));
+            }
+        }
+
+        @Override
+        public void commit()
+        {
+            committed = true;
+        }
+
+        @Override
+        public void rollback() {}
+
+        @Override
+        public long getValidationCpuNanos()
+        {
+            return 0;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import io.trino.plugin.hive.metastore.thrift.BridgingHiveMetastore;
 import io.trino.plugin.hive.metastore.thrift.MetastoreLocator;
 import io.trino.plugin.hive.metastore.thrift.MockThriftMetastoreClient;
 import io.trino.plugin.hive.metastore.thrift.ThriftHiveMetastore;
+import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreApiStats;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreClient;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreConfig;
 import io.trino.plugin.hive.metastore.thrift.ThriftMetastoreStats;
@@ -42,6 +43,8 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -321,6 +324,41 @@ public class TestCachingHiveMetastore
         assertEquals(mockClient.getAccessCount(), 5);
     }
 
+    @Test
+    public void testGetPartitionsByNamesRefresh()
+            throws Exception
+    {
+        ThriftHiveMetastore thriftHiveMetastore = createThriftHiveMetastore();
+        Deque<Runnable> tasks = new ArrayDeque<>();
+        CachingHiveMetastore metastore = (CachingHiveMetastore) cachingHiveMetastore(
+                new BridgingHiveMetastore(thriftHiveMetastore),
+                tasks::add,
+                new Duration(5, TimeUnit.MINUTES),
+                Optional.of(new Duration(1, TimeUnit.MILLISECONDS)),
+                1000);
+        ThriftMetastoreApiStats getPartitionsByNames = thriftHiveMetastore.getStats().getGetPartitionsByNames();
+
+        Table table = metastore.getTable(IDENTITY, TEST_DATABASE, TEST_TABLE).get();
+        assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+        assertEquals(getPartitionsByNames.getTime().getAllTime().getCount(), 1.0);
+
+        Thread.sleep(10);
+
+        // the stale partitions are returned, and reloaded together in the background
+        assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+        assertEquals(getPartitionsByNames.getTime().getAllTime().getCount(), 1.0);
+        assertEquals(tasks.size(), 1);
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        assertEquals(getPartitionsByNames.getTime().getAllTime().getCount(), 2.0);
+
+        // the reloaded partitions are served from the cache
+        assertEquals(metastore.getPartitionsByNames(IDENTITY, table, ImmutableList.of(TEST_PARTITION1, TEST_PARTITION2)).size(), 2);
+        assertEquals(getPartitionsByNames.getTime().getAllTime().getCount(), 2.0);
+    }
+
     @Test
     public void testListRoles()
     {
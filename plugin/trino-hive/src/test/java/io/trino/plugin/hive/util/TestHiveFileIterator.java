@@ -0,0 +1,228 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import io.trino.plugin.hive.DirectoryLister;
+import io.trino.plugin.hive.NamenodeStats;
+import io.trino.plugin.hive.metastore.Column;
+import io.trino.plugin.hive.metastore.StorageFormat;
+import io.trino.plugin.hive.metastore.Table;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.trino.plugin.hive.HiveErrorCode.HIVE_FILE_NOT_FOUND;
+import static io.trino.plugin.hive.HiveType.HIVE_STRING;
+import static io.trino.plugin.hive.util.HiveFileIterator.NestedDirectoryPolicy.RECURSE;
+import static io.trino.testing.assertions.TrinoExceptionAssert.assertTrinoExceptionThrownBy;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.apache.hadoop.hive.metastore.TableType.MANAGED_TABLE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestHiveFileIterator
+{
+    private static final Table TABLE = Table.builder()
+            .setDatabaseName("test_dbname")
+            .setOwner("testOwner")
+            .setTableName("test_table")
+            .setTableType(MANAGED_TABLE.toString())
+            .setDataColumns(ImmutableList.of(new Column("col1", HIVE_STRING, Optional.empty())))
+            .setParameters(ImmutableMap.of())
+            .withStorage(storage -> storage
+                    .setStorageFormat(StorageFormat.create(
+                            "com.facebook.hive.orc.OrcSerde",
+                            "org.apache.hadoop.hive.ql.io.RCFileInputFormat",
+                            "org.apache.hadoop.hive.ql.io.RCFileInputFormat"))
+                    .setLocation("memory:///table"))
+            .build();
+
+    // table -> a, b, file1; a -> c, file2; b -> file3, _hidden; c -> file4, file5
+    private static final ListMultimap<String, LocatedFileStatus> DIRECTORIES = ImmutableListMultimap.<String, LocatedFileStatus>builder()
+            .putAll("memory:/table", directory("memory:/table/a"), directory("memory:/table/b"), file("memory:/table/file1"))
+            .putAll("memory:/table/a", directory("memory:/table/a/c"), file("memory:/table/a/file2"))
+            .putAll("memory:/table/b", file("memory:/table/b/file3"), file("memory:/table/b/_hidden"))
+            .putAll("memory:/table/a/c", file("memory:/table/a/c/file4"), file("memory:/table/a/c/file5"))
+            .build();
+
+    private static final Set<String> FILES = ImmutableSet.of(
+            "memory:/table/file1",
+            "memory:/table/a/file2",
+            "memory:/table/b/file3",
+            "memory:/table/a/c/file4",
+            "memory:/table/a/c/file5");
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed(getClass().getSimpleName() + "-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Test
+    public void testRecursiveListing()
+    {
+        TestingDirectoryLister directoryLister = new TestingDirectoryLister();
+        assertEquals(listFiles(directoryLister, Optional.empty()), FILES);
+        assertEquals(directoryLister.getListingThreads().size(), 1);
+    }
+
+    @Test
+    public void testConcurrentRecursiveListing()
+    {
+        TestingDirectoryLister directoryLister = new TestingDirectoryLister();
+        assertEquals(listFiles(directoryLister, Optional.of(executor)), FILES);
+        assertEquals(directoryLister.getListedPaths(), DIRECTORIES.keySet());
+    }
+
+    @Test
+    public void testListingTakenOverByCaller()
+    {
+        // the executor never runs the listings, so the calling thread must list all directories
+        TestingDirectoryLister directoryLister = new TestingDirectoryLister();
+        assertEquals(listFiles(directoryLister, Optional.of(command -> {})), FILES);
+        assertEquals(directoryLister.getListingThreads(), ImmutableSet.of(Thread.currentThread()));
+    }
+
+    @Test
+    public void testCloseCancelsPendingListings()
+    {
+        List<Runnable> pendingListings = new ArrayList<>();
+        TestingDirectoryLister directoryLister = new TestingDirectoryLister();
+        HiveFileIterator iterator = createIterator(directoryLister, Optional.of(pendingListings::add));
+        assertEquals(iterator.next().getPath().toString(), "memory:/table/file1");
+        assertEquals(pendingListings.size(), 2);
+
+        iterator.close();
+        pendingListings.forEach(Runnable::run);
+        assertFalse(iterator.hasNext());
+        assertEquals(directoryLister.getListedPaths(), ImmutableSet.of("memory:/table"));
+    }
+
+    @Test
+    public void testConcurrentListingFailure()
+    {
+        DirectoryLister directoryLister = (fileSystem, table, path) -> {
+            if (path.toString().equals("memory:/table/a/c")) {
+                throw new FileNotFoundException(path.toString());
+            }
+            return new TestingDirectoryLister().list(fileSystem, table, path);
+        };
+        assertTrinoExceptionThrownBy(() -> listFiles(directoryLister, Optional.of(executor)))
+                .hasErrorCode(HIVE_FILE_NOT_FOUND)
+                .hasMessage("Partition location does not exist: memory:/table/a/c");
+    }
+
+    private static Set<String> listFiles(DirectoryLister directoryLister, Optional<Executor> listingExecutor)
+    {
+        List<LocatedFileStatus> files = ImmutableList.copyOf(createIterator(directoryLister, listingExecutor));
+        assertTrue(files.stream().noneMatch(LocatedFileStatus::isDirectory));
+        return files.stream()
+                .map(file -> file.getPath().toString())
+                .collect(toImmutableSet());
+    }
+
+    private static HiveFileIterator createIterator(DirectoryLister directoryLister, Optional<Executor> listingExecutor)
+    {
+        return new HiveFileIterator(
+                TABLE,
+                new Path("memory:/table"),
+                new RawLocalFileSystem(),
+                directoryLister,
+                new NamenodeStats(),
+                RECURSE,
+                false,
+                listingExecutor);
+    }
+
+    private static LocatedFileStatus directory(String path)
+    {
+        return new LocatedFileStatus(0, true, 0, 0, 0, 0, null, null, null, null, new Path(path), null);
+    }
+
+    private static LocatedFileStatus file(String path)
+    {
+        return new LocatedFileStatus(0, false, 0, 0, 0, 0, null, null, null, null, new Path(path), null);
+    }
+
+    private static class TestingDirectoryLister
+            implements DirectoryLister
+    {
+        private final Set<String> listedPaths = ConcurrentHashMap.newKeySet();
+        private final Set<Thread> listingThreads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public RemoteIterator<LocatedFileStatus> list(FileSystem fileSystem, Table table, Path path)
+        {
+            listedPaths.add(path.toString());
+            listingThreads.add(Thread.currentThread());
+            Iterator<LocatedFileStatus> iterator = DIRECTORIES.get(path.toString()).iterator();
+            return new RemoteIterator<>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public LocatedFileStatus next()
+                {
+                    return iterator.next();
+                }
+            };
+        }
+
+        public Set<String> getListedPaths()
+        {
+            return ImmutableSet.copyOf(listedPaths);
+        }
+
+        public Set<Thread> getListingThreads()
+        {
+            return ImmutableSet.copyOf(listingThreads);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hive.util;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestPrefetchingIterator
+{
+    @Test
+    public void testPrefetchNextElement()
+    {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Integer> computed = new ArrayList<>();
+        PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(suppliers(computed, 3), tasks::add);
+
+        // the first element is computed by the caller, and the second one is submitted
+        assertEquals(iterator.next(), (Integer) 0);
+        assertEquals(computed, ImmutableList.of(0));
+        assertEquals(tasks.size(), 1);
+
+        tasks.remove(0).run();
+        assertEquals(computed, ImmutableList.of(0, 1));
+        assertEquals(iterator.next(), (Integer) 1);
+        assertEquals(computed, ImmutableList.of(0, 1));
+
+        // the last element was not computed by the executor yet
+        assertEquals(iterator.next(), (Integer) 2);
+        assertEquals(computed, ImmutableList.of(0, 1, 2));
+        assertFalse(iterator.hasNext());
+
+        // the element was already taken by the caller
+        tasks.remove(0).run();
+        assertEquals(computed, ImmutableList.of(0, 1, 2));
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testDirectExecutor()
+    {
+        List<Integer> computed = new ArrayList<>();
+        assertEquals(ImmutableList.copyOf(new PrefetchingIterator<>(suppliers(computed, 5), directExecutor())), ImmutableList.of(0, 1, 2, 3, 4));
+        assertEquals(computed, ImmutableList.of(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void testFailure()
+    {
+        Executor executor = Runnable::run;
+        List<Supplier<Integer>> suppliers = ImmutableList.of(
+                () -> 0,
+                () -> {
+                    throw new IllegalStateException("expected failure");
+                });
+        PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(suppliers.iterator(), executor);
+        assertEquals(iterator.next(), (Integer) 0);
+        assertThatThrownBy(iterator::next)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("expected failure");
+    }
+
+    private static Iterator<Supplier<Integer>> suppliers(List<Integer> computed, int count)
+    {
+        ImmutableList.Builder<Supplier<Integer>> suppliers = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            suppliers.add(() -> {
+                computed.add(value);
+                return value;
+            });
+        }
+        return suppliers.build().iterator();
+    }
+}
@@ -30,6 +30,9 @@ public class IcebergConfig
     private HiveCompressionCodec compressionCodec = GZIP;
     private boolean useFileSizeFromMetadata = true;
     private int maxPartitionsPerWriter = 100;
+    private int scanPlanningThreads = Runtime.getRuntime().availableProcessors();
+    private int maxOutstandingSplits = 1000;
+    private long tableStatisticsCacheMaximumSize = 1000;
 
     @NotNull
     public FileFormat getFileFormat()
@@ -91,4 +94,46 @@ public class IcebergConfig
         this.maxPartitionsPerWriter = maxPartitionsPerWriter;
         return this;
     }
+
+    @Min(1)
+    public int getScanPlanningThreads()
+    {
+        return scanPlanningThreads;
+    }
+
+    @Config("iceberg.scan-planning-threads")
+    @ConfigDescription("Number of threads used to read manifest files when generating splits")
+    public IcebergConfig setScanPlanningThreads(int scanPlanningThreads)
+    {
+        this.scanPlanningThreads = scanPlanningThreads;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxOutstandingSplits()
+    {
+        return maxOutstandingSplits;
+    }
+
+    @Config("iceberg.max-outstanding-splits")
+    @ConfigDescription("Target number of buffered splits for each table scan in a query, before the split generation is paused")
+    public IcebergConfig setMaxOutstandingSplits(int maxOutstandingSplits)
+    {
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        return this;
+    }
+
+    @Min(0)
+    public long getTableStatisticsCacheMaximumSize()
+    {
+        return tableStatisticsCacheMaximumSize;
+    }
+
+    @Config("iceberg.table-statistics-cache.maximum-size")
+    @ConfigDescription("Maximum number of table snapshots whose statistics are cached")
+    public IcebergConfig setTableStatisticsCacheMaximumSize(long tableStatisticsCacheMaximumSize)
+    {
+        this.tableStatisticsCacheMaximumSize = tableStatisticsCacheMaximumSize;
+        return this;
+    }
 }
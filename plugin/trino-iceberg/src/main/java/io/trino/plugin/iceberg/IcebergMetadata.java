@@ -72,6 +72,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.BaseTable;
 import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DataOperations;
 import org.apache.iceberg.FileFormat;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionField;
@@ -179,6 +180,7 @@ public class IcebergMetadata
     private final TypeManager typeManager;
     private final JsonCodec<CommitTaskData> commitTaskCodec;
     private final HiveTableOperationsProvider tableOperationsProvider;
+    private final TableStatisticsCache statisticsCache;
 
     private final Map<String, Optional<Long>> snapshotIds = new ConcurrentHashMap<>();
     private final Map<SchemaTableName, TableMetadata> tableMetadataCache = new ConcurrentHashMap<>();
@@ -191,7 +193,8 @@ public class IcebergMetadata
             HdfsEnvironment hdfsEnvironment,
             TypeManager typeManager,
             JsonCodec<CommitTaskData> commitTaskCodec,
-            HiveTableOperationsProvider tableOperationsProvider)
+            HiveTableOperationsProvider tableOperationsProvider,
+            TableStatisticsCache statisticsCache)
     {
         this.catalogName = requireNonNull(catalogName, "catalogName is null");
         this.metastore = requireNonNull(metastore, "metastore is null");
@@ -199,6 +202,7 @@ public class IcebergMetadata
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.commitTaskCodec = requireNonNull(commitTaskCodec, "commitTaskCodec is null");
         this.tableOperationsProvider = requireNonNull(tableOperationsProvider, "tableOperationsProvider is null");
+        this.statisticsCache = requireNonNull(statisticsCache, "statisticsCache is null");
     }
 
     @Override
@@ -251,6 +255,7 @@ public class IcebergMetadata
                 name.getTableName(),
                 name.getTableType(),
                 snapshotId,
+                Optional.empty(),
                 TupleDomain.all(),
                 TupleDomain.all());
     }
@@ -819,6 +824,7 @@ public class IcebergMetadata
                         table.getTableName(),
                         table.getTableType(),
                         table.getSnapshotId(),
+                        table.getAppendsAfterSnapshotId(),
                         newUnenforcedConstraint,
                         newEnforcedConstraint),
                 newUnenforcedConstraint.transform(ColumnHandle.class::cast)));
@@ -839,7 +845,18 @@ public class IcebergMetadata
     {
         IcebergTableHandle handle = (IcebergTableHandle) tableHandle;
         org.apache.iceberg.Table icebergTable = getIcebergTable(session, handle.getSchemaTableName());
-        return TableStatisticsMaker.getTableStatistics(typeManager, constraint, handle, icebergTable);
+        return TableStatisticsMaker.getTableStatistics(typeManager, statisticsCache, constraint, handle, icebergTable);
+    }
+
+    @Override
+    public Optional<String> getTableVersionToken(ConnectorSession session, ConnectorTableHandle tableHandle)
+    {
+        IcebergTableHandle handle = (IcebergTableHandle) tableHandle;
+        if (handle.getTableType() != DATA) {
+            return Optional.empty();
+        }
+        // Snapshots are immutable, so the snapshot id identifies the table contents
+        return handle.getSnapshotId().map(String::valueOf);
     }
 
     private Optional<Long> getSnapshotId(org.apache.iceberg.Table table, Optional<Long> snapshotId)
@@ -973,8 +990,18 @@ public class IcebergMetadata
             Collection<ComputedStatistics> computedStatistics,
             List<ConnectorTableHandle> sourceTableHandles)
     {
-        // delete before insert .. simulating overwrite
-        executeDelete(session, tableHandle);
+        IcebergTableHandle storageTable = (IcebergTableHandle) tableHandle;
+        List<IcebergTableHandle> sourceTables = sourceTableHandles.stream()
+                .map(IcebergTableHandle.class::cast)
+                .collect(toImmutableList());
+
+        // An incremental refresh which does not read the storage table only adds the rows computed from the appended data
+        boolean appendOnly = sourceTables.stream().anyMatch(handle -> handle.getAppendsAfterSnapshotId().isPresent()) &&
+                sourceTables.stream().noneMatch(handle -> handle.getSchemaTableName().equals(storageTable.getSchemaTableName()));
+        if (!appendOnly) {
+            // delete before insert .. simulating overwrite
+            executeDelete(session, tableHandle);
+        }
 
         IcebergWritableTableHandle table = (IcebergWritableTableHandle) insertHandle;
 
@@ -1005,9 +1032,10 @@ public class IcebergMetadata
             appendFiles.appendFile(builder.build());
         }
 
-        String dependencies = sourceTableHandles.stream()
-                .map(handle -> (IcebergTableHandle) handle)
+        String dependencies = sourceTables.stream()
                 .filter(handle -> handle.getSnapshotId().isPresent())
+                // an incremental refresh reads the storage table itself, which is not a dependency of the view
+                .filter(handle -> !handle.getSchemaTableName().equals(storageTable.getSchemaTableName()))
                 .map(handle -> handle.getSchemaTableName() + "=" + handle.getSnapshotId().get())
                 .collect(joining(","));
 
@@ -1091,16 +1119,7 @@ public class IcebergMetadata
         }
 
         for (Map.Entry<String, Optional<TableToken>> entry : refreshStateMap.entrySet()) {
-            List<String> strings = Splitter.on(".").splitToList(entry.getKey());
-            if (strings.size() == 3) {
-                strings = strings.subList(1, 3);
-            }
-            else if (strings.size() != 2) {
-                throw new TrinoException(ICEBERG_INVALID_METADATA, String.format("Invalid table name in '%s' property: %s'", DEPENDS_ON_TABLES, strings));
-            }
-            String schema = strings.get(0);
-            String name = strings.get(1);
-            SchemaTableName schemaTableName = new SchemaTableName(schema, name);
+            SchemaTableName schemaTableName = parseDependencyName(entry.getKey());
             if (!isTableCurrent(session, getTableHandle(session, schemaTableName), entry.getValue())) {
                 return new MaterializedViewFreshness(false);
             }
@@ -1108,6 +1127,60 @@ public class IcebergMetadata
         return new MaterializedViewFreshness(true);
     }
 
+    @Override
+    public Optional<ConnectorTableHandle> getMaterializedViewIncrementalSource(ConnectorSession session, SchemaTableName viewName, ConnectorTableHandle sourceTableHandle)
+    {
+        IcebergTableHandle source = (IcebergTableHandle) sourceTableHandle;
+        if (source.getTableType() != DATA || source.getSnapshotId().isEmpty() || source.getAppendsAfterSnapshotId().isPresent()) {
+            return Optional.empty();
+        }
+
+        Optional<Long> refreshedSnapshotId = getMaterializedViewToken(session, viewName).entrySet().stream()
+                .filter(entry -> parseDependencyName(entry.getKey()).equals(source.getSchemaTableName()))
+                .map(Map.Entry::getValue)
+                .flatMap(Optional::stream)
+                .map(TableToken::getSnapshotId)
+                .findFirst();
+        if (refreshedSnapshotId.isEmpty() || refreshedSnapshotId.get().equals(source.getSnapshotId().get())) {
+            return Optional.empty();
+        }
+
+        // Only appends can be applied incrementally. The refreshed snapshot may also be gone from the history
+        // of the table after a rollback or snapshot expiration, in which case the view has to be recomputed.
+        org.apache.iceberg.Table icebergTable = getIcebergTable(session, source.getSchemaTableName());
+        Snapshot snapshot = icebergTable.snapshot(source.getSnapshotId().get());
+        while (snapshot != null && snapshot.snapshotId() != refreshedSnapshotId.get()) {
+            if (!DataOperations.APPEND.equals(snapshot.operation())) {
+                return Optional.empty();
+            }
+            snapshot = snapshot.parentId() == null ? null : icebergTable.snapshot(snapshot.parentId());
+        }
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new IcebergTableHandle(
+                source.getSchemaName(),
+                source.getTableName(),
+                source.getTableType(),
+                source.getSnapshotId(),
+                refreshedSnapshotId,
+                source.getUnenforcedPredicate(),
+                source.getEnforcedPredicate()));
+    }
+
+    private static SchemaTableName parseDependencyName(String dependency)
+    {
+        List<String> strings = Splitter.on(".").splitToList(dependency);
+        if (strings.size() == 3) {
+            strings = strings.subList(1, 3);
+        }
+        else if (strings.size() != 2) {
+            throw new TrinoException(ICEBERG_INVALID_METADATA, String.format("Invalid table name in '%s' property: %s'", DEPENDS_ON_TABLES, strings));
+        }
+        return new SchemaTableName(strings.get(0), strings.get(1));
+    }
+
     private Map<String, Optional<TableToken>> getMaterializedViewToken(ConnectorSession session, SchemaTableName name)
     {
         Map<String, Optional<TableToken>> viewToken = new HashMap<>();
@@ -15,8 +15,10 @@ package io.trino.plugin.iceberg;
 
 import com.google.inject.Binder;
 import com.google.inject.Module;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
+import io.trino.plugin.base.CatalogName;
 import io.trino.plugin.hive.FileFormatDataSourceStats;
 import io.trino.plugin.hive.HiveConfig;
 import io.trino.plugin.hive.HiveNodePartitioningProvider;
@@ -31,9 +33,16 @@ import io.trino.spi.connector.ConnectorPageSourceProvider;
 import io.trino.spi.connector.ConnectorSplitManager;
 import io.trino.spi.procedure.Procedure;
 
+import javax.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.weakref.jmx.guice.ExportBinder.newExporter;
 
 public class IcebergModule
@@ -74,7 +83,26 @@ public class IcebergModule
         binder.bind(IcebergFileWriterFactory.class).in(Scopes.SINGLETON);
         newExporter(binder).export(IcebergFileWriterFactory.class).withGeneratedName();
 
+        binder.bind(TableStatisticsCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(TableStatisticsCache.class).withGeneratedName();
+
         Multibinder<Procedure> procedures = newSetBinder(binder, Procedure.class);
         procedures.addBinding().toProvider(RollbackToSnapshotProcedure.class).in(Scopes.SINGLETON);
     }
+
+    @ForIcebergSplitManager
+    @Singleton
+    @Provides
+    public ExecutorService createSplitManagerExecutor(CatalogName catalogName)
+    {
+        return newCachedThreadPool(daemonThreadsNamed("iceberg-split-loader-" + catalogName + "-%s"));
+    }
+
+    @ForIcebergScanPlanning
+    @Singleton
+    @Provides
+    public ExecutorService createScanPlanningExecutor(CatalogName catalogName, IcebergConfig config)
+    {
+        return newFixedThreadPool(config.getScanPlanningThreads(), daemonThreadsNamed("iceberg-scan-planning-" + catalogName + "-%s"));
+    }
 }
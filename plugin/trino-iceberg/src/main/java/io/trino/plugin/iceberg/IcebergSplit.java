@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.trino.spi.HostAddress;
 import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.predicate.TupleDomain;
 import org.apache.iceberg.FileFormat;
 
 import java.util.Collections;
@@ -38,6 +39,7 @@ public class IcebergSplit
     private final FileFormat fileFormat;
     private final List<HostAddress> addresses;
     private final Map<Integer, String> partitionKeys;
+    private final TupleDomain<IcebergColumnHandle> predicate;
 
     @JsonCreator
     public IcebergSplit(
@@ -47,7 +49,8 @@ public class IcebergSplit
             @JsonProperty("fileSize") long fileSize,
             @JsonProperty("fileFormat") FileFormat fileFormat,
             @JsonProperty("addresses") List<HostAddress> addresses,
-            @JsonProperty("partitionKeys") Map<Integer, String> partitionKeys)
+            @JsonProperty("partitionKeys") Map<Integer, String> partitionKeys,
+            @JsonProperty("predicate") TupleDomain<IcebergColumnHandle> predicate)
     {
         this.path = requireNonNull(path, "path is null");
         this.start = start;
@@ -56,6 +59,7 @@ public class IcebergSplit
         this.fileFormat = requireNonNull(fileFormat, "fileFormat is null");
         this.addresses = ImmutableList.copyOf(requireNonNull(addresses, "addresses is null"));
         this.partitionKeys = Collections.unmodifiableMap(requireNonNull(partitionKeys, "partitionKeys is null"));
+        this.predicate = requireNonNull(predicate, "predicate is null");
     }
 
     @Override
@@ -107,6 +111,16 @@ public class IcebergSplit
         return partitionKeys;
     }
 
+    /**
+     * Predicate the rows of this split still have to be checked against, after
+     * removing the conjuncts which are guaranteed by the partition of the file.
+     */
+    @JsonProperty
+    public TupleDomain<IcebergColumnHandle> getPredicate()
+    {
+        return predicate;
+    }
+
     @Override
     public Object getInfo()
     {
@@ -27,6 +27,8 @@ import org.apache.iceberg.TableScan;
 
 import javax.inject.Inject;
 
+import java.util.concurrent.ExecutorService;
+
 import static io.trino.plugin.iceberg.ExpressionConverter.toIcebergExpression;
 import static java.util.Objects.requireNonNull;
 
@@ -36,11 +38,22 @@ public class IcebergSplitManager
     public static final int ICEBERG_DOMAIN_COMPACTION_THRESHOLD = 1000;
 
     private final IcebergTransactionManager transactionManager;
+    private final ExecutorService executor;
+    private final ExecutorService scanPlanningExecutor;
+    private final int maxOutstandingSplits;
 
     @Inject
-    public IcebergSplitManager(IcebergTransactionManager transactionManager, HiveTableOperationsProvider tableOperationsProvider)
+    public IcebergSplitManager(
+            IcebergTransactionManager transactionManager,
+            HiveTableOperationsProvider tableOperationsProvider,
+            @ForIcebergSplitManager ExecutorService executor,
+            @ForIcebergScanPlanning ExecutorService scanPlanningExecutor,
+            IcebergConfig config)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.scanPlanningExecutor = requireNonNull(scanPlanningExecutor, "scanPlanningExecutor is null");
+        this.maxOutstandingSplits = requireNonNull(config, "config is null").getMaxOutstandingSplits();
     }
 
     @Override
@@ -60,18 +73,28 @@ public class IcebergSplitManager
         Table icebergTable = transactionManager.get(transaction).getIcebergTable(session, table.getSchemaTableName());
 
         TableScan tableScan = icebergTable.newScan()
+                // read the manifests in parallel
+                .planWith(scanPlanningExecutor);
+        if (table.getAppendsAfterSnapshotId().isPresent()) {
+            tableScan = tableScan.appendsBetween(table.getAppendsAfterSnapshotId().get(), table.getSnapshotId().get());
+        }
+        else {
+            tableScan = tableScan.useSnapshot(table.getSnapshotId().get());
+        }
+        tableScan = tableScan
                 .filter(toIcebergExpression(
                         table.getEnforcedPredicate()
                                 // TODO: Remove TupleDomain#simplify once Iceberg supports IN expression. Currently this
                                 // is required for IN predicates on non-partition columns with large value list. Such
                                 // predicates on partition columns are not supported.
                                 // (See AbstractTestIcebergSmoke#testLargeInFailureOnPartitionedColumns)
-                                .intersect(table.getUnenforcedPredicate().simplify(ICEBERG_DOMAIN_COMPACTION_THRESHOLD))))
-                .useSnapshot(table.getSnapshotId().get());
+                                .intersect(table.getUnenforcedPredicate().simplify(ICEBERG_DOMAIN_COMPACTION_THRESHOLD))));
 
-        // TODO Use residual. Right now there is no way to propagate residual to Trino but at least we can
-        //      propagate it at split level so the parquet pushdown can leverage it.
-        IcebergSplitSource splitSource = new IcebergSplitSource(tableScan.planTasks());
+        IcebergSplitSource splitSource = new IcebergSplitSource(
+                tableScan.planTasks(),
+                table.getUnenforcedPredicate(),
+                maxOutstandingSplits,
+                executor);
 
         return new ClassLoaderSafeConnectorSplitSource(splitSource, Thread.currentThread().getContextClassLoader());
     }
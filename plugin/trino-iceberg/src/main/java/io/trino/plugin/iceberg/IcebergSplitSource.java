@@ -14,65 +14,128 @@
 package io.trino.plugin.iceberg;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Streams;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.trino.plugin.hive.util.AsyncQueue;
+import io.trino.spi.classloader.ThreadContextClassLoader;
 import io.trino.spi.connector.ConnectorPartitionHandle;
 import io.trino.spi.connector.ConnectorSplit;
 import io.trino.spi.connector.ConnectorSplitSource;
+import io.trino.spi.predicate.TupleDomain;
 import org.apache.iceberg.CombinedScanTask;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.expressions.And;
+import org.apache.iceberg.expressions.BoundPredicate;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Not;
+import org.apache.iceberg.expressions.Or;
 import org.apache.iceberg.io.CloseableIterable;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static com.google.common.collect.Iterators.limit;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.Iterators.concat;
+import static com.google.common.util.concurrent.Futures.transform;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.trino.plugin.iceberg.IcebergUtil.getPartitionKeys;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.CompletableFuture.completedFuture;
 
+/**
+ * Generates splits in the background, so the first splits are available to the scheduler while
+ * the remaining manifests are still being read. The generation pauses while the number of
+ * buffered splits exceeds the target queue size.
+ */
 public class IcebergSplitSource
         implements ConnectorSplitSource
 {
     private final CloseableIterable<CombinedScanTask> combinedScanIterable;
-    private final Iterator<FileScanTask> fileScanIterator;
+    private final TupleDomain<IcebergColumnHandle> predicate;
+    private final Executor executor;
+    private final AsyncQueue<ConnectorSplit> queue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    // accessed only by the single running loader task
+    private Iterator<FileScanTask> fileScanIterator;
+    private volatile boolean closed;
 
-    public IcebergSplitSource(CloseableIterable<CombinedScanTask> combinedScanIterable)
+    public IcebergSplitSource(
+            CloseableIterable<CombinedScanTask> combinedScanIterable,
+            TupleDomain<IcebergColumnHandle> predicate,
+            int maxOutstandingSplits,
+            Executor executor)
     {
         this.combinedScanIterable = requireNonNull(combinedScanIterable, "combinedScanIterable is null");
+        this.predicate = requireNonNull(predicate, "predicate is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.queue = new AsyncQueue<>(maxOutstandingSplits, executor);
 
-        this.fileScanIterator = Streams.stream(combinedScanIterable)
-                .map(CombinedScanTask::files)
-                .flatMap(Collection::stream)
-                .iterator();
+        executor.execute(this::loadSplits);
+    }
+
+    private void loadSplits()
+    {
+        try (ThreadContextClassLoader ignored = new ThreadContextClassLoader(classLoader)) {
+            if (fileScanIterator == null) {
+                // iterating plans the scan, which reads the manifests
+                fileScanIterator = concat(Iterators.transform(combinedScanIterable.iterator(), task -> task.files().iterator()));
+            }
+            while (!closed && fileScanIterator.hasNext()) {
+                FileScanTask task = fileScanIterator.next();
+                Optional<TupleDomain<IcebergColumnHandle>> splitPredicate = getSplitPredicate(task.residual(), predicate);
+                if (splitPredicate.isEmpty()) {
+                    // no row of the file can match
+                    continue;
+                }
+                ListenableFuture<?> queueNotFull = queue.offer(toIcebergSplit(task, splitPredicate.get()));
+                if (!queueNotFull.isDone()) {
+                    // resume when the scheduler has consumed some of the buffered splits
+                    queueNotFull.addListener(this::loadSplits, executor);
+                    return;
+                }
+            }
+            queue.finish();
+        }
+        catch (Throwable t) {
+            failure.compareAndSet(null, t);
+            queue.finish();
+        }
     }
 
     @Override
     public CompletableFuture<ConnectorSplitBatch> getNextBatch(ConnectorPartitionHandle partitionHandle, int maxSize)
     {
-        // TODO: move this to a background thread
-        List<ConnectorSplit> splits = new ArrayList<>();
-        Iterator<FileScanTask> iterator = limit(fileScanIterator, maxSize);
-        while (iterator.hasNext()) {
-            FileScanTask task = iterator.next();
-            splits.add(toIcebergSplit(task));
-        }
-        return completedFuture(new ConnectorSplitBatch(splits, isFinished()));
+        ListenableFuture<ConnectorSplitBatch> batch = transform(queue.getBatchAsync(maxSize), splits -> {
+            Throwable throwable = failure.get();
+            if (throwable != null) {
+                throwIfUnchecked(throwable);
+                throw new RuntimeException(throwable);
+            }
+            return new ConnectorSplitBatch(splits, queue.isFinished());
+        }, directExecutor());
+        return toCompletableFuture(batch);
     }
 
     @Override
     public boolean isFinished()
     {
-        return !fileScanIterator.hasNext();
+        return queue.isFinished() && failure.get() == null;
     }
 
     @Override
     public void close()
     {
+        closed = true;
+        queue.finish();
         try {
             combinedScanIterable.close();
         }
@@ -81,13 +144,49 @@ public class IcebergSplitSource
         }
     }
 
-    private ConnectorSplit toIcebergSplit(FileScanTask task)
+    /**
+     * Returns the part of the predicate which still has to be checked for the rows of the file,
+     * or empty if the file cannot contain matching rows. Conjuncts guaranteed by the partition
+     * of the file are not part of the residual, and so readers do not evaluate them again.
+     */
+    static Optional<TupleDomain<IcebergColumnHandle>> getSplitPredicate(Expression residual, TupleDomain<IcebergColumnHandle> predicate)
+    {
+        switch (residual.op()) {
+            case TRUE:
+                return Optional.of(TupleDomain.all());
+            case FALSE:
+                return Optional.empty();
+            default:
+                ImmutableSet.Builder<Integer> fieldIds = ImmutableSet.builder();
+                if (!collectFieldIds(residual, fieldIds)) {
+                    return Optional.of(predicate);
+                }
+                Set<Integer> residualFieldIds = fieldIds.build();
+                return Optional.of(predicate.filter((column, domain) -> residualFieldIds.contains(column.getId())));
+        }
+    }
+
+    private static boolean collectFieldIds(Expression expression, ImmutableSet.Builder<Integer> fieldIds)
     {
-        // TODO: We should leverage residual expression and convert that to TupleDomain.
-        //       The predicate here is used by readers for predicate push down at reader level,
-        //       so when we do not use residual expression, we are just wasting CPU cycles
-        //       on reader side evaluating a condition that we know will always be true.
+        if (expression instanceof And) {
+            return collectFieldIds(((And) expression).left(), fieldIds) && collectFieldIds(((And) expression).right(), fieldIds);
+        }
+        if (expression instanceof Or) {
+            return collectFieldIds(((Or) expression).left(), fieldIds) && collectFieldIds(((Or) expression).right(), fieldIds);
+        }
+        if (expression instanceof Not) {
+            return collectFieldIds(((Not) expression).child(), fieldIds);
+        }
+        if (expression instanceof BoundPredicate) {
+            fieldIds.add(((BoundPredicate<?>) expression).ref().fieldId());
+            return true;
+        }
+        // the referenced columns are not known, so keep the whole predicate
+        return false;
+    }
 
+    private static ConnectorSplit toIcebergSplit(FileScanTask task, TupleDomain<IcebergColumnHandle> predicate)
+    {
         return new IcebergSplit(
                 task.file().path().toString(),
                 task.start(),
@@ -95,6 +194,7 @@ public class IcebergSplitSource
                 task.file().fileSizeInBytes(),
                 task.file().format(),
                 ImmutableList.of(),
-                getPartitionKeys(task));
+                getPartitionKeys(task),
+                predicate);
     }
 }
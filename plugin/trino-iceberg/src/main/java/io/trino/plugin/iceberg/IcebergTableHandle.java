@@ -33,6 +33,9 @@ public class IcebergTableHandle
     private final TableType tableType;
     private final Optional<Long> snapshotId;
 
+    // When present, only the data appended after this (exclusive) snapshot up to snapshotId is read
+    private final Optional<Long> appendsAfterSnapshotId;
+
     // Filter used during split generation and table scan, but not required to be strictly enforced by Iceberg Connector
     private final TupleDomain<IcebergColumnHandle> unenforcedPredicate;
 
@@ -45,6 +48,7 @@ public class IcebergTableHandle
             @JsonProperty("tableName") String tableName,
             @JsonProperty("tableType") TableType tableType,
             @JsonProperty("snapshotId") Optional<Long> snapshotId,
+            @JsonProperty("appendsAfterSnapshotId") Optional<Long> appendsAfterSnapshotId,
             @JsonProperty("unenforcedPredicate") TupleDomain<IcebergColumnHandle> unenforcedPredicate,
             @JsonProperty("enforcedPredicate") TupleDomain<IcebergColumnHandle> enforcedPredicate)
     {
@@ -52,6 +56,7 @@ public class IcebergTableHandle
         this.tableName = requireNonNull(tableName, "tableName is null");
         this.tableType = requireNonNull(tableType, "tableType is null");
         this.snapshotId = requireNonNull(snapshotId, "snapshotId is null");
+        this.appendsAfterSnapshotId = requireNonNull(appendsAfterSnapshotId, "appendsAfterSnapshotId is null");
         this.unenforcedPredicate = requireNonNull(unenforcedPredicate, "unenforcedPredicate is null");
         this.enforcedPredicate = requireNonNull(enforcedPredicate, "enforcedPredicate is null");
     }
@@ -80,6 +85,12 @@ public class IcebergTableHandle
         return snapshotId;
     }
 
+    @JsonProperty
+    public Optional<Long> getAppendsAfterSnapshotId()
+    {
+        return appendsAfterSnapshotId;
+    }
+
     @JsonProperty
     public TupleDomain<IcebergColumnHandle> getUnenforcedPredicate()
     {
@@ -117,6 +128,7 @@ public class IcebergTableHandle
                 Objects.equals(tableName, that.tableName) &&
                 tableType == that.tableType &&
                 Objects.equals(snapshotId, that.snapshotId) &&
+                Objects.equals(appendsAfterSnapshotId, that.appendsAfterSnapshotId) &&
                 Objects.equals(unenforcedPredicate, that.unenforcedPredicate) &&
                 Objects.equals(enforcedPredicate, that.enforcedPredicate);
     }
@@ -124,12 +136,12 @@ public class IcebergTableHandle
     @Override
     public int hashCode()
     {
-        return Objects.hash(schemaName, tableName, tableType, snapshotId, unenforcedPredicate, enforcedPredicate);
+        return Objects.hash(schemaName, tableName, tableType, snapshotId, appendsAfterSnapshotId, unenforcedPredicate, enforcedPredicate);
     }
 
     @Override
     public String toString()
     {
-        return getSchemaTableNameWithType() + "@" + snapshotId;
+        return getSchemaTableNameWithType() + "@" + snapshotId + appendsAfterSnapshotId.map(id -> " (appends after " + id + ")").orElse("");
     }
 }
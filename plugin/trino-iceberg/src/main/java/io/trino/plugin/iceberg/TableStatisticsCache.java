@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.spi.statistics.TableStatistics;
+import org.apache.iceberg.types.Types;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Statistics of whole table snapshots. A snapshot never changes, so the entries do not expire.
+ * The schema is part of the key, because the statistics refer to the column handles of the table.
+ */
+public class TableStatisticsCache
+{
+    private final Cache<CacheKey, TableStatistics> cache;
+
+    @Inject
+    public TableStatisticsCache(IcebergConfig config)
+    {
+        this(config.getTableStatisticsCacheMaximumSize());
+    }
+
+    public TableStatisticsCache(long maximumSize)
+    {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public TableStatistics get(SchemaTableName table, Types.StructType schema, long snapshotId, Supplier<TableStatistics> loader)
+    {
+        try {
+            return cache.get(new CacheKey(table, schema, snapshotId), loader::get);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public Optional<TableStatistics> getIfPresent(SchemaTableName table, Types.StructType schema, long snapshotId)
+    {
+        return Optional.ofNullable(cache.getIfPresent(new CacheKey(table, schema, snapshotId)));
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    @Managed
+    public Double getHitRate()
+    {
+        return cache.stats().hitRate();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    private static final class CacheKey
+    {
+        private final SchemaTableName table;
+        private final Types.StructType schema;
+        private final long snapshotId;
+
+        public CacheKey(SchemaTableName table, Types.StructType schema, long snapshotId)
+        {
+            this.table = requireNonNull(table, "table is null");
+            this.schema = requireNonNull(schema, "schema is null");
+            this.snapshotId = snapshotId;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return snapshotId == that.snapshotId &&
+                    table.equals(that.table) &&
+                    schema.equals(that.schema);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(table, schema, snapshotId);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("table", table)
+                    .add("snapshotId", snapshotId)
+                    .toString();
+        }
+    }
+}
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.Constraint;
+import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.predicate.Domain;
 import io.trino.spi.predicate.NullableValue;
 import io.trino.spi.predicate.TupleDomain;
@@ -26,8 +27,10 @@ import io.trino.spi.statistics.Estimate;
 import io.trino.spi.statistics.TableStatistics;
 import io.trino.spi.type.TypeManager;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataOperations;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
@@ -59,17 +62,19 @@ import static java.util.stream.Collectors.toUnmodifiableMap;
 public class TableStatisticsMaker
 {
     private final TypeManager typeManager;
+    private final TableStatisticsCache statisticsCache;
     private final Table icebergTable;
 
-    private TableStatisticsMaker(TypeManager typeManager, Table icebergTable)
+    private TableStatisticsMaker(TypeManager typeManager, TableStatisticsCache statisticsCache, Table icebergTable)
     {
         this.typeManager = typeManager;
+        this.statisticsCache = statisticsCache;
         this.icebergTable = icebergTable;
     }
 
-    public static TableStatistics getTableStatistics(TypeManager typeManager, Constraint constraint, IcebergTableHandle tableHandle, Table icebergTable)
+    public static TableStatistics getTableStatistics(TypeManager typeManager, TableStatisticsCache statisticsCache, Constraint constraint, IcebergTableHandle tableHandle, Table icebergTable)
     {
-        return new TableStatisticsMaker(typeManager, icebergTable).makeTableStatistics(tableHandle, constraint);
+        return new TableStatisticsMaker(typeManager, statisticsCache, icebergTable).makeTableStatistics(tableHandle, constraint);
     }
 
     private TableStatistics makeTableStatistics(IcebergTableHandle tableHandle, Constraint constraint)
@@ -86,6 +91,45 @@ public class TableStatisticsMaker
             return TableStatistics.empty();
         }
 
+        if (intersection.isAll() && constraint.predicate().isEmpty()) {
+            // The statistics of a whole snapshot do not depend on the query, so they are computed once
+            long snapshotId = tableHandle.getSnapshotId().get();
+            return statisticsCache.get(
+                    tableHandle.getSchemaTableName(),
+                    icebergTable.schema().asStruct(),
+                    snapshotId,
+                    () -> makeSnapshotStatistics(tableHandle.getSchemaTableName(), snapshotId));
+        }
+
+        TableScan tableScan = icebergTable.newScan()
+                .filter(toIcebergExpression(intersection))
+                .useSnapshot(tableHandle.getSnapshotId().get())
+                .includeColumnStats();
+
+        return makeStatistics(CloseableIterable.transform(tableScan.planFiles(), FileScanTask::file), constraint);
+    }
+
+    private TableStatistics makeSnapshotStatistics(SchemaTableName tableName, long snapshotId)
+    {
+        // An append only adds files to its parent snapshot, so when the statistics of the parent are known,
+        // only the manifests written by the append need to be read
+        Snapshot snapshot = icebergTable.snapshot(snapshotId);
+        if (snapshot != null && DataOperations.APPEND.equals(snapshot.operation()) && snapshot.parentId() != null) {
+            Optional<TableStatistics> parentStatistics = statisticsCache.getIfPresent(tableName, icebergTable.schema().asStruct(), snapshot.parentId());
+            if (parentStatistics.isPresent()) {
+                TableStatistics addedStatistics = makeStatistics(CloseableIterable.withNoopClose(snapshot.addedFiles()), Constraint.alwaysTrue());
+                return mergeStatistics(parentStatistics.get(), addedStatistics);
+            }
+        }
+
+        TableScan tableScan = icebergTable.newScan()
+                .useSnapshot(snapshotId)
+                .includeColumnStats();
+        return makeStatistics(CloseableIterable.transform(tableScan.planFiles(), FileScanTask::file), Constraint.alwaysTrue());
+    }
+
+    private TableStatistics makeStatistics(CloseableIterable<DataFile> dataFiles, Constraint constraint)
+    {
         List<Types.NestedField> columns = icebergTable.schema().columns();
 
         Map<Integer, Type.PrimitiveType> idToTypeMapping = columns.stream()
@@ -119,15 +163,9 @@ public class TableStatisticsMaker
         }
         Map<Integer, ColumnFieldDetails> idToDetails = idToDetailsBuilder.build();
 
-        TableScan tableScan = icebergTable.newScan()
-                .filter(toIcebergExpression(intersection))
-                .useSnapshot(tableHandle.getSnapshotId().get())
-                .includeColumnStats();
-
         Partition summary = null;
-        try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
-            for (FileScanTask fileScanTask : fileScanTasks) {
-                DataFile dataFile = fileScanTask.file();
+        try (CloseableIterable<DataFile> files = dataFiles) {
+            for (DataFile dataFile : files) {
                 if (!dataFileMatches(
                         dataFile,
                         constraint,
@@ -193,6 +231,43 @@ public class TableStatisticsMaker
         return new TableStatistics(Estimate.of(recordCount), columnHandleBuilder.build());
     }
 
+    /**
+     * Combines the statistics of two disjoint sets of files. Values which are not known for both sets are not reported.
+     */
+    static TableStatistics mergeStatistics(TableStatistics first, TableStatistics second)
+    {
+        if (second.getRowCount().isUnknown()) {
+            return first;
+        }
+        if (first.getRowCount().isUnknown()) {
+            return second;
+        }
+        double firstRowCount = first.getRowCount().getValue();
+        double secondRowCount = second.getRowCount().getValue();
+        double rowCount = firstRowCount + secondRowCount;
+
+        ImmutableMap.Builder<ColumnHandle, ColumnStatistics> columnStatistics = ImmutableMap.builder();
+        first.getColumnStatistics().forEach((column, firstColumn) -> {
+            ColumnStatistics secondColumn = second.getColumnStatistics().get(column);
+            if (secondColumn == null) {
+                return;
+            }
+            ColumnStatistics.Builder builder = ColumnStatistics.builder();
+            if (!firstColumn.getNullsFraction().isUnknown() && !secondColumn.getNullsFraction().isUnknown() && rowCount > 0) {
+                double nullCount = firstColumn.getNullsFraction().getValue() * firstRowCount + secondColumn.getNullsFraction().getValue() * secondRowCount;
+                builder.setNullsFraction(Estimate.of(nullCount / rowCount));
+            }
+            if (!firstColumn.getDataSize().isUnknown() && !secondColumn.getDataSize().isUnknown()) {
+                builder.setDataSize(Estimate.of(firstColumn.getDataSize().getValue() + secondColumn.getDataSize().getValue()));
+            }
+            if (firstColumn.getRange().isPresent() && secondColumn.getRange().isPresent()) {
+                builder.setRange(DoubleRange.union(firstColumn.getRange().get(), secondColumn.getRange().get()));
+            }
+            columnStatistics.put(column, builder.build());
+        });
+        return new TableStatistics(Estimate.of(rowCount), columnStatistics.build());
+    }
+
     private boolean dataFileMatches(
             DataFile dataFile,
             Constraint constraint,
@@ -35,7 +35,10 @@ public class TestIcebergConfig
                 .setFileFormat(ORC)
                 .setCompressionCodec(GZIP)
                 .setUseFileSizeFromMetadata(true)
-                .setMaxPartitionsPerWriter(100));
+                .setMaxPartitionsPerWriter(100)
+                .setScanPlanningThreads(Runtime.getRuntime().availableProcessors())
+                .setMaxOutstandingSplits(1000)
+                .setTableStatisticsCacheMaximumSize(1000));
     }
 
     @Test
@@ -46,13 +49,19 @@ public class TestIcebergConfig
                 .put("iceberg.compression-codec", "NONE")
                 .put("iceberg.use-file-size-from-metadata", "false")
                 .put("iceberg.max-partitions-per-writer", "222")
+                .put("iceberg.scan-planning-threads", "42")
+                .put("iceberg.max-outstanding-splits", "333")
+                .put("iceberg.table-statistics-cache.maximum-size", "42")
                 .build();
 
         IcebergConfig expected = new IcebergConfig()
                 .setFileFormat(PARQUET)
                 .setCompressionCodec(HiveCompressionCodec.NONE)
                 .setUseFileSizeFromMetadata(false)
-                .setMaxPartitionsPerWriter(222);
+                .setMaxPartitionsPerWriter(222)
+                .setScanPlanningThreads(42)
+                .setMaxOutstandingSplits(333)
+                .setTableStatisticsCacheMaximumSize(42);
 
         assertFullMapping(properties, expected);
     }
@@ -183,6 +183,17 @@ public class TestIcebergMaterializedViews
                 privilege(storageTable.getTableName(), SELECT_COLUMN));
 
         assertUpdate("DROP MATERIALIZED VIEW materialized_view_refresh");
+
+        // an incremental refresh of an aggregation reads the storage table, so it is not used
+        assertUpdate("CREATE MATERIALIZED VIEW materialized_view_refresh_agg AS SELECT _date, count(*) AS num_rows FROM base_table1 GROUP BY _date");
+        assertUpdate("REFRESH MATERIALIZED VIEW materialized_view_refresh_agg", 3);
+        SchemaTableName aggregationStorageTable = getStorageTable("iceberg", "tpch", "materialized_view_refresh_agg");
+
+        assertAccessAllowed(
+                "REFRESH MATERIALIZED VIEW materialized_view_refresh_agg",
+                privilege(aggregationStorageTable.getTableName(), SELECT_COLUMN));
+
+        assertUpdate("DROP MATERIALIZED VIEW materialized_view_refresh_agg");
     }
 
     @Test(enabled = false) // TODO https://github.com/trinodb/trino/issues/5892
@@ -325,6 +336,43 @@ public class TestIcebergMaterializedViews
         assertUpdate("DROP MATERIALIZED VIEW materialized_view_join_part_stale");
     }
 
+    @Test(enabled = false) // TODO https://github.com/trinodb/trino/issues/5892
+    public void testIncrementalRefresh()
+    {
+        assertUpdate("CREATE TABLE base_table_incremental(_bigint BIGINT, _date DATE)");
+        assertUpdate("INSERT INTO base_table_incremental VALUES (0, DATE '2019-09-08'), (1, DATE '2019-09-09'), (2, DATE '2019-09-09')", 3);
+
+        assertUpdate("CREATE MATERIALIZED VIEW materialized_view_incremental_filter AS SELECT _bigint * 2 AS doubled, _date FROM base_table_incremental WHERE _bigint > 0");
+        assertUpdate("CREATE MATERIALIZED VIEW materialized_view_incremental_agg AS " +
+                "SELECT _date, count(*) AS num_rows, sum(_bigint) AS total, min(_bigint) AS smallest, max(_bigint) AS largest FROM base_table_incremental GROUP BY _date");
+        assertUpdate("REFRESH MATERIALIZED VIEW materialized_view_incremental_filter", 2);
+        assertUpdate("REFRESH MATERIALIZED VIEW materialized_view_incremental_agg", 2);
+
+        // only the appended rows are processed, and aggregates are merged with the current content of the storage table
+        assertUpdate("INSERT INTO base_table_incremental VALUES (3, DATE '2019-09-09'), (4, DATE '2019-09-10')", 2);
+        assertUpdate("REFRESH MATERIALIZED VIEW materialized_view_incremental_filter", 2);
+        assertUpdate("REFRESH MATERIALIZED VIEW materialized_view_incremental_agg", 3);
+        assertQuery("SELECT * FROM materialized_view_incremental_filter", "VALUES (2, DATE '2019-09-09'), (4, DATE '2019-09-09'), (6, DATE '2019-09-09'), (8, DATE '2019-09-10')");
+        assertQuery("SELECT * FROM materialized_view_incremental_agg", "VALUES " +
+                "(DATE '2019-09-08', 1, 0, 0, 0), " +
+                "(DATE '2019-09-09', 3, 6, 1, 3), " +
+                "(DATE '2019-09-10', 1, 4, 4, 4)");
+        String plan = getExplainPlan("SELECT * FROM materialized_view_incremental_agg", ExplainType.Type.IO);
+        assertFalse(plan.contains("base_table_incremental"));
+
+        // without the session property the whole view is recomputed
+        Session fullRefresh = Session.builder(getSession())
+                .setSystemProperty("incremental_materialized_view_refresh_enabled", "false")
+                .build();
+        assertUpdate("INSERT INTO base_table_incremental VALUES (5, DATE '2019-09-10')", 1);
+        assertUpdate(fullRefresh, "REFRESH MATERIALIZED VIEW materialized_view_incremental_filter", 5);
+        assertQuery("SELECT count(*) FROM materialized_view_incremental_filter", "VALUES 5");
+
+        assertUpdate("DROP MATERIALIZED VIEW materialized_view_incremental_filter");
+        assertUpdate("DROP MATERIALIZED VIEW materialized_view_incremental_agg");
+        assertUpdate("DROP TABLE base_table_incremental");
+    }
+
     @Test(enabled = false) // TODO https://github.com/trinodb/trino/issues/5892
     public void testSqlFeatures()
     {
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+import io.trino.Session;
+import io.trino.execution.QueryResultCache;
+import io.trino.testing.AbstractTestQueryFramework;
+import io.trino.testing.QueryRunner;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static io.trino.SystemSessionProperties.QUERY_RESULT_CACHE_ENABLED;
+import static io.trino.plugin.iceberg.IcebergQueryRunner.createIcebergQueryRunner;
+import static org.testng.Assert.assertEquals;
+
+@Test(singleThreaded = true)
+public class TestIcebergQueryResultCache
+        extends AbstractTestQueryFramework
+{
+    private QueryResultCache cache;
+
+    @Override
+    protected QueryRunner createQueryRunner()
+            throws Exception
+    {
+        return createIcebergQueryRunner(ImmutableMap.of(), ImmutableList.of());
+    }
+
+    @BeforeMethod
+    public void setUp()
+    {
+        cache = getDistributedQueryRunner().getCoordinator().getInstance(Key.get(QueryResultCache.class));
+        cache.invalidateAll();
+    }
+
+    @Test
+    public void testHitAndMiss()
+    {
+        assertUpdate("CREATE TABLE test_result_cache_hit AS SELECT * FROM (VALUES 1, 2, 3) t(x)", 3);
+        try {
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_hit", "VALUES 6", 0, 1);
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_hit", "VALUES 6", 1, 1);
+            assertEquals(cache.getEntryCount(), 1);
+
+            // another query
+            assertCachedQuery("SELECT max(x) FROM test_result_cache_hit", "VALUES 3", 1, 2);
+            assertCachedQuery("SELECT max(x) FROM test_result_cache_hit", "VALUES 3", 2, 2);
+
+            // a query run without the session property neither reads nor populates the cache
+            assertQuery("SELECT min(x) FROM test_result_cache_hit", "VALUES 1");
+            assertEquals(cache.getHitCount(), 2);
+            assertEquals(cache.getMissCount(), 2);
+            assertEquals(cache.getEntryCount(), 2);
+            assertEquals(cache.getPendingSizeInBytes(), 0);
+        }
+        finally {
+            assertUpdate("DROP TABLE test_result_cache_hit");
+        }
+    }
+
+    @Test
+    public void testInvalidation()
+    {
+        assertUpdate("CREATE TABLE test_result_cache_invalidation AS SELECT * FROM (VALUES 1, 2, 3) t(x)", 3);
+        try {
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_invalidation", "VALUES 6", 0, 1);
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_invalidation", "VALUES 6", 1, 1);
+
+            // a new snapshot of the table is a new version of the table
+            assertUpdate("INSERT INTO test_result_cache_invalidation VALUES 4", 1);
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_invalidation", "VALUES 10", 1, 2);
+            assertCachedQuery("SELECT sum(x) FROM test_result_cache_invalidation", "VALUES 10", 2, 2);
+
+            // a different session is a different key
+            Session session = Session.builder(cachedSession())
+                    .setSystemProperty("join_distribution_type", "BROADCAST")
+                    .build();
+            assertQuery(session, "SELECT sum(x) FROM test_result_cache_invalidation", "VALUES 10");
+            assertEquals(cache.getHitCount(), 2);
+            assertEquals(cache.getMissCount(), 3);
+        }
+        finally {
+            assertUpdate("DROP TABLE test_result_cache_invalidation");
+        }
+    }
+
+    private void assertCachedQuery(String sql, String expected, long expectedHits, long expectedMisses)
+    {
+        assertQuery(cachedSession(), sql, expected);
+        assertEquals(cache.getHitCount(), expectedHits);
+        assertEquals(cache.getMissCount(), expectedMisses);
+    }
+
+    private Session cachedSession()
+    {
+        return Session.builder(getSession())
+                .setSystemProperty(QUERY_RESULT_CACHE_ENABLED, "true")
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.expressions.Binder;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static io.trino.plugin.iceberg.IcebergColumnHandle.primitiveIcebergColumnHandle;
+import static io.trino.plugin.iceberg.IcebergSplitSource.getSplitPredicate;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static org.apache.iceberg.types.Types.NestedField.required;
+import static org.testng.Assert.assertEquals;
+
+public class TestIcebergSplitSource
+{
+    private static final Schema SCHEMA = new Schema(
+            required(1, "a", Types.LongType.get()),
+            required(2, "b", Types.LongType.get()));
+
+    private static final IcebergColumnHandle COLUMN_A = primitiveIcebergColumnHandle(1, "a", BIGINT, Optional.empty());
+    private static final IcebergColumnHandle COLUMN_B = primitiveIcebergColumnHandle(2, "b", BIGINT, Optional.empty());
+
+    private static final TupleDomain<IcebergColumnHandle> PREDICATE = TupleDomain.withColumnDomains(ImmutableMap.of(
+            COLUMN_A, Domain.singleValue(BIGINT, 1L),
+            COLUMN_B, Domain.singleValue(BIGINT, 2L)));
+
+    @Test
+    public void testFullyMatchedFile()
+    {
+        assertEquals(getSplitPredicate(Expressions.alwaysTrue(), PREDICATE), Optional.of(TupleDomain.all()));
+    }
+
+    @Test
+    public void testNotMatchedFile()
+    {
+        assertEquals(getSplitPredicate(Expressions.alwaysFalse(), PREDICATE), Optional.empty());
+    }
+
+    @Test
+    public void testPartiallyMatchedFile()
+    {
+        assertEquals(
+                getSplitPredicate(bind(Expressions.equal("b", 2L)), PREDICATE),
+                Optional.of(TupleDomain.withColumnDomains(ImmutableMap.of(COLUMN_B, Domain.singleValue(BIGINT, 2L)))));
+        assertEquals(
+                getSplitPredicate(bind(Expressions.or(Expressions.equal("a", 1L), Expressions.not(Expressions.equal("b", 2L)))), PREDICATE),
+                Optional.of(PREDICATE));
+    }
+
+    @Test
+    public void testUnboundResidual()
+    {
+        // the referenced columns are unknown, so the whole predicate is kept
+        assertEquals(getSplitPredicate(Expressions.equal("b", 2L), PREDICATE), Optional.of(PREDICATE));
+    }
+
+    private static Expression bind(Expression expression)
+    {
+        return Binder.bind(SCHEMA.asStruct(), expression, true);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.iceberg;
+
+import com.google.common.collect.ImmutableMap;
+import io.trino.spi.statistics.ColumnStatistics;
+import io.trino.spi.statistics.DoubleRange;
+import io.trino.spi.statistics.Estimate;
+import io.trino.spi.statistics.TableStatistics;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static io.trino.plugin.iceberg.IcebergColumnHandle.primitiveIcebergColumnHandle;
+import static io.trino.plugin.iceberg.TableStatisticsMaker.mergeStatistics;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+
+public class TestTableStatisticsMaker
+{
+    private static final IcebergColumnHandle COLUMN = primitiveIcebergColumnHandle(1, "a", BIGINT, Optional.empty());
+
+    @Test
+    public void testMergeStatistics()
+    {
+        TableStatistics first = new TableStatistics(Estimate.of(30), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                .setNullsFraction(Estimate.of(0.25))
+                .setDataSize(Estimate.of(100))
+                .setRange(new DoubleRange(1, 5))
+                .build()));
+        TableStatistics second = new TableStatistics(Estimate.of(10), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                .setNullsFraction(Estimate.of(0.5))
+                .setDataSize(Estimate.of(20))
+                .setRange(new DoubleRange(3, 10))
+                .build()));
+
+        assertEquals(
+                mergeStatistics(first, second),
+                new TableStatistics(Estimate.of(40), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                        .setNullsFraction(Estimate.of(0.3125))
+                        .setDataSize(Estimate.of(120))
+                        .setRange(new DoubleRange(1, 10))
+                        .build())));
+    }
+
+    @Test
+    public void testMergeUnknownStatistics()
+    {
+        TableStatistics statistics = new TableStatistics(Estimate.of(10), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                .setDataSize(Estimate.of(20))
+                .setRange(new DoubleRange(3, 10))
+                .build()));
+        TableStatistics withoutRange = new TableStatistics(Estimate.of(10), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                .setNullsFraction(Estimate.of(0))
+                .setDataSize(Estimate.of(20))
+                .build()));
+
+        // no files were added
+        assertEquals(mergeStatistics(statistics, TableStatistics.empty()), statistics);
+        assertEquals(mergeStatistics(TableStatistics.empty(), statistics), statistics);
+
+        assertEquals(
+                mergeStatistics(statistics, withoutRange),
+                new TableStatistics(Estimate.of(20), ImmutableMap.of(COLUMN, ColumnStatistics.builder()
+                        .setDataSize(Estimate.of(40))
+                        .build())));
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.kafka;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import io.airlift.slice.Slice;
+import io.trino.decoder.DecoderColumnHandle;
+import io.trino.decoder.FieldValueProvider;
+import io.trino.decoder.RowDecoder;
+import io.trino.spi.Page;
+import io.trino.spi.PageBuilder;
+import io.trino.spi.block.Block;
+import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.connector.ConnectorPageSource;
+import io.trino.spi.type.MapType;
+import io.trino.spi.type.Type;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.decoder.FieldValueProviders.booleanValueProvider;
+import static io.trino.decoder.FieldValueProviders.bytesValueProvider;
+import static io.trino.decoder.FieldValueProviders.longValueProvider;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.HEADERS_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.KEY_CORRUPT_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.KEY_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.KEY_LENGTH_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.MESSAGE_CORRUPT_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.MESSAGE_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.MESSAGE_LENGTH_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.OFFSET_TIMESTAMP_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.PARTITION_ID_FIELD;
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.PARTITION_OFFSET_FIELD;
+import static io.trino.spi.type.Timestamps.MICROSECONDS_PER_MILLISECOND;
+import static io.trino.spi.type.TypeUtils.writeNativeValue;
+import static java.lang.Math.max;
+import static java.util.Collections.emptyIterator;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the messages of a split directly into pages. Every message is decoded once, and the
+ * source and the writer of each column are chosen when the page source is created, so values
+ * are appended to the block builders without looking them up in a per message map and without
+ * the per value dispatch of a {@link io.trino.spi.connector.RecordCursor}.
+ */
+public class KafkaPageSource
+        implements ConnectorPageSource
+{
+    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+    private static final int CONSUMER_POLL_TIMEOUT = 100;
+    // bounds the page size when no columns are read, for example for count(*)
+    private static final int MAX_POSITIONS_PER_PAGE = 8192;
+
+    private final KafkaSplit split;
+    private final TopicPartition topicPartition;
+    private final Consumer<byte[], byte[]> kafkaConsumer;
+    private final RowDecoder keyDecoder;
+    private final RowDecoder messageDecoder;
+    private final ColumnWriter[] columnWriters;
+    private final PageBuilder pageBuilder;
+
+    private Iterator<ConsumerRecord<byte[], byte[]>> records = emptyIterator();
+    private long completedBytes;
+    private long readTimeNanos;
+    private boolean finished;
+    private boolean closed;
+
+    // the message being appended, read by the column writers
+    private ConsumerRecord<byte[], byte[]> message;
+    private byte[] keyData;
+    private byte[] messageData;
+    @Nullable
+    private Map<DecoderColumnHandle, FieldValueProvider> decodedKey;
+    @Nullable
+    private Map<DecoderColumnHandle, FieldValueProvider> decodedValue;
+
+    KafkaPageSource(
+            KafkaSplit split,
+            Consumer<byte[], byte[]> kafkaConsumer,
+            List<KafkaColumnHandle> columnHandles,
+            RowDecoder keyDecoder,
+            RowDecoder messageDecoder)
+    {
+        this.split = requireNonNull(split, "split is null");
+        this.keyDecoder = requireNonNull(keyDecoder, "keyDecoder is null");
+        this.messageDecoder = requireNonNull(messageDecoder, "messageDecoder is null");
+        requireNonNull(columnHandles, "columnHandles is null");
+
+        List<Type> columnTypes = columnHandles.stream()
+                .map(KafkaColumnHandle::getType)
+                .collect(toImmutableList());
+        this.pageBuilder = new PageBuilder(columnTypes);
+        this.columnWriters = new ColumnWriter[columnHandles.size()];
+        for (int i = 0; i < columnHandles.size(); i++) {
+            KafkaColumnHandle columnHandle = columnHandles.get(i);
+            columnWriters[i] = createColumnWriter(columnHandle.getType(), createValueSupplier(columnHandle));
+        }
+
+        topicPartition = new TopicPartition(split.getTopicName(), split.getPartitionId());
+        this.kafkaConsumer = requireNonNull(kafkaConsumer, "kafkaConsumer is null");
+        kafkaConsumer.assign(ImmutableList.of(topicPartition));
+        kafkaConsumer.seek(topicPartition, split.getMessagesRange().getBegin());
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished || closed;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getRetainedSizeInBytes();
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (isFinished()) {
+            return null;
+        }
+
+        while (!pageBuilder.isFull() && pageBuilder.getPositionCount() < MAX_POSITIONS_PER_PAGE) {
+            if (!records.hasNext()) {
+                long start = System.nanoTime();
+                try {
+                    if (kafkaConsumer.position(topicPartition) >= split.getMessagesRange().getEnd()) {
+                        finished = true;
+                        break;
+                    }
+                    records = kafkaConsumer.poll(Duration.ofMillis(CONSUMER_POLL_TIMEOUT)).iterator();
+                }
+                finally {
+                    readTimeNanos += System.nanoTime() - start;
+                }
+                if (!records.hasNext()) {
+                    // return the messages read so far instead of waiting for the broker
+                    break;
+                }
+            }
+
+            ConsumerRecord<byte[], byte[]> record = records.next();
+            if (record.offset() >= split.getMessagesRange().getEnd()) {
+                finished = true;
+                break;
+            }
+            appendMessage(record);
+        }
+
+        if (pageBuilder.isEmpty()) {
+            return null;
+        }
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        return page;
+    }
+
+    private void appendMessage(ConsumerRecord<byte[], byte[]> record)
+    {
+        completedBytes += max(record.serializedKeySize(), 0) + max(record.serializedValueSize(), 0);
+
+        message = record;
+        keyData = record.key() == null ? EMPTY_BYTE_ARRAY : record.key();
+        messageData = record.value() == null ? EMPTY_BYTE_ARRAY : record.value();
+        decodedKey = keyDecoder.decodeRow(keyData).orElse(null);
+        decodedValue = messageDecoder.decodeRow(messageData).orElse(null);
+
+        pageBuilder.declarePosition();
+        for (int column = 0; column < columnWriters.length; column++) {
+            columnWriters[column].write(pageBuilder.getBlockBuilder(column));
+        }
+    }
+
+    private Supplier<FieldValueProvider> createValueSupplier(KafkaColumnHandle columnHandle)
+    {
+        if (!columnHandle.isInternal()) {
+            if (columnHandle.isKeyCodec()) {
+                return () -> decodedKey == null ? null : decodedKey.get(columnHandle);
+            }
+            return () -> decodedValue == null ? null : decodedValue.get(columnHandle);
+        }
+
+        switch (columnHandle.getName()) {
+            case PARTITION_OFFSET_FIELD:
+                return () -> longValueProvider(message.offset());
+            case MESSAGE_FIELD:
+                return () -> bytesValueProvider(messageData);
+            case MESSAGE_LENGTH_FIELD:
+                return () -> longValueProvider(messageData.length);
+            case KEY_FIELD:
+                return () -> bytesValueProvider(keyData);
+            case KEY_LENGTH_FIELD:
+                return () -> longValueProvider(keyData.length);
+            case OFFSET_TIMESTAMP_FIELD:
+                return () -> longValueProvider(message.timestamp() * MICROSECONDS_PER_MILLISECOND);
+            case KEY_CORRUPT_FIELD:
+                return () -> booleanValueProvider(decodedKey == null);
+            case HEADERS_FIELD:
+                MapType headersType = (MapType) columnHandle.getType();
+                return () -> headerMapValueProvider(headersType, message.headers());
+            case MESSAGE_CORRUPT_FIELD:
+                return () -> booleanValueProvider(decodedValue == null);
+            case PARTITION_ID_FIELD:
+                return () -> longValueProvider(message.partition());
+            default:
+                throw new IllegalArgumentException("unknown internal field " + columnHandle.getName());
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        kafkaConsumer.close();
+    }
+
+    private static ColumnWriter createColumnWriter(Type type, Supplier<FieldValueProvider> valueSupplier)
+    {
+        Class<?> javaType = type.getJavaType();
+        if (javaType == boolean.class) {
+            return output -> {
+                FieldValueProvider value = valueSupplier.get();
+                if (value == null || value.isNull()) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeBoolean(output, value.getBoolean());
+                }
+            };
+        }
+        if (javaType == long.class) {
+            return output -> {
+                FieldValueProvider value = valueSupplier.get();
+                if (value == null || value.isNull()) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeLong(output, value.getLong());
+                }
+            };
+        }
+        if (javaType == double.class) {
+            return output -> {
+                FieldValueProvider value = valueSupplier.get();
+                if (value == null || value.isNull()) {
+                    output.appendNull();
+                }
+                else {
+                    type.writeDouble(output, value.getDouble());
+                }
+            };
+        }
+        if (javaType == Slice.class) {
+            return output -> {
+                FieldValueProvider value = valueSupplier.get();
+                if (value == null || value.isNull()) {
+                    output.appendNull();
+                }
+                else {
+                    Slice slice = value.getSlice();
+                    type.writeSlice(output, slice, 0, slice.length());
+                }
+            };
+        }
+        return output -> {
+            FieldValueProvider value = valueSupplier.get();
+            if (value == null || value.isNull()) {
+                output.appendNull();
+            }
+            else {
+                type.writeObject(output, value.getBlock());
+            }
+        };
+    }
+
+    private interface ColumnWriter
+    {
+        void write(BlockBuilder output);
+    }
+
+    public static FieldValueProvider headerMapValueProvider(MapType varcharMapType, Headers headers)
+    {
+        Type keyType = varcharMapType.getTypeParameters().get(0);
+        Type valueArrayType = varcharMapType.getTypeParameters().get(1);
+        Type valueType = valueArrayType.getTypeParameters().get(0);
+
+        BlockBuilder mapBlockBuilder = varcharMapType.createBlockBuilder(null, 1);
+        BlockBuilder builder = mapBlockBuilder.beginBlockEntry();
+
+        // Group by keys and collect values as array.
+        Multimap<String, byte[]> headerMap = ArrayListMultimap.create();
+        for (Header header : headers) {
+            headerMap.put(header.key(), header.value());
+        }
+
+        for (String headerKey : headerMap.keySet()) {
+            writeNativeValue(keyType, builder, headerKey);
+            BlockBuilder arrayBuilder = builder.beginBlockEntry();
+            for (byte[] value : headerMap.get(headerKey)) {
+                writeNativeValue(valueType, arrayBuilder, value);
+            }
+            builder.closeEntry();
+        }
+
+        mapBlockBuilder.closeEntry();
+
+        return new FieldValueProvider()
+        {
+            @Override
+            public boolean isNull()
+            {
+                return false;
+            }
+
+            @Override
+            public Block getBlock()
+            {
+                return varcharMapType.getObject(mapBlockBuilder, 0);
+            }
+        };
+    }
+}
@@ -50,7 +50,7 @@ public class Range
     {
         ImmutableList.Builder<Range> partitions = ImmutableList.builder();
         long position = begin;
-        while (position <= end) {
+        while (position < end) {
             partitions.add(new Range(position, min(position + partitionSize, end)));
             position += partitionSize;
         }
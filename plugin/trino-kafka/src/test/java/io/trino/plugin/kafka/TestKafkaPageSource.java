@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.kafka;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.decoder.dummy.DummyRowDecoder;
+import io.trino.spi.HostAddress;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static io.trino.plugin.kafka.KafkaInternalFieldManager.PARTITION_OFFSET_FIELD;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestKafkaPageSource
+{
+    private static final String TOPIC = "test_topic";
+    private static final int PARTITION = 3;
+
+    @Test
+    public void testBatchingAcrossPolls()
+    {
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.schedulePollTask(() -> addRecords(consumer, 0, 4));
+        consumer.schedulePollTask(() -> addRecords(consumer, 4, 7));
+        consumer.schedulePollTask(() -> addRecords(consumer, 7, 10));
+
+        try (KafkaPageSource pageSource = createPageSource(consumer, new Range(0, 10))) {
+            // the messages of all polls end up in a single page
+            assertThat(readOffsets(pageSource.getNextPage())).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+            assertThat(pageSource.isFinished()).isTrue();
+            assertThat(pageSource.getNextPage()).isNull();
+        }
+    }
+
+    @Test
+    public void testReturnOnEmptyPoll()
+    {
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.schedulePollTask(() -> addRecords(consumer, 0, 3));
+
+        try (KafkaPageSource pageSource = createPageSource(consumer, new Range(0, 5))) {
+            // the second poll is empty, so the page is returned with the messages read so far
+            assertThat(readOffsets(pageSource.getNextPage())).containsExactly(0L, 1L, 2L);
+            assertThat(pageSource.isFinished()).isFalse();
+
+            // nothing was read
+            assertThat(pageSource.getNextPage()).isNull();
+            assertThat(pageSource.isFinished()).isFalse();
+
+            consumer.schedulePollTask(() -> addRecords(consumer, 3, 5));
+            assertThat(readOffsets(pageSource.getNextPage())).containsExactly(3L, 4L);
+            assertThat(pageSource.isFinished()).isTrue();
+        }
+    }
+
+    @Test
+    public void testStopAtEndOffset()
+    {
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        // the poll returns messages past the end of the split
+        consumer.schedulePollTask(() -> addRecords(consumer, 2, 8));
+
+        try (KafkaPageSource pageSource = createPageSource(consumer, new Range(2, 5))) {
+            assertThat(readOffsets(pageSource.getNextPage())).containsExactly(2L, 3L, 4L);
+            assertThat(pageSource.isFinished()).isTrue();
+            assertThat(pageSource.getNextPage()).isNull();
+        }
+        assertThat(consumer.closed()).isTrue();
+    }
+
+    private static KafkaPageSource createPageSource(MockConsumer<byte[], byte[]> consumer, Range messagesRange)
+    {
+        KafkaSplit split = new KafkaSplit(
+                TOPIC,
+                DummyRowDecoder.NAME,
+                DummyRowDecoder.NAME,
+                Optional.empty(),
+                Optional.empty(),
+                PARTITION,
+                messagesRange,
+                HostAddress.fromParts("localhost", 9092));
+        KafkaColumnHandle offsetColumn = new KafkaColumnHandle(PARTITION_OFFSET_FIELD, BIGINT, null, null, null, false, false, true);
+        return new KafkaPageSource(split, consumer, ImmutableList.of(offsetColumn), new DummyRowDecoder(), new DummyRowDecoder());
+    }
+
+    private static void addRecords(MockConsumer<byte[], byte[]> consumer, long startOffset, long endOffset)
+    {
+        for (long offset = startOffset; offset < endOffset; offset++) {
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, PARTITION, offset, null, new byte[] {(byte) offset}));
+        }
+    }
+
+    private static List<Long> readOffsets(Page page)
+    {
+        assertThat(page).isNotNull();
+        Block block = page.getBlock(0);
+        ImmutableList.Builder<Long> offsets = ImmutableList.builder();
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            offsets.add(BIGINT.getLong(block, position));
+        }
+        return offsets.build();
+    }
+}
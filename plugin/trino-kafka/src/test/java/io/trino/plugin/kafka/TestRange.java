@@ -0,0 +1,45 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.kafka;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRange
+{
+    @Test
+    public void testPartition()
+    {
+        assertThat(partition(new Range(0, 10), 3)).containsExactly("0-3", "3-6", "6-9", "9-10");
+        assertThat(partition(new Range(5, 11), 2)).containsExactly("5-7", "7-9", "9-11");
+        assertThat(partition(new Range(0, 10), 100)).containsExactly("0-10");
+    }
+
+    @Test
+    public void testPartitionEmptyRange()
+    {
+        assertThat(partition(new Range(7, 7), 3)).isEmpty();
+    }
+
+    private static List<String> partition(Range range, int partitionSize)
+    {
+        return range.partition(partitionSize).stream()
+                .map(partition -> partition.getBegin() + "-" + partition.getEnd())
+                .collect(toImmutableList());
+    }
+}
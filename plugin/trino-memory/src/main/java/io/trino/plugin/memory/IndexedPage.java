@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.memory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.Range;
+import io.trino.spi.predicate.SortedRangeSet;
+import io.trino.spi.predicate.ValueSet;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeOperators;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.trino.spi.function.InvocationConvention.InvocationArgumentConvention.BLOCK_POSITION;
+import static io.trino.spi.function.InvocationConvention.InvocationReturnConvention.FAIL_ON_NULL;
+import static io.trino.spi.function.InvocationConvention.simpleConvention;
+import static io.trino.spi.predicate.Utils.nativeValueToBlock;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.RealType.REAL;
+import static io.trino.spi.type.TypeUtils.readNativeValue;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A page of a memory table, with a zone map for every orderable column, which is the range of the
+ * values and whether there are nulls, and a sorted index for the indexed columns. The columns
+ * containing floating point values have neither, as their comparison does not agree with their equality.
+ * Both are built when the page is inserted, and never change afterwards.
+ */
+public final class IndexedPage
+{
+    private final Page page;
+    private final List<Type> types;
+    // Domain.all() for the columns without zone map
+    private final List<Domain> zoneMaps;
+    // positions of the non null values ordered by value
+    private final Map<Integer, int[]> sortedPositions;
+    private final Map<Integer, MethodHandle> comparisonOperators;
+
+    private IndexedPage(Page page, List<Type> types, List<Domain> zoneMaps, Map<Integer, int[]> sortedPositions, Map<Integer, MethodHandle> comparisonOperators)
+    {
+        this.page = requireNonNull(page, "page is null");
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.zoneMaps = ImmutableList.copyOf(requireNonNull(zoneMaps, "zoneMaps is null"));
+        this.sortedPositions = ImmutableMap.copyOf(requireNonNull(sortedPositions, "sortedPositions is null"));
+        this.comparisonOperators = ImmutableMap.copyOf(requireNonNull(comparisonOperators, "comparisonOperators is null"));
+    }
+
+    public static IndexedPage create(Page page, List<Type> types, Set<Integer> indexedColumns, TypeOperators typeOperators)
+    {
+        ImmutableList.Builder<Domain> zoneMaps = ImmutableList.builder();
+        ImmutableMap.Builder<Integer, int[]> sortedPositions = ImmutableMap.builder();
+        ImmutableMap.Builder<Integer, MethodHandle> comparisonOperators = ImmutableMap.builder();
+        for (int channel = 0; channel < types.size(); channel++) {
+            Type type = types.get(channel);
+            if (!type.isOrderable() || containsFloatingPoint(type)) {
+                zoneMaps.add(Domain.all(type));
+                continue;
+            }
+            Block block = page.getBlock(channel);
+            MethodHandle comparisonOperator = typeOperators.getComparisonOperator(type, simpleConvention(FAIL_ON_NULL, BLOCK_POSITION, BLOCK_POSITION));
+            zoneMaps.add(createZoneMap(type, block, page.getPositionCount(), comparisonOperator));
+            if (indexedColumns.contains(channel)) {
+                sortedPositions.put(channel, sortPositions(block, page.getPositionCount(), comparisonOperator));
+                comparisonOperators.put(channel, comparisonOperator);
+            }
+        }
+        return new IndexedPage(page, types, zoneMaps.build(), sortedPositions.build(), comparisonOperators.build());
+    }
+
+    // the comparison operator orders -0.0 before 0.0, which are equal, and NaN after all the values,
+    // also for the elements or fields of the container types
+    private static boolean containsFloatingPoint(Type type)
+    {
+        if (type.equals(DOUBLE) || type.equals(REAL)) {
+            return true;
+        }
+        return type.getTypeParameters().stream().anyMatch(IndexedPage::containsFloatingPoint);
+    }
+
+    public Page getPage()
+    {
+        return page;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        long size = page.getRetainedSizeInBytes();
+        for (int[] positions : sortedPositions.values()) {
+            size += sizeOf(positions);
+        }
+        return size;
+    }
+
+    /**
+     * Returns false if no row of the page can match the domains, which are keyed by column index.
+     */
+    public boolean mayMatch(Map<Integer, Domain> domains)
+    {
+        for (Map.Entry<Integer, Domain> entry : domains.entrySet()) {
+            if (!zoneMaps.get(entry.getKey()).overlaps(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the rows matching the domain of an indexed column, or the whole page if none of
+     * the domains can be looked up in an index. The domains of the other columns are not applied.
+     */
+    public Page getMatchingPositions(Map<Integer, Domain> domains)
+    {
+        for (Map.Entry<Integer, int[]> index : sortedPositions.entrySet()) {
+            Domain domain = domains.get(index.getKey());
+            // the index does not contain the null positions
+            if (domain == null || domain.isNullAllowed() || !(domain.getValues() instanceof SortedRangeSet)) {
+                continue;
+            }
+            int[] positions = lookup(index.getKey(), index.getValue(), (SortedRangeSet) domain.getValues());
+            return page.getPositions(positions, 0, positions.length);
+        }
+        return page;
+    }
+
+    private int[] lookup(int channel, int[] sortedPositions, SortedRangeSet values)
+    {
+        Type type = types.get(channel);
+        Block block = page.getBlock(channel);
+        MethodHandle comparisonOperator = comparisonOperators.get(channel);
+
+        int[] positions = new int[sortedPositions.length];
+        int positionCount = 0;
+        // the ranges are ordered and do not overlap, so every position is found at most once
+        for (Range range : values.getOrderedRanges()) {
+            int from = 0;
+            if (!range.isLowUnbounded()) {
+                Block low = nativeValueToBlock(type, range.getLowBoundedValue());
+                from = search(comparisonOperator, block, sortedPositions, low, range.isLowInclusive());
+            }
+            int to = sortedPositions.length;
+            if (!range.isHighUnbounded()) {
+                Block high = nativeValueToBlock(type, range.getHighBoundedValue());
+                to = search(comparisonOperator, block, sortedPositions, high, !range.isHighInclusive());
+            }
+            for (int i = from; i < to; i++) {
+                positions[positionCount++] = sortedPositions[i];
+            }
+        }
+        positions = Arrays.copyOf(positions, positionCount);
+        // keep the order of the rows in the page
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Returns the index of the first sorted position whose value is greater than the bound, or equal to it if equal values are included.
+     */
+    private static int search(MethodHandle comparisonOperator, Block block, int[] sortedPositions, Block bound, boolean includeEqual)
+    {
+        int low = 0;
+        int high = sortedPositions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(comparisonOperator, block, sortedPositions[middle], bound, 0);
+            if (comparison < 0 || (comparison == 0 && !includeEqual)) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static Domain createZoneMap(Type type, Block block, int positionCount, MethodHandle comparisonOperator)
+    {
+        boolean hasNull = false;
+        int min = -1;
+        int max = -1;
+        for (int position = 0; position < positionCount; position++) {
+            if (block.isNull(position)) {
+                hasNull = true;
+                continue;
+            }
+            if (min < 0 || compare(comparisonOperator, block, position, block, min) < 0) {
+                min = position;
+            }
+            if (max < 0 || compare(comparisonOperator, block, position, block, max) > 0) {
+                max = position;
+            }
+        }
+        if (min < 0) {
+            return hasNull ? Domain.onlyNull(type) : Domain.none(type);
+        }
+        Range range = Range.range(type, readNativeValue(type, block, min), true, readNativeValue(type, block, max), true);
+        return Domain.create(ValueSet.ofRanges(range), hasNull);
+    }
+
+    private static int[] sortPositions(Block block, int positionCount, MethodHandle comparisonOperator)
+    {
+        List<Integer> positions = new ArrayList<>(positionCount);
+        for (int position = 0; position < positionCount; position++) {
+            if (!block.isNull(position)) {
+                positions.add(position);
+            }
+        }
+        positions.sort((left, right) -> compare(comparisonOperator, block, left, block, right));
+        return Ints.toArray(positions);
+    }
+
+    private static int compare(MethodHandle comparisonOperator, Block leftBlock, int leftPosition, Block rightBlock, int rightPosition)
+    {
+        try {
+            return Long.signum((long) comparisonOperator.invokeExact(leftBlock, leftPosition, rightBlock, rightPosition));
+        }
+        catch (Throwable throwable) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+}
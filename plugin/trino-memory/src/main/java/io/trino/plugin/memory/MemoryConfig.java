@@ -23,6 +23,7 @@ public class MemoryConfig
     private int splitsPerNode = Runtime.getRuntime().availableProcessors();
     private DataSize maxDataPerNode = DataSize.of(128, DataSize.Unit.MEGABYTE);
     private boolean enableLazyDynamicFiltering = true;
+    private boolean enablePredicatePushdown = true;
 
     @NotNull
     public int getSplitsPerNode()
@@ -61,4 +62,16 @@ public class MemoryConfig
         this.enableLazyDynamicFiltering = enableLazyDynamicFiltering;
         return this;
     }
+
+    public boolean isEnablePredicatePushdown()
+    {
+        return enablePredicatePushdown;
+    }
+
+    @Config("memory.enable-predicate-pushdown")
+    public MemoryConfig setEnablePredicatePushdown(boolean enablePredicatePushdown)
+    {
+        this.enablePredicatePushdown = enablePredicatePushdown;
+        return this;
+    }
 }
@@ -15,11 +15,14 @@ package io.trino.plugin.memory;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import io.trino.spi.HostAddress;
 
+import java.util.List;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.airlift.json.JsonCodec.jsonCodec;
 import static java.util.Objects.requireNonNull;
@@ -30,15 +33,22 @@ public class MemoryDataFragment
 
     private final HostAddress hostAddress;
     private final long rows;
+    private final List<Long> nullCounts;
+    private final List<Long> dataSizes;
 
     @JsonCreator
     public MemoryDataFragment(
             @JsonProperty("hostAddress") HostAddress hostAddress,
-            @JsonProperty("rows") long rows)
+            @JsonProperty("rows") long rows,
+            @JsonProperty("nullCounts") List<Long> nullCounts,
+            @JsonProperty("dataSizes") List<Long> dataSizes)
     {
         this.hostAddress = requireNonNull(hostAddress, "hostAddress is null");
         checkArgument(rows >= 0, "Rows number cannot be negative");
         this.rows = rows;
+        this.nullCounts = ImmutableList.copyOf(requireNonNull(nullCounts, "nullCounts is null"));
+        this.dataSizes = ImmutableList.copyOf(requireNonNull(dataSizes, "dataSizes is null"));
+        checkArgument(nullCounts.size() == dataSizes.size(), "nullCounts and dataSizes sizes differ");
     }
 
     @JsonProperty
@@ -53,6 +63,24 @@ public class MemoryDataFragment
         return rows;
     }
 
+    /**
+     * Number of nulls in every column
+     */
+    @JsonProperty
+    public List<Long> getNullCounts()
+    {
+        return nullCounts;
+    }
+
+    /**
+     * Size of the values of every column, only counted for variable width types
+     */
+    @JsonProperty
+    public List<Long> getDataSizes()
+    {
+        return dataSizes;
+    }
+
     public Slice toSlice()
     {
         return Slices.wrappedBuffer(MEMORY_DATA_FRAGMENT_CODEC.toJsonBytes(this));
@@ -66,6 +94,16 @@ public class MemoryDataFragment
     public static MemoryDataFragment merge(MemoryDataFragment a, MemoryDataFragment b)
     {
         checkArgument(a.getHostAddress().equals(b.getHostAddress()), "Cannot merge fragments from different hosts");
-        return new MemoryDataFragment(a.getHostAddress(), a.getRows() + b.getRows());
+        return new MemoryDataFragment(a.getHostAddress(), a.getRows() + b.getRows(), sum(a.getNullCounts(), b.getNullCounts()), sum(a.getDataSizes(), b.getDataSizes()));
+    }
+
+    private static List<Long> sum(List<Long> a, List<Long> b)
+    {
+        checkArgument(a.size() == b.size(), "Cannot merge fragments with different columns");
+        ImmutableList.Builder<Long> sum = ImmutableList.builder();
+        for (int i = 0; i < a.size(); i++) {
+            sum.add(a.get(i) + b.get(i));
+        }
+        return sum.build();
     }
 }
@@ -35,14 +35,21 @@ import io.trino.spi.connector.ConnectorTableHandle;
 import io.trino.spi.connector.ConnectorTableMetadata;
 import io.trino.spi.connector.ConnectorTableProperties;
 import io.trino.spi.connector.ConnectorViewDefinition;
+import io.trino.spi.connector.Constraint;
+import io.trino.spi.connector.ConstraintApplicationResult;
 import io.trino.spi.connector.LimitApplicationResult;
 import io.trino.spi.connector.SampleType;
 import io.trino.spi.connector.SchemaNotFoundException;
 import io.trino.spi.connector.SchemaTableName;
 import io.trino.spi.connector.SchemaTablePrefix;
 import io.trino.spi.connector.ViewNotFoundException;
+import io.trino.spi.predicate.TupleDomain;
 import io.trino.spi.security.TrinoPrincipal;
+import io.trino.spi.statistics.ColumnStatistics;
 import io.trino.spi.statistics.ComputedStatistics;
+import io.trino.spi.statistics.Estimate;
+import io.trino.spi.statistics.TableStatistics;
+import io.trino.spi.type.VariableWidthType;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
@@ -62,7 +69,10 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.trino.plugin.memory.MemorySessionProperties.isPredicatePushdownEnabled;
+import static io.trino.plugin.memory.MemoryTableProperties.getIndexedColumns;
 import static io.trino.spi.StandardErrorCode.ALREADY_EXISTS;
+import static io.trino.spi.StandardErrorCode.INVALID_TABLE_PROPERTY;
 import static io.trino.spi.StandardErrorCode.NOT_FOUND;
 import static io.trino.spi.StandardErrorCode.SCHEMA_NOT_EMPTY;
 import static io.trino.spi.connector.SampleType.SYSTEM;
@@ -214,7 +224,7 @@ public class MemoryMetadata
         long tableId = handle.getId();
 
         TableInfo oldInfo = tables.get(tableId);
-        tables.put(tableId, new TableInfo(tableId, newTableName.getSchemaName(), newTableName.getTableName(), oldInfo.getColumns(), oldInfo.getDataFragments()));
+        tables.put(tableId, new TableInfo(tableId, newTableName.getSchemaName(), newTableName.getTableName(), oldInfo.getColumns(), oldInfo.getIndexedColumns(), oldInfo.getDataFragments()));
 
         tableIds.remove(oldInfo.getSchemaTableName());
         tableIds.put(newTableName, tableId);
@@ -242,15 +252,28 @@ public class MemoryMetadata
             columns.add(new ColumnInfo(new MemoryColumnHandle(i), column.getName(), column.getType()));
         }
 
-        tableIds.put(tableMetadata.getTable(), tableId);
-        tables.put(tableId, new TableInfo(
+        List<String> indexedColumns = getIndexedColumns(tableMetadata.getProperties());
+        for (String indexedColumn : indexedColumns) {
+            ColumnMetadata column = tableMetadata.getColumns().stream()
+                    .filter(columnMetadata -> columnMetadata.getName().equals(indexedColumn))
+                    .findFirst()
+                    .orElseThrow(() -> new TrinoException(INVALID_TABLE_PROPERTY, format("Indexed column [%s] does not exist", indexedColumn)));
+            if (!column.getType().isOrderable()) {
+                throw new TrinoException(INVALID_TABLE_PROPERTY, format("Indexed column [%s] has type %s, which is not orderable", indexedColumn, column.getType()));
+            }
+        }
+
+        TableInfo info = new TableInfo(
                 tableId,
                 tableMetadata.getTable().getSchemaName(),
                 tableMetadata.getTable().getTableName(),
                 columns.build(),
-                new HashMap<>()));
+                indexedColumns,
+                new HashMap<>());
+        tableIds.put(tableMetadata.getTable(), tableId);
+        tables.put(tableId, info);
 
-        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(tableIds.values()));
+        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(tableIds.values()), info.getColumnTypes(), info.getIndexedColumnIndexes());
     }
 
     private void checkSchemaExists(String schemaName)
@@ -284,7 +307,8 @@ public class MemoryMetadata
     public synchronized MemoryInsertTableHandle beginInsert(ConnectorSession session, ConnectorTableHandle tableHandle, List<ColumnHandle> columns)
     {
         MemoryTableHandle memoryTableHandle = (MemoryTableHandle) tableHandle;
-        return new MemoryInsertTableHandle(memoryTableHandle.getId(), ImmutableSet.copyOf(tableIds.values()));
+        TableInfo info = tables.get(memoryTableHandle.getId());
+        return new MemoryInsertTableHandle(memoryTableHandle.getId(), ImmutableSet.copyOf(tableIds.values()), info.getColumnTypes(), info.getIndexedColumnIndexes());
     }
 
     @Override
@@ -372,7 +396,7 @@ public class MemoryMetadata
             dataFragments.merge(memoryDataFragment.getHostAddress(), memoryDataFragment, MemoryDataFragment::merge);
         }
 
-        tables.put(tableId, new TableInfo(tableId, info.getSchemaName(), info.getTableName(), info.getColumns(), dataFragments));
+        tables.put(tableId, new TableInfo(tableId, info.getSchemaName(), info.getTableName(), info.getColumns(), info.getIndexedColumns(), dataFragments));
     }
 
     @Override
@@ -392,6 +416,61 @@ public class MemoryMetadata
         return ImmutableList.copyOf(tables.get(tableId).getDataFragments().values());
     }
 
+    @Override
+    public synchronized TableStatistics getTableStatistics(ConnectorSession session, ConnectorTableHandle tableHandle, Constraint constraint)
+    {
+        MemoryTableHandle handle = (MemoryTableHandle) tableHandle;
+        TableInfo info = tables.get(handle.getId());
+
+        long rows = 0;
+        long[] nullCounts = new long[info.getColumns().size()];
+        long[] dataSizes = new long[info.getColumns().size()];
+        for (MemoryDataFragment fragment : info.getDataFragments().values()) {
+            rows += fragment.getRows();
+            for (int i = 0; i < nullCounts.length; i++) {
+                nullCounts[i] += fragment.getNullCounts().get(i);
+                dataSizes[i] += fragment.getDataSizes().get(i);
+            }
+        }
+
+        TableStatistics.Builder statistics = TableStatistics.builder()
+                .setRowCount(Estimate.of(rows));
+        if (rows == 0) {
+            return statistics.build();
+        }
+        for (ColumnInfo column : info.getColumns()) {
+            int columnIndex = ((MemoryColumnHandle) column.getHandle()).getColumnIndex();
+            ColumnStatistics.Builder columnStatistics = ColumnStatistics.builder()
+                    .setNullsFraction(Estimate.of((double) nullCounts[columnIndex] / rows));
+            if (column.getType() instanceof VariableWidthType) {
+                columnStatistics.setDataSize(Estimate.of(dataSizes[columnIndex]));
+            }
+            statistics.setColumnStatistics(column.getHandle(), columnStatistics.build());
+        }
+        return statistics.build();
+    }
+
+    @Override
+    public Optional<ConstraintApplicationResult<ConnectorTableHandle>> applyFilter(ConnectorSession session, ConnectorTableHandle handle, Constraint constraint)
+    {
+        MemoryTableHandle table = (MemoryTableHandle) handle;
+
+        // the pages are skipped before the limit is applied
+        if (!isPredicatePushdownEnabled(session) || table.getLimit().isPresent()) {
+            return Optional.empty();
+        }
+
+        TupleDomain<ColumnHandle> newConstraint = table.getConstraint().intersect(constraint.getSummary());
+        if (newConstraint.equals(table.getConstraint())) {
+            return Optional.empty();
+        }
+
+        // the constraint only skips pages and rows, so it is still applied by the engine
+        return Optional.of(new ConstraintApplicationResult<>(
+                new MemoryTableHandle(table.getId(), table.getLimit(), table.getSampleRatio(), newConstraint),
+                constraint.getSummary()));
+    }
+
     @Override
     public Optional<LimitApplicationResult<ConnectorTableHandle>> applyLimit(ConnectorSession session, ConnectorTableHandle handle, long limit)
     {
@@ -402,7 +481,7 @@ public class MemoryMetadata
         }
 
         return Optional.of(new LimitApplicationResult<>(
-                new MemoryTableHandle(table.getId(), OptionalLong.of(limit), OptionalDouble.empty()),
+                new MemoryTableHandle(table.getId(), OptionalLong.of(limit), OptionalDouble.empty(), table.getConstraint()),
                 true));
     }
 
@@ -415,6 +494,6 @@ public class MemoryMetadata
             return Optional.empty();
         }
 
-        return Optional.of(new MemoryTableHandle(table.getId(), table.getLimit(), OptionalDouble.of(table.getSampleRatio().orElse(1) * sampleRatio)));
+        return Optional.of(new MemoryTableHandle(table.getId(), table.getLimit(), OptionalDouble.of(table.getSampleRatio().orElse(1) * sampleRatio), table.getConstraint()));
     }
 }
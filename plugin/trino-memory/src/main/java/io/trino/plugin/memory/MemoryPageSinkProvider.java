@@ -15,20 +15,26 @@ package io.trino.plugin.memory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Longs;
 import io.airlift.slice.Slice;
 import io.trino.spi.HostAddress;
 import io.trino.spi.NodeManager;
 import io.trino.spi.Page;
+import io.trino.spi.block.Block;
 import io.trino.spi.connector.ConnectorInsertTableHandle;
 import io.trino.spi.connector.ConnectorOutputTableHandle;
 import io.trino.spi.connector.ConnectorPageSink;
 import io.trino.spi.connector.ConnectorPageSinkProvider;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorTransactionHandle;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VariableWidthType;
 
 import javax.inject.Inject;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -62,8 +68,8 @@ public class MemoryPageSinkProvider
         checkState(memoryOutputTableHandle.getActiveTableIds().contains(tableId));
 
         pagesStore.cleanUp(memoryOutputTableHandle.getActiveTableIds());
-        pagesStore.initialize(tableId);
-        return new MemoryPageSink(pagesStore, currentHostAddress, tableId);
+        pagesStore.initialize(tableId, memoryOutputTableHandle.getColumnTypes(), memoryOutputTableHandle.getIndexedColumns());
+        return new MemoryPageSink(pagesStore, currentHostAddress, tableId, memoryOutputTableHandle.getColumnTypes());
     }
 
     @Override
@@ -74,8 +80,8 @@ public class MemoryPageSinkProvider
         checkState(memoryInsertTableHandle.getActiveTableIds().contains(tableId));
 
         pagesStore.cleanUp(memoryInsertTableHandle.getActiveTableIds());
-        pagesStore.initialize(tableId);
-        return new MemoryPageSink(pagesStore, currentHostAddress, tableId);
+        pagesStore.initialize(tableId, memoryInsertTableHandle.getColumnTypes(), memoryInsertTableHandle.getIndexedColumns());
+        return new MemoryPageSink(pagesStore, currentHostAddress, tableId, memoryInsertTableHandle.getColumnTypes());
     }
 
     private static class MemoryPageSink
@@ -84,32 +90,59 @@ public class MemoryPageSinkProvider
         private final MemoryPagesStore pagesStore;
         private final HostAddress currentHostAddress;
         private final long tableId;
+        private final List<Type> columnTypes;
+        private final long[] nullCounts;
+        private final long[] dataSizes;
+        private final List<IndexedPage> addedPages = new ArrayList<>();
         private long addedRows;
 
-        public MemoryPageSink(MemoryPagesStore pagesStore, HostAddress currentHostAddress, long tableId)
+        public MemoryPageSink(MemoryPagesStore pagesStore, HostAddress currentHostAddress, long tableId, List<Type> columnTypes)
         {
             this.pagesStore = requireNonNull(pagesStore, "pagesStore is null");
             this.currentHostAddress = requireNonNull(currentHostAddress, "currentHostAddress is null");
             this.tableId = tableId;
+            this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+            this.nullCounts = new long[columnTypes.size()];
+            this.dataSizes = new long[columnTypes.size()];
         }
 
         @Override
         public CompletableFuture<?> appendPage(Page page)
         {
-            pagesStore.add(tableId, page);
+            addedPages.add(pagesStore.add(tableId, page));
             addedRows += page.getPositionCount();
+            for (int channel = 0; channel < columnTypes.size(); channel++) {
+                Block block = page.getBlock(channel);
+                boolean variableWidth = columnTypes.get(channel) instanceof VariableWidthType;
+                if (!block.mayHaveNull() && !variableWidth) {
+                    continue;
+                }
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    if (block.isNull(position)) {
+                        nullCounts[channel]++;
+                    }
+                    else if (variableWidth) {
+                        dataSizes[channel] += block.getSliceLength(position);
+                    }
+                }
+            }
             return NOT_BLOCKED;
         }
 
         @Override
         public CompletableFuture<Collection<Slice>> finish()
         {
-            return completedFuture(ImmutableList.of(new MemoryDataFragment(currentHostAddress, addedRows).toSlice()));
+            pagesStore.publish(tableId, addedPages);
+            addedPages.clear();
+            MemoryDataFragment fragment = new MemoryDataFragment(currentHostAddress, addedRows, Longs.asList(nullCounts), Longs.asList(dataSizes));
+            return completedFuture(ImmutableList.of(fragment.toSlice()));
         }
 
         @Override
         public void abort()
         {
+            pagesStore.release(addedPages);
+            addedPages.clear();
         }
     }
 }
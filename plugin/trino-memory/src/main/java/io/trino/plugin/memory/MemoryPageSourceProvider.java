@@ -77,7 +77,8 @@ public final class MemoryPageSourceProvider
                 columnIndexes,
                 expectedRows,
                 memorySplit.getLimit(),
-                sampleRatio);
+                sampleRatio,
+                memoryTable.getConstraint().transform(column -> ((MemoryColumnHandle) column).getColumnIndex()));
 
         return new DynamicFilteringPageSource(new FixedPageSource(pages), columns, dynamicFilter, enableLazyDynamicFiltering);
     }
@@ -14,53 +14,75 @@
 package io.trino.plugin.memory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.trino.spi.Page;
 import io.trino.spi.TrinoException;
 import io.trino.spi.block.Block;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.TypeManager;
+import io.trino.spi.type.TypeOperators;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static io.trino.plugin.memory.MemoryErrorCode.MEMORY_LIMIT_EXCEEDED;
 import static io.trino.plugin.memory.MemoryErrorCode.MISSING_DATA;
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
+/**
+ * Stores the pages of the tables on a worker. The data of a table is an immutable snapshot, so
+ * the readers do not need to synchronize. The inserted pages are staged by their page sink, and
+ * published in a new snapshot when the page sink finishes, or released when it is aborted.
+ */
 @ThreadSafe
 public class MemoryPagesStore
 {
     private final long maxBytes;
+    private final TypeOperators typeOperators;
 
     @GuardedBy("this")
     private long currentBytes;
 
-    private final Map<Long, TableData> tables = new HashMap<>();
+    // modified only while holding the lock on this
+    private final Map<Long, TableData> tables = new ConcurrentHashMap<>();
 
     @Inject
-    public MemoryPagesStore(MemoryConfig config)
+    public MemoryPagesStore(MemoryConfig config, TypeManager typeManager)
+    {
+        this(config, typeManager.getTypeOperators());
+    }
+
+    public MemoryPagesStore(MemoryConfig config, TypeOperators typeOperators)
     {
         this.maxBytes = config.getMaxDataPerNode().toBytes();
+        this.typeOperators = requireNonNull(typeOperators, "typeOperators is null");
     }
 
-    public synchronized void initialize(long tableId)
+    public synchronized void initialize(long tableId, List<Type> columnTypes, Set<Integer> indexedColumns)
     {
         if (!tables.containsKey(tableId)) {
-            tables.put(tableId, new TableData());
+            tables.put(tableId, new TableData(columnTypes, indexedColumns, ImmutableList.of(), 0));
         }
     }
 
-    public synchronized void add(Long tableId, Page page)
+    /**
+     * Accounts the memory of a page inserted to the table, and returns the page to publish or release.
+     */
+    public synchronized IndexedPage add(Long tableId, Page page)
     {
         if (!contains(tableId)) {
             throw new TrinoException(MISSING_DATA, "Failed to find table on a worker.");
@@ -68,44 +90,79 @@ public class MemoryPagesStore
 
         page.compact();
 
-        long newSize = currentBytes + page.getRetainedSizeInBytes();
+        TableData tableData = tables.get(tableId);
+        IndexedPage indexedPage = IndexedPage.create(page, tableData.getColumnTypes(), tableData.getIndexedColumns(), typeOperators);
+
+        long newSize = currentBytes + indexedPage.getRetainedSizeInBytes();
         if (maxBytes < newSize) {
             throw new TrinoException(MEMORY_LIMIT_EXCEEDED, format("Memory limit [%d] for memory connector exceeded", maxBytes));
         }
         currentBytes = newSize;
+        return indexedPage;
+    }
 
+    /**
+     * Makes the pages added to the table visible to the readers.
+     */
+    public synchronized void publish(long tableId, List<IndexedPage> pages)
+    {
         TableData tableData = tables.get(tableId);
-        tableData.add(page);
+        if (tableData == null) {
+            // the table was dropped while the pages were inserted
+            release(pages);
+            return;
+        }
+        tables.put(tableId, tableData.withPages(pages));
     }
 
-    public synchronized List<Page> getPages(
+    /**
+     * Releases the memory of pages which are not published.
+     */
+    public synchronized void release(List<IndexedPage> pages)
+    {
+        for (IndexedPage page : pages) {
+            currentBytes -= page.getRetainedSizeInBytes();
+        }
+    }
+
+    public List<Page> getPages(
             Long tableId,
             int partNumber,
             int totalParts,
             List<Integer> columnIndexes,
             long expectedRows,
             OptionalLong limit,
-            OptionalDouble sampleRatio)
+            OptionalDouble sampleRatio,
+            TupleDomain<Integer> constraint)
     {
-        if (!contains(tableId)) {
+        TableData tableData = tables.get(tableId);
+        if (tableData == null) {
             throw new TrinoException(MISSING_DATA, "Failed to find table on a worker.");
         }
-        TableData tableData = tables.get(tableId);
         if (tableData.getRows() < expectedRows) {
             throw new TrinoException(MISSING_DATA,
                     format("Expected to find [%s] rows on a worker, but found [%s].", expectedRows, tableData.getRows()));
         }
+        if (constraint.isNone()) {
+            return ImmutableList.of();
+        }
+        Map<Integer, Domain> domains = constraint.getDomains().get();
 
         ImmutableList.Builder<Page> partitionedPages = ImmutableList.builder();
 
         boolean done = false;
         long totalRows = 0;
-        for (int i = partNumber; i < tableData.getPages().size() && !done; i += totalParts) {
+        List<IndexedPage> pages = tableData.getPages();
+        for (int i = partNumber; i < pages.size() && !done; i += totalParts) {
             if (sampleRatio.isPresent() && ThreadLocalRandom.current().nextDouble() >= sampleRatio.getAsDouble()) {
                 continue;
             }
 
-            Page page = tableData.getPages().get(i);
+            IndexedPage indexedPage = pages.get(i);
+            if (!indexedPage.mayMatch(domains)) {
+                continue;
+            }
+            Page page = indexedPage.getMatchingPositions(domains);
             totalRows += page.getPositionCount();
             if (limit.isPresent() && totalRows > limit.getAsLong()) {
                 page = page.getRegion(0, (int) (page.getPositionCount() - (totalRows - limit.getAsLong())));
@@ -117,7 +174,7 @@ public class MemoryPagesStore
         return partitionedPages.build();
     }
 
-    public synchronized boolean contains(Long tableId)
+    public boolean contains(Long tableId)
     {
         return tables.containsKey(tableId);
     }
@@ -142,7 +199,7 @@ public class MemoryPagesStore
             Map.Entry<Long, TableData> tablePagesEntry = tableDataIterator.next();
             Long tableId = tablePagesEntry.getKey();
             if (tableId < latestTableId && !activeTableIds.contains(tableId)) {
-                for (Page removedPage : tablePagesEntry.getValue().getPages()) {
+                for (IndexedPage removedPage : tablePagesEntry.getValue().getPages()) {
                     currentBytes -= removedPage.getRetainedSizeInBytes();
                 }
                 tableDataIterator.remove();
@@ -163,16 +220,46 @@ public class MemoryPagesStore
 
     private static final class TableData
     {
-        private final List<Page> pages = new ArrayList<>();
-        private long rows;
+        private final List<Type> columnTypes;
+        private final Set<Integer> indexedColumns;
+        private final List<IndexedPage> pages;
+        private final long rows;
+
+        public TableData(List<Type> columnTypes, Set<Integer> indexedColumns, List<IndexedPage> pages, long rows)
+        {
+            this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+            this.indexedColumns = ImmutableSet.copyOf(requireNonNull(indexedColumns, "indexedColumns is null"));
+            this.pages = ImmutableList.copyOf(requireNonNull(pages, "pages is null"));
+            this.rows = rows;
+        }
+
+        public TableData withPages(List<IndexedPage> addedPages)
+        {
+            long addedRows = 0;
+            for (IndexedPage page : addedPages) {
+                addedRows += page.getPage().getPositionCount();
+            }
+            return new TableData(
+                    columnTypes,
+                    indexedColumns,
+                    ImmutableList.<IndexedPage>builderWithExpectedSize(pages.size() + addedPages.size())
+                            .addAll(pages)
+                            .addAll(addedPages)
+                            .build(),
+                    rows + addedRows);
+        }
+
+        private List<Type> getColumnTypes()
+        {
+            return columnTypes;
+        }
 
-        public void add(Page page)
+        private Set<Integer> getIndexedColumns()
         {
-            pages.add(page);
-            rows += page.getPositionCount();
+            return indexedColumns;
         }
 
-        private List<Page> getPages()
+        private List<IndexedPage> getPages()
         {
             return pages;
         }
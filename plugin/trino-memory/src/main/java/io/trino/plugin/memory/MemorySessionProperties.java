@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.memory;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.session.PropertyMetadata;
+
+import javax.inject.Inject;
+
+import java.util.List;
+
+import static io.trino.spi.session.PropertyMetadata.booleanProperty;
+
+public final class MemorySessionProperties
+{
+    private static final String PREDICATE_PUSHDOWN_ENABLED = "predicate_pushdown_enabled";
+
+    private final List<PropertyMetadata<?>> sessionProperties;
+
+    @Inject
+    public MemorySessionProperties(MemoryConfig config)
+    {
+        sessionProperties = ImmutableList.of(
+                booleanProperty(
+                        PREDICATE_PUSHDOWN_ENABLED,
+                        "Skip pages using the value ranges and indexes of the columns",
+                        config.isEnablePredicatePushdown(),
+                        false));
+    }
+
+    public List<PropertyMetadata<?>> getSessionProperties()
+    {
+        return sessionProperties;
+    }
+
+    public static boolean isPredicatePushdownEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PREDICATE_PUSHDOWN_ENABLED, Boolean.class);
+    }
+}
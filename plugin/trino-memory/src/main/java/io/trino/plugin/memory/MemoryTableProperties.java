@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.memory;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.session.PropertyMetadata;
+import io.trino.spi.type.ArrayType;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static java.util.Locale.ENGLISH;
+
+public class MemoryTableProperties
+{
+    public static final String INDEXED_COLUMNS_PROPERTY = "indexed_columns";
+
+    private final List<PropertyMetadata<?>> tableProperties;
+
+    public MemoryTableProperties()
+    {
+        tableProperties = ImmutableList.of(
+                new PropertyMetadata<>(
+                        INDEXED_COLUMNS_PROPERTY,
+                        "Columns with a sorted index on every page",
+                        new ArrayType(VARCHAR),
+                        List.class,
+                        ImmutableList.of(),
+                        false,
+                        value -> ((List<?>) value).stream()
+                                .map(name -> ((String) name).toLowerCase(ENGLISH))
+                                .collect(toImmutableList()),
+                        value -> value));
+    }
+
+    public List<PropertyMetadata<?>> getTableProperties()
+    {
+        return tableProperties;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<String> getIndexedColumns(Map<String, Object> tableProperties)
+    {
+        List<String> indexedColumns = (List<String>) tableProperties.get(INDEXED_COLUMNS_PROPERTY);
+        return indexedColumns == null ? ImmutableList.of() : ImmutableList.copyOf(indexedColumns);
+    }
+}
@@ -19,11 +19,16 @@ import io.trino.spi.HostAddress;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ConnectorTableMetadata;
 import io.trino.spi.connector.SchemaTableName;
+import io.trino.spi.type.Type;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.trino.plugin.memory.MemoryTableProperties.INDEXED_COLUMNS_PROPERTY;
 import static java.util.Objects.requireNonNull;
 
 public class TableInfo
@@ -32,14 +37,16 @@ public class TableInfo
     private final String schemaName;
     private final String tableName;
     private final List<ColumnInfo> columns;
+    private final List<String> indexedColumns;
     private final Map<HostAddress, MemoryDataFragment> dataFragments;
 
-    public TableInfo(long id, String schemaName, String tableName, List<ColumnInfo> columns, Map<HostAddress, MemoryDataFragment> dataFragments)
+    public TableInfo(long id, String schemaName, String tableName, List<ColumnInfo> columns, List<String> indexedColumns, Map<HostAddress, MemoryDataFragment> dataFragments)
     {
         this.id = id;
         this.schemaName = requireNonNull(schemaName, "schemaName is null");
         this.tableName = requireNonNull(tableName, "tableName is null");
         this.columns = ImmutableList.copyOf(columns);
+        this.indexedColumns = ImmutableList.copyOf(indexedColumns);
         this.dataFragments = ImmutableMap.copyOf(dataFragments);
     }
 
@@ -69,7 +76,8 @@ public class TableInfo
                 new SchemaTableName(schemaName, tableName),
                 columns.stream()
                         .map(ColumnInfo::getMetadata)
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()),
+                indexedColumns.isEmpty() ? ImmutableMap.of() : ImmutableMap.of(INDEXED_COLUMNS_PROPERTY, indexedColumns));
     }
 
     public List<ColumnInfo> getColumns()
@@ -77,6 +85,26 @@ public class TableInfo
         return columns;
     }
 
+    public List<String> getIndexedColumns()
+    {
+        return indexedColumns;
+    }
+
+    public Set<Integer> getIndexedColumnIndexes()
+    {
+        return columns.stream()
+                .filter(column -> indexedColumns.contains(column.getName()))
+                .map(column -> ((MemoryColumnHandle) column.getHandle()).getColumnIndex())
+                .collect(toImmutableSet());
+    }
+
+    public List<Type> getColumnTypes()
+    {
+        return columns.stream()
+                .map(ColumnInfo::getType)
+                .collect(toImmutableList());
+    }
+
     public ColumnInfo getColumn(ColumnHandle handle)
     {
         return columns.stream()
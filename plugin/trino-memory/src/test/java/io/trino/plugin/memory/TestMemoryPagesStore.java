@@ -14,22 +14,35 @@
 package io.trino.plugin.memory;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
 import io.trino.spi.HostAddress;
 import io.trino.spi.Page;
 import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
 import io.trino.spi.block.BlockBuilder;
+import io.trino.spi.block.RowBlock;
 import io.trino.spi.connector.ConnectorInsertTableHandle;
 import io.trino.spi.connector.ConnectorOutputTableHandle;
 import io.trino.spi.connector.ConnectorPageSink;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.Range;
+import io.trino.spi.predicate.TupleDomain;
+import io.trino.spi.predicate.ValueSet;
+import io.trino.spi.type.RowType;
+import io.trino.spi.type.TypeOperators;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.DoubleType.DOUBLE;
 import static io.trino.testing.TestingConnectorSession.SESSION;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -46,7 +59,7 @@ public class TestMemoryPagesStore
     @BeforeMethod
     public void setUp()
     {
-        pagesStore = new MemoryPagesStore(new MemoryConfig().setMaxDataPerNode(DataSize.of(1, DataSize.Unit.MEGABYTE)));
+        pagesStore = new MemoryPagesStore(new MemoryConfig().setMaxDataPerNode(DataSize.of(1, DataSize.Unit.MEGABYTE)), new TypeOperators());
         pageSinkProvider = new MemoryPageSinkProvider(pagesStore, HostAddress.fromString("localhost:8080"));
     }
 
@@ -54,7 +67,7 @@ public class TestMemoryPagesStore
     public void testCreateEmptyTable()
     {
         createTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty()), ImmutableList.of());
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()), ImmutableList.of());
     }
 
     @Test
@@ -62,28 +75,28 @@ public class TestMemoryPagesStore
     {
         createTable(0L, 0L);
         insertToTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty()).size(), 1);
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()).size(), 1);
     }
 
     @Test
     public void testInsertPageWithoutCreate()
     {
         insertToTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty()).size(), 1);
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), POSITIONS_PER_PAGE, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()).size(), 1);
     }
 
     @Test(expectedExceptions = TrinoException.class)
     public void testReadFromUnknownTable()
     {
-        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty());
+        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all());
     }
 
     @Test(expectedExceptions = TrinoException.class)
     public void testTryToReadFromEmptyTable()
     {
         createTable(0L, 0L);
-        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty()), ImmutableList.of());
-        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 42, OptionalLong.empty(), OptionalDouble.empty());
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()), ImmutableList.of());
+        pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 42, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all());
     }
 
     @Test
@@ -118,6 +131,160 @@ public class TestMemoryPagesStore
         insertToTable(0L, createOneMegaBytePage(), 0L);
     }
 
+    @Test
+    public void testSkipPages()
+    {
+        createIndexedTable(0L);
+        insertToIndexedTable(0L, createPage(1, 2, 3));
+        insertToIndexedTable(0L, createPage(4, 5, 6));
+
+        assertEquals(getPositionCounts(0L, TupleDomain.all()), ImmutableList.of(3, 3));
+        assertEquals(getPositionCounts(0L, TupleDomain.none()), ImmutableList.of());
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(1, Domain.singleValue(BIGINT, 5L)))), ImmutableList.of(3));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(1, Domain.singleValue(BIGINT, 7L)))), ImmutableList.of());
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(1, Domain.onlyNull(BIGINT)))), ImmutableList.of());
+    }
+
+    @Test
+    public void testIndexLookup()
+    {
+        createIndexedTable(0L);
+        insertToIndexedTable(0L, createPage(3, 1, 2, 1));
+
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.singleValue(BIGINT, 1L)))), ImmutableList.of(2));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.create(ValueSet.ofRanges(Range.greaterThan(BIGINT, 1L)), false)))), ImmutableList.of(2));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.create(ValueSet.ofRanges(Range.lessThanOrEqual(BIGINT, 2L)), false)))), ImmutableList.of(3));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.multipleValues(BIGINT, ImmutableList.of(0L, 3L))))), ImmutableList.of(1));
+
+        // the rows are returned in the order of the page
+        List<Page> pages = pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.multipleValues(BIGINT, ImmutableList.of(2L, 3L)))));
+        assertEquals(pages.size(), 1);
+        assertEquals(BIGINT.getLong(pages.get(0).getBlock(0), 0), 3L);
+        assertEquals(BIGINT.getLong(pages.get(0).getBlock(0), 1), 2L);
+    }
+
+    @Test
+    public void testFloatingPointZero()
+    {
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                new MemoryOutputTableHandle(0L, ImmutableSet.of(0L), ImmutableList.of(DOUBLE, DOUBLE), ImmutableSet.of(0)));
+        pageSink.appendPage(createDoublePage(-0.0, -0.0));
+        pageSink.appendPage(createDoublePage(1.0, -0.0, 0.0));
+        pageSink.finish();
+
+        // -0.0 is equal to 0.0, so no page nor row can be skipped
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.singleValue(DOUBLE, 0.0)))), ImmutableList.of(2, 3));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(1, Domain.singleValue(DOUBLE, 0.0)))), ImmutableList.of(2, 3));
+    }
+
+    @Test
+    public void testPagesPublishedOnFinish()
+    {
+        createIndexedTable(0L);
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                new MemoryInsertTableHandle(0L, ImmutableSet.of(0L), ImmutableList.of(BIGINT, BIGINT), ImmutableSet.of(0)));
+        pageSink.appendPage(createPage(1, 2));
+        pageSink.appendPage(createPage(3));
+        assertEquals(getPositionCounts(0L, TupleDomain.all()), ImmutableList.of());
+
+        pageSink.finish();
+        assertEquals(getPositionCounts(0L, TupleDomain.all()), ImmutableList.of(2, 1));
+    }
+
+    @Test
+    public void testFloatingPointZeroInRow()
+    {
+        RowType rowType = RowType.anonymous(ImmutableList.of(DOUBLE));
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                new MemoryOutputTableHandle(0L, ImmutableSet.of(0L), ImmutableList.of(rowType, rowType), ImmutableSet.of(0)));
+        pageSink.appendPage(createDoubleRowPage(-0.0, -0.0));
+        pageSink.appendPage(createDoubleRowPage(1.0, -0.0, 0.0));
+        pageSink.finish();
+
+        // row(-0.0) is equal to row(0.0), so no page nor row can be skipped
+        Block zero = rowType.getObject(createDoubleRowPage(0.0).getBlock(0), 0);
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(0, Domain.singleValue(rowType, zero)))), ImmutableList.of(2, 3));
+        assertEquals(getPositionCounts(0L, TupleDomain.withColumnDomains(ImmutableMap.of(1, Domain.singleValue(rowType, zero)))), ImmutableList.of(2, 3));
+    }
+
+    @Test
+    public void testAbortedInsertNotVisible()
+    {
+        createTable(0L, 0L);
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                createMemoryInsertTableHandle(0L, new Long[] {0L}));
+        pageSink.appendPage(createOneMegaBytePage());
+        pageSink.abort();
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()), ImmutableList.of());
+
+        // the memory of the aborted insert is released
+        insertToTable(0L, createOneMegaBytePage(), 0L);
+        assertEquals(pagesStore.getPages(0L, 0, 1, ImmutableList.of(0), 0, OptionalLong.empty(), OptionalDouble.empty(), TupleDomain.all()).size(), 1);
+    }
+
+    private List<Integer> getPositionCounts(long tableId, TupleDomain<Integer> constraint)
+    {
+        return pagesStore.getPages(tableId, 0, 1, ImmutableList.of(0, 1), 0, OptionalLong.empty(), OptionalDouble.empty(), constraint).stream()
+                .map(Page::getPositionCount)
+                .collect(toImmutableList());
+    }
+
+    private void createIndexedTable(long tableId)
+    {
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                new MemoryOutputTableHandle(tableId, ImmutableSet.of(tableId), ImmutableList.of(BIGINT, BIGINT), ImmutableSet.of(0)));
+        pageSink.finish();
+    }
+
+    private void insertToIndexedTable(long tableId, Page page)
+    {
+        ConnectorPageSink pageSink = pageSinkProvider.createPageSink(
+                MemoryTransactionHandle.INSTANCE,
+                SESSION,
+                new MemoryInsertTableHandle(tableId, ImmutableSet.of(tableId), ImmutableList.of(BIGINT, BIGINT), ImmutableSet.of(0)));
+        pageSink.appendPage(page);
+        pageSink.finish();
+    }
+
+    // the first column is indexed, the second one has the same values
+    private static Page createPage(long... values)
+    {
+        BlockBuilder blockBuilder = BIGINT.createFixedSizeBlockBuilder(values.length);
+        for (long value : values) {
+            BIGINT.writeLong(blockBuilder, value);
+        }
+        Block block = blockBuilder.build();
+        return new Page(values.length, block, block);
+    }
+
+    // the first column is indexed, the second one has the same values
+    private static Page createDoublePage(double... values)
+    {
+        BlockBuilder blockBuilder = DOUBLE.createFixedSizeBlockBuilder(values.length);
+        for (double value : values) {
+            DOUBLE.writeDouble(blockBuilder, value);
+        }
+        Block block = blockBuilder.build();
+        return new Page(values.length, block, block);
+    }
+
+    // the first column is indexed, the second one has the same values
+    private static Page createDoubleRowPage(double... values)
+    {
+        Block block = RowBlock.fromFieldBlocks(values.length, Optional.empty(), new Block[] {createDoublePage(values).getBlock(0)});
+        return new Page(values.length, block, block);
+    }
+
     private void insertToTable(long tableId, Long... activeTableIds)
     {
         insertToTable(tableId, createPage(), activeTableIds);
@@ -144,12 +311,12 @@ public class TestMemoryPagesStore
 
     private static ConnectorOutputTableHandle createMemoryOutputTableHandle(long tableId, Long... activeTableIds)
     {
-        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(activeTableIds));
+        return new MemoryOutputTableHandle(tableId, ImmutableSet.copyOf(activeTableIds), ImmutableList.of(BIGINT), ImmutableSet.of());
     }
 
     private static ConnectorInsertTableHandle createMemoryInsertTableHandle(long tableId, Long[] activeTableIds)
     {
-        return new MemoryInsertTableHandle(tableId, ImmutableSet.copyOf(activeTableIds));
+        return new MemoryInsertTableHandle(tableId, ImmutableSet.copyOf(activeTableIds), ImmutableList.of(BIGINT), ImmutableSet.of());
     }
 
     private static Page createPage()
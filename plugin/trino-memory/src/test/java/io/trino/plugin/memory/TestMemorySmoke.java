@@ -13,6 +13,7 @@
  */
 package io.trino.plugin.memory;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Ints;
 import io.trino.Session;
@@ -42,6 +43,7 @@ import static io.trino.sql.analyzer.FeaturesConfig.JoinDistributionType.PARTITIO
 import static io.trino.sql.analyzer.FeaturesConfig.JoinReorderingStrategy.NONE;
 import static io.trino.testing.assertions.Assert.assertEquals;
 import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertTrue;
 
 @Test(singleThreaded = true)
@@ -350,14 +352,14 @@ public class TestMemorySmoke
 
     private Session withBroadcastJoin()
     {
-        return Session.builder(getSession())
+        return Session.builder(withoutPredicatePushdown())
                 .setSystemProperty(JOIN_DISTRIBUTION_TYPE, BROADCAST.name())
                 .build();
     }
 
     private Session withLargeDynamicFilters()
     {
-        return Session.builder(getSession())
+        return Session.builder(withoutPredicatePushdown())
                 .setSystemProperty(JOIN_DISTRIBUTION_TYPE, BROADCAST.name())
                 .setSystemProperty(ENABLE_LARGE_DYNAMIC_FILTERS, "true")
                 .build();
@@ -365,7 +367,7 @@ public class TestMemorySmoke
 
     private Session withBroadcastJoinNonReordering()
     {
-        return Session.builder(getSession())
+        return Session.builder(withoutPredicatePushdown())
                 .setSystemProperty(JOIN_DISTRIBUTION_TYPE, BROADCAST.name())
                 .setSystemProperty(JOIN_REORDERING_STRATEGY, NONE.name())
                 .build();
@@ -373,11 +375,19 @@ public class TestMemorySmoke
 
     private Session withPartitionedJoin()
     {
-        return Session.builder(getSession())
+        return Session.builder(withoutPredicatePushdown())
                 .setSystemProperty(JOIN_DISTRIBUTION_TYPE, PARTITIONED.name())
                 .build();
     }
 
+    // the pages skipped using the constraint of the table scan would change the number of rows read by the dynamic filtering tests
+    private Session withoutPredicatePushdown()
+    {
+        return Session.builder(getSession())
+                .setCatalogSessionProperty("memory", "predicate_pushdown_enabled", "false")
+                .build();
+    }
+
     private static List<Integer> getOperatorRowsRead(DistributedQueryRunner runner, QueryId queryId)
     {
         QueryStats stats = runner.getCoordinator().getQueryManager().getFullQueryInfo(queryId).getQueryStats();
@@ -407,6 +417,72 @@ public class TestMemorySmoke
         assertQuery(session, query, "SELECT 1, 1, 1");
     }
 
+    @Test
+    public void testPredicatePushdown()
+    {
+        assertUpdate("CREATE TABLE test_pushdown (key BIGINT, value VARCHAR) WITH (indexed_columns = ARRAY['key'])");
+        // every insert adds a single page
+        assertUpdate("INSERT INTO test_pushdown VALUES (1, 'a'), (2, 'b'), (NULL, 'c')", 3);
+        assertUpdate("INSERT INTO test_pushdown VALUES (3, 'd'), (4, 'e'), (5, 'f')", 3);
+
+        // pages are skipped using the range of the values, and the rows of the indexed column are looked up in the index
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key = 4", getSession(), 1, 1);
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key IN (1, 5)", getSession(), 2, 2);
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key > 1", getSession(), 4, 4);
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key > 10", getSession(), 0, 0);
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key IS NULL", getSession(), 1, 3);
+        assertRowsRead("SELECT key FROM test_pushdown WHERE value = 'e'", getSession(), 1, 3);
+        assertRowsRead("SELECT key FROM test_pushdown WHERE value BETWEEN 'b' AND 'd'", getSession(), 3, 6);
+
+        assertRowsRead("SELECT value FROM test_pushdown WHERE key = 4", withoutPredicatePushdown(), 1, 6);
+
+        assertQuery("SELECT value FROM test_pushdown WHERE key = 4 OR value = 'c'", "VALUES 'c', 'e'");
+        assertQuery("SELECT value FROM test_pushdown WHERE key BETWEEN 2 AND 3", "VALUES 'b', 'd'");
+        assertQuery("SELECT value FROM test_pushdown WHERE key IS NULL OR key = 5", "VALUES 'c', 'f'");
+
+        assertUpdate("DROP TABLE test_pushdown");
+    }
+
+    @Test
+    public void testIndexedColumns()
+    {
+        assertUpdate("CREATE TABLE test_indexed WITH (indexed_columns = ARRAY['nationkey', 'name']) AS SELECT * FROM tpch.tiny.nation", 25);
+        assertQuery("SELECT name FROM test_indexed WHERE nationkey = 7", "VALUES 'GERMANY'");
+        assertQuery("SELECT nationkey FROM test_indexed WHERE name IN ('FRANCE', 'PERU')", "VALUES 6, 17");
+        assertQuery("SELECT count(*) FROM test_indexed WHERE nationkey < 10", "VALUES 10");
+        assertThat((String) computeScalar("SHOW CREATE TABLE test_indexed")).contains("indexed_columns = ARRAY['nationkey','name']");
+        assertUpdate("DROP TABLE test_indexed");
+
+        assertQueryFails("CREATE TABLE test_indexed (a BIGINT) WITH (indexed_columns = ARRAY['b'])", "Indexed column \\[b] does not exist");
+        assertQueryFails("CREATE TABLE test_indexed (a MAP(BIGINT, BIGINT)) WITH (indexed_columns = ARRAY['a'])", "Indexed column \\[a] has type map\\(bigint, bigint\\), which is not orderable");
+    }
+
+    @Test
+    public void testStatistics()
+    {
+        assertUpdate("CREATE TABLE test_statistics (key BIGINT, value VARCHAR)");
+        assertQuery("SHOW STATS FOR test_statistics", "VALUES " +
+                "('key', null, null, null, null, null, null), " +
+                "('value', null, null, null, null, null, null), " +
+                "(null, null, null, null, 0.0, null, null)");
+
+        assertUpdate("INSERT INTO test_statistics VALUES (1, 'ab'), (2, NULL), (NULL, 'cde'), (4, 'f')", 4);
+        assertQuery("SHOW STATS FOR test_statistics", "VALUES " +
+                "('key', null, null, 0.25, null, null, null), " +
+                "('value', 6.0, null, 0.25, null, null, null), " +
+                "(null, null, null, null, 4.0, null, null)");
+
+        assertUpdate("DROP TABLE test_statistics");
+    }
+
+    private void assertRowsRead(@Language("SQL") String selectQuery, Session session, int expectedRowCount, int expectedRowsRead)
+    {
+        ResultWithQueryId<MaterializedResult> result = getDistributedQueryRunner().executeWithQueryId(session, selectQuery);
+
+        assertEquals(result.getResult().getRowCount(), expectedRowCount);
+        assertEquals(getOperatorRowsRead(getDistributedQueryRunner(), result.getQueryId()), ImmutableList.of(expectedRowsRead));
+    }
+
     @Test
     public void testCreateTableWithNoData()
     {
@@ -37,6 +37,7 @@ import io.trino.plugin.jdbc.ObjectReadFunction;
 import io.trino.plugin.jdbc.ObjectWriteFunction;
 import io.trino.plugin.jdbc.PredicatePushdownController;
 import io.trino.plugin.jdbc.ReadFunction;
+import io.trino.plugin.jdbc.RemoteTableName;
 import io.trino.plugin.jdbc.SliceReadFunction;
 import io.trino.plugin.jdbc.SliceWriteFunction;
 import io.trino.plugin.jdbc.UnsupportedTypeHandling;
@@ -110,6 +111,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
@@ -161,6 +163,7 @@ import static io.trino.plugin.postgresql.PostgreSqlConfig.ArrayMapping.AS_ARRAY;
 import static io.trino.plugin.postgresql.PostgreSqlConfig.ArrayMapping.AS_JSON;
 import static io.trino.plugin.postgresql.PostgreSqlConfig.ArrayMapping.DISABLED;
 import static io.trino.plugin.postgresql.PostgreSqlSessionProperties.getArrayMapping;
+import static io.trino.plugin.postgresql.PostgreSqlSessionProperties.isCtidRangeSplitsEnabled;
 import static io.trino.plugin.postgresql.TypeUtils.arrayDepth;
 import static io.trino.plugin.postgresql.TypeUtils.getArrayElementPgTypeName;
 import static io.trino.plugin.postgresql.TypeUtils.getJdbcObjectArray;
@@ -321,6 +324,57 @@ public class PostgreSqlClient
         return statement;
     }
 
+    @Override
+    protected List<String> getSplitPredicates(ConnectorSession session, JdbcTableHandle tableHandle, int splitCount)
+    {
+        if (!isCtidRangeSplitsEnabled(session)) {
+            return super.getSplitPredicates(session, tableHandle, splitCount);
+        }
+        // Since PostgreSQL 14 a ctid range is read with a TID range scan, which only reads the pages of the range.
+        // This does not need an index, and divides the table evenly regardless of the distribution of the keys.
+        // An updated row gets a new ctid, so it can move between the ranges read by the concurrent queries of the splits.
+        OptionalLong pages = getPageCount(session, tableHandle);
+        if (pages.isEmpty()) {
+            return super.getSplitPredicates(session, tableHandle, splitCount);
+        }
+        if (pages.getAsLong() == 0) {
+            return ImmutableList.of();
+        }
+        return getRangePredicates("ctid", getSplitBoundaries(0, pages.getAsLong() - 1, splitCount), page -> format("'(%s,0)'::tid", page));
+    }
+
+    private OptionalLong getPageCount(ConnectorSession session, JdbcTableHandle tableHandle)
+    {
+        String sql = "" +
+                "SELECT pg_relation_size(tbl.oid) / current_setting('block_size')::bigint " +
+                "FROM pg_class tbl " +
+                "  JOIN pg_namespace ns ON tbl.relnamespace = ns.oid " +
+                "WHERE ns.nspname = ? " +
+                "AND tbl.relname = ? " +
+                "AND tbl.relkind IN ('r', 'm')";
+        try (Connection connection = connectionFactory.openConnection(session)) {
+            if (connection.getMetaData().getDatabaseMajorVersion() < 14) {
+                // every split would scan the whole table
+                return OptionalLong.empty();
+            }
+            RemoteTableName remoteTableName = tableHandle.getRequiredNamedRelation().getRemoteTableName();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, remoteTableName.getSchemaName().orElseThrow());
+                statement.setString(2, remoteTableName.getTableName());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        // views and partitioned tables have no pages of their own
+                        return OptionalLong.empty();
+                    }
+                    return OptionalLong.of(resultSet.getLong(1));
+                }
+            }
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+    }
+
     @Override
     protected Optional<List<String>> getTableTypes()
     {
@@ -26,8 +26,10 @@ import io.trino.plugin.jdbc.ForBaseJdbc;
 import io.trino.plugin.jdbc.JdbcClient;
 import io.trino.plugin.jdbc.RemoteQueryCancellationModule;
 import io.trino.plugin.jdbc.credential.CredentialProvider;
+import io.trino.spi.connector.ConnectorPageSinkProvider;
 import org.postgresql.Driver;
 
+import static com.google.inject.multibindings.OptionalBinder.newOptionalBinder;
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.trino.plugin.jdbc.JdbcModule.bindSessionPropertiesProvider;
 
@@ -40,6 +42,7 @@ public class PostgreSqlClientModule
         binder.bind(JdbcClient.class).annotatedWith(ForBaseJdbc.class).to(PostgreSqlClient.class).in(Scopes.SINGLETON);
         configBinder(binder).bindConfig(PostgreSqlConfig.class);
         bindSessionPropertiesProvider(binder, PostgreSqlSessionProperties.class);
+        newOptionalBinder(binder, ConnectorPageSinkProvider.class).setBinding().to(PostgreSqlPageSinkProvider.class).in(Scopes.SINGLETON);
         install(new DecimalModule());
         install(new RemoteQueryCancellationModule());
     }
@@ -14,6 +14,7 @@
 package io.trino.plugin.postgresql;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.LegacyConfig;
 
 import javax.validation.constraints.NotNull;
@@ -22,6 +23,8 @@ public class PostgreSqlConfig
 {
     private ArrayMapping arrayMapping = ArrayMapping.DISABLED;
     private boolean includeSystemTables;
+    private WriteMode writeMode = WriteMode.INSERT;
+    private boolean ctidRangeSplitsEnabled;
 
     public enum ArrayMapping
     {
@@ -30,6 +33,12 @@ public class PostgreSqlConfig
         AS_JSON,
     }
 
+    public enum WriteMode
+    {
+        INSERT,
+        COPY,
+    }
+
     @NotNull
     public ArrayMapping getArrayMapping()
     {
@@ -55,4 +64,31 @@ public class PostgreSqlConfig
         this.includeSystemTables = includeSystemTables;
         return this;
     }
+
+    @NotNull
+    public WriteMode getWriteMode()
+    {
+        return writeMode;
+    }
+
+    @Config("postgresql.write-mode")
+    @ConfigDescription("Statement used to write data: batched INSERT statements or binary COPY")
+    public PostgreSqlConfig setWriteMode(WriteMode writeMode)
+    {
+        this.writeMode = writeMode;
+        return this;
+    }
+
+    public boolean isCtidRangeSplitsEnabled()
+    {
+        return ctidRangeSplitsEnabled;
+    }
+
+    @Config("postgresql.ctid-range-splits-enabled")
+    @ConfigDescription("Divide tables read in parallel into ranges of pages, which are not read from a single snapshot")
+    public PostgreSqlConfig setCtidRangeSplitsEnabled(boolean ctidRangeSplitsEnabled)
+    {
+        this.ctidRangeSplitsEnabled = ctidRangeSplitsEnabled;
+        return this;
+    }
 }
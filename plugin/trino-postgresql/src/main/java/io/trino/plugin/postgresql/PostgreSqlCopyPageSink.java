@@ -0,0 +1,342 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.postgresql;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.trino.plugin.jdbc.JdbcClient;
+import io.trino.plugin.jdbc.JdbcOutputTableHandle;
+import io.trino.plugin.jdbc.JdbcTypeHandle;
+import io.trino.spi.Page;
+import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
+import io.trino.spi.connector.ConnectorPageSink;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.type.TimestampType;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VarcharType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.trino.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.DateType.DATE;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.RealType.REAL;
+import static io.trino.spi.type.SmallintType.SMALLINT;
+import static io.trino.spi.type.TinyintType.TINYINT;
+import static io.trino.spi.type.VarbinaryType.VARBINARY;
+import static java.lang.Math.toIntExact;
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Writes the rows to the temporary table of the handle with a single {@code COPY ... FROM STDIN}
+ * in the binary format, instead of batches of {@code INSERT} statements. The temporary table is
+ * moved to the target table by the client, exactly like for {@link io.trino.plugin.jdbc.JdbcPageSink}.
+ */
+public class PostgreSqlCopyPageSink
+        implements ConnectorPageSink
+{
+    private static final byte[] HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short TRAILER = -1;
+
+    // days and microseconds between 1970-01-01 and the PostgreSQL epoch 2000-01-01
+    private static final int POSTGRESQL_EPOCH_DAYS = 10_957;
+    private static final long POSTGRESQL_EPOCH_MICROS = POSTGRESQL_EPOCH_DAYS * 86_400_000_000L;
+
+    private static final Set<String> VARCHAR_TYPE_NAMES = ImmutableSet.of("varchar", "text");
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+    private final List<ValueWriter> valueWriters;
+    private final DynamicSliceOutput buffer = new DynamicSliceOutput(64 * 1024);
+
+    public PostgreSqlCopyPageSink(ConnectorSession session, JdbcOutputTableHandle handle, JdbcClient jdbcClient)
+    {
+        verify(isSupported(handle), "Unsupported columns for COPY: %s", handle);
+        valueWriters = handle.getColumnTypes().stream()
+                .map(PostgreSqlCopyPageSink::valueWriter)
+                .map(Optional::get)
+                .collect(toImmutableList());
+
+        try {
+            connection = jdbcClient.getConnection(session, handle);
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+
+        try {
+            // Per JDBC specification, auto-commit mode is the default. Verify that in case pooling or custom ConnectionFactory is used.
+            verify(connection.getAutoCommit(), "Connection not in auto-commit");
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(buildCopySql(handle));
+        }
+        catch (SQLException e) {
+            closeWithSuppression(connection, e);
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+
+        buffer.writeBytes(HEADER);
+        // flags and header extension length
+        buffer.writeInt(0);
+        buffer.writeInt(0);
+    }
+
+    /**
+     * Returns whether the binary representation of all columns is known. When the handle refers to an
+     * existing table, the remote types must also be the ones written for the Trino types, because
+     * the server does not convert binary values between types.
+     */
+    public static boolean isSupported(JdbcOutputTableHandle handle)
+    {
+        List<Type> columnTypes = handle.getColumnTypes();
+        if (!columnTypes.stream().map(PostgreSqlCopyPageSink::valueWriter).allMatch(Optional::isPresent)) {
+            return false;
+        }
+        if (handle.getJdbcColumnTypes().isEmpty()) {
+            // the temporary table is created from the write mappings of the Trino types
+            return true;
+        }
+        List<JdbcTypeHandle> jdbcColumnTypes = handle.getJdbcColumnTypes().get();
+        for (int i = 0; i < columnTypes.size(); i++) {
+            Optional<String> typeName = jdbcColumnTypes.get(i).getJdbcTypeName();
+            if (typeName.isEmpty() || !isRemoteTypeSupported(columnTypes.get(i), typeName.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRemoteTypeSupported(Type type, String typeName)
+    {
+        if (type == BOOLEAN) {
+            return typeName.equals("bool");
+        }
+        if (type == SMALLINT) {
+            return typeName.equals("int2");
+        }
+        if (type == INTEGER) {
+            return typeName.equals("int4");
+        }
+        if (type == BIGINT) {
+            return typeName.equals("int8");
+        }
+        if (type == REAL) {
+            return typeName.equals("float4");
+        }
+        if (type == DOUBLE) {
+            return typeName.equals("float8");
+        }
+        if (type instanceof VarcharType) {
+            return VARCHAR_TYPE_NAMES.contains(typeName);
+        }
+        if (type == VARBINARY) {
+            return typeName.equals("bytea");
+        }
+        if (type == DATE) {
+            return typeName.equals("date");
+        }
+        if (type instanceof TimestampType) {
+            return typeName.equals("timestamp");
+        }
+        return false;
+    }
+
+    private static Optional<ValueWriter> valueWriter(Type type)
+    {
+        if (type == BOOLEAN) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Byte.BYTES));
+                output.writeByte(BOOLEAN.getBoolean(block, position) ? 1 : 0);
+            });
+        }
+        if (type == TINYINT || type == SMALLINT) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Short.BYTES));
+                output.writeShort(Short.reverseBytes((short) type.getLong(block, position)));
+            });
+        }
+        if (type == INTEGER) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Integer.BYTES));
+                output.writeInt(Integer.reverseBytes(toIntExact(INTEGER.getLong(block, position))));
+            });
+        }
+        if (type == BIGINT) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Long.BYTES));
+                output.writeLong(Long.reverseBytes(BIGINT.getLong(block, position)));
+            });
+        }
+        if (type == REAL) {
+            // the value is the bit representation of the float
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Float.BYTES));
+                output.writeInt(Integer.reverseBytes(toIntExact(REAL.getLong(block, position))));
+            });
+        }
+        if (type == DOUBLE) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Double.BYTES));
+                output.writeLong(Long.reverseBytes(Double.doubleToLongBits(DOUBLE.getDouble(block, position))));
+            });
+        }
+        if (type instanceof VarcharType || type == VARBINARY) {
+            return Optional.of((output, block, position) -> {
+                Slice value = type.getSlice(block, position);
+                output.writeInt(Integer.reverseBytes(value.length()));
+                output.writeBytes(value);
+            });
+        }
+        if (type == DATE) {
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Integer.BYTES));
+                output.writeInt(Integer.reverseBytes(toIntExact(DATE.getLong(block, position) - POSTGRESQL_EPOCH_DAYS)));
+            });
+        }
+        if (type instanceof TimestampType && ((TimestampType) type).isShort()) {
+            // PostgreSQL supports microsecond precision, which is also the unit of short timestamps
+            return Optional.of((output, block, position) -> {
+                output.writeInt(Integer.reverseBytes(Long.BYTES));
+                output.writeLong(Long.reverseBytes(type.getLong(block, position) - POSTGRESQL_EPOCH_MICROS));
+            });
+        }
+        return Optional.empty();
+    }
+
+    private static String buildCopySql(JdbcOutputTableHandle handle)
+    {
+        String table = quoted(handle.getTemporaryTableName());
+        if (handle.getSchemaName() != null) {
+            table = quoted(handle.getSchemaName()) + "." + table;
+        }
+        return format(
+                "COPY %s (%s) FROM STDIN WITH (FORMAT binary)",
+                table,
+                handle.getColumnNames().stream()
+                        .map(PostgreSqlCopyPageSink::quoted)
+                        .collect(joining(", ")));
+    }
+
+    private static String quoted(String name)
+    {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return buffer.getRetainedSize();
+    }
+
+    @Override
+    public CompletableFuture<?> appendPage(Page page)
+    {
+        // the binary format is big endian, while slices are written in little endian
+        short fieldCount = Short.reverseBytes((short) page.getChannelCount());
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            buffer.writeShort(fieldCount);
+            for (int channel = 0; channel < page.getChannelCount(); channel++) {
+                Block block = page.getBlock(channel);
+                if (block.isNull(position)) {
+                    buffer.writeInt(Integer.reverseBytes(-1));
+                }
+                else {
+                    valueWriters.get(channel).write(buffer, block, position);
+                }
+            }
+        }
+        flush();
+        return NOT_BLOCKED;
+    }
+
+    private void flush()
+    {
+        Slice data = buffer.slice();
+        try {
+            copyIn.writeToCopy(data.byteArray(), data.byteArrayOffset(), data.length());
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, "Failed to insert data: " + firstNonNull(e.getMessage(), e), e);
+        }
+        buffer.reset();
+    }
+
+    @Override
+    public CompletableFuture<Collection<Slice>> finish()
+    {
+        // commit and close
+        try (Connection connection = this.connection) {
+            buffer.writeShort(Short.reverseBytes(TRAILER));
+            flush();
+            copyIn.endCopy();
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, "Failed to insert data: " + firstNonNull(e.getMessage(), e), e);
+        }
+        // the committer does not need any additional info
+        return completedFuture(ImmutableList.of());
+    }
+
+    @Override
+    public void abort()
+    {
+        // cancel copy and close connection
+        try (connection) {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        catch (SQLException e) {
+            throw new TrinoException(JDBC_ERROR, e);
+        }
+    }
+
+    @SuppressWarnings("ObjectEquality")
+    private static void closeWithSuppression(Connection connection, Throwable throwable)
+    {
+        try {
+            connection.close();
+        }
+        catch (Throwable t) {
+            // Self-suppression not permitted
+            if (throwable != t) {
+                throwable.addSuppressed(t);
+            }
+        }
+    }
+
+    private interface ValueWriter
+    {
+        void write(SliceOutput output, Block block, int position);
+    }
+}
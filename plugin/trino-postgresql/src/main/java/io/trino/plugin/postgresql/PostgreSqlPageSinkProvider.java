@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.postgresql;
+
+import io.trino.plugin.jdbc.JdbcClient;
+import io.trino.plugin.jdbc.JdbcOutputTableHandle;
+import io.trino.plugin.jdbc.JdbcPageSink;
+import io.trino.spi.connector.ConnectorInsertTableHandle;
+import io.trino.spi.connector.ConnectorOutputTableHandle;
+import io.trino.spi.connector.ConnectorPageSink;
+import io.trino.spi.connector.ConnectorPageSinkProvider;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.ConnectorTransactionHandle;
+
+import javax.inject.Inject;
+
+import static io.trino.plugin.postgresql.PostgreSqlConfig.WriteMode.COPY;
+import static io.trino.plugin.postgresql.PostgreSqlSessionProperties.getWriteMode;
+import static java.util.Objects.requireNonNull;
+
+public class PostgreSqlPageSinkProvider
+        implements ConnectorPageSinkProvider
+{
+    private final JdbcClient jdbcClient;
+
+    @Inject
+    public PostgreSqlPageSinkProvider(JdbcClient jdbcClient)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+    }
+
+    @Override
+    public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorOutputTableHandle tableHandle)
+    {
+        return createPageSink(session, (JdbcOutputTableHandle) tableHandle);
+    }
+
+    @Override
+    public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorInsertTableHandle tableHandle)
+    {
+        return createPageSink(session, (JdbcOutputTableHandle) tableHandle);
+    }
+
+    private ConnectorPageSink createPageSink(ConnectorSession session, JdbcOutputTableHandle handle)
+    {
+        // COPY writes the binary representation of the values, which is implemented only for some types
+        if (getWriteMode(session) == COPY && PostgreSqlCopyPageSink.isSupported(handle)) {
+            return new PostgreSqlCopyPageSink(session, handle, jdbcClient);
+        }
+        return new JdbcPageSink(session, handle, jdbcClient);
+    }
+}
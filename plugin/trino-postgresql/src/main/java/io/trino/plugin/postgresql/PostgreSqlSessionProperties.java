@@ -16,6 +16,7 @@ package io.trino.plugin.postgresql;
 import com.google.common.collect.ImmutableList;
 import io.trino.plugin.base.session.SessionPropertiesProvider;
 import io.trino.plugin.postgresql.PostgreSqlConfig.ArrayMapping;
+import io.trino.plugin.postgresql.PostgreSqlConfig.WriteMode;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.session.PropertyMetadata;
 
@@ -23,12 +24,15 @@ import javax.inject.Inject;
 
 import java.util.List;
 
+import static io.trino.spi.session.PropertyMetadata.booleanProperty;
 import static io.trino.spi.session.PropertyMetadata.enumProperty;
 
 public final class PostgreSqlSessionProperties
         implements SessionPropertiesProvider
 {
     public static final String ARRAY_MAPPING = "array_mapping";
+    public static final String WRITE_MODE = "write_mode";
+    public static final String CTID_RANGE_SPLITS_ENABLED = "ctid_range_splits_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -41,6 +45,17 @@ public final class PostgreSqlSessionProperties
                         "Handling of PostgreSql arrays",
                         ArrayMapping.class,
                         postgreSqlConfig.getArrayMapping(),
+                        false),
+                enumProperty(
+                        WRITE_MODE,
+                        "Statement used to write data",
+                        WriteMode.class,
+                        postgreSqlConfig.getWriteMode(),
+                        false),
+                booleanProperty(
+                        CTID_RANGE_SPLITS_ENABLED,
+                        "Divide tables read in parallel into ranges of pages",
+                        postgreSqlConfig.isCtidRangeSplitsEnabled(),
                         false));
     }
 
@@ -54,4 +69,14 @@ public final class PostgreSqlSessionProperties
     {
         return session.getProperty(ARRAY_MAPPING, ArrayMapping.class);
     }
+
+    public static WriteMode getWriteMode(ConnectorSession session)
+    {
+        return session.getProperty(WRITE_MODE, WriteMode.class);
+    }
+
+    public static boolean isCtidRangeSplitsEnabled(ConnectorSession session)
+    {
+        return session.getProperty(CTID_RANGE_SPLITS_ENABLED, Boolean.class);
+    }
 }
@@ -29,7 +29,9 @@ public class TestPostgreSqlConfig
     {
         assertRecordedDefaults(recordDefaults(PostgreSqlConfig.class)
                 .setArrayMapping(PostgreSqlConfig.ArrayMapping.DISABLED)
-                .setIncludeSystemTables(false));
+                .setIncludeSystemTables(false)
+                .setWriteMode(PostgreSqlConfig.WriteMode.INSERT)
+                .setCtidRangeSplitsEnabled(false));
     }
 
     @Test
@@ -38,11 +40,15 @@ public class TestPostgreSqlConfig
         Map<String, String> properties = new ImmutableMap.Builder<String, String>()
                 .put("postgresql.array-mapping", "AS_ARRAY")
                 .put("postgresql.include-system-tables", "true")
+                .put("postgresql.write-mode", "COPY")
+                .put("postgresql.ctid-range-splits-enabled", "true")
                 .build();
 
         PostgreSqlConfig expected = new PostgreSqlConfig()
                 .setArrayMapping(PostgreSqlConfig.ArrayMapping.AS_ARRAY)
-                .setIncludeSystemTables(true);
+                .setIncludeSystemTables(true)
+                .setWriteMode(PostgreSqlConfig.WriteMode.COPY)
+                .setCtidRangeSplitsEnabled(true);
 
         assertFullMapping(properties, expected);
     }
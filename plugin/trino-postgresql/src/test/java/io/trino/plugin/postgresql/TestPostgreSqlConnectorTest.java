@@ -439,6 +439,33 @@ public class TestPostgreSqlConnectorTest
         assertUpdate("DROP TABLE test_insert_not_null");
     }
 
+    @Test
+    public void testWriteWithCopy()
+    {
+        Session copySession = Session.builder(getSession())
+                .setCatalogSessionProperty("postgresql", "write_mode", "COPY")
+                .build();
+        String columns = "orderkey, custkey, CAST(totalprice AS real) totalprice_real, totalprice, orderstatus, CAST(orderstatus AS varbinary) orderstatus_binary, " +
+                "orderdate, CAST(orderdate AS timestamp(3)) ordertimestamp, shippriority, orderpriority = '1-URGENT' urgent";
+
+        assertUpdate(copySession, "CREATE TABLE test_write_with_copy AS SELECT " + columns + " FROM orders", "SELECT count(*) FROM orders");
+        assertThat(query("SELECT * FROM test_write_with_copy"))
+                .matches("SELECT " + columns + " FROM tpch.tiny.orders");
+
+        assertUpdate(copySession, "INSERT INTO test_write_with_copy (orderkey) VALUES (-1)", 1);
+        assertQuery(
+                "SELECT custkey, totalprice_real, totalprice, orderstatus, orderstatus_binary, orderdate, ordertimestamp, shippriority, urgent " +
+                        "FROM test_write_with_copy WHERE orderkey = -1",
+                "VALUES (NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL)");
+        assertUpdate("DROP TABLE test_write_with_copy");
+
+        // types without a binary representation are written with INSERT statements
+        assertUpdate(copySession, "CREATE TABLE test_write_with_copy AS SELECT orderkey, CAST(totalprice AS decimal(12, 2)) totalprice FROM orders", "SELECT count(*) FROM orders");
+        assertThat(query("SELECT * FROM test_write_with_copy"))
+                .matches("SELECT orderkey, CAST(totalprice AS decimal(12, 2)) FROM tpch.tiny.orders");
+        assertUpdate("DROP TABLE test_write_with_copy");
+    }
+
     @Test
     public void testAggregationPushdown()
     {